@@ -1,11 +1,16 @@
 import chromadb
 from chromadb.config import Settings
 from elasticsearch import Elasticsearch
+from elasticsearch.helpers import scan
 from openai import OpenAI
 import os
 from dotenv import load_dotenv
 from tqdm import tqdm
 import random
+import sys
+import json
+import math
+from array import array
 from pathlib import Path
 
 # 환경 변수 로드
@@ -15,6 +20,10 @@ load_dotenv()
 ROOT_DIR = Path(__file__).parent.parent.parent
 CHROMA_DIR = ROOT_DIR / "server/vector_db/chroma_db"
 
+# Java 서버가 메모리 매핑해서 읽는 벡터 내보내기 경로
+EXPORT_DIR = Path(os.getenv('HOSPITAL_VECTOR_EXPORT_DIR', Path(__file__).parent / "vector_db/export"))
+EMBEDDING_MODEL = "text-embedding-3-small"
+
 # Elasticsearch 연결
 es = Elasticsearch('http://localhost:9200')
 
@@ -40,15 +49,15 @@ collection = client.create_collection(
 # OpenAI 클라이언트 초기화
 openai_client = OpenAI(api_key=os.getenv('OPENAI_API_KEY'))
 
-def create_embedding(text):
+def create_embeddings(texts):
+    # 배치 단위로 한 번에 요청 (응답 순서는 index 기준으로 맞춤)
     response = openai_client.embeddings.create(
-        model="text-embedding-3-small",
-        input=text
+        model=EMBEDDING_MODEL,
+        input=texts
     )
-    return response.data[0].embedding
+    return [item.embedding for item in sorted(response.data, key=lambda item: item.index)]
 
 def process_hospital_batch(hospitals_batch, start_idx):
-    embeddings = []
     documents = []
     ids = []
     
@@ -78,15 +87,68 @@ def process_hospital_batch(hospitals_batch, start_idx):
         - 주차 가능: {'가능' if hospital['_source'].get('parking', 0) > 0 else '정보 없음'}
         """
 
-        # 임베딩 생성
-        embedding = create_embedding(hospital_text)
-        
-        embeddings.append(embedding)
         documents.append(hospital_text)
         ids.append(f"hospital_{start_idx + i}")
+
+    # 임베딩 생성
+    embeddings = create_embeddings(documents)
     
     return embeddings, documents, ids
 
+def export_vectors(rows):
+    """
+    Java 서버(HospitalVectorIndex)용 내보내기
+
+    - hospital_vectors.f32  : 정규화한 float32 리틀 엔디언 벡터 (행 우선, count x dim)
+    - hospital_vectors.jsonl: 행 순서대로 병원 메타데이터 (필터/응답용)
+    - hospital_vectors.json : 건수, 차원, 임베딩 모델
+    임시 파일에 쓴 뒤 교체하므로 서버가 읽는 도중 파일이 깨지지 않는다.
+    """
+    if not rows:
+        return
+    EXPORT_DIR.mkdir(parents=True, exist_ok=True)
+    dim = len(rows[0][1])
+
+    vectors = array('f')
+    for _, embedding in rows:
+        norm = math.sqrt(sum(v * v for v in embedding)) or 1.0
+        vectors.extend(v / norm for v in embedding)
+    if sys.byteorder != 'little':
+        vectors.byteswap()
+
+    vector_tmp = EXPORT_DIR / "hospital_vectors.f32.tmp"
+    meta_tmp = EXPORT_DIR / "hospital_vectors.jsonl.tmp"
+    manifest_tmp = EXPORT_DIR / "hospital_vectors.json.tmp"
+    with open(vector_tmp, "wb") as f:
+        vectors.tofile(f)
+    with open(meta_tmp, "w", encoding="utf-8") as f:
+        for hospital, _ in rows:
+            source = hospital['_source']
+            location = source.get('location') or {}
+            f.write(json.dumps({
+                "id": source.get('ykiho', hospital['_id']),
+                "name": source.get('yadmNm'),
+                "address": source.get('addr'),
+                "region": source.get('region'),
+                "category": source.get('category'),
+                "major": source.get('major'),
+                "phone": source.get('telno'),
+                "lat": location.get('lat'),
+                "lon": location.get('lon'),
+            }, ensure_ascii=False) + "\n")
+    with open(manifest_tmp, "w", encoding="utf-8") as f:
+        json.dump({"count": len(rows), "dim": dim, "model": EMBEDDING_MODEL, "metric": "cosine"}, f)
+
+    # 벡터/메타데이터를 먼저 바꾸고 매니페스트를 마지막에 교체 (서버는 매니페스트 변경으로 재적재)
+    vector_tmp.replace(EXPORT_DIR / "hospital_vectors.f32")
+    meta_tmp.replace(EXPORT_DIR / "hospital_vectors.jsonl")
+    manifest_tmp.replace(EXPORT_DIR / "hospital_vectors.json")
+    print(f"벡터 내보내기 완료: {len(rows)}개, {dim}차원 -> {EXPORT_DIR}")
+
+def get_all_data():
+    # 서버의 벡터 검색은 내보낸 건수가 hospitals 인덱스를 덮을 때만 쓰이므로 전체를 스크롤로 가져온다
+    return list(scan(es, index="hospitals", query={"query": {"match_all": {}}}, size=1000))
+
 def get_sample_data(sample_size=100):
     # Elasticsearch에서 데이터 가져오기
     query = {
@@ -114,15 +176,20 @@ def print_stored_data():
         print("-" * 50)
 
 def main():
-    # 테스트용 샘플 데이터 가져오기 (기본값: 100개)
-    sample_size = 100  # 테스트할 데이터 크기 설정
-    hospital_data = get_sample_data(sample_size)
+    # 기본은 전체 병원, --sample N 이면 테스트용 N개만 (샘플 내보내기는 서버에서 키워드 검색으로 대체됨)
+    if "--sample" in sys.argv:
+        sample_size = int(sys.argv[sys.argv.index("--sample") + 1])
+        hospital_data = get_sample_data(sample_size)
+        print(f"테스트용 {len(hospital_data)}개의 병원 데이터를 선택했습니다.")
+    else:
+        hospital_data = get_all_data()
+        print(f"전체 {len(hospital_data)}개의 병원 데이터를 가져왔습니다.")
     
-    print(f"테스트용 {sample_size}개의 병원 데이터를 선택했습니다.")
-    
-    batch_size = 10  # 배치 크기 설정
+    batch_size = 100  # 배치 크기 설정 (임베딩 요청 1회당 건수)
     batches = [hospital_data[i:i + batch_size] for i in range(0, len(hospital_data), batch_size)]
     
+    exported = []
+
     # 진행률 표시를 위한 tqdm 설정
     with tqdm(total=len(hospital_data), desc="병원 데이터 처리 중") as pbar:
         for batch_idx, batch in enumerate(batches):
@@ -134,10 +201,14 @@ def main():
                 documents=documents,
                 ids=ids
             )
+            exported.extend(zip(batch, embeddings))
             
             pbar.update(len(batch))
     
     print("벡터 DB 초기화 완료!")
+
+    # Java 서버 in-JVM 검색용 내보내기
+    export_vectors(exported)
     
     # 저장된 데이터 확인
     print_stored_data()
@@ -85,6 +85,55 @@ const Message = ({ message }) => {
   );
 };
 
+// POST /api/chat/stream 의 SSE 응답을 이벤트 단위로 읽음 (EventSource 는 POST 를 지원하지 않음)
+// 서버 이벤트: hospitals(검색 결과), token({text}), done({message: html}), error({message: html})
+const streamChat = async (body, onEvent) => {
+  const response = await fetch('http://localhost:8001/api/chat/stream', {
+    method: 'POST',
+    credentials: 'include', // POST 채팅 API 는 로그인 필요 (jwt 쿠키)
+    headers: {
+      'Content-Type': 'application/json',
+      Accept: 'text/event-stream',
+    },
+    body: JSON.stringify(body),
+  });
+
+  if (!response.ok || !response.body) {
+    throw new Error('API 요청 실패');
+  }
+
+  const dispatch = (raw) => {
+    let event = 'message';
+    const dataLines = [];
+    raw.split(/\r?\n/).forEach(line => {
+      if (line.startsWith('event:')) {
+        event = line.slice(6).trim();
+      } else if (line.startsWith('data:')) {
+        dataLines.push(line.slice(5).replace(/^ /, ''));
+      }
+    });
+    if (dataLines.length) {
+      onEvent(event, JSON.parse(dataLines.join('\n')));
+    }
+  };
+
+  const reader = response.body.getReader();
+  const decoder = new TextDecoder();
+  let buffer = '';
+  for (;;) {
+    const { value, done } = await reader.read();
+    if (done) break;
+    buffer += decoder.decode(value, { stream: true });
+    // 빈 줄로 끝난 이벤트만 처리하고 나머지는 다음 조각과 이어 붙임
+    const events = buffer.split(/\r?\n\r?\n/);
+    buffer = events.pop();
+    events.forEach(dispatch);
+  }
+  if (buffer.trim()) {
+    dispatch(buffer);
+  }
+};
+
 const BigChatModal = () => {
   const [messages, setMessages] = useState([
     {
@@ -170,9 +219,19 @@ const BigChatModal = () => {
     setIsListening(!isListening);
   };
 
+  // 스트리밍 중인 답변은 마지막 봇 메시지로 두고 조각이 올 때마다 교체
+  const upsertStreamingMessage = (content, streaming) => {
+    setMessages(prev => {
+      const last = prev[prev.length - 1];
+      const message = { type: 'bot', content, streaming };
+      return last && last.streaming ? [...prev.slice(0, -1), message] : [...prev, message];
+    });
+  };
+
   const handleSubmit = async (e) => {
     e.preventDefault();
-    if (!inputMessage.trim()) return;
+    const message = inputMessage.trim();
+    if (!message) return;
 
     setMessages(prev => [...prev, { type: 'user', content: inputMessage }]);
     setInputMessage('');
@@ -180,50 +239,12 @@ const BigChatModal = () => {
 
     try {
       let coordinates = null;
-      
-      if (inputMessage.toLowerCase().includes('내 주변')) {
+
+      // "내 주변" 검색은 좌표를 함께 보내 서버에서 위치 기반으로 검색
+      if (message.toLowerCase().includes('내 주변')) {
         try {
           coordinates = await getUserLocation();
           setUserLocation(coordinates);
-          
-          const locationResponse = await fetch('http://localhost:8001/api/hospitals/nearby', {
-            method: 'POST',
-            headers: {
-              'Content-Type': 'application/json',
-            },
-            body: JSON.stringify({
-              latitude: coordinates.latitude,
-              longitude: coordinates.longitude,
-              radius: 5000
-            }),
-          });
-
-          if (!locationResponse.ok) {
-            throw new Error('주변 병원 검색 실패');
-          }
-
-          const locationData = await locationResponse.json();
-          
-          const response = await fetch('http://localhost:8001/api/chat/send', {
-            method: 'POST',
-            headers: {
-              'Content-Type': 'application/json',
-            },
-            body: JSON.stringify({
-              userId: 'test-user',
-              message: inputMessage.trim(),
-              hospitals: locationData.hospitals
-            }),
-          });
-
-          if (!response.ok) {
-            throw new Error('API 요청 실패');
-          }
-
-          const data = await response.json();
-          const botMessage = data.response || data.message || '응답을 받지 못했습니다.';
-          setMessages(prev => [...prev, { type: 'bot', content: botMessage }]);
-          return;
         } catch (error) {
           console.error('위치 정보 가져오기 실패:', error);
           setMessages(prev => [...prev, { 
@@ -235,31 +256,25 @@ const BigChatModal = () => {
         }
       }
 
-      const response = await fetch('http://localhost:8001/api/chat/message', {
-        method: 'POST',
-        headers: {
-          'Content-Type': 'application/json',
-        },
-        body: JSON.stringify({
-          message: inputMessage.trim(),
-          location: null,
-          coordinates: null
-        }),
+      let answer = '';
+      let finished = false;
+      await streamChat({ message, location: null, coordinates }, (event, data) => {
+        if (event === 'token') {
+          answer += data.text;
+          setIsLoading(false);
+          upsertStreamingMessage(answer, true);
+        } else if (event === 'done' || event === 'error') {
+          finished = true;
+          upsertStreamingMessage(data.message || '응답을 받지 못했습니다.', false);
+        }
       });
 
-      if (!response.ok) {
-        throw new Error('API 요청 실패');
+      if (!finished) {
+        throw new Error('응답 스트림이 중간에 끊겼습니다.');
       }
-
-      const data = await response.json();
-      const botMessage = data.response || data.message || '응답을 받지 못했습니다.';
-      setMessages(prev => [...prev, { type: 'bot', content: botMessage }]);
     } catch (error) {
       console.error('Client: Chat API Error:', error);
-      setMessages(prev => [...prev, { 
-        type: 'bot', 
-        content: '죄송합니다. 현재 서비스에 문제가 발생했습니다. 잠시 후 다시 시도해주세요.' 
-      }]);
+      upsertStreamingMessage('죄송합니다. 현재 서비스에 문제가 발생했습니다. 잠시 후 다시 시도해주세요.', false);
     } finally {
       setIsLoading(false);
     }
@@ -1,4 +1,5 @@
 import React, { useState } from 'react';
+import { thumbnailUrl } from '../../utils/imageUrl';
 
 const ProfileImage = ({ 
   imagePath, 
@@ -27,8 +28,8 @@ const ProfileImage = ({
     if (imagePath.startsWith('storage_disabled_')) {
       return null; // 더미 이미지는 표시하지 않음
     }
-    // 로컬 업로드된 이미지인 경우
-    return `${getApiUrl()}/uploads/profile/${imagePath}`;
+    // 로컬 업로드된 이미지인 경우 (프로필은 작게 표시하므로 썸네일)
+    return thumbnailUrl(`${getApiUrl()}/uploads/profile/${imagePath}`);
   };
 
   // 랜덤 색상 생성 함수
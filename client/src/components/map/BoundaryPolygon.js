@@ -11,7 +11,8 @@ const BoundaryPolygon = ({ map, boundaryType, name, style }) => {
 
     ;(async () => {
       try {
-        const res = await fetchBoundaryGeometry(boundaryType, name)
+        // 현재 줌에 맞게 단순화된 도형 요청
+        const res = await fetchBoundaryGeometry(boundaryType, name, Math.round(map.getZoom()))
         if (canceled) {
           return
         }
@@ -1,5 +1,5 @@
 import React, { useEffect, useRef, useState, useCallback } from 'react';
-import { fetchMapTypeData, fetchClusterData } from '../../service/mapApi';
+import { fetchMapBundle, fetchTileClusters } from '../../service/mapApi';
 // import MapCategoryTabs from './MapCategoryTabs';
 //  import MapFilterBar from './MapFilterBar';
 import debounce from 'lodash.debounce';
@@ -10,6 +10,11 @@ import MapCluster from '../clusters/MapCluster';
 import ClusterMarker from '../markers/ClusterMarker';
 import ClusterInfoWindow from '../markers/ClusterInfoWindow';
 
+// 건물 단위 클러스터/개별 마커를 보여주는 줌 레벨
+const DETAIL_ZOOM = 16;
+// 서버 타일 클러스터를 보여주는 최소 줌 레벨 (그 아래는 행정구역 요약)
+const TILE_CLUSTER_MIN_ZOOM = 12;
+
 const MapPage = () => {
   const mapRef = useRef(null);
   const [map, setMap] = useState(null);
@@ -38,6 +43,7 @@ const MapPage = () => {
   const [lastClickedPosition, setLastClickedPosition] = useState(null);
 
   const [clusters, setClusters] = useState([]);
+  const [tileClusters, setTileClusters] = useState([]);
   const [selectedCluster, setSelectedCluster] = useState(null);
   const [infoWindowPosition, setInfoWindowPosition] = useState(null);
 
@@ -51,30 +57,24 @@ const MapPage = () => {
     hospital.ykiho || `${hospital.yadmNm || hospital.name}_${hospital.location.lat}_${hospital.location.lon}`;
 
   // 지도 영역 내 병원/약국 데이터 fetch
+  // 줌 16 이상은 건물 단위 클러스터(번들), 그 아래 중간 줌은 서버 타일 클러스터(캐시)를 사용
   const fetchDataByBounds = async (mapInstance) => {
     if (!mapInstance) return;
     const bounds = mapInstance.getBounds();
     const sw = bounds.getSW();
     const ne = bounds.getNE();
+    const zoom = mapInstance.getZoom();
+    const viewBounds = {
+      sw: { lat: sw.lat(), lng: sw.lng() },
+      ne: { lat: ne.lat(), lng: ne.lng() }
+    };
+    const useTiles = zoom >= TILE_CLUSTER_MIN_ZOOM && zoom < DETAIL_ZOOM;
     try {
-      const [hospRes, pharmRes, clusterRes] = await Promise.all([
-        fetchMapTypeData('hospital', {
-          swLat: sw.lat(), 
-          swLng: sw.lng(), 
-          neLat: ne.lat(), 
-          neLng: ne.lng()
-        }),
-        fetchMapTypeData('pharmacy', {
-          swLat: sw.lat(), 
-          swLng: sw.lng(), 
-          neLat: ne.lat(), 
-          neLng: ne.lng()
-        }),
-        fetchClusterData({
-          sw: { lat: sw.lat(), lng: sw.lng() },
-          ne: { lat: ne.lat(), lng: ne.lng() }
-        })
+      const [{ hospitals: hospRes, pharmacies: pharmRes, clusters: clusterRes }, tileRes] = await Promise.all([
+        fetchMapBundle(viewBounds, { includeClusters: zoom >= DETAIL_ZOOM }),
+        useTiles ? fetchTileClusters(viewBounds, zoom) : Promise.resolve([])
       ]);
+      setTileClusters(tileRes);
       setHospitals(hospRes);
       setPharmacies(
         pharmRes.map(pharm => ({
@@ -212,9 +212,11 @@ const MapPage = () => {
         neLng: center.lng() + d
       };
 
-      const hospRes = await fetchMapTypeData('hospital', searchBounds);
+      const { hospitals: hospRes, pharmacies: pharmRes } = await fetchMapBundle({
+        sw: { lat: searchBounds.swLat, lng: searchBounds.swLng },
+        ne: { lat: searchBounds.neLat, lng: searchBounds.neLng }
+      }, { includeClusters: false });
       setHospitals(hospRes);
-      const pharmRes = await fetchMapTypeData('pharmacy', searchBounds);
       setPharmacies(pharmRes.map(pharm => ({
         ...pharm,
         lat: pharm.lat || (pharm.location && pharm.location.lat),
@@ -371,6 +373,7 @@ const MapPage = () => {
     // 데이터 초기화
     setHospitals([]);
     setPharmacies([]);
+    setTileClusters([]);
 
     // 초기 데이터 로드
     fetchDataByBounds(map);
@@ -472,8 +475,27 @@ const MapPage = () => {
                 }}
               />
 
+              {/* 줌 12~15: 서버 타일 클러스터 (클릭 시 해당 위치로 확대) */}
+              {zoomLevel >= TILE_CLUSTER_MIN_ZOOM && zoomLevel < DETAIL_ZOOM &&
+                tileClusters.map(cell => {
+                  const position = new window.naver.maps.LatLng(cell.lat, cell.lng);
+                  return (
+                    <ClusterMarker
+                      key={`tile-${cell.clusterId}`}
+                      map={map}
+                      position={position}
+                      cluster={cell}
+                      onClusterClick={() => {
+                        map.setCenter(position);
+                        map.setZoom(Math.min(zoomLevel + 2, DETAIL_ZOOM));
+                      }}
+                      zoomLevel={zoomLevel}
+                    />
+                  );
+                })}
+
               {/* 줌 16+: 모든 마커 표시 */}
-              {zoomLevel >= 16 && (
+              {zoomLevel >= DETAIL_ZOOM && (
                 <>
                   {[
                     // 클러스터 마커
@@ -1,6 +1,7 @@
 import React, { useState, useEffect } from 'react';
 import { Link, useSearchParams, useNavigate } from 'react-router-dom';
 import { getNewsList, deleteNews } from '../../service/newsApi';
+import { thumbnailUrl as toThumbnailUrl } from '../../utils/imageUrl';
 
 const DEFAULT_THUMBNAIL = 'https://placehold.co/150x150/e2e8f0/64748b?text=No+Image';
 
@@ -114,7 +115,7 @@ export default function NewsList() {
         .sort((a, b) => b.view_count - a.view_count)
         .map((item, index) => {
           // representative_image_url이 있으면 사용, 없으면 기본 이미지 사용
-          const thumbnailUrl = item.representative_image_url || DEFAULT_THUMBNAIL;
+          const thumbnailUrl = toThumbnailUrl(item.representative_image_url) || DEFAULT_THUMBNAIL;
 
           return (
             <div
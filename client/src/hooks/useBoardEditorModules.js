@@ -0,0 +1,51 @@
+import { useMemo } from 'react';
+import axios from 'axios';
+import { getApiUrl } from '../utils/api';
+
+// 게시글 Quill 에디터 설정
+// 기본 이미지 버튼은 base64로 본문에 넣으므로, 서버에 올린 뒤 중간 크기 이미지 URL을 넣는다.
+const useBoardEditorModules = (quillRef) => useMemo(() => ({
+  toolbar: {
+    container: [
+      [{ 'header': [1, 2, 3, false] }],
+      ['bold', 'italic', 'underline', 'strike'],
+      [{ 'list': 'ordered'}, { 'list': 'bullet' }],
+      [{ 'color': [] }, { 'background': [] }],
+      [{ 'align': [] }],
+      ['link', 'image'],
+      ['clean']
+    ],
+    handlers: {
+      image: () => {
+        const input = document.createElement('input');
+        input.setAttribute('type', 'file');
+        input.setAttribute('accept', 'image/jpeg,image/png,image/gif');
+        input.onchange = async () => {
+          const file = input.files?.[0];
+          if (!file) return;
+
+          const formData = new FormData();
+          formData.append('file', file);
+          try {
+            const response = await axios.post(`${getApiUrl()}/api/boards/upload-image`, formData, {
+              withCredentials: true,
+              headers: { 'Content-Type': 'multipart/form-data' }
+            });
+            const editor = quillRef.current?.getEditor();
+            if (!editor) return;
+            const range = editor.getSelection(true);
+            const index = range ? range.index : editor.getLength();
+            editor.insertEmbed(index, 'image', `${getApiUrl()}${response.data.mediumUrl}`, 'user');
+            editor.setSelection(index + 1);
+          } catch (error) {
+            console.error('이미지 업로드 실패:', error);
+            alert(error.response?.data?.error || '이미지 업로드에 실패했습니다.');
+          }
+        };
+        input.click();
+      }
+    }
+  }
+}), [quillRef]);
+
+export default useBoardEditorModules;
@@ -534,7 +534,9 @@ const BusStationViewer = () => {
                     {/* 방문한 정류장 목록 */}
                     {tracking.stationVisits && tracking.stationVisits.length > 0 && (
                       <div className="station-visits">
-                        <h6>📍 방문한 정류장 ({tracking.stationVisits.length}개)</h6>
+                        <h6>📍 방문한 정류장 ({tracking.totalStations > tracking.stationVisits.length
+                          ? `최근 ${tracking.stationVisits.length}개 / 전체 ${tracking.totalStations}개`
+                          : `${tracking.stationVisits.length}개`})</h6>
                         
                         {/* 운행 방향 표시 */}
                         <div className="route-direction">
@@ -102,7 +102,7 @@ export default function NewsForm() {
     uploadFile: async (file) => {
       try {
         const response = await uploadNewsMedia(file);
-        return response.url; // 서버에서 반환하는 이미지 URL
+        return response.mediumUrl || response.url; // 본문에는 중간 크기 (변형이 없으면 서버가 원본 제공)
       } catch (error) {
         console.error('이미지 업로드 실패:', error);
         throw new Error("이미지 업로드 실패");
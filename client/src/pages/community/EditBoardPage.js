@@ -1,4 +1,4 @@
-import React, { useState, useEffect } from 'react';
+import React, { useState, useEffect, useRef } from 'react';
 import { useParams, useNavigate } from 'react-router-dom';
 import axios from 'axios';
 import { useAuth } from '../../contexts/AuthContext';
@@ -6,6 +6,7 @@ import ReactQuill from 'react-quill';
 import 'react-quill/dist/quill.snow.css';
 import { getApiUrl } from '../../utils/api';
 import CategoryTree from '../../components/community/CategoryTree';
+import useBoardEditorModules from '../../hooks/useBoardEditorModules';
 
 const EditBoardPage = () => {
   const { id } = useParams();
@@ -22,18 +23,9 @@ const EditBoardPage = () => {
   const [metaValues, setMetaValues] = useState({});
   const [sidebarSelectedCategory, setSidebarSelectedCategory] = useState('');
 
-  // Quill 에디터 설정
-  const modules = {
-    toolbar: [
-      [{ 'header': [1, 2, 3, false] }],
-      ['bold', 'italic', 'underline', 'strike'],
-      [{ 'list': 'ordered'}, { 'list': 'bullet' }],
-      [{ 'color': [] }, { 'background': [] }],
-      [{ 'align': [] }],
-      ['link', 'image'],
-      ['clean']
-    ],
-  };
+  // Quill 에디터 설정 (이미지는 서버 업로드)
+  const quillRef = useRef(null);
+  const modules = useBoardEditorModules(quillRef);
 
   const formats = [
     'header',
@@ -223,6 +215,7 @@ const EditBoardPage = () => {
             <div className="mb-4 lg:mb-6">
               <label className="block text-sm font-medium text-gray-700 mb-2">내용</label>
               <ReactQuill
+                ref={quillRef}
                 value={content}
                 onChange={setContent}
                 modules={modules}
@@ -29,6 +29,30 @@ export const fetchMapTypeData = async (type, bounds = {}) => {
   }
 };
 
+// 지도 영역 내 병원/약국/클러스터 일괄 조회 (서버에서 단일 _msearch 로 처리)
+// includeClusters: false 이면 서버에서 클러스터 조회를 생략
+export const fetchMapBundle = async (bounds, { includeClusters = true } = {}) => {
+  try {
+    const { sw, ne } = bounds;
+    const response = await axios.get(`${baseUrl}/api/map/map-bundle`, {
+      params: {
+        swLat: sw.lat,
+        swLng: sw.lng,
+        neLat: ne.lat,
+        neLng: ne.lng,
+        centerLat: (sw.lat + ne.lat) / 2,
+        centerLng: (sw.lng + ne.lng) / 2,
+        radius: 5,
+        includeClusters
+      }
+    });
+    return response.data;
+  } catch (error) {
+    console.error('❌ Error fetching map bundle:', error);
+    throw error;
+  }
+};
+
 // 지도 검색 API
 export const searchLocation = async (query) => {
   try {
@@ -279,6 +303,25 @@ export const fetchClusterData = async (bounds) => {
   }
 };
 
+// 줌 레벨 기반 타일 클러스터 조회 (서버 타일 캐시 사용)
+export const fetchTileClusters = async (bounds, zoomLevel) => {
+  try {
+    const response = await axios.get(`${baseUrl}/api/map/map-summary/tiles`, {
+      params: {
+        swLat: bounds.sw.lat,
+        swLng: bounds.sw.lng,
+        neLat: bounds.ne.lat,
+        neLng: bounds.ne.lng,
+        zoomLevel
+      }
+    });
+    return response.data;
+  } catch (error) {
+    console.error('타일 클러스터 조회 실패:', error);
+    return [];
+  }
+};
+
 // 맵 클러스터 데이터 조회
 export const fetchMapClusterData = async (bounds, zoomLevel) => {
   try {
@@ -299,12 +342,14 @@ export const fetchMapClusterData = async (bounds, zoomLevel) => {
 };
 
 // 경계 geometry 데이터 조회
-export const fetchBoundaryGeometry = async (boundaryType, name) => {
+// zoomLevel 을 넘기면 해당 줌에 맞게 단순화된 도형을 받음 (생략 시 원본)
+export const fetchBoundaryGeometry = async (boundaryType, name, zoomLevel) => {
   try {
     const response = await axios.get(`${baseUrl}/api/map/map-summary/boundary-geometry`, {
       params: {
         boundaryType,
-        name
+        name,
+        zoomLevel
       }
     });
     return response.data;
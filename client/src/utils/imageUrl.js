@@ -0,0 +1,16 @@
+// 업로드 이미지 변형 URL
+// 내용 해시 파일명(/uploads/{폴더}/{해시}.{확장자})만 서버에서 썸네일/중간 크기를 만들므로 그 외 URL은 그대로 둔다.
+// 변형이 아직 만들어지지 않았으면 서버가 원본을 대신 내려준다.
+const CONTENT_IMAGE_URL = /^(.*\/uploads\/(?:profile|news|boards)\/)(?:(?:thumb|medium)\/)?([0-9a-f]{64}\.(?:jpg|jpeg|png|gif))$/;
+
+export const imageVariantUrl = (url, variant) => {
+  if (!url) {
+    return url;
+  }
+  const match = url.match(CONTENT_IMAGE_URL);
+  return match ? `${match[1]}${variant}/${match[2]}` : url;
+};
+
+export const thumbnailUrl = (url) => imageVariantUrl(url, 'thumb');
+
+export const mediumUrl = (url) => imageVariantUrl(url, 'medium');
@@ -0,0 +1,76 @@
+package com.bippobippo.hospital.config;
+
+import com.bippobippo.hospital.entity.common.SocialConfig;
+import com.bippobippo.hospital.repository.common.SocialConfigRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import javax.annotation.PostConstruct;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * 활성화된 소셜 로그인 설정(hospital_social_configs)의 메모리 스냅샷
+ *
+ * 로그인 경로에서 매번 DB 를 조회하지 않도록 불변 맵을 두고, 관리자 API 가 설정을 바꾸면
+ * 커밋 후 새 스냅샷으로 교체한다.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class ConfigSnapshotCache {
+
+    private final SocialConfigRepository socialConfigRepository;
+
+    private final AtomicReference<Map<String, SocialConfig>> socialConfigs = new AtomicReference<>(Collections.emptyMap());
+
+    @PostConstruct
+    public void initialize() {
+        reload();
+    }
+
+    /**
+     * 활성화된 소셜 로그인 설정 조회
+     */
+    public Optional<SocialConfig> findActiveSocialConfig(String provider) {
+        return Optional.ofNullable(socialConfigs.get().get(provider));
+    }
+
+    public void reload() {
+        try {
+            Map<String, SocialConfig> social = new HashMap<>();
+            for (SocialConfig config : socialConfigRepository.findAll()) {
+                if (Boolean.TRUE.equals(config.getIsActive())) {
+                    social.put(config.getProvider(), config);
+                }
+            }
+
+            socialConfigs.set(Collections.unmodifiableMap(social));
+            log.info("설정 스냅샷 갱신: 소셜 {}개", social.size());
+        } catch (Exception e) {
+            log.error("설정 스냅샷 갱신 실패: {}", e.getMessage(), e);
+        }
+    }
+
+    /**
+     * 현재 트랜잭션 커밋 후 스냅샷 교체 (트랜잭션 밖이면 즉시)
+     */
+    public void reloadAfterCommit() {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    reload();
+                }
+            });
+        } else {
+            reload();
+        }
+    }
+}
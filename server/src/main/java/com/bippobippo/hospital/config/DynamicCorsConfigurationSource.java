@@ -0,0 +1,241 @@
+package com.bippobippo.hospital.config;
+
+import com.bippobippo.hospital.entity.common.CorsConfig;
+import com.bippobippo.hospital.entity.hospital.HospitalOrigin;
+import com.bippobippo.hospital.repository.admin.CorsConfigRepository;
+import com.bippobippo.hospital.repository.hospital.HospitalOriginRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.HttpHeaders;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.web.cors.CorsConfiguration;
+import org.springframework.web.cors.CorsConfigurationSource;
+
+import javax.annotation.PostConstruct;
+import javax.servlet.http.HttpServletRequest;
+import java.util.*;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.regex.Pattern;
+
+/**
+ * DB 에 등록된 출처(hospital_origins, hospital_cors_configs)로 CORS 를 판단하는 설정 소스
+ *
+ * 요청마다 DB 를 조회하지 않도록 불변 스냅샷(정확히 일치하는 출처 → 설정 맵, 와일드카드 출처의
+ * 컴파일된 패턴)을 메모리에 두고, 관리자 API 가 출처를 바꾸면 커밋 후 새 스냅샷으로 교체한다.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class DynamicCorsConfigurationSource implements CorsConfigurationSource {
+
+    private static final List<String> DEFAULT_METHODS = Arrays.asList("GET", "POST", "PUT", "DELETE", "OPTIONS", "PATCH");
+    private static final List<String> DEFAULT_HEADERS = Arrays.asList(
+        "Authorization",
+        "Content-Type",
+        "X-CSRF-TOKEN",
+        "X-Requested-With",
+        "Accept",
+        "Origin",
+        "Access-Control-Request-Method",
+        "Access-Control-Request-Headers",
+        "Cookie"
+    );
+    private static final List<String> EXPOSED_HEADERS = Arrays.asList(
+        "Access-Control-Allow-Origin",
+        "Access-Control-Allow-Credentials",
+        "Set-Cookie",
+        "X-CSRF-TOKEN"
+    );
+    private static final long DEFAULT_MAX_AGE = 3600L;
+
+    // 개발 환경 localhost 출처
+    private static final List<String> DEV_ORIGINS = Arrays.asList(
+        "http://localhost:3000",
+        "http://localhost:8081",
+        "http://localhost:3002"
+    );
+
+    private final HospitalOriginRepository originRepository;
+    private final CorsConfigRepository corsConfigRepository;
+
+    private final AtomicReference<Snapshot> snapshot = new AtomicReference<>(Snapshot.EMPTY);
+
+    @PostConstruct
+    public void initialize() {
+        reload();
+    }
+
+    @Override
+    public CorsConfiguration getCorsConfiguration(HttpServletRequest request) {
+        String origin = request.getHeader(HttpHeaders.ORIGIN);
+        return snapshot.get().match(origin);
+    }
+
+    /**
+     * DB 에서 출처 목록을 다시 읽어 스냅샷 교체 (실패 시 기존 스냅샷 유지)
+     */
+    public void reload() {
+        try {
+            List<String> origins = new ArrayList<>();
+            originRepository.findAll().stream()
+                .filter(origin -> Boolean.TRUE.equals(origin.getIsActive()))
+                .map(HospitalOrigin::getOriginUrl)
+                .forEach(origins::add);
+
+            String activeProfile = System.getProperty("spring.profiles.active", "dev");
+            if ("dev".equals(activeProfile)) {
+                origins.addAll(DEV_ORIGINS);
+            }
+
+            Snapshot rebuilt = Snapshot.build(origins, corsConfigRepository.findAll());
+            snapshot.set(rebuilt);
+            log.info("CORS 출처 스냅샷 갱신: 출처 {}개, 와일드카드 {}개", rebuilt.exact.size(), rebuilt.wildcards.size());
+        } catch (Exception e) {
+            log.error("CORS 출처 스냅샷 갱신 실패: {}", e.getMessage(), e);
+        }
+    }
+
+    /**
+     * 현재 트랜잭션 커밋 후 스냅샷 교체 (트랜잭션 밖이면 즉시)
+     */
+    public void reloadAfterCommit() {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    reload();
+                }
+            });
+        } else {
+            reload();
+        }
+    }
+
+    private static final class Snapshot {
+
+        private static final Snapshot EMPTY = new Snapshot(Collections.emptyMap(), Collections.emptyList(), rejecting());
+
+        // 정규화된 출처 → 해당 출처만 허용하는 설정
+        private final Map<String, CorsConfiguration> exact;
+        private final List<Wildcard> wildcards;
+        private final CorsConfiguration rejected;
+
+        private Snapshot(Map<String, CorsConfiguration> exact, List<Wildcard> wildcards, CorsConfiguration rejected) {
+            this.exact = exact;
+            this.wildcards = wildcards;
+            this.rejected = rejected;
+        }
+
+        static Snapshot build(List<String> origins, List<CorsConfig> corsConfigs) {
+            // 출처별 세부 설정 (methods/headers/credentials/maxAge)
+            Map<String, CorsConfig> overrides = new HashMap<>();
+            List<String> allOrigins = new ArrayList<>(origins);
+            for (CorsConfig config : corsConfigs) {
+                if (config.getOrigin() == null || config.getOrigin().isBlank()) {
+                    continue;
+                }
+                overrides.put(normalize(config.getOrigin()), config);
+                allOrigins.add(config.getOrigin());
+            }
+
+            Map<String, CorsConfiguration> exact = new HashMap<>();
+            List<Wildcard> wildcards = new ArrayList<>();
+            for (String origin : allOrigins) {
+                if (origin == null || origin.isBlank()) {
+                    continue;
+                }
+                String normalized = normalize(origin);
+                CorsConfiguration configuration = configurationFor(overrides.get(normalized));
+                if (normalized.contains("*")) {
+                    wildcards.add(new Wildcard(compile(normalized), configuration));
+                } else {
+                    configuration.setAllowedOrigins(Collections.singletonList(origin.trim()));
+                    exact.put(normalized, configuration);
+                }
+            }
+            return new Snapshot(Collections.unmodifiableMap(exact), Collections.unmodifiableList(wildcards), rejecting());
+        }
+
+        CorsConfiguration match(String origin) {
+            if (origin == null) {
+                return rejected;
+            }
+            String normalized = normalize(origin);
+            CorsConfiguration configuration = exact.get(normalized);
+            if (configuration != null) {
+                return configuration;
+            }
+            for (Wildcard wildcard : wildcards) {
+                if (wildcard.pattern.matcher(normalized).matches()) {
+                    CorsConfiguration matched = new CorsConfiguration(wildcard.configuration);
+                    matched.setAllowedOrigins(Collections.singletonList(origin));
+                    return matched;
+                }
+            }
+            return rejected;
+        }
+
+        private static CorsConfiguration configurationFor(CorsConfig override) {
+            CorsConfiguration configuration = new CorsConfiguration();
+            configuration.setAllowedMethods(override != null && hasText(override.getMethods())
+                ? split(override.getMethods()) : DEFAULT_METHODS);
+            configuration.setAllowedHeaders(override != null && hasText(override.getHeaders())
+                ? split(override.getHeaders()) : DEFAULT_HEADERS);
+            configuration.setExposedHeaders(EXPOSED_HEADERS);
+            configuration.setAllowCredentials(override == null || override.getCredentials() == null || override.getCredentials());
+            configuration.setMaxAge(override != null && override.getMaxAge() != null
+                ? override.getMaxAge().longValue() : DEFAULT_MAX_AGE);
+            return configuration;
+        }
+
+        // 허용 출처가 없는 설정 - CORS 요청은 거부됨
+        private static CorsConfiguration rejecting() {
+            CorsConfiguration configuration = configurationFor(null);
+            configuration.setAllowedOrigins(Collections.emptyList());
+            return configuration;
+        }
+
+        // "https://*.example.com" → 서브도메인 한 단계 이상과 일치하는 패턴
+        private static Pattern compile(String wildcardOrigin) {
+            StringBuilder regex = new StringBuilder();
+            for (String part : wildcardOrigin.split("\\*", -1)) {
+                if (regex.length() > 0) {
+                    regex.append("[^/]+");
+                }
+                regex.append(Pattern.quote(part));
+            }
+            return Pattern.compile(regex.toString());
+        }
+
+        private static String normalize(String origin) {
+            String trimmed = origin.trim().toLowerCase(Locale.ROOT);
+            return trimmed.endsWith("/") ? trimmed.substring(0, trimmed.length() - 1) : trimmed;
+        }
+
+        private static List<String> split(String value) {
+            List<String> values = new ArrayList<>();
+            for (String item : value.split(",")) {
+                if (!item.isBlank()) {
+                    values.add(item.trim());
+                }
+            }
+            return values;
+        }
+
+        private static boolean hasText(String value) {
+            return value != null && !value.isBlank();
+        }
+    }
+
+    private static final class Wildcard {
+        private final Pattern pattern;
+        private final CorsConfiguration configuration;
+
+        private Wildcard(Pattern pattern, CorsConfiguration configuration) {
+            this.pattern = pattern;
+            this.configuration = configuration;
+        }
+    }
+}
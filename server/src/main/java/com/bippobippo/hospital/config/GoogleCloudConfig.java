@@ -3,27 +3,34 @@ package com.bippobippo.hospital.config;
 import com.google.auth.oauth2.GoogleCredentials;
 import com.google.cloud.storage.Storage;
 import com.google.cloud.storage.StorageOptions;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.core.io.ClassPathResource;
 
 import java.io.IOException;
+import java.io.InputStream;
 
-// @Configuration
+/**
+ * 이미지 저장소를 Google Cloud Storage 로 쓸 때만 활성화 (app.upload.storage=gcs)
+ * 기본값은 로컬 디스크 저장소(LocalImageBlobStore)
+ */
+@Configuration
+@ConditionalOnProperty(name = "app.upload.storage", havingValue = "gcs")
 public class GoogleCloudConfig {
 
-    // @Bean
+    @Value("${app.upload.gcs.credentials:google-cloud-credentials.json}")
+    private String credentialsPath;
+
+    @Bean
     public Storage googleCloudStorage() throws IOException {
-        // Google Cloud 설정 비활성화
-        throw new UnsupportedOperationException("Google Cloud Storage is disabled");
-        
-        // GoogleCredentials credentials = GoogleCredentials.fromStream(
-        //     new ClassPathResource("google-cloud-credentials.json").getInputStream()
-        // );
-        
-        // return StorageOptions.newBuilder()
-        //     .setCredentials(credentials)
-        //     .build()
-        //     .getService();
+        try (InputStream credentialsStream = new ClassPathResource(credentialsPath).getInputStream()) {
+            GoogleCredentials credentials = GoogleCredentials.fromStream(credentialsStream);
+            return StorageOptions.newBuilder()
+                .setCredentials(credentials)
+                .build()
+                .getService();
+        }
     }
-} 
\ No newline at end of file
+}
@@ -1,6 +1,8 @@
 package com.bippobippo.hospital.config;
 
+import com.bippobippo.hospital.security.AuthenticatedUserCache;
 import com.bippobippo.hospital.security.JwtTokenProvider;
+import io.jsonwebtoken.Claims;
 import io.jsonwebtoken.JwtException;
 import javax.servlet.FilterChain;
 import javax.servlet.ServletException;
@@ -28,11 +30,14 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
 
     private final JwtTokenProvider jwtTokenProvider;
     private final UserDetailsService userDetailsService;
+    private final AuthenticatedUserCache authenticatedUserCache;
 
     public JwtAuthenticationFilter(JwtTokenProvider jwtTokenProvider,
-                                   UserDetailsService userDetailsService) {
+                                   UserDetailsService userDetailsService,
+                                   AuthenticatedUserCache authenticatedUserCache) {
         this.jwtTokenProvider = jwtTokenProvider;
         this.userDetailsService = userDetailsService;
+        this.authenticatedUserCache = authenticatedUserCache;
     }
 
     @Override
@@ -46,29 +51,27 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
 
         if (jwt != null) {
             try {
-                // 1) 토큰 서명·만료 검증
-                if (jwtTokenProvider.validateToken(jwt)) {
-                    // 2) 유효한 토큰이면 사용자 이름 추출
-                    String username = jwtTokenProvider.getUsernameFromToken(jwt);
-                    logger.debug("Username from token: {}", username);
+                // 1) 토큰 서명·만료 검증과 클레임 추출 (한 번만 파싱, 실패 시 JwtException)
+                Claims claims = jwtTokenProvider.getClaimsFromToken(jwt);
+                // 2) 유효한 토큰이면 사용자 이름 추출
+                String username = claims.getSubject();
+                logger.debug("Username from token: {}", username);
 
-                    // 3) SecurityContext에 인증 정보가 없으면 강제 설정
-                    if (username != null && SecurityContextHolder.getContext().getAuthentication() == null) {
-                        UserDetails userDetails = userDetailsService.loadUserByUsername(username);
-                        UsernamePasswordAuthenticationToken authToken =
-                            new UsernamePasswordAuthenticationToken(
-                                userDetails,
-                                null,
-                                userDetails.getAuthorities()
-                            );
-                        authToken.setDetails(new WebAuthenticationDetailsSource().buildDetails(request));
-                        SecurityContextHolder.getContext().setAuthentication(authToken);
-                        logger.debug("Authentication set in SecurityContext for user: {}", username);
-                    }
-                } else {
-                    logger.warn("Token validation failed");
+                // 3) SecurityContext에 인증 정보가 없으면 강제 설정 (사용자 정보는 캐시 우선)
+                if (username != null && SecurityContextHolder.getContext().getAuthentication() == null) {
+                    UserDetails userDetails = authenticatedUserCache.get(username, jwtTokenProvider.getTokenId(claims),
+                        () -> userDetailsService.loadUserByUsername(username));
+                    UsernamePasswordAuthenticationToken authToken =
+                        new UsernamePasswordAuthenticationToken(
+                            userDetails,
+                            null,
+                            userDetails.getAuthorities()
+                        );
+                    authToken.setDetails(new WebAuthenticationDetailsSource().buildDetails(request));
+                    SecurityContextHolder.getContext().setAuthentication(authToken);
+                    logger.debug("Authentication set in SecurityContext for user: {}", username);
                 }
-            } catch (JwtException ex) {
+            } catch (JwtException | IllegalArgumentException ex) {
                 // SignatureException, ExpiredJwtException 등 JWT 관련 예외 모두 처리
                 logger.warn("Invalid JWT token: {}", ex.getMessage());
             }
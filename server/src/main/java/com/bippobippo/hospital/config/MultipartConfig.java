@@ -0,0 +1,93 @@
+package com.bippobippo.hospital.config;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.web.servlet.MultipartProperties;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.boot.web.servlet.MultipartConfigFactory;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.util.unit.DataSize;
+import org.springframework.web.multipart.MaxUploadSizeExceededException;
+import org.springframework.web.multipart.MultipartException;
+import org.springframework.web.multipart.MultipartFile;
+import org.springframework.web.multipart.MultipartHttpServletRequest;
+import org.springframework.web.multipart.support.StandardServletMultipartResolver;
+
+import javax.servlet.MultipartConfigElement;
+import javax.servlet.http.HttpServletRequest;
+import java.util.List;
+
+/**
+ * 업로드 크기 제한 설정
+ *
+ * 서블릿 컨테이너의 멀티파트 한도는 DispatcherServlet 하나에 걸리므로 전국 행정구역 경계 GeoJSON 을 받을 수 있게
+ * boundary.upload.max-size 로 잡고, 경계 업로드(/api/admin/boundaries/**)가 아닌 요청은 리졸버에서
+ * spring.servlet.multipart 의 일반 한도(기본 10MB)로 다시 막는다. Content-Length 가 한도를 넘으면 본문을
+ * 읽기 전에 거절하고, 길이를 모르는 요청은 파싱 후 파일 크기로 확인한다.
+ */
+@Configuration
+@EnableConfigurationProperties(MultipartProperties.class)
+public class MultipartConfig {
+
+    private static final String BOUNDARY_UPLOAD_PATH = "/api/admin/boundaries/";
+
+    @Value("${boundary.upload.max-size:512MB}")
+    private DataSize boundaryMaxSize;
+
+    @Bean
+    public MultipartConfigElement multipartConfigElement(MultipartProperties properties) {
+        MultipartConfigFactory factory = new MultipartConfigFactory();
+        factory.setLocation(properties.getLocation());
+        factory.setFileSizeThreshold(properties.getFileSizeThreshold());
+        factory.setMaxFileSize(boundaryMaxSize);
+        factory.setMaxRequestSize(boundaryMaxSize);
+        return factory.createMultipartConfig();
+    }
+
+    @Bean(name = "multipartResolver")
+    public StandardServletMultipartResolver multipartResolver(MultipartProperties properties) {
+        PathLimitedMultipartResolver resolver = new PathLimitedMultipartResolver(
+            properties.getMaxFileSize().toBytes(), properties.getMaxRequestSize().toBytes());
+        resolver.setResolveLazily(properties.isResolveLazily());
+        return resolver;
+    }
+
+    private static class PathLimitedMultipartResolver extends StandardServletMultipartResolver {
+
+        private final long maxFileSize;
+        private final long maxRequestSize;
+
+        PathLimitedMultipartResolver(long maxFileSize, long maxRequestSize) {
+            this.maxFileSize = maxFileSize;
+            this.maxRequestSize = maxRequestSize;
+        }
+
+        @Override
+        public MultipartHttpServletRequest resolveMultipart(HttpServletRequest request) throws MultipartException {
+            if (isBoundaryUpload(request)) {
+                return super.resolveMultipart(request);
+            }
+            if (request.getContentLengthLong() > maxRequestSize) {
+                throw new MaxUploadSizeExceededException(maxRequestSize);
+            }
+
+            MultipartHttpServletRequest multipartRequest = super.resolveMultipart(request);
+            long total = 0;
+            for (List<MultipartFile> files : multipartRequest.getMultiFileMap().values()) {
+                for (MultipartFile file : files) {
+                    total += file.getSize();
+                    if (file.getSize() > maxFileSize || total > maxRequestSize) {
+                        cleanupMultipart(multipartRequest);
+                        throw new MaxUploadSizeExceededException(file.getSize() > maxFileSize ? maxFileSize : maxRequestSize);
+                    }
+                }
+            }
+            return multipartRequest;
+        }
+
+        private static boolean isBoundaryUpload(HttpServletRequest request) {
+            String path = request.getRequestURI().substring(request.getContextPath().length());
+            return path.startsWith(BOUNDARY_UPLOAD_PATH);
+        }
+    }
+}
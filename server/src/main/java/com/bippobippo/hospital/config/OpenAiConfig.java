@@ -0,0 +1,61 @@
+package com.bippobippo.hospital.config;
+
+import com.theokanning.openai.client.OpenAiApi;
+import com.theokanning.openai.service.OpenAiService;
+import okhttp3.ConnectionPool;
+import okhttp3.Dispatcher;
+import okhttp3.OkHttpClient;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.time.Duration;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * OpenAI 클라이언트 설정
+ *
+ * 요청마다 OpenAiService 를 만들면 HTTP 클라이언트와 커넥션 풀이 매번 새로 생기므로
+ * 애플리케이션 전체에서 하나를 공유한다. 스트리밍 응답은 요청이 끝날 때까지 연결을 점유하므로
+ * 호스트당 동시 요청 수를 OkHttp 기본값(5)보다 넉넉하게 잡는다.
+ * openai.api.base-url 을 바꾸면 로컬 스텁 서버 등 호환 엔드포인트로 교체할 수 있다.
+ */
+@Configuration
+public class OpenAiConfig {
+
+    @Value("${openai.api.key}")
+    private String apiKey;
+
+    @Value("${openai.api.base-url:https://api.openai.com/}")
+    private String baseUrl;
+
+    @Value("${openai.api.timeout-seconds:30}")
+    private long timeoutSeconds;
+
+    @Value("${openai.api.max-concurrent-requests:64}")
+    private int maxConcurrentRequests;
+
+    @Value("${openai.api.max-idle-connections:10}")
+    private int maxIdleConnections;
+
+    @Bean(destroyMethod = "shutdownExecutor")
+    public OpenAiService openAiService() {
+        Dispatcher dispatcher = new Dispatcher();
+        dispatcher.setMaxRequests(maxConcurrentRequests);
+        dispatcher.setMaxRequestsPerHost(maxConcurrentRequests);
+
+        OkHttpClient client = OpenAiService.defaultClient(apiKey, Duration.ofSeconds(timeoutSeconds))
+            .newBuilder()
+            .dispatcher(dispatcher)
+            .connectionPool(new ConnectionPool(maxIdleConnections, 5, TimeUnit.MINUTES))
+            .build();
+
+        OpenAiApi api = OpenAiService.defaultRetrofit(client, OpenAiService.defaultObjectMapper())
+            .newBuilder()
+            .baseUrl(baseUrl.endsWith("/") ? baseUrl : baseUrl + "/")
+            .build()
+            .create(OpenAiApi.class);
+
+        return new OpenAiService(api, client.dispatcher().executorService());
+    }
+}
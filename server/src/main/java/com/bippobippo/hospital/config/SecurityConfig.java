@@ -1,8 +1,6 @@
 package com.bippobippo.hospital.config;
 
-import com.bippobippo.hospital.entity.hospital.HospitalOrigin;
 import com.bippobippo.hospital.entity.user.User;
-import com.bippobippo.hospital.repository.hospital.HospitalOriginRepository;
 import com.bippobippo.hospital.repository.user.UserRepository;
 import com.bippobippo.hospital.security.CustomUserDetails;
 import lombok.RequiredArgsConstructor;
@@ -23,15 +21,9 @@ import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.security.web.SecurityFilterChain;
 import org.springframework.security.web.authentication.UsernamePasswordAuthenticationFilter;
-import org.springframework.web.cors.CorsConfiguration;
-import org.springframework.web.cors.CorsConfigurationSource;
-import org.springframework.web.cors.UrlBasedCorsConfigurationSource;
 import org.springframework.security.web.csrf.CookieCsrfTokenRepository;
 import org.springframework.http.HttpMethod;
 
-import java.util.Arrays;
-import java.util.List;
-import java.util.stream.Collectors;
 import javax.servlet.http.HttpServletResponse;
 
 
@@ -42,12 +34,12 @@ import javax.servlet.http.HttpServletResponse;
 public class SecurityConfig {
 
     private final UserRepository userRepository;
-    private final HospitalOriginRepository originRepository;
+    private final DynamicCorsConfigurationSource corsConfigurationSource;
 
     @Bean
     public SecurityFilterChain filterChain(HttpSecurity http, JwtAuthenticationFilter jwtAuthenticationFilter) throws Exception {
         http
-            .cors(cors -> cors.configurationSource(corsConfigurationSource()))
+            .cors(cors -> cors.configurationSource(corsConfigurationSource))
             .csrf(csrf -> csrf.disable())
             .sessionManagement(session -> session
                 .sessionCreationPolicy(SessionCreationPolicy.STATELESS)
@@ -88,6 +80,9 @@ public class SecurityConfig {
             // 업로드된 이미지 파일들 - 모든 사용자 접근 허용
             .antMatchers("/uploads/**").permitAll()
 
+            // 의미 검색 - 요청마다 유료 임베딩을 호출하므로 로그인 사용자만
+            .antMatchers(HttpMethod.GET, "/api/chat/semantic-search").authenticated()
+
             // 기타 모든 API의 GET 요청 허용
             .antMatchers(HttpMethod.GET, "/api/**").permitAll()
 
@@ -132,51 +127,4 @@ public class SecurityConfig {
     public PasswordEncoder passwordEncoder() {
         return new BCryptPasswordEncoder(10);
     }
-
-    @Bean
-    public CorsConfigurationSource corsConfigurationSource() {
-        CorsConfiguration configuration = new CorsConfiguration();
-        
-        // 데이터베이스에서 활성화된 출처 목록 가져오기
-        List<String> allowedOrigins = originRepository.findAll().stream()
-            .filter(HospitalOrigin::getIsActive)
-            .map(HospitalOrigin::getOriginUrl)
-            .collect(Collectors.toList());
-        
-        // 개발 환경의 localhost 출처 추가
-        String activeProfile = System.getProperty("spring.profiles.active", "dev");
-        if ("dev".equals(activeProfile)) {
-            allowedOrigins.addAll(Arrays.asList(
-                "http://localhost:3000",
-                "http://localhost:8081",
-                "http://localhost:3002"
-            ));
-        }
-        
-        configuration.setAllowedOrigins(allowedOrigins);
-        configuration.setAllowedMethods(Arrays.asList("GET", "POST", "PUT", "DELETE", "OPTIONS", "PATCH"));
-        configuration.setAllowedHeaders(Arrays.asList(
-            "Authorization",
-            "Content-Type",
-            "X-CSRF-TOKEN",
-            "X-Requested-With",
-            "Accept",
-            "Origin",
-            "Access-Control-Request-Method",
-            "Access-Control-Request-Headers",
-            "Cookie"
-        ));
-        configuration.setExposedHeaders(Arrays.asList(
-            "Access-Control-Allow-Origin",
-            "Access-Control-Allow-Credentials",
-            "Set-Cookie",
-            "X-CSRF-TOKEN"
-        ));
-        configuration.setAllowCredentials(true);
-        configuration.setMaxAge(3600L);
-
-        UrlBasedCorsConfigurationSource source = new UrlBasedCorsConfigurationSource();
-        source.registerCorsConfiguration("/**", configuration);
-        return source;
-    }
-} 
\ No newline at end of file
+}
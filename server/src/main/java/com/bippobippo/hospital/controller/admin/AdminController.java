@@ -3,15 +3,22 @@ package com.bippobippo.hospital.controller.admin;
 import com.bippobippo.hospital.dto.MessageResponse;
 import com.bippobippo.hospital.dto.request.admin.*;
 import com.bippobippo.hospital.dto.response.admin.*;
+import com.bippobippo.hospital.dto.response.event.AnalyticsResponse;
 import com.bippobippo.hospital.entity.OperatingTimeSuggestion;
+import com.bippobippo.hospital.impl.common.HospitalVectorIndex;
 import com.bippobippo.hospital.service.admin.AdminService;
+import com.bippobippo.hospital.service.bus.BusArrivalPredictionService;
+import com.bippobippo.hospital.service.bus.SegmentTravelTimeService;
+import com.bippobippo.hospital.service.event.AnalyticsService;
 import com.bippobippo.hospital.service.hospital.OperatingTimeSuggestionService;
 import lombok.RequiredArgsConstructor;
+import org.springframework.format.annotation.DateTimeFormat;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.web.bind.annotation.*;
 import org.springframework.web.multipart.MultipartFile;
 
+import java.util.Date;
 import java.util.List;
 import java.util.Map;
 
@@ -22,6 +29,10 @@ public class AdminController {
 
     private final AdminService adminService;
     private final OperatingTimeSuggestionService operatingTimeSuggestionService;
+    private final AnalyticsService analyticsService;
+    private final HospitalVectorIndex hospitalVectorIndex;
+    private final BusArrivalPredictionService busArrivalPredictionService;
+    private final SegmentTravelTimeService segmentTravelTimeService;
 
     @GetMapping("/dashboard/stats")
     public ResponseEntity<DashboardStatsResponse> getDashboardStats() {
@@ -142,4 +153,116 @@ public class AdminController {
             ));
         }
     }
-} 
\ No newline at end of file
+
+    @PostMapping("/analytics/rollups/rebuild")
+    public ResponseEntity<AnalyticsResponse> rebuildEventRollups(
+            @RequestParam String from,
+            @RequestParam String to) {
+        return ResponseEntity.ok(analyticsService.rebuildEventRollups(from, to));
+    }
+
+    @GetMapping("/analytics/statistics/benchmark")
+    public ResponseEntity<AnalyticsResponse> benchmarkEventStatistics(
+            @RequestParam String userId,
+            @RequestParam String eventType,
+            @RequestParam(defaultValue = "5") int iterations) {
+        return ResponseEntity.ok(analyticsService.benchmarkEventStatistics(userId, eventType, iterations));
+    }
+
+    @PostMapping("/chat/vector-index/reload")
+    public ResponseEntity<MessageResponse> reloadHospitalVectorIndex() {
+        hospitalVectorIndex.reload();
+        return ResponseEntity.ok(new MessageResponse("병원 벡터 인덱스 재적재를 시작했습니다."));
+    }
+
+    @GetMapping("/chat/vector-index/benchmark")
+    public ResponseEntity<?> benchmarkHospitalVectorIndex(
+            @RequestParam(defaultValue = "200") int queries,
+            @RequestParam(defaultValue = "10") int k,
+            @RequestParam(required = false) Integer ef,
+            @RequestParam(required = false) String region) {
+        if (!hospitalVectorIndex.isReady()) {
+            return ResponseEntity.status(503).body(Map.of("message", "병원 벡터 인덱스가 아직 적재되지 않았습니다."));
+        }
+        return ResponseEntity.ok(hospitalVectorIndex.benchmark(queries, k, ef, region));
+    }
+
+    // 구간 소요 시간 모델 평가 (기간 이전 기록으로 학습 → 기간 내 운행 기록 재생, 전체 기록을 읽으므로 관리자 전용)
+    @GetMapping("/bus/prediction-model/evaluation")
+    public ResponseEntity<Map<String, Object>> evaluateBusPredictionModel(
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) Date from,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) Date to) {
+        Date end = to != null ? to : new Date();
+        Date start = from != null ? from : new Date(end.getTime() - 7L * 24 * 60 * 60 * 1000); // 기본 최근 7일
+        return ResponseEntity.ok(busArrivalPredictionService.evaluatePredictionModel(start, end));
+    }
+
+    // 구간 소요 시간 모델 재구성 (백그라운드 실행)
+    @PostMapping("/bus/prediction-model/rebuild")
+    public ResponseEntity<MessageResponse> rebuildBusPredictionModel() {
+        boolean started = segmentTravelTimeService.rebuildAsync();
+        return ResponseEntity.ok(new MessageResponse(started
+            ? "구간 소요 시간 모델 재구성을 시작했습니다."
+            : "구간 소요 시간 모델을 이미 재구성 중입니다."));
+    }
+
+    @PostMapping("/boundaries/ctp")
+    public ResponseEntity<GeoJsonUploadResponse> uploadCtpBoundary(@RequestParam("file") MultipartFile file) {
+        return ResponseEntity.ok(adminService.uploadCtpBoundary(file));
+    }
+
+    @GetMapping("/boundaries/ctp")
+    public ResponseEntity<GeoJsonListResponse> getCtpFiles() {
+        return ResponseEntity.ok(adminService.getCtpFiles());
+    }
+
+    @DeleteMapping("/boundaries/ctp/{fileId}")
+    public ResponseEntity<MessageResponse> deleteCtpFile(@PathVariable String fileId) {
+        return ResponseEntity.ok(adminService.deleteCtpFile(fileId));
+    }
+
+    @PostMapping("/boundaries/sig")
+    public ResponseEntity<GeoJsonUploadResponse> uploadSigBoundary(@RequestParam("file") MultipartFile file) {
+        return ResponseEntity.ok(adminService.uploadSigBoundary(file));
+    }
+
+    @GetMapping("/boundaries/sig")
+    public ResponseEntity<GeoJsonListResponse> getSigFiles() {
+        return ResponseEntity.ok(adminService.getSigFiles());
+    }
+
+    @DeleteMapping("/boundaries/sig/{fileId}")
+    public ResponseEntity<MessageResponse> deleteSigFile(@PathVariable String fileId) {
+        return ResponseEntity.ok(adminService.deleteSigFile(fileId));
+    }
+
+    @PostMapping("/boundaries/emd")
+    public ResponseEntity<GeoJsonUploadResponse> uploadEmdBoundary(@RequestParam("file") MultipartFile file) {
+        return ResponseEntity.ok(adminService.uploadEmdBoundary(file));
+    }
+
+    @GetMapping("/boundaries/emd")
+    public ResponseEntity<GeoJsonListResponse> getEmdFiles() {
+        return ResponseEntity.ok(adminService.getEmdFiles());
+    }
+
+    @DeleteMapping("/boundaries/emd/{fileId}")
+    public ResponseEntity<MessageResponse> deleteEmdFile(@PathVariable String fileId) {
+        return ResponseEntity.ok(adminService.deleteEmdFile(fileId));
+    }
+
+    @PostMapping("/boundaries/li")
+    public ResponseEntity<GeoJsonUploadResponse> uploadLiBoundary(@RequestParam("file") MultipartFile file) {
+        return ResponseEntity.ok(adminService.uploadLiBoundary(file));
+    }
+
+    @GetMapping("/boundaries/li")
+    public ResponseEntity<GeoJsonListResponse> getLiFiles() {
+        return ResponseEntity.ok(adminService.getLiFiles());
+    }
+
+    @DeleteMapping("/boundaries/li/{fileId}")
+    public ResponseEntity<MessageResponse> deleteLiFile(@PathVariable String fileId) {
+        return ResponseEntity.ok(adminService.deleteLiFile(fileId));
+    }
+}
@@ -8,6 +8,7 @@ import com.bippobippo.hospital.dto.response.board.BoardListResponse;
 import com.bippobippo.hospital.dto.response.board.RelatedBoardResponse;
 import com.bippobippo.hospital.exception.BoardNotFoundException;
 import com.bippobippo.hospital.service.board.BoardService;
+import com.bippobippo.hospital.service.common.ImageStorageService;
 import com.bippobippo.hospital.security.CustomUserDetails;
 import com.bippobippo.hospital.entity.board.Board;
 import lombok.RequiredArgsConstructor;
@@ -17,9 +18,12 @@ import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.core.annotation.AuthenticationPrincipal;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.multipart.MultipartFile;
 import javax.validation.Valid;
 
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 
 @Slf4j
 @RestController
@@ -27,6 +31,7 @@ import java.util.List;
 @RequiredArgsConstructor
 public class BoardController {
     private final BoardService boardService;
+    private final ImageStorageService imageStorageService;
 
     @GetMapping
     public ResponseEntity<Page<BoardListResponse>> getBoardList(
@@ -78,6 +83,23 @@ public class BoardController {
         return ResponseEntity.ok().build();
     }
 
+    @PostMapping("/upload-image")
+    public ResponseEntity<Map<String, String>> uploadBoardImage(@RequestParam("file") MultipartFile file) {
+        try {
+            String filename = imageStorageService.uploadBoardImage(file);
+            Map<String, String> response = new HashMap<>();
+            response.put("url", "/uploads/boards/" + filename);
+            response.put("mediumUrl", "/uploads/boards/medium/" + filename);
+            response.put("thumbnailUrl", "/uploads/boards/thumb/" + filename);
+            return ResponseEntity.ok(response);
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().body(Map.of("error", e.getMessage()));
+        } catch (Exception e) {
+            log.error("게시글 이미지 업로드 실패: {}", e.getMessage(), e);
+            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).body(Map.of("error", "이미지 업로드 실패"));
+        }
+    }
+
     @PostMapping("/{id}/increment-view")
     public ResponseEntity<Void> incrementView(@PathVariable Integer id) {
         boardService.incrementView(id);
@@ -98,4 +98,4 @@ public class BusArrivalPredictionController {
             );
         }
     }
-} 
\ No newline at end of file
+}
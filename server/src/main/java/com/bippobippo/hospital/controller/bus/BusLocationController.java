@@ -1,6 +1,7 @@
 package com.bippobippo.hospital.controller.bus;
 
 import com.bippobippo.hospital.model.bus.BusLocation;
+import com.bippobippo.hospital.service.bus.BusHistoryRetentionService;
 import com.bippobippo.hospital.service.bus.BusLocationService;
 import com.bippobippo.hospital.scheduler.bus.BusLocationScheduler;
 import lombok.RequiredArgsConstructor;
@@ -14,6 +15,7 @@ import java.util.Map;
 public class BusLocationController {
     private final BusLocationService busLocationService;
     private final BusLocationScheduler busLocationScheduler;
+    private final BusHistoryRetentionService retentionService;
 
     @GetMapping
     public List<BusLocation> getAllBusLocations() {
@@ -32,32 +34,36 @@ public class BusLocationController {
 
     @GetMapping("/stats")
     public Map<String, Object> getBusLocationStats() {
-        List<BusLocation> allLocations = busLocationService.getAllBusLocations();
+        long totalBuses = busLocationService.getLocationCount();
         
         return Map.of(
-            "totalBuses", allLocations.size(),
+            "totalBuses", totalBuses,
             "timestamp", new java.util.Date(),
-            "message", "현재 " + allLocations.size() + "대의 버스가 운행 중입니다."
+            "message", "현재 " + totalBuses + "대의 버스가 운행 중입니다."
         );
     }
 
     @GetMapping("/route-stats")
     public Map<String, Object> getRouteStats() {
-        List<BusLocation> allLocations = busLocationService.getAllBusLocations();
-        
-        Map<String, Long> routeStats = allLocations.stream()
-            .collect(java.util.stream.Collectors.groupingBy(
-                BusLocation::getRouteId, 
-                java.util.stream.Collectors.counting()
-            ));
+        Map<String, Long> routeStats = busLocationService.getLocationCountsByRoute();
         
         return Map.of(
-            "totalBuses", allLocations.size(),
+            "totalBuses", routeStats.values().stream().mapToLong(Long::longValue).sum(),
             "routeStats", routeStats,
             "timestamp", new java.util.Date()
         );
     }
 
+    @GetMapping("/polling-metrics")
+    public Map<String, Object> getPollingMetrics() {
+        return busLocationScheduler.getPollingMetrics();
+    }
+
+    @GetMapping("/retention")
+    public Map<String, Object> getRetentionStats() {
+        return retentionService.getRetentionStats();
+    }
+
     @PostMapping("/collect")
     public Map<String, String> collectBusLocations() {
         try {
@@ -76,4 +76,10 @@ public class BusRouteTrackingController {
     public Map<String, Object> getActiveBusCountByCity() {
         return busRouteTrackingService.getActiveBusCountByCity();
     }
-} 
\ No newline at end of file
+    
+    // 운행 기록의 보관된 방문 기록 조회
+    @GetMapping("/{trackingId}/archived-visits")
+    public List<Map> getArchivedStationVisits(@PathVariable String trackingId) {
+        return busRouteTrackingService.getArchivedStationVisits(trackingId);
+    }
+}
@@ -1,80 +1,113 @@
 package com.bippobippo.hospital.controller.common;
 
+import com.bippobippo.hospital.service.common.ImageStorageService;
+import com.bippobippo.hospital.service.common.StoredImage;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
-import org.springframework.beans.factory.annotation.Value;
-import org.springframework.core.io.Resource;
-import org.springframework.core.io.UrlResource;
 import org.springframework.http.HttpHeaders;
-import org.springframework.http.MediaType;
-import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.ServletWebRequest;
 
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
 import java.io.IOException;
-import java.net.MalformedURLException;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.channels.WritableByteChannel;
+import java.nio.file.Files;
 import java.nio.file.Path;
-import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
 
+/**
+ * 업로드 이미지 제공
+ *
+ * 해시 파일명 이미지는 내용이 바뀌지 않으므로 1년 immutable 캐시와 강한 ETag 를 붙인다.
+ * 로컬 파일은 Tomcat sendfile 로 커널이 직접 보내도록 넘기고, 지원하지 않는 커넥터에서는
+ * FileChannel.transferTo 로 전송한다. 원격 저장소 이미지는 공개 URL 로 리다이렉트한다.
+ */
 @Slf4j
 @RestController
 @RequestMapping("/uploads")
 @RequiredArgsConstructor
 public class FileController {
 
-    @Value("${app.upload.path:src/main/resources/static/uploads}")
-    private String uploadPath;
+    private static final String SENDFILE_SUPPORT = "org.apache.tomcat.sendfile.support";
+    private static final String SENDFILE_FILENAME = "org.apache.tomcat.sendfile.filename";
+    private static final String SENDFILE_START = "org.apache.tomcat.sendfile.start";
+    private static final String SENDFILE_END = "org.apache.tomcat.sendfile.end";
+
+    private final ImageStorageService imageStorageService;
 
     @GetMapping("/profile/{filename:.+}")
-    public ResponseEntity<Resource> serveProfileImage(@PathVariable String filename) {
-        return serveFile("profile", filename);
+    public void serveProfileImage(@PathVariable String filename,
+                                  HttpServletRequest request, HttpServletResponse response) throws IOException {
+        serveFile("profile", filename, null, request, response);
     }
 
     @GetMapping("/news/{filename:.+}")
-    public ResponseEntity<Resource> serveNewsImage(@PathVariable String filename) {
-        return serveFile("news", filename);
+    public void serveNewsImage(@PathVariable String filename,
+                               HttpServletRequest request, HttpServletResponse response) throws IOException {
+        serveFile("news", filename, null, request, response);
     }
 
     @GetMapping("/boards/{filename:.+}")
-    public ResponseEntity<Resource> serveBoardImage(@PathVariable String filename) {
-        return serveFile("boards", filename);
+    public void serveBoardImage(@PathVariable String filename,
+                                HttpServletRequest request, HttpServletResponse response) throws IOException {
+        serveFile("boards", filename, null, request, response);
     }
 
-    private ResponseEntity<Resource> serveFile(String folder, String filename) {
-        try {
-            Path filePath = Paths.get(uploadPath, folder, filename);
-            Resource resource = new UrlResource(filePath.toUri());
+    /**
+     * 썸네일/중간 크기 변형 (아직 만들어지지 않았으면 원본)
+     */
+    @GetMapping("/{folder:profile|news|boards}/{variant:thumb|medium}/{filename:.+}")
+    public void serveImageVariant(@PathVariable String folder, @PathVariable String variant, @PathVariable String filename,
+                                  HttpServletRequest request, HttpServletResponse response) throws IOException {
+        serveFile(folder, filename, variant, request, response);
+    }
 
-            if (resource.exists() && resource.isReadable()) {
-                String contentType = determineContentType(filename);
-                
-                return ResponseEntity.ok()
-                        .contentType(MediaType.parseMediaType(contentType))
-                        .header(HttpHeaders.CONTENT_DISPOSITION, "inline; filename=\"" + resource.getFilename() + "\"")
-                        .body(resource);
-            } else {
-                log.warn("파일을 찾을 수 없거나 읽을 수 없습니다: {}", filePath);
-                return ResponseEntity.notFound().build();
-            }
-        } catch (MalformedURLException e) {
-            log.error("파일 경로 오류: {}", e.getMessage());
-            return ResponseEntity.badRequest().build();
+    private void serveFile(String folder, String filename, String variant,
+                           HttpServletRequest request, HttpServletResponse response) throws IOException {
+        StoredImage image = imageStorageService.resolveImage(folder, filename, variant);
+        if (image == null) {
+            log.warn("파일을 찾을 수 없거나 읽을 수 없습니다: {}/{}", folder, filename);
+            response.setStatus(HttpServletResponse.SC_NOT_FOUND);
+            return;
+        }
+
+        response.setHeader(HttpHeaders.CACHE_CONTROL, "public, max-age=" + image.getMaxAgeSeconds()
+            + (image.isImmutable() ? ", immutable" : ""));
+
+        if (image.getLocalPath() == null) {
+            response.sendRedirect(image.getRedirectUrl());
+            return;
         }
-    }
 
-    private String determineContentType(String filename) {
-        String extension = filename.substring(filename.lastIndexOf(".") + 1).toLowerCase();
-        switch (extension) {
-            case "jpg":
-            case "jpeg":
-                return "image/jpeg";
-            case "png":
-                return "image/png";
-            case "gif":
-                return "image/gif";
-            case "webp":
-                return "image/webp";
-            default:
-                return "application/octet-stream";
+        // If-None-Match 가 같으면 304 (ETag 헤더도 함께 설정됨)
+        if (new ServletWebRequest(request, response).checkNotModified(image.getEtag())) {
+            return;
+        }
+
+        Path path = image.getLocalPath();
+        long size = Files.size(path);
+        response.setContentType(image.getContentType());
+        response.setContentLengthLong(size);
+        response.setHeader(HttpHeaders.CONTENT_DISPOSITION, "inline; filename=\"" + path.getFileName() + "\"");
+
+        if ("HEAD".equals(request.getMethod())) {
+            return;
+        }
+        if (Boolean.TRUE.equals(request.getAttribute(SENDFILE_SUPPORT))) {
+            request.setAttribute(SENDFILE_FILENAME, path.toAbsolutePath().toString());
+            request.setAttribute(SENDFILE_START, 0L);
+            request.setAttribute(SENDFILE_END, size);
+            return;
+        }
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+            WritableByteChannel out = Channels.newChannel(response.getOutputStream());
+            long position = 0;
+            while (position < size) {
+                position += channel.transferTo(position, size - position, out);
+            }
         }
     }
-} 
\ No newline at end of file
+}
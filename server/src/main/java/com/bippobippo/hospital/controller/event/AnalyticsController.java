@@ -44,7 +44,7 @@ public class AnalyticsController {
                 request.setUserAgent(httpRequest.getHeader("User-Agent"));
             }
 
-            log.info("검색 이벤트 수집 요청: userId={}, query={}", request.getUserId(), request.getSearchQuery());
+            log.debug("검색 이벤트 수집 요청: userId={}, query={}", request.getUserId(), request.getSearchQuery());
             AnalyticsResponse response = analyticsService.collectSearchEvent(request);
             
             return ResponseEntity.ok(response);
@@ -75,7 +75,7 @@ public class AnalyticsController {
                 request.setUserAgent(httpRequest.getHeader("User-Agent"));
             }
 
-            log.info("클릭 이벤트 수집 요청: userId={}, hospitalId={}", request.getUserId(), request.getHospitalId());
+            log.debug("클릭 이벤트 수집 요청: userId={}, hospitalId={}", request.getUserId(), request.getHospitalId());
             AnalyticsResponse response = analyticsService.collectClickEvent(request);
             
             return ResponseEntity.ok(response);
@@ -106,7 +106,7 @@ public class AnalyticsController {
                 request.setUserAgent(httpRequest.getHeader("User-Agent"));
             }
 
-            log.info("체류 시간 이벤트 수집 요청: userId={}, pageType={}", request.getUserId(), request.getPageType());
+            log.debug("체류 시간 이벤트 수집 요청: userId={}, pageType={}", request.getUserId(), request.getPageType());
             AnalyticsResponse response = analyticsService.collectDwellTimeEvent(request);
             
             return ResponseEntity.ok(response);
@@ -137,7 +137,7 @@ public class AnalyticsController {
                 request.setUserAgent(httpRequest.getHeader("User-Agent"));
             }
 
-            log.info("페이지 뷰 이벤트 수집 요청: userId={}, pageType={}", request.getUserId(), request.getPageType());
+            log.debug("페이지 뷰 이벤트 수집 요청: userId={}, pageType={}", request.getUserId(), request.getPageType());
             AnalyticsResponse response = analyticsService.collectPageViewEvent(request);
             
             return ResponseEntity.ok(response);
@@ -185,10 +185,11 @@ public class AnalyticsController {
      * 인기 검색어 조회
      */
     @GetMapping("/popular-searches")
-    public ResponseEntity<AnalyticsResponse> getPopularSearches() {
+    public ResponseEntity<AnalyticsResponse> getPopularSearches(
+            @RequestParam(defaultValue = "day") String window) {
         try {
-            log.info("인기 검색어 조회 요청");
-            AnalyticsResponse response = analyticsService.getPopularSearches();
+            log.debug("인기 검색어 조회 요청: window={}", window);
+            AnalyticsResponse response = analyticsService.getPopularSearches(window);
             
             return ResponseEntity.ok(response);
         } catch (Exception e) {
@@ -203,10 +204,11 @@ public class AnalyticsController {
      * 인기 병원 조회
      */
     @GetMapping("/popular-hospitals")
-    public ResponseEntity<AnalyticsResponse> getPopularHospitals() {
+    public ResponseEntity<AnalyticsResponse> getPopularHospitals(
+            @RequestParam(defaultValue = "day") String window) {
         try {
-            log.info("인기 병원 조회 요청");
-            AnalyticsResponse response = analyticsService.getPopularHospitals();
+            log.debug("인기 병원 조회 요청: window={}", window);
+            AnalyticsResponse response = analyticsService.getPopularHospitals(window);
             
             return ResponseEntity.ok(response);
         } catch (Exception e) {
@@ -258,6 +260,37 @@ public class AnalyticsController {
         }
     }
 
+    /**
+     * 병원별 이벤트 통계 조회
+     */
+    @GetMapping("/statistics/hospital/{hospitalId}")
+    public ResponseEntity<AnalyticsResponse> getHospitalEventStatistics(
+            @PathVariable String hospitalId,
+            @RequestParam String eventType,
+            @RequestParam String startDate,
+            @RequestParam String endDate) {
+
+        try {
+            log.debug("병원 이벤트 통계 조회 요청: hospitalId={}, eventType={}", hospitalId, eventType);
+            AnalyticsResponse response = analyticsService.getHospitalEventStatistics(hospitalId, eventType, startDate, endDate);
+
+            return ResponseEntity.ok(response);
+        } catch (Exception e) {
+            log.error("병원 이벤트 통계 조회 실패: hospitalId={}, error={}", hospitalId, e.getMessage(), e);
+            return ResponseEntity.badRequest().body(
+                AnalyticsResponse.error("병원 이벤트 통계 조회 중 오류가 발생했습니다: " + e.getMessage())
+            );
+        }
+    }
+
+    /**
+     * 이벤트 적재 버퍼 상태 조회
+     */
+    @GetMapping("/ingest-stats")
+    public ResponseEntity<AnalyticsResponse> getIngestStats() {
+        return ResponseEntity.ok(analyticsService.getIngestStats());
+    }
+
     /**
      * 헬스 체크
      */
@@ -26,6 +26,20 @@ public class MapController {
         return ResponseEntity.ok(mapService.getMapData(type, swLat, swLng, neLat, neLng, limit));
     }
 
+    @GetMapping("/map-bundle")
+    public ResponseEntity<?> getMapBundle(
+            @RequestParam Double swLat,
+            @RequestParam Double swLng,
+            @RequestParam Double neLat,
+            @RequestParam Double neLng,
+            @RequestParam(required = false) Double centerLat,
+            @RequestParam(required = false) Double centerLng,
+            @RequestParam(defaultValue = "5") Integer radius,
+            @RequestParam(required = false) Integer limit,
+            @RequestParam(defaultValue = "true") boolean includeClusters) {
+        return ResponseEntity.ok(mapService.getMapBundle(swLat, swLng, neLat, neLng, centerLat, centerLng, radius, limit, includeClusters));
+    }
+
     @GetMapping("/search")
     public ResponseEntity<?> search(@RequestParam String query) {
         return ResponseEntity.ok(mapService.search(query));
@@ -60,8 +74,13 @@ public class MapController {
     }
 
     @GetMapping("/ri-summary")
-    public ResponseEntity<?> getRiSummary() {
-        return ResponseEntity.ok(mapService.getRiSummary());
+    public ResponseEntity<?> getRiSummary(
+            @RequestParam(required = false) Double swLat,
+            @RequestParam(required = false) Double swLng,
+            @RequestParam(required = false) Double neLat,
+            @RequestParam(required = false) Double neLng,
+            @RequestParam(required = false) Integer limit) {
+        return ResponseEntity.ok(mapService.getRiSummary(swLat, swLng, neLat, neLng, limit));
     }
 
     @GetMapping("/map-summary/clusters")
@@ -100,12 +119,30 @@ public class MapController {
         }
     }
 
+    @GetMapping("/map-summary/tiles")
+    public ResponseEntity<List<Map<String, Object>>> getTileClusters(
+            @RequestParam Double swLat,
+            @RequestParam Double swLng,
+            @RequestParam Double neLat,
+            @RequestParam Double neLng,
+            @RequestParam(defaultValue = "8") Integer zoomLevel) {
+        try {
+            List<Map<String, Object>> clusters = mapService.getTileClusters(swLat, swLng, neLat, neLng, zoomLevel);
+            return ResponseEntity.ok(clusters);
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().build();
+        } catch (Exception e) {
+            return ResponseEntity.internalServerError().build();
+        }
+    }
+
     @GetMapping("/map-summary/boundary-geometry")
     public ResponseEntity<Map<String, Object>> getBoundaryGeometry(
             @RequestParam String boundaryType,
-            @RequestParam String name) {
+            @RequestParam String name,
+            @RequestParam(required = false) Integer zoomLevel) {
         try {
-            Map<String, Object> geometry = mapService.getBoundaryGeometry(boundaryType, name);
+            Map<String, Object> geometry = mapService.getBoundaryGeometry(boundaryType, name, zoomLevel);
             return ResponseEntity.ok(geometry);
         } catch (IllegalArgumentException e) {
             return ResponseEntity.badRequest().build();
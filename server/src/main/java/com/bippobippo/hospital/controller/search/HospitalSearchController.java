@@ -29,7 +29,8 @@ public class HospitalSearchController {
             @RequestParam(required = false) Double x,
             @RequestParam(required = false) Double y,
             @RequestParam(defaultValue = "10km") String distance,
-            @RequestParam(required = false) String operating) {
+            @RequestParam(required = false) String operating,
+            @RequestParam(required = false) Integer openWithin) {
 
         logger.info("병원 검색 요청 받음 - page: {}, limit: {}, query: {}, region: {}, category: {}, major: {}, operating: {}", 
             page, limit, query, region, category, major, operating);
@@ -46,6 +47,7 @@ public class HospitalSearchController {
         searchParams.put("y", y);
         searchParams.put("distance", distance);
         searchParams.put("operating", operating);
+        searchParams.put("openWithin", openWithin);
 
         try {
             logger.info("HospitalSearchService 호출 시작");
@@ -2,11 +2,18 @@ package com.bippobippo.hospital.controller.user;
 
 import com.bippobippo.hospital.dto.request.chat.ChatMessageRequest;
 import com.bippobippo.hospital.dto.response.chat.ChatMessageResponse;
+import com.bippobippo.hospital.impl.common.HospitalVectorIndex;
 import com.bippobippo.hospital.service.chat.ChatService;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
 
 @Slf4j
 @RestController
@@ -15,15 +22,55 @@ import org.springframework.web.bind.annotation.*;
 public class ChatController {
 
     private final ChatService chatService;
+    private final HospitalVectorIndex hospitalVectorIndex;
+
+    @Value("${chat.stream.timeout-ms:60000}")
+    private long streamTimeoutMs;
+
+    @Value("${chat.vector.max-query-length:200}")
+    private int maxQueryLength;
 
     @PostMapping("/message")
-    public ResponseEntity<ChatMessageResponse> handleMessage(@RequestBody ChatMessageRequest request) {
+    public CompletableFuture<ResponseEntity<ChatMessageResponse>> handleMessage(@RequestBody ChatMessageRequest request) {
         log.info("=== 채팅 메시지 요청 ===");
         log.info("메시지: {}", request.getMessage());
         log.info("위치: {}", request.getLocation());
         log.info("좌표: {}", request.getCoordinates());
         
-        ChatMessageResponse response = chatService.processMessage(request);
-        return ResponseEntity.ok(response);
+        return chatService.processMessage(request).thenApply(ResponseEntity::ok);
+    }
+
+    /**
+     * 증상/진료 내용 의미 검색 (지역 또는 좌표+반경 필터, 로그인 필요)
+     */
+    @GetMapping("/semantic-search")
+    public CompletableFuture<ResponseEntity<?>> semanticSearch(
+            @RequestParam String query,
+            @RequestParam(required = false) String region,
+            @RequestParam(required = false) Double latitude,
+            @RequestParam(required = false) Double longitude,
+            @RequestParam(required = false) Double radiusKm,
+            @RequestParam(defaultValue = "10") int k) {
+        if (query.isBlank() || query.length() > maxQueryLength) {
+            return CompletableFuture.completedFuture(ResponseEntity.badRequest()
+                .body(Map.of("message", "검색어는 1자 이상 " + maxQueryLength + "자 이하로 입력해주세요.")));
+        }
+        if (!hospitalVectorIndex.isReady()) {
+            return CompletableFuture.completedFuture(
+                ResponseEntity.status(503).body(Map.of("message", "의미 검색 인덱스가 준비되지 않았습니다.")));
+        }
+        return hospitalVectorIndex.searchAsync(query, Math.max(1, Math.min(k, 50)), region, latitude, longitude, radiusKm)
+            .<ResponseEntity<?>>thenApply(hospitals -> ResponseEntity.ok(Map.of("hospitals", hospitals)))
+            .exceptionally(e -> {
+                log.error("의미 검색 오류:", e);
+                return ResponseEntity.internalServerError().body(Map.of("message", "의미 검색 중 오류가 발생했습니다."));
+            });
+    }
+
+    @PostMapping(value = "/stream", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public SseEmitter streamMessage(@RequestBody ChatMessageRequest request) {
+        SseEmitter emitter = new SseEmitter(streamTimeoutMs);
+        chatService.streamMessage(request, emitter);
+        return emitter;
     }
 } 
\ No newline at end of file
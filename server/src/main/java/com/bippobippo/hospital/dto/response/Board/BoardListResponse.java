@@ -1,6 +1,7 @@
 package com.bippobippo.hospital.dto.response.board;
 
 import com.bippobippo.hospital.entity.board.Board;
+import com.bippobippo.hospital.repository.board.BoardListItem;
 import com.fasterxml.jackson.annotation.JsonProperty;
 import lombok.AllArgsConstructor;
 import lombok.Builder;
@@ -82,7 +83,7 @@ public class BoardListResponse {
                 .isNotice(board.getIsNotice())
                 .viewCount(board.getViewCount())
                 .likeCount(board.getLikeCount())
-                .commentCount(board.getComments() != null ? board.getComments().size() : 0)
+                .commentCount(board.getCommentCount())
                 .createdAt(board.getCreatedAt().toString())
                 .updatedAt(board.getUpdatedAt().toString())
                 .tags(board.getTags().stream()
@@ -94,4 +95,26 @@ public class BoardListResponse {
                         .collect(Collectors.toList()))
                 .build();
     }
-} 
\ No newline at end of file
+
+    public static BoardListResponse from(BoardListItem item, List<TagResponse> tags) {
+        return BoardListResponse.builder()
+                .id(item.getId())
+                .title(item.getTitle())
+                .summary(item.getSummary())
+                .authorName(item.getNickname())
+                .profileImage(item.getProfileImage())
+                .categoryName(item.getCategoryName())
+                .categoryId(item.getCategoryId())
+                .userId(item.getUserId())
+                .userName(item.getNickname())
+                .status(item.getStatus())
+                .isNotice(item.getIsNotice())
+                .viewCount(item.getViewCount())
+                .likeCount(item.getLikeCount())
+                .commentCount(item.getCommentCount() != null ? item.getCommentCount() : 0)
+                .createdAt(item.getCreatedAt().toString())
+                .updatedAt(item.getUpdatedAt().toString())
+                .tags(tags)
+                .build();
+    }
+} 
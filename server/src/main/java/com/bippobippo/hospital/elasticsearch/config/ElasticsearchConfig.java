@@ -13,6 +13,7 @@ import org.apache.http.auth.UsernamePasswordCredentials;
 import org.apache.http.client.CredentialsProvider;
 import org.apache.http.impl.client.BasicCredentialsProvider;
 import org.apache.http.impl.nio.client.HttpAsyncClientBuilder;
+import org.apache.http.impl.nio.reactor.IOReactorConfig;
 import org.apache.http.ssl.SSLContextBuilder;
 import org.apache.http.ssl.SSLContexts;
 import org.springframework.data.elasticsearch.client.ClientConfiguration;
@@ -54,6 +55,15 @@ public class ElasticsearchConfig extends AbstractElasticsearchConfiguration {
     @Value("${elasticsearch.max.retry.timeout:30000}")
     private int maxRetryTimeout;
     
+    @Value("${elasticsearch.connection.max-total:100}")
+    private int maxConnTotal;
+    
+    @Value("${elasticsearch.connection.max-per-route:50}")
+    private int maxConnPerRoute;
+    
+    @Value("${elasticsearch.io.threads:0}")
+    private int ioThreadCount;
+    
     @Override
     @Bean
     @Primary
@@ -68,6 +78,14 @@ public class ElasticsearchConfig extends AbstractElasticsearchConfiguration {
             .withConnectTimeout(connectionTimeout)
             .withSocketTimeout(socketTimeout)
             .withClientConfigurer(RestClients.RestClientConfigurationCallback.from(httpClientBuilder -> {
+                // 커넥션 풀 / IO 스레드 설정 (멀티 검색, 비동기 검색 동시 처리용)
+                httpClientBuilder.setMaxConnTotal(maxConnTotal);
+                httpClientBuilder.setMaxConnPerRoute(maxConnPerRoute);
+                httpClientBuilder.setDefaultIOReactorConfig(IOReactorConfig.custom()
+                    .setIoThreadCount(ioThreadCount > 0 ? ioThreadCount : Runtime.getRuntime().availableProcessors())
+                    .setSoKeepAlive(true)
+                    .build());
+                
                 // 인증 설정
                 if (username != null && !username.isEmpty() && password != null && !password.isEmpty()) {
                     CredentialsProvider credentialsProvider = new BasicCredentialsProvider();
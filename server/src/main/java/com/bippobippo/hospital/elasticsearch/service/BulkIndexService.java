@@ -1,6 +1,7 @@
 package com.bippobippo.hospital.elasticsearch.service;
 
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -9,15 +10,25 @@ import org.elasticsearch.action.bulk.BulkRequest;
 import org.elasticsearch.action.bulk.BulkResponse;
 import org.elasticsearch.action.index.IndexRequest;
 import org.elasticsearch.action.admin.indices.refresh.RefreshRequest;
+import org.elasticsearch.action.delete.DeleteRequest;
+import org.elasticsearch.action.search.SearchRequest;
+import org.elasticsearch.action.search.SearchResponse;
+import org.elasticsearch.action.support.WriteRequest;
+import org.elasticsearch.index.query.QueryBuilders;
+import org.elasticsearch.index.reindex.DeleteByQueryRequest;
+import org.elasticsearch.search.SearchHit;
+import org.elasticsearch.search.builder.SearchSourceBuilder;
 import org.elasticsearch.xcontent.XContentType;
 import org.springframework.data.mongodb.core.MongoTemplate;
 import org.springframework.data.mongodb.core.query.Query;
 import org.springframework.data.mongodb.core.query.Criteria;
 import org.springframework.data.domain.Sort;
+import com.bippobippo.hospital.util.WeeklySchedule;
 
 import java.io.IOException;
 import java.util.*;
 import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.ExecutorService;
 import java.util.concurrent.Executors;
 import java.util.concurrent.TimeUnit;
@@ -32,6 +43,9 @@ public class BulkIndexService {
     private static final int MAX_RETRIES = 10;
     private static final long RETRY_DELAY = 15000;
     private static final int TIME_WINDOW = 5;
+    private static final String MAP_INDEX = "map_data";
+    // 같은 좌표 판정 여유 (geo_point 저장 정밀도 보정, 약 10cm)
+    private static final double MAP_LOCATION_EPSILON = 1e-6;
     
     @Autowired
     private RestHighLevelClient elasticsearchClient;
@@ -39,8 +53,25 @@ public class BulkIndexService {
     @Autowired
     private MongoTemplate mongoTemplate;
     
+    @Autowired
+    private HospitalScheduleIndex hospitalScheduleIndex;
+    
+    @Autowired
+    private MapTileClusterService mapTileClusterService;
+    
+    @Autowired
+    private RegionSummaryService regionSummaryService;
+    
+    // 시작 시 행정구역 집계가 진행 중이면 끝날 때까지 기다리는 최대 시간
+    @Value("${map.region-summary.await-timeout-ms:600000}")
+    private long regionSummaryAwaitMs;
+    
     private final ExecutorService executorService = Executors.newFixedThreadPool(PARALLEL_BATCHES);
     
+    // 지도 전체 재색인 중 변경 스트림으로 갱신된 좌표 - 별칭 전환 후 새 인덱스에 다시 반영
+    private volatile boolean mapRebuildInProgress = false;
+    private final Map<String, double[]> mapLocationsChangedDuringRebuild = new ConcurrentHashMap<>();
+    
     /**
      * 병원 데이터 벌크 색인
      */
@@ -288,6 +319,10 @@ public class BulkIndexService {
             hospitalData.put("times", timesData);
         }
         
+        // 주간 진료시간 구간 (주 기준 분, integer_range) - 영업중 필터용
+        String scheduleKey = hospitalData.get("ykiho").toString();
+        hospitalData.put("openHours", WeeklySchedule.toRangeDocuments(hospitalScheduleIndex.register(scheduleKey, times)));
+        
         // 가까운 약국 정보
         String ykiho = hospitalData.get("ykiho").toString();
         hospitalData.put("nearby_pharmacies", nearbyPharmaciesMap.getOrDefault(ykiho, new ArrayList<>()));
@@ -567,6 +602,13 @@ public class BulkIndexService {
      * 지도 데이터 벌크 색인 (Node.js bulkMapIndex.js와 동일한 로직)
      */
     public void bulkMapIndex() throws IOException {
+        bulkMapIndex(MAP_INDEX);
+    }
+    
+    /**
+     * 지도 데이터를 지정한 인덱스에 벌크 색인 - 전체 재색인은 새 인덱스에 채운 뒤 별칭을 전환한다
+     */
+    public void bulkMapIndex(String indexName) throws IOException {
         long startTime = System.currentTimeMillis();
         
         try {
@@ -634,90 +676,15 @@ public class BulkIndexService {
             // 3. Elasticsearch 문서 변환 시작
             logger.info("3. Elasticsearch 문서 변환 시작...");
             List<Map<String, Object>> allDocs = new ArrayList<>();
+            List<String> docIds = new ArrayList<>();
             
             for (Map.Entry<String, Map<String, Object>> entry : locationGroups.entrySet()) {
-                String key = entry.getKey();
                 Map<String, Object> group = entry.getValue();
-                List<Map<String, Object>> markers = (List<Map<String, Object>>) group.get("markers");
-                int totalCount = markers.size();
-                
-                // 같은 위치에 2개 이상의 마커가 있는 경우 클러스터링
-                if (totalCount > 1) {
-                    List<Map<String, Object>> hospitalDetails = new ArrayList<>();
-                    List<Map<String, Object>> pharmacyDetails = new ArrayList<>();
-                    
-                    for (Map<String, Object> marker : markers) {
-                        String type = (String) marker.get("type");
-                        Map<String, Object> data = (Map<String, Object>) marker.get("data");
-                        
-                        if ("hospital".equals(type)) {
-                            Map<String, Object> hospitalDetail = new HashMap<>();
-                            hospitalDetail.put("type", "hospital");
-                            hospitalDetail.put("name", data.get("name"));
-                            hospitalDetail.put("yadmNm", data.get("yadmNm"));
-                            hospitalDetail.put("addr", data.get("addr"));
-                            hospitalDetail.put("telno", data.get("telno"));
-                            hospitalDetail.put("clCd", data.get("clCd"));
-                            hospitalDetail.put("clCdNm", data.get("clCdNm"));
-                            hospitalDetail.put("ykiho", data.get("ykiho"));
-                            hospitalDetails.add(hospitalDetail);
-                        } else if ("pharmacy".equals(type)) {
-                            Map<String, Object> pharmacyDetail = new HashMap<>();
-                            pharmacyDetail.put("type", "pharmacy");
-                            pharmacyDetail.put("ykiho", data.get("ykiho"));
-                            pharmacyDetail.put("yadmNm", data.get("yadmNm"));
-                            pharmacyDetail.put("clCd", data.get("clCd"));
-                            pharmacyDetail.put("clCdNm", data.get("clCdNm"));
-                            pharmacyDetail.put("addr", data.get("addr"));
-                            pharmacyDetail.put("telno", data.get("telno"));
-                            pharmacyDetails.add(pharmacyDetail);
-                        }
-                    }
-                    
-                    Map<String, Object> clusterDoc = new HashMap<>();
-                    clusterDoc.put("type", "cluster");
-                    clusterDoc.put("location", group.get("location"));
-                    clusterDoc.put("clusterId", key);
-                    clusterDoc.put("clusterCount", totalCount);
-                    clusterDoc.put("isClustered", true);
-                    clusterDoc.put("hospitals", hospitalDetails);
-                    clusterDoc.put("pharmacies", pharmacyDetails);
-                    clusterDoc.put("hospitalCount", hospitalDetails.size());
-                    clusterDoc.put("pharmacyCount", pharmacyDetails.size());
-                    
-                    allDocs.add(clusterDoc);
-                } else {
-                    // 단일 마커인 경우
-                    Map<String, Object> marker = markers.get(0);
-                    String type = (String) marker.get("type");
-                    Map<String, Object> data = (Map<String, Object>) marker.get("data");
-                    
-                    if ("hospital".equals(type)) {
-                        Map<String, Object> hospitalDoc = new HashMap<>();
-                        hospitalDoc.put("type", "hospital");
-                        hospitalDoc.put("name", data.get("name"));
-                        hospitalDoc.put("yadmNm", data.get("yadmNm"));
-                        hospitalDoc.put("addr", data.get("addr"));
-                        hospitalDoc.put("telno", data.get("telno"));
-                        hospitalDoc.put("clCd", data.get("clCd"));
-                        hospitalDoc.put("clCdNm", data.get("clCdNm"));
-                        hospitalDoc.put("ykiho", data.get("ykiho"));
-                        hospitalDoc.put("location", group.get("location"));
-                        hospitalDoc.put("isClustered", false);
-                        allDocs.add(hospitalDoc);
-                    } else if ("pharmacy".equals(type)) {
-                        Map<String, Object> pharmacyDoc = new HashMap<>();
-                        pharmacyDoc.put("type", "pharmacy");
-                        pharmacyDoc.put("ykiho", data.get("ykiho"));
-                        pharmacyDoc.put("yadmNm", data.get("yadmNm"));
-                        pharmacyDoc.put("clCd", data.get("clCd"));
-                        pharmacyDoc.put("clCdNm", data.get("clCdNm"));
-                        pharmacyDoc.put("addr", data.get("addr"));
-                        pharmacyDoc.put("telno", data.get("telno"));
-                        pharmacyDoc.put("location", group.get("location"));
-                        pharmacyDoc.put("isClustered", false);
-                        allDocs.add(pharmacyDoc);
-                    }
+                Map<String, Object> doc = buildMapDocument(entry.getKey(), group.get("location"),
+                    (List<Map<String, Object>>) group.get("markers"));
+                if (doc != null) {
+                    allDocs.add(doc);
+                    docIds.add(entry.getKey());
                 }
             }
             
@@ -733,9 +700,11 @@ public class BulkIndexService {
                 
                 BulkRequest bulkRequest = new BulkRequest();
                 
-                for (Map<String, Object> doc : chunk) {
-                    IndexRequest indexRequest = new IndexRequest("map_data")
-                        .source(doc, XContentType.JSON);
+                for (int j = 0; j < chunk.size(); j++) {
+                    // 위치 키를 문서 ID 로 사용해 변경 스트림에서 같은 문서를 덮어쓰거나 지울 수 있게 한다
+                    IndexRequest indexRequest = new IndexRequest(indexName)
+                        .id(docIds.get(i + j))
+                        .source(chunk.get(j), XContentType.JSON);
                     bulkRequest.add(indexRequest);
                 }
                 
@@ -749,14 +718,14 @@ public class BulkIndexService {
             }
             
             // 인덱스 새로고침
-            elasticsearchClient.indices().refresh(new RefreshRequest("map_data"), org.elasticsearch.client.RequestOptions.DEFAULT);
+            elasticsearchClient.indices().refresh(new RefreshRequest(indexName), org.elasticsearch.client.RequestOptions.DEFAULT);
             
             // 색인 후 실제 문서 개수 조회
             try {
-                org.elasticsearch.client.core.CountRequest countRequest = new org.elasticsearch.client.core.CountRequest("map_data");
+                org.elasticsearch.client.core.CountRequest countRequest = new org.elasticsearch.client.core.CountRequest(indexName);
                 org.elasticsearch.client.core.CountResponse countResponse = elasticsearchClient.count(countRequest, org.elasticsearch.client.RequestOptions.DEFAULT);
                 long count = countResponse.getCount();
-                logger.info("Elasticsearch map_data 문서 개수: {}", count);
+                logger.info("Elasticsearch {} 문서 개수: {}", indexName, count);
             } catch (Exception err) {
                 logger.error("count API 호출 중 오류: {}", err.getMessage());
             }
@@ -764,6 +733,11 @@ public class BulkIndexService {
             long endTime = System.currentTimeMillis();
             long processingTime = endTime - startTime;
             
+            // 타일 클러스터 캐시 무효화 (새 인덱스에 채우는 경우는 별칭 전환 후 endMapRebuild 에서 무효화)
+            if (MAP_INDEX.equals(indexName)) {
+                mapTileClusterService.invalidateAll();
+            }
+            
             logger.info("✅ 모든 지도 데이터 색인 완료!");
             logger.info("📊 총 처리 시간: {}ms", processingTime);
             
@@ -774,26 +748,232 @@ public class BulkIndexService {
     }
     
     /**
-     * 지도 클러스터 데이터 벌크 색인
+     * 같은 좌표에 모인 마커로 map_data 문서 생성 - 2개 이상이면 클러스터 문서, 1개면 단일 마커 문서, 없으면 null
      */
-    public boolean bulkMapClusterIndex() throws IOException {
+    private Map<String, Object> buildMapDocument(String key, Object location, List<Map<String, Object>> markers) {
+        if (markers.isEmpty()) {
+            return null;
+        }
+        
+        // 삭제 이벤트에는 Mongo _id 만 오므로 원본 ID 로 지도 문서를 찾을 수 있게 남겨둔다
+        List<String> sourceIds = new ArrayList<>();
+        for (Map<String, Object> marker : markers) {
+            Object id = ((Map<String, Object>) marker.get("data")).get("_id");
+            if (id != null) {
+                sourceIds.add(id.toString());
+            }
+        }
+        
+        int totalCount = markers.size();
+        
+        // 같은 위치에 2개 이상의 마커가 있는 경우 클러스터링
+        if (totalCount > 1) {
+            List<Map<String, Object>> hospitalDetails = new ArrayList<>();
+            List<Map<String, Object>> pharmacyDetails = new ArrayList<>();
+            
+            for (Map<String, Object> marker : markers) {
+                String type = (String) marker.get("type");
+                Map<String, Object> data = (Map<String, Object>) marker.get("data");
+                
+                if ("hospital".equals(type)) {
+                    Map<String, Object> hospitalDetail = new HashMap<>();
+                    hospitalDetail.put("type", "hospital");
+                    hospitalDetail.put("name", data.get("name"));
+                    hospitalDetail.put("yadmNm", data.get("yadmNm"));
+                    hospitalDetail.put("addr", data.get("addr"));
+                    hospitalDetail.put("telno", data.get("telno"));
+                    hospitalDetail.put("clCd", data.get("clCd"));
+                    hospitalDetail.put("clCdNm", data.get("clCdNm"));
+                    hospitalDetail.put("ykiho", data.get("ykiho"));
+                    hospitalDetails.add(hospitalDetail);
+                } else if ("pharmacy".equals(type)) {
+                    Map<String, Object> pharmacyDetail = new HashMap<>();
+                    pharmacyDetail.put("type", "pharmacy");
+                    pharmacyDetail.put("ykiho", data.get("ykiho"));
+                    pharmacyDetail.put("yadmNm", data.get("yadmNm"));
+                    pharmacyDetail.put("clCd", data.get("clCd"));
+                    pharmacyDetail.put("clCdNm", data.get("clCdNm"));
+                    pharmacyDetail.put("addr", data.get("addr"));
+                    pharmacyDetail.put("telno", data.get("telno"));
+                    pharmacyDetails.add(pharmacyDetail);
+                }
+            }
+            
+            Map<String, Object> clusterDoc = new HashMap<>();
+            clusterDoc.put("type", "cluster");
+            clusterDoc.put("location", location);
+            clusterDoc.put("clusterId", key);
+            clusterDoc.put("clusterCount", totalCount);
+            clusterDoc.put("isClustered", true);
+            clusterDoc.put("hospitals", hospitalDetails);
+            clusterDoc.put("pharmacies", pharmacyDetails);
+            clusterDoc.put("hospitalCount", hospitalDetails.size());
+            clusterDoc.put("pharmacyCount", pharmacyDetails.size());
+            clusterDoc.put("sourceIds", sourceIds);
+            return clusterDoc;
+        }
+        
+        // 단일 마커인 경우
+        Map<String, Object> marker = markers.get(0);
+        String type = (String) marker.get("type");
+        Map<String, Object> data = (Map<String, Object>) marker.get("data");
+        
+        if ("hospital".equals(type)) {
+            Map<String, Object> hospitalDoc = new HashMap<>();
+            hospitalDoc.put("type", "hospital");
+            hospitalDoc.put("name", data.get("name"));
+            hospitalDoc.put("yadmNm", data.get("yadmNm"));
+            hospitalDoc.put("addr", data.get("addr"));
+            hospitalDoc.put("telno", data.get("telno"));
+            hospitalDoc.put("clCd", data.get("clCd"));
+            hospitalDoc.put("clCdNm", data.get("clCdNm"));
+            hospitalDoc.put("ykiho", data.get("ykiho"));
+            hospitalDoc.put("location", location);
+            hospitalDoc.put("isClustered", false);
+            hospitalDoc.put("sourceIds", sourceIds);
+            return hospitalDoc;
+        } else if ("pharmacy".equals(type)) {
+            Map<String, Object> pharmacyDoc = new HashMap<>();
+            pharmacyDoc.put("type", "pharmacy");
+            pharmacyDoc.put("ykiho", data.get("ykiho"));
+            pharmacyDoc.put("yadmNm", data.get("yadmNm"));
+            pharmacyDoc.put("clCd", data.get("clCd"));
+            pharmacyDoc.put("clCdNm", data.get("clCdNm"));
+            pharmacyDoc.put("addr", data.get("addr"));
+            pharmacyDoc.put("telno", data.get("telno"));
+            pharmacyDoc.put("location", location);
+            pharmacyDoc.put("isClustered", false);
+            pharmacyDoc.put("sourceIds", sourceIds);
+            return pharmacyDoc;
+        }
+        return null;
+    }
+    
+    /**
+     * 한 좌표의 map_data 문서만 다시 만든다 (병원/약국 변경 스트림용)
+     *
+     * 그 좌표의 병원/약국을 Mongo 에서 다시 모아 단일 마커/클러스터 문서를 위치 키 ID 로 덮어쓰고,
+     * 남은 마커가 없으면 문서를 지운다. 인덱스 전체를 지우고 다시 만들지 않으므로 지도가 비는 구간이 없다.
+     */
+    public void refreshMapLocation(Double lat, Double lon) throws IOException {
+        if (lat == null || lon == null) {
+            return;
+        }
+        String key = lat + "_" + lon;
+        if (mapRebuildInProgress) {
+            mapLocationsChangedDuringRebuild.put(key, new double[]{lat, lon});
+        }
+        
         try {
-            logger.info("🚀 지도 클러스터 데이터 벌크 색인 시작...");
+            List<Map<String, Object>> markers = new ArrayList<>();
+            for (Map hospital : mongoTemplate.find(new Query(Criteria.where("YPos").is(lat).and("XPos").is(lon)), Map.class, "hospitals")) {
+                Map<String, Object> marker = new HashMap<>();
+                marker.put("type", "hospital");
+                marker.put("data", hospital);
+                markers.add(marker);
+            }
+            for (Map pharmacy : mongoTemplate.find(new Query(Criteria.where("Ypos").is(lat).and("Xpos").is(lon)), Map.class, "pharmacies")) {
+                Map<String, Object> marker = new HashMap<>();
+                marker.put("type", "pharmacy");
+                marker.put("data", pharmacy);
+                markers.add(marker);
+            }
             
-            // MongoDB에서 경계 데이터 조회
-            List<Map> boundaries = new ArrayList<>();
+            Map<String, Double> location = new HashMap<>();
+            location.put("lat", lat);
+            location.put("lon", lon);
             
-            // 각 경계 타입별로 데이터 수집
-            String[] boundaryTypes = {"ctprvn", "sig", "emd", "li"};
-            for (String type : boundaryTypes) {
-                String collectionName = "sggu_boundaries_" + type;
-                List<Map> typeBoundaries = mongoTemplate.find(new Query(), Map.class, collectionName);
-                boundaries.addAll(typeBoundaries);
-                logger.info("📄 {} 컬렉션에서 {}개 문서 로드", collectionName, typeBoundaries.size());
+            // 응답 후 바로 타일을 무효화하므로 검색에 반영될 때까지 기다린다
+            Map<String, Object> doc = buildMapDocument(key, location, markers);
+            if (doc != null) {
+                IndexRequest indexRequest = new IndexRequest(MAP_INDEX)
+                    .id(key)
+                    .source(doc, XContentType.JSON)
+                    .setRefreshPolicy(WriteRequest.RefreshPolicy.WAIT_UNTIL);
+                elasticsearchClient.index(indexRequest, org.elasticsearch.client.RequestOptions.DEFAULT);
+            } else {
+                DeleteRequest deleteRequest = new DeleteRequest(MAP_INDEX, key)
+                    .setRefreshPolicy(WriteRequest.RefreshPolicy.WAIT_UNTIL);
+                elasticsearchClient.delete(deleteRequest, org.elasticsearch.client.RequestOptions.DEFAULT);
             }
             
-            if (boundaries.isEmpty()) {
-                logger.warn("⚠️ 경계 데이터가 없습니다.");
+            // 위치 키 ID 도입 전에 자동 ID 로 색인된 같은 좌표 문서가 남아 있으면 중복 마커가 되므로 정리
+            DeleteByQueryRequest legacyRequest = new DeleteByQueryRequest(MAP_INDEX);
+            legacyRequest.setQuery(QueryBuilders.boolQuery()
+                .filter(QueryBuilders.geoBoundingBoxQuery("location")
+                    .setCorners(lat + MAP_LOCATION_EPSILON, lon - MAP_LOCATION_EPSILON,
+                                lat - MAP_LOCATION_EPSILON, lon + MAP_LOCATION_EPSILON))
+                .mustNot(QueryBuilders.existsQuery("sourceIds")));
+            legacyRequest.setRefresh(true);
+            elasticsearchClient.deleteByQuery(legacyRequest, org.elasticsearch.client.RequestOptions.DEFAULT);
+            
+            logger.debug("✅ 지도 위치 문서 갱신 완료: {} ({}개 마커)", key, markers.size());
+            
+        } catch (Exception e) {
+            logger.error("❌ 지도 위치 문서 갱신 중 오류 발생: {}", key, e);
+            throw e;
+        }
+    }
+    
+    /**
+     * Mongo _id 로 map_data 문서 위치 조회 (삭제 이벤트는 fullDocument 가 없어 좌표를 여기서 얻는다) - {lat, lon}, 없으면 null
+     */
+    public double[] findMapLocationBySourceId(String sourceId) {
+        try {
+            SearchRequest searchRequest = new SearchRequest(MAP_INDEX);
+            searchRequest.source(new SearchSourceBuilder()
+                .query(QueryBuilders.termQuery("sourceIds", sourceId))
+                .fetchSource(new String[]{"location"}, null)
+                .size(1));
+            SearchResponse response = elasticsearchClient.search(searchRequest, org.elasticsearch.client.RequestOptions.DEFAULT);
+            SearchHit[] hits = response.getHits().getHits();
+            return hits.length == 0 ? null : toLatLon(hits[0].getSourceAsMap());
+        } catch (Exception e) {
+            logger.warn("지도 문서 위치 조회 실패: {}", sourceId, e);
+            return null;
+        }
+    }
+    
+    /**
+     * 지도 전체 재색인 시작 - 이후 변경 스트림으로 갱신되는 좌표를 기록해 둔다
+     */
+    public void beginMapRebuild() {
+        mapLocationsChangedDuringRebuild.clear();
+        mapRebuildInProgress = true;
+    }
+    
+    /**
+     * 지도 전체 재색인 종료 - 재색인 중 바뀐 좌표는 새 인덱스가 그 변경 전 데이터를 읽었을 수 있으므로 다시 반영
+     */
+    public void endMapRebuild() {
+        mapRebuildInProgress = false;
+        for (String key : mapLocationsChangedDuringRebuild.keySet()) {
+            double[] location = mapLocationsChangedDuringRebuild.remove(key);
+            if (location == null) {
+                continue;
+            }
+            try {
+                refreshMapLocation(location[0], location[1]);
+            } catch (Exception e) {
+                logger.warn("재색인 중 변경된 지도 위치 반영 실패: {}", key, e);
+            }
+        }
+        mapTileClusterService.invalidateAll();
+    }
+    
+    /**
+     * 지도 클러스터 데이터 벌크 색인
+     *
+     * 행정구역 집계(경계 STR-tree × 병원/약국 좌표 공간 조인)의 면적 가중 중심점과
+     * 구역별 포함 개수를 그대로 색인한다.
+     */
+    public boolean bulkMapClusterIndex() throws IOException {
+        try {
+            logger.info("🚀 지도 클러스터 데이터 벌크 색인 시작...");
+            
+            // 집계가 아직 없으면 진행 중인 공간 조인을 기다리거나 직접 실행
+            if (!regionSummaryService.awaitSnapshot(regionSummaryAwaitMs)) {
+                logger.warn("⏳ 행정구역 집계가 아직 준비되지 않아 지도 클러스터 색인을 건너뜁니다.");
                 return false;
             }
             
@@ -801,55 +981,28 @@ public class BulkIndexService {
             BulkRequest bulkRequest = new BulkRequest();
             int processedCount = 0;
             
-            for (Map boundary : boundaries) {
-                try {
-                    Map<String, Object> properties = (Map<String, Object>) boundary.get("properties");
-                    Map<String, Object> geometry = (Map<String, Object>) boundary.get("geometry");
-                    
-                    if (properties == null || geometry == null) {
-                        continue;
-                    }
-                    
-                    // 경계 타입 결정
-                    String boundaryType = null;
-                    String boundaryId = null;
-                    String name = null;
-                    
-                    if (properties.containsKey("CTPRVN_CD")) {
-                        boundaryType = "ctprvn";
-                        boundaryId = properties.get("CTPRVN_CD").toString();
-                        name = properties.get("CTP_KOR_NM").toString();
-                    } else if (properties.containsKey("SIG_CD")) {
-                        boundaryType = "sig";
-                        boundaryId = properties.get("SIG_CD").toString();
-                        name = properties.get("SIG_KOR_NM").toString();
-                    } else if (properties.containsKey("EMD_CD")) {
-                        boundaryType = "emd";
-                        boundaryId = properties.get("EMD_CD").toString();
-                        name = properties.get("EMD_KOR_NM").toString();
-                    } else if (properties.containsKey("LI_CD")) {
-                        boundaryType = "li";
-                        boundaryId = properties.get("LI_CD").toString();
-                        name = properties.get("LI_KOR_NM").toString();
-                    }
-                    
-                    if (boundaryType == null || boundaryId == null || name == null) {
-                        continue;
-                    }
+            String[] boundaryTypes = {"ctprvn", "sig", "emd", "li"};
+            for (String boundaryType : boundaryTypes) {
+                List<Map<String, Object>> regions = regionSummaryService.getAll(boundaryType);
+                logger.info("📄 {} 경계 {}개 집계 로드", boundaryType, regions.size());
+                
+                for (Map<String, Object> region : regions) {
+                    String boundaryId = region.get("boundaryId").toString();
                     
-                    // 중심점 계산
-                    Map<String, Double> centroid = calculateCentroid(geometry);
+                    Map<String, Double> location = new HashMap<>();
+                    location.put("lat", ((Number) region.get("lat")).doubleValue());
+                    location.put("lon", ((Number) region.get("lng")).doubleValue());
                     
                     // 클러스터 데이터 생성
                     Map<String, Object> clusterData = new HashMap<>();
                     clusterData.put("type", "cluster");
-                    clusterData.put("name", name);
+                    clusterData.put("name", region.get("name"));
                     clusterData.put("boundaryType", boundaryType);
                     clusterData.put("boundaryId", boundaryId);
-                    clusterData.put("location", centroid);
+                    clusterData.put("location", location);
                     clusterData.put("clusterId", boundaryType + "_" + boundaryId);
-                    clusterData.put("hospitalCount", 0); // 기본값, 나중에 계산 가능
-                    clusterData.put("pharmacyCount", 0); // 기본값, 나중에 계산 가능
+                    clusterData.put("hospitalCount", region.get("hospitalCount"));
+                    clusterData.put("pharmacyCount", region.get("pharmacyCount"));
                     clusterData.put("isClustered", true);
                     
                     // 벌크 요청에 추가
@@ -859,13 +1012,14 @@ public class BulkIndexService {
                     
                     bulkRequest.add(indexRequest);
                     processedCount++;
-                    
-                } catch (Exception e) {
-                    logger.warn("⚠️ 경계 데이터 처리 중 오류 발생: {}", e.getMessage());
-                    continue;
                 }
             }
             
+            if (processedCount == 0) {
+                logger.warn("⚠️ 경계 데이터가 없습니다.");
+                return false;
+            }
+            
             if (bulkRequest.numberOfActions() > 0) {
                 // 벌크 색인 실행
                 BulkResponse bulkResponse = elasticsearchClient.bulk(bulkRequest, org.elasticsearch.client.RequestOptions.DEFAULT);
@@ -892,67 +1046,6 @@ public class BulkIndexService {
         }
     }
     
-    /**
-     * 지오메트리 중심점 계산
-     */
-    private Map<String, Double> calculateCentroid(Map<String, Object> geometry) {
-        Map<String, Double> centroid = new HashMap<>();
-        centroid.put("lat", 0.0);
-        centroid.put("lon", 0.0);
-        
-        try {
-            if ("Polygon".equals(geometry.get("type"))) {
-                List<List<List<Double>>> coordinates = (List<List<List<Double>>>) geometry.get("coordinates");
-                if (coordinates != null && !coordinates.isEmpty()) {
-                    List<List<Double>> ring = coordinates.get(0);
-                    double sumLat = 0, sumLon = 0;
-                    int count = 0;
-                    
-                    for (List<Double> coord : ring) {
-                        if (coord.size() >= 2) {
-                            sumLon += coord.get(0);
-                            sumLat += coord.get(1);
-                            count++;
-                        }
-                    }
-                    
-                    if (count > 0) {
-                        centroid.put("lon", sumLon / count);
-                        centroid.put("lat", sumLat / count);
-                    }
-                }
-            } else if ("MultiPolygon".equals(geometry.get("type"))) {
-                List<List<List<List<Double>>>> coordinates = (List<List<List<List<Double>>>>) geometry.get("coordinates");
-                if (coordinates != null && !coordinates.isEmpty()) {
-                    double sumLat = 0, sumLon = 0;
-                    int count = 0;
-                    
-                    for (List<List<List<Double>>> polygon : coordinates) {
-                        if (polygon != null && !polygon.isEmpty()) {
-                            List<List<Double>> ring = polygon.get(0);
-                            for (List<Double> coord : ring) {
-                                if (coord.size() >= 2) {
-                                    sumLon += coord.get(0);
-                                    sumLat += coord.get(1);
-                                    count++;
-                                }
-                            }
-                        }
-                    }
-                    
-                    if (count > 0) {
-                        centroid.put("lon", sumLon / count);
-                        centroid.put("lat", sumLat / count);
-                    }
-                }
-            }
-        } catch (Exception e) {
-            logger.warn("⚠️ 중심점 계산 중 오류 발생: {}", e.getMessage());
-        }
-        
-        return centroid;
-    }
-    
     /**
      * 단일 병원 문서 색인
      */
@@ -983,6 +1076,18 @@ public class BulkIndexService {
         }
     }
     
+    /**
+     * 진료시간(hospitaltimes) 변경 시 해당 병원 재색인 - 비트맵 인덱스와 ES openHours 를 함께 갱신
+     */
+    public void reindexHospitalByYkiho(String ykiho) throws IOException {
+        Map hospital = mongoTemplate.findOne(new Query(Criteria.where("ykiho").is(ykiho)), Map.class, "hospitals");
+        if (hospital == null) {
+            logger.warn("재색인할 병원을 찾을 수 없습니다: {}", ykiho);
+            return;
+        }
+        indexSingleHospital(hospital);
+    }
+    
     /**
      * 단일 약국 문서 색인
      */
@@ -1027,6 +1132,36 @@ public class BulkIndexService {
         }
     }
     
+    /**
+     * 색인된 문서의 위치 조회 (변경 전 좌표의 타일 캐시 무효화용) - {lat, lon}, 없으면 null
+     */
+    public double[] findIndexedLocation(String indexName, String documentId) {
+        try {
+            org.elasticsearch.action.get.GetRequest getRequest = new org.elasticsearch.action.get.GetRequest(indexName, documentId)
+                .fetchSourceContext(new org.elasticsearch.search.fetch.subphase.FetchSourceContext(true, new String[]{"location"}, null));
+            org.elasticsearch.action.get.GetResponse response = elasticsearchClient.get(getRequest, org.elasticsearch.client.RequestOptions.DEFAULT);
+            if (!response.isExists() || response.getSourceAsMap() == null) {
+                return null;
+            }
+            return toLatLon(response.getSourceAsMap());
+        } catch (Exception e) {
+            logger.warn("기존 위치 조회 실패: {} - {}", indexName, documentId, e);
+            return null;
+        }
+    }
+    
+    private double[] toLatLon(Map<String, Object> source) {
+        Object location = source.get("location");
+        if (location instanceof Map) {
+            Object lat = ((Map) location).get("lat");
+            Object lon = ((Map) location).get("lon");
+            if (lat instanceof Number && lon instanceof Number) {
+                return new double[]{((Number) lat).doubleValue(), ((Number) lon).doubleValue()};
+            }
+        }
+        return null;
+    }
+    
     /**
      * 단일 문서 삭제
      */
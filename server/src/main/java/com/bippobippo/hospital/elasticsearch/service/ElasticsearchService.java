@@ -69,24 +69,38 @@ public class ElasticsearchService {
     
     /**
      * 지도 데이터 재색인 프로세스
+     *
+     * 새 인덱스(map_data_{timestamp})에 채운 뒤 map_data 별칭을 원자적으로 옮긴다.
+     * 기존 인덱스를 먼저 지우지 않으므로 재색인 중에도 지도 조회가 끊기지 않는다.
      */
     public void reindexMap() {
+        String newIndex = null;
         try {
             logger.info("🔄 지도 데이터 재색인 프로세스 시작...");
+            bulkIndexService.beginMapRebuild();
             
-            logger.info("Step 1: 기존 지도 인덱스 삭제...");
-            indexService.deleteMapIndex();
+            logger.info("Step 1: 새로운 지도 인덱스 생성...");
+            newIndex = indexService.createVersionedMapIndex();
             
-            logger.info("Step 2: 새로운 지도 인덱스 생성...");
-            indexService.createMapIndex();
+            logger.info("Step 2: 지도 데이터 벌크 색인...");
+            bulkIndexService.bulkMapIndex(newIndex);
             
-            logger.info("Step 3: 지도 데이터 벌크 색인...");
-            bulkIndexService.bulkMapIndex();
+            logger.info("Step 3: 지도 별칭 전환 및 기존 인덱스 삭제...");
+            indexService.swapMapAlias(newIndex);
             
             logger.info("✅ 지도 데이터 재색인 프로세스 완료!");
         } catch (Exception e) {
             logger.error("❌ 지도 데이터 재색인 프로세스 중 오류 발생:", e);
+            if (newIndex != null) {
+                try {
+                    indexService.deleteIndex(newIndex);
+                } catch (Exception deleteError) {
+                    logger.warn("실패한 지도 인덱스 정리 실패: {}", newIndex, deleteError);
+                }
+            }
             throw new RuntimeException("지도 재색인 프로세스 실패", e);
+        } finally {
+            bulkIndexService.endMapRebuild();
         }
     }
     
@@ -0,0 +1,151 @@
+package com.bippobippo.hospital.elasticsearch.service;
+
+import com.bippobippo.hospital.util.WeeklySchedule;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.util.CloseableIterator;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import javax.annotation.PostConstruct;
+import javax.annotation.PreDestroy;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+/**
+ * 병원별 주간 진료시간 비트맵 인덱스 (ykiho → WeeklySchedule)
+ *
+ * 색인 시점에 hospitaltimes 를 정규화해 메모리에 보관하고,
+ * "지금 진료 중" / "N분 이내 진료" 여부를 비트 테스트로 판단한다.
+ * 개별 변경은 refresh 로 반영하고, 놓친 변경은 주기적인 전체 재적재로 맞춘다.
+ */
+@Service
+public class HospitalScheduleIndex {
+
+    private static final Logger logger = LoggerFactory.getLogger(HospitalScheduleIndex.class);
+
+    @Autowired
+    private MongoTemplate mongoTemplate;
+
+    private volatile Map<String, WeeklySchedule> schedules = new ConcurrentHashMap<>();
+
+    private final ExecutorService executorService = Executors.newSingleThreadExecutor();
+
+    // 전체 재적재 중 개별 갱신된 항목 (재적재 결과에 덮어써 최신 값 유지)
+    private final Map<String, WeeklySchedule> refreshedDuringReload = new ConcurrentHashMap<>();
+
+    private volatile boolean reloading = false;
+
+    private volatile boolean loaded = false;
+
+    @PostConstruct
+    public void initialize() {
+        CompletableFuture.runAsync(this::reload, executorService);
+    }
+
+    /**
+     * 주기적 전체 재적재 (스케줄러 스레드를 막지 않도록 전용 스레드에서 실행)
+     */
+    @Scheduled(fixedDelayString = "${hospital.schedule.reload-interval-ms:1800000}",
+               initialDelayString = "${hospital.schedule.reload-interval-ms:1800000}")
+    public void scheduledReload() {
+        CompletableFuture.runAsync(this::reload, executorService);
+    }
+
+    /**
+     * hospitaltimes 전체를 스트리밍하며 비트맵 재구성 (새 맵을 만든 뒤 교체)
+     */
+    public void reload() {
+        long startTime = System.currentTimeMillis();
+        Map<String, WeeklySchedule> fresh = new ConcurrentHashMap<>();
+        int count = 0;
+        reloading = true;
+
+        Query query = new Query();
+        query.fields().include("ykiho")
+            .include("trmtMonStart").include("trmtMonEnd")
+            .include("trmtTueStart").include("trmtTueEnd")
+            .include("trmtWedStart").include("trmtWedEnd")
+            .include("trmtThuStart").include("trmtThuEnd")
+            .include("trmtFriStart").include("trmtFriEnd")
+            .include("trmtSatStart").include("trmtSatEnd")
+            .include("trmtSunStart").include("trmtSunEnd");
+
+        try (CloseableIterator<Map> cursor = mongoTemplate.stream(query, Map.class, "hospitaltimes")) {
+            while (cursor.hasNext()) {
+                Map times = cursor.next();
+                Object ykiho = times.get("ykiho");
+                if (ykiho != null) {
+                    put(fresh, ykiho.toString(), WeeklySchedule.fromIntervals(WeeklySchedule.alignToSlots(WeeklySchedule.parseIntervals(times))));
+                    count++;
+                }
+            }
+            // 재적재 중 refresh 된 항목은 최신 값이 새 맵에도 반영되도록 덮어쓴다
+            schedules = fresh;
+            reloading = false;
+            refreshedDuringReload.forEach((key, schedule) -> put(fresh, key, schedule));
+            loaded = true;
+            logger.info("✅ 진료시간 비트맵 로드 완료: {}개, {}ms", count, System.currentTimeMillis() - startTime);
+        } catch (Exception e) {
+            logger.error("❌ 진료시간 비트맵 로드 중 오류 발생:", e);
+        } finally {
+            reloading = false;
+            refreshedDuringReload.clear();
+        }
+    }
+
+    /**
+     * 진료시간 등록 (색인 / hospitaltimes 변경 시 호출) - ES integer_range 용 구간 목록 반환
+     *
+     * ES 에도 비트맵과 같은 15분 슬롯 기준 구간을 넣어 검색 필터와 openNow 판단을 일치시킨다.
+     */
+    public List<int[]> register(String ykiho, Map<?, ?> times) {
+        List<int[]> intervals = WeeklySchedule.alignToSlots(WeeklySchedule.parseIntervals(times));
+        WeeklySchedule schedule = WeeklySchedule.fromIntervals(intervals);
+        put(schedules, ykiho, schedule);
+        if (reloading) {
+            refreshedDuringReload.put(ykiho, schedule);
+        }
+        return intervals;
+    }
+
+    private void put(Map<String, WeeklySchedule> target, String ykiho, WeeklySchedule schedule) {
+        if (schedule.isEmpty()) {
+            target.remove(ykiho);
+        } else {
+            target.put(ykiho, schedule);
+        }
+    }
+
+    public WeeklySchedule get(String ykiho) {
+        return schedules.getOrDefault(ykiho, WeeklySchedule.EMPTY);
+    }
+
+    public boolean isOpenAt(String ykiho, int minuteOfWeek) {
+        return get(ykiho).isOpenAt(minuteOfWeek);
+    }
+
+    public boolean isOpenNow(String ykiho) {
+        return isOpenAt(ykiho, WeeklySchedule.currentMinuteOfWeek());
+    }
+
+    public boolean isOpenWithin(String ykiho, int minutes) {
+        return get(ykiho).isOpenWithin(WeeklySchedule.currentMinuteOfWeek(), minutes);
+    }
+
+    public boolean isLoaded() {
+        return loaded;
+    }
+
+    @PreDestroy
+    public void cleanup() {
+        executorService.shutdownNow();
+    }
+}
@@ -1,5 +1,6 @@
 package com.bippobippo.hospital.elasticsearch.service;
 
+import com.bippobippo.hospital.util.WeeklySchedule;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Service;
 import org.slf4j.Logger;
@@ -43,6 +44,9 @@ public class HospitalSearchService {
     @Autowired
     private RestHighLevelClient elasticsearchClient;
     
+    @Autowired
+    private HospitalScheduleIndex hospitalScheduleIndex;
+    
     /**
      * 병원 상세 검색
      */
@@ -111,6 +115,17 @@ public class HospitalSearchService {
                 setupOpenNowFilter(boolQuery);
             }
             
+            // N분 이내 진료 필터
+            if (searchParams.containsKey("openWithin") && searchParams.get("openWithin") != null) {
+                try {
+                    int openWithin = Integer.parseInt(searchParams.get("openWithin").toString());
+                    logger.info("N분 이내 진료 필터 추가: {}분", openWithin);
+                    setupOpenWithinFilter(boolQuery, openWithin);
+                } catch (NumberFormatException e) {
+                    logger.warn("openWithin 파싱 실패: {}", searchParams.get("openWithin"));
+                }
+            }
+            
             // 위치 기반 검색 필터 추가
             if (searchParams.containsKey("x") && searchParams.containsKey("y") && 
                 searchParams.get("x") != null && searchParams.get("y") != null) {
@@ -200,55 +215,33 @@ public class HospitalSearchService {
     
     /**
      * 현재 시간에 열려있는 병원 필터 설정
+     * 색인 시 15분 슬롯 기준으로 정규화된 주간 진료구간(openHours, integer_range)에 대한 range 절로 처리
      */
     private void setupOpenNowFilter(BoolQueryBuilder boolQuery) {
-        // 현재 요일과 시간을 기반으로 진료시간 확인
-        Calendar now = Calendar.getInstance();
-        int dayOfWeek = now.get(Calendar.DAY_OF_WEEK);
-        int hour = now.get(Calendar.HOUR_OF_DAY);
-        int minute = now.get(Calendar.MINUTE);
-        
-        // 현재 시간을 분 단위로 변환 (예: 18:33 -> 1833)
-        int currentTimeMinutes = hour * 100 + minute;
-        
-        BoolQueryBuilder timeQuery = QueryBuilders.boolQuery();
+        setupOpenWithinFilter(boolQuery, 0);
+    }
+    
+    /**
+     * 지금부터 N분 이내에 진료 중이거나 진료를 시작하는 병원 필터 설정
+     *
+     * HospitalScheduleIndex.isOpenWithin 과 같은 슬롯 범위(현재 슬롯 ~ N/15 슬롯 뒤)를 조회해
+     * 검색 필터와 비트맵 판단이 같은 결과를 내도록 한다.
+     */
+    private void setupOpenWithinFilter(BoolQueryBuilder boolQuery, int minutes) {
+        int slotMinutes = WeeklySchedule.SLOT_MINUTES;
+        int from = WeeklySchedule.currentMinuteOfWeek() / slotMinutes * slotMinutes;
+        int span = Math.min(WeeklySchedule.MINUTES_PER_WEEK - slotMinutes, Math.max(0, minutes) / slotMinutes * slotMinutes);
+        int to = from + span;
         
-        switch (dayOfWeek) {
-            case Calendar.MONDAY:
-                timeQuery.must(QueryBuilders.rangeQuery("times.trmtMonStart").lte(currentTimeMinutes));
-                timeQuery.must(QueryBuilders.rangeQuery("times.trmtMonEnd").gte(currentTimeMinutes));
-                break;
-            case Calendar.TUESDAY:
-                timeQuery.must(QueryBuilders.rangeQuery("times.trmtTueStart").lte(currentTimeMinutes));
-                timeQuery.must(QueryBuilders.rangeQuery("times.trmtTueEnd").gte(currentTimeMinutes));
-                break;
-            case Calendar.WEDNESDAY:
-                timeQuery.must(QueryBuilders.rangeQuery("times.trmtWedStart").lte(currentTimeMinutes));
-                timeQuery.must(QueryBuilders.rangeQuery("times.trmtWedEnd").gte(currentTimeMinutes));
-                break;
-            case Calendar.THURSDAY:
-                timeQuery.must(QueryBuilders.rangeQuery("times.trmtThuStart").lte(currentTimeMinutes));
-                timeQuery.must(QueryBuilders.rangeQuery("times.trmtThuEnd").gte(currentTimeMinutes));
-                break;
-            case Calendar.FRIDAY:
-                timeQuery.must(QueryBuilders.rangeQuery("times.trmtFriStart").lte(currentTimeMinutes));
-                timeQuery.must(QueryBuilders.rangeQuery("times.trmtFriEnd").gte(currentTimeMinutes));
-                break;
-            case Calendar.SATURDAY:
-                timeQuery.must(QueryBuilders.rangeQuery("times.trmtSatStart").lte(currentTimeMinutes));
-                timeQuery.must(QueryBuilders.rangeQuery("times.trmtSatEnd").gte(currentTimeMinutes));
-                break;
-            case Calendar.SUNDAY:
-                // 일요일은 대부분 휴진이지만, 24시간 진료하는 병원도 있음
-                timeQuery.must(QueryBuilders.rangeQuery("times.trmtSunStart").lte(currentTimeMinutes));
-                timeQuery.must(QueryBuilders.rangeQuery("times.trmtSunEnd").gte(currentTimeMinutes));
-                break;
+        if (to < WeeklySchedule.MINUTES_PER_WEEK) {
+            boolQuery.filter(QueryBuilders.rangeQuery("openHours").gte(from).lte(to));
+        } else {
+            // 일요일 자정을 넘어가는 경우 주 경계에서 나눠서 조회
+            boolQuery.filter(QueryBuilders.boolQuery()
+                .should(QueryBuilders.rangeQuery("openHours").gte(from).lt(WeeklySchedule.MINUTES_PER_WEEK))
+                .should(QueryBuilders.rangeQuery("openHours").gte(0).lte(to - WeeklySchedule.MINUTES_PER_WEEK))
+                .minimumShouldMatch(1));
         }
-        
-        // 휴무일이 아닌지 확인
-        timeQuery.mustNot(QueryBuilders.termQuery("times.noTrmtHoli", "휴무"));
-        
-        boolQuery.filter(timeQuery);
     }
     
     /**
@@ -399,7 +392,10 @@ public class HospitalSearchService {
      */
     private Map<String, Object> processSearchResponse(SearchResponse response, Map<String, Object> searchParams) {
         SearchHits hits = response.getHits();
+        int minuteOfWeek = WeeklySchedule.currentMinuteOfWeek();
         
+        // 진료시간 필터는 쿼리(openHours)에서만 적용 - hospitaltimes 변경 시 해당 병원을 재색인하므로
+        // 페이지를 나눈 뒤 다시 걸러내면 페이지 크기와 totalCount 가 어긋난다
         List<Map<String, Object>> hospitals = new ArrayList<>();
         for (SearchHit hit : hits.getHits()) {
             Map<String, Object> source = hit.getSourceAsMap();
@@ -421,6 +417,7 @@ public class HospitalSearchService {
             hospital.put("nursing_grade", source.get("nursing_grade"));
             hospital.put("personnel", source.get("personnel"));
             hospital.put("score", hit.getScore());
+            hospital.put("openNow", hospitalScheduleIndex.isOpenAt(hit.getId(), minuteOfWeek));
             
             // 거리 정보 추가 (위치 기반 검색인 경우)
             if ((searchParams.containsKey("latitude") && searchParams.containsKey("longitude") || 
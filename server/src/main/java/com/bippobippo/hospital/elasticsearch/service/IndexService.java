@@ -16,8 +16,13 @@ import org.elasticsearch.client.indices.GetIndexRequest;
 import org.elasticsearch.client.core.CountRequest;
 import org.elasticsearch.client.core.CountResponse;
 import org.elasticsearch.client.RequestOptions;
+import org.elasticsearch.client.GetAliasesResponse;
+import org.elasticsearch.action.admin.indices.alias.IndicesAliasesRequest;
+import org.elasticsearch.action.admin.indices.alias.get.GetAliasesRequest;
 
 import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
 import java.util.Map;
 import java.util.HashMap;
 
@@ -29,6 +34,8 @@ public class IndexService {
     @Autowired
     private RestHighLevelClient elasticsearchClient;
     
+    private static final String MAP_INDEX = "map_data";
+    
     /**
      * 병원 인덱스 생성
      */
@@ -61,6 +68,7 @@ public class IndexService {
                     "subject": { "type": "text" },
                     "major": { "type": "keyword" },
                     "location": { "type": "geo_point" },
+                    "openHours": { "type": "integer_range" },
                     "hospUrl": { "type": "text" },
                     "telno": { "type": "text" },
                     "times": {
@@ -220,39 +228,17 @@ public class IndexService {
     public void createMapIndex() throws IOException {
         try {
             // 인덱스 존재 여부 확인
-            GetIndexRequest existsRequest = new GetIndexRequest("map_data");
+            GetIndexRequest existsRequest = new GetIndexRequest(MAP_INDEX);
             boolean existsResponse = elasticsearchClient.indices().exists(existsRequest, RequestOptions.DEFAULT);
             
             if (existsResponse) {
                 logger.info("기존 인덱스 'map_data' 삭제 중...");
-                DeleteIndexRequest deleteRequest = new DeleteIndexRequest("map_data");
+                DeleteIndexRequest deleteRequest = new DeleteIndexRequest(resolveIndices(MAP_INDEX));
                 AcknowledgedResponse deleteResponse = elasticsearchClient.indices().delete(deleteRequest, RequestOptions.DEFAULT);
                 logger.info("기존 인덱스 'map_data' 삭제 완료!");
             }
 
-            // 인덱스 생성
-            CreateIndexRequest createRequest = new CreateIndexRequest("map_data");
-            createRequest.settings(Settings.builder()
-                .put("index.number_of_shards", 3)
-                .put("index.number_of_replicas", 1)
-            );
-            
-            String mappingJson = """
-                {
-                  "properties": {
-                    "id": { "type": "keyword" },
-                    "type": { "type": "keyword" },
-                    "name": { "type": "text" },
-                    "address": { "type": "text" },
-                    "location": { "type": "geo_point" },
-                    "category": { "type": "keyword" },
-                    "region": { "type": "keyword" }
-                  }
-                }
-                """;
-            
-            createRequest.mapping(mappingJson, XContentType.JSON);
-            elasticsearchClient.indices().create(createRequest, RequestOptions.DEFAULT);
+            createMapIndex(MAP_INDEX);
             logger.info("✅ 지도 인덱스 'map_data' 생성 완료!");
             
         } catch (Exception e) {
@@ -261,6 +247,94 @@ public class IndexService {
         }
     }
     
+    /**
+     * 전체 재색인용 지도 인덱스 생성 - 서비스 중인 map_data 는 그대로 두고 새 이름(map_data_{timestamp})으로 만든다
+     */
+    public String createVersionedMapIndex() throws IOException {
+        String indexName = MAP_INDEX + "_" + System.currentTimeMillis();
+        createMapIndex(indexName);
+        logger.info("✅ 지도 인덱스 '{}' 생성 완료!", indexName);
+        return indexName;
+    }
+    
+    private void createMapIndex(String indexName) throws IOException {
+        CreateIndexRequest createRequest = new CreateIndexRequest(indexName);
+        createRequest.settings(Settings.builder()
+            .put("index.number_of_shards", 3)
+            .put("index.number_of_replicas", 1)
+        );
+        
+        String mappingJson = """
+            {
+              "properties": {
+                "id": { "type": "keyword" },
+                "type": { "type": "keyword" },
+                "name": { "type": "text" },
+                "address": { "type": "text" },
+                "location": { "type": "geo_point" },
+                "category": { "type": "keyword" },
+                "region": { "type": "keyword" },
+                "clusterId": { "type": "keyword" },
+                "clusterCount": { "type": "integer" },
+                "hospitalCount": { "type": "integer" },
+                "pharmacyCount": { "type": "integer" },
+                "isClustered": { "type": "boolean" },
+                "sourceIds": { "type": "keyword" }
+              }
+            }
+            """;
+        
+        createRequest.mapping(mappingJson, XContentType.JSON);
+        elasticsearchClient.indices().create(createRequest, RequestOptions.DEFAULT);
+    }
+    
+    /**
+     * map_data 별칭을 새 인덱스로 원자적으로 전환하고 이전 인덱스를 삭제
+     *
+     * 별칭 이전(remove/add)과 기존 단일 인덱스 제거(remove_index)를 한 요청으로 보내므로
+     * 조회 쪽에서는 map_data 가 비어 있는 순간이 없다.
+     */
+    public void swapMapAlias(String newIndex) throws IOException {
+        try {
+            IndicesAliasesRequest request = new IndicesAliasesRequest();
+            List<String> previousIndices = new ArrayList<>();
+            
+            if (elasticsearchClient.indices().existsAlias(new GetAliasesRequest(MAP_INDEX), RequestOptions.DEFAULT)) {
+                for (String index : resolveIndices(MAP_INDEX)) {
+                    if (!index.equals(newIndex)) {
+                        request.addAliasAction(IndicesAliasesRequest.AliasActions.remove().index(index).alias(MAP_INDEX));
+                        previousIndices.add(index);
+                    }
+                }
+            } else if (elasticsearchClient.indices().exists(new GetIndexRequest(MAP_INDEX), RequestOptions.DEFAULT)) {
+                // 별칭 도입 이전에 만들어진 실제 인덱스 map_data - 별칭 추가와 같은 요청에서 삭제
+                request.addAliasAction(IndicesAliasesRequest.AliasActions.removeIndex().index(MAP_INDEX));
+            }
+            request.addAliasAction(IndicesAliasesRequest.AliasActions.add().index(newIndex).alias(MAP_INDEX));
+            elasticsearchClient.indices().updateAliases(request, RequestOptions.DEFAULT);
+            logger.info("✅ 지도 별칭 'map_data' -> '{}' 전환 완료!", newIndex);
+            
+            if (!previousIndices.isEmpty()) {
+                elasticsearchClient.indices().delete(new DeleteIndexRequest(previousIndices.toArray(new String[0])), RequestOptions.DEFAULT);
+                logger.info("이전 지도 인덱스 삭제 완료: {}", previousIndices);
+            }
+        } catch (Exception e) {
+            logger.error("❌ 지도 별칭 전환 중 오류 발생:", e);
+            throw e;
+        }
+    }
+    
+    /**
+     * 별칭이면 연결된 실제 인덱스 이름들을, 아니면 이름 그대로 반환 (별칭 이름으로는 인덱스를 삭제할 수 없음)
+     */
+    private String[] resolveIndices(String name) throws IOException {
+        if (!elasticsearchClient.indices().existsAlias(new GetAliasesRequest(name), RequestOptions.DEFAULT)) {
+            return new String[]{name};
+        }
+        GetAliasesResponse response = elasticsearchClient.indices().getAlias(new GetAliasesRequest(name), RequestOptions.DEFAULT);
+        return response.getAliases().keySet().toArray(new String[0]);
+    }
+    
     /**
      * 지도 클러스터 인덱스 생성
      */
@@ -359,7 +433,7 @@ public class IndexService {
             GetIndexRequest existsRequest = new GetIndexRequest("map_data");
             boolean existsResponse = elasticsearchClient.indices().exists(existsRequest, RequestOptions.DEFAULT);
             if (existsResponse) {
-                DeleteIndexRequest deleteRequest = new DeleteIndexRequest("map_data");
+                DeleteIndexRequest deleteRequest = new DeleteIndexRequest(resolveIndices(MAP_INDEX));
                 AcknowledgedResponse deleteResponse = elasticsearchClient.indices().delete(deleteRequest, RequestOptions.DEFAULT);
                 logger.info("✅ 지도 인덱스 'map_data' 삭제 완료!");
             } else {
@@ -427,7 +501,7 @@ public class IndexService {
             GetIndexRequest existsRequest = new GetIndexRequest(indexName);
             boolean existsResponse = elasticsearchClient.indices().exists(existsRequest, RequestOptions.DEFAULT);
             if (existsResponse) {
-                DeleteIndexRequest deleteRequest = new DeleteIndexRequest(indexName);
+                DeleteIndexRequest deleteRequest = new DeleteIndexRequest(resolveIndices(indexName));
                 AcknowledgedResponse deleteResponse = elasticsearchClient.indices().delete(deleteRequest, RequestOptions.DEFAULT);
                 logger.info("✅ 인덱스 '{}' 삭제 완료!", indexName);
                 return deleteResponse.isAcknowledged();
@@ -452,7 +526,7 @@ public class IndexService {
             
             if (existsResponse) {
                 logger.info("기존 인덱스 'map_data' 삭제 중...");
-                DeleteIndexRequest deleteRequest = new DeleteIndexRequest("map_data");
+                DeleteIndexRequest deleteRequest = new DeleteIndexRequest(resolveIndices(MAP_INDEX));
                 AcknowledgedResponse deleteResponse = elasticsearchClient.indices().delete(deleteRequest, RequestOptions.DEFAULT);
                 logger.info("기존 인덱스 'map_data' 삭제 완료!");
             }
@@ -475,7 +549,10 @@ public class IndexService {
                     "location": { "type": "geo_point" },
                     "clusterId": { "type": "keyword" },
                     "clusterCount": { "type": "integer" },
-                    "isClustered": { "type": "boolean" }
+                    "hospitalCount": { "type": "integer" },
+                    "pharmacyCount": { "type": "integer" },
+                    "isClustered": { "type": "boolean" },
+                    "sourceIds": { "type": "keyword" }
                   }
                 }
                 """;
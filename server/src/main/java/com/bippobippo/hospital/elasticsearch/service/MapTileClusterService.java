@@ -0,0 +1,218 @@
+package com.bippobippo.hospital.elasticsearch.service;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.elasticsearch.action.search.SearchRequest;
+import org.elasticsearch.action.search.SearchResponse;
+import org.elasticsearch.common.geo.GeoPoint;
+import org.elasticsearch.index.query.QueryBuilders;
+import org.elasticsearch.search.aggregations.AggregationBuilders;
+import org.elasticsearch.search.aggregations.bucket.filter.Filter;
+import org.elasticsearch.search.aggregations.bucket.geogrid.GeoGrid;
+import org.elasticsearch.search.aggregations.metrics.GeoCentroid;
+import org.elasticsearch.search.aggregations.metrics.Sum;
+import org.elasticsearch.search.builder.SearchSourceBuilder;
+
+import javax.annotation.PostConstruct;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * 줌 레벨 기반 지도 타일 클러스터링
+ *
+ * 화면 영역을 z/x/y 웹 메르카토르 타일로 나누고, 타일마다 geotile_grid 집계로
+ * 셀별 병원/약국 수를 계산해 메모리에 캐시한다. 이동/확대 시에는 캐시에 없는
+ * 타일만 한 번의 _msearch 로 조회한다.
+ */
+@Service
+public class MapTileClusterService {
+
+    private static final Logger logger = LoggerFactory.getLogger(MapTileClusterService.class);
+
+    private static final String INDEX = "map_data";
+    private static final int MIN_ZOOM = 0;
+    private static final int MAX_ZOOM = 21;
+    private static final int MAX_TILES_PER_REQUEST = 64;
+    // 타일 하나를 4x4 셀로 나눠 클러스터링 (precision = zoom + 2)
+    private static final int CELL_PRECISION_OFFSET = 2;
+    private static final int MAX_GEOTILE_PRECISION = 29;
+
+    @Autowired
+    private SearchGateway searchGateway;
+
+    @Value("${map.tile-cache.max-entries:20000}")
+    private int maxEntries;
+
+    private Map<String, List<Map<String, Object>>> tileCache;
+
+    @PostConstruct
+    public void initialize() {
+        tileCache = Collections.synchronizedMap(new LinkedHashMap<String, List<Map<String, Object>>>(1024, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, List<Map<String, Object>>> eldest) {
+                return size() > maxEntries;
+            }
+        });
+    }
+
+    /**
+     * 화면 영역의 타일 클러스터 조회
+     */
+    public List<Map<String, Object>> getTileClusters(double swLat, double swLng, double neLat, double neLng, int zoom) throws IOException {
+        int z = Math.max(MIN_ZOOM, Math.min(MAX_ZOOM, zoom));
+
+        int minX = lngToTileX(Math.min(swLng, neLng), z);
+        int maxX = lngToTileX(Math.max(swLng, neLng), z);
+        int minY = latToTileY(Math.max(swLat, neLat), z);
+        int maxY = latToTileY(Math.min(swLat, neLat), z);
+
+        long tileCount = (long) (maxX - minX + 1) * (maxY - minY + 1);
+        if (tileCount > MAX_TILES_PER_REQUEST) {
+            throw new IllegalArgumentException("조회 영역이 너무 넓습니다. 줌 레벨을 높여주세요.");
+        }
+
+        List<Map<String, Object>> results = new ArrayList<>();
+        List<String> missingKeys = new ArrayList<>();
+        SearchGateway.Batch batch = searchGateway.batch();
+
+        for (int x = minX; x <= maxX; x++) {
+            for (int y = minY; y <= maxY; y++) {
+                String key = tileKey(z, x, y);
+                List<Map<String, Object>> cached = tileCache.get(key);
+                if (cached != null) {
+                    results.addAll(cached);
+                } else {
+                    missingKeys.add(key);
+                    batch.add(key, buildTileRequest(z, x, y));
+                }
+            }
+        }
+
+        if (!batch.isEmpty()) {
+            logger.debug("타일 캐시 미스 {}개 / 전체 {}개 (z={})", missingKeys.size(), tileCount, z);
+            Map<String, SearchResponse> responses = batch.execute();
+            for (String key : missingKeys) {
+                List<Map<String, Object>> cells = toCells(responses.get(key));
+                tileCache.put(key, cells);
+                results.addAll(cells);
+            }
+        }
+
+        return results;
+    }
+
+    /**
+     * 특정 좌표가 속한 모든 줌 레벨의 타일 캐시 무효화 (단건 변경 시)
+     */
+    public void invalidate(Double lat, Double lng) {
+        if (lat == null || lng == null) {
+            invalidateAll();
+            return;
+        }
+        for (int z = MIN_ZOOM; z <= MAX_ZOOM; z++) {
+            tileCache.remove(tileKey(z, lngToTileX(lng, z), latToTileY(lat, z)));
+        }
+    }
+
+    /**
+     * 전체 타일 캐시 무효화 (재색인 시)
+     */
+    public void invalidateAll() {
+        tileCache.clear();
+        logger.info("🗺️ 지도 타일 캐시 초기화");
+    }
+
+    public int getCachedTileCount() {
+        return tileCache.size();
+    }
+
+    private SearchRequest buildTileRequest(int z, int x, int y) {
+        double north = tileYToLat(y, z);
+        double south = tileYToLat(y + 1, z);
+        double west = tileXToLng(x, z);
+        double east = tileXToLng(x + 1, z);
+
+        SearchSourceBuilder source = new SearchSourceBuilder()
+            .size(0)
+            .query(QueryBuilders.boolQuery()
+                .filter(QueryBuilders.geoBoundingBoxQuery("location").setCorners(north, west, south, east)))
+            .aggregation(AggregationBuilders.geotileGrid("cells")
+                .field("location")
+                .precision(Math.min(MAX_GEOTILE_PRECISION, z + CELL_PRECISION_OFFSET))
+                .size(1 << (2 * CELL_PRECISION_OFFSET))
+                .subAggregation(AggregationBuilders.geoCentroid("centroid").field("location"))
+                .subAggregation(AggregationBuilders.filter("hospitalDocs", QueryBuilders.termQuery("type", "hospital")))
+                .subAggregation(AggregationBuilders.filter("pharmacyDocs", QueryBuilders.termQuery("type", "pharmacy")))
+                // 같은 좌표에 묶인 cluster 문서의 병원/약국 수
+                .subAggregation(AggregationBuilders.sum("groupedHospitals").field("hospitalCount"))
+                .subAggregation(AggregationBuilders.sum("groupedPharmacies").field("pharmacyCount")));
+
+        return new SearchRequest(INDEX).source(source);
+    }
+
+    private List<Map<String, Object>> toCells(SearchResponse response) {
+        List<Map<String, Object>> cells = new ArrayList<>();
+        if (response == null || response.getAggregations() == null) {
+            return cells;
+        }
+
+        GeoGrid grid = response.getAggregations().get("cells");
+        for (GeoGrid.Bucket bucket : grid.getBuckets()) {
+            Filter hospitalDocs = bucket.getAggregations().get("hospitalDocs");
+            Filter pharmacyDocs = bucket.getAggregations().get("pharmacyDocs");
+            Sum groupedHospitals = bucket.getAggregations().get("groupedHospitals");
+            Sum groupedPharmacies = bucket.getAggregations().get("groupedPharmacies");
+            GeoCentroid centroid = bucket.getAggregations().get("centroid");
+
+            long hospitalCount = hospitalDocs.getDocCount() + (long) groupedHospitals.getValue();
+            long pharmacyCount = pharmacyDocs.getDocCount() + (long) groupedPharmacies.getValue();
+            GeoPoint point = centroid.centroid();
+
+            Map<String, Object> cell = new HashMap<>();
+            cell.put("clusterId", bucket.getKeyAsString());
+            cell.put("type", "cluster");
+            cell.put("lat", point.getLat());
+            cell.put("lng", point.getLon());
+            cell.put("hospitalCount", hospitalCount);
+            cell.put("pharmacyCount", pharmacyCount);
+            cell.put("clusterCount", hospitalCount + pharmacyCount);
+            cells.add(cell);
+        }
+        return cells;
+    }
+
+    private static String tileKey(int z, int x, int y) {
+        return z + "/" + x + "/" + y;
+    }
+
+    static int lngToTileX(double lng, int z) {
+        int n = 1 << z;
+        int x = (int) Math.floor((lng + 180.0) / 360.0 * n);
+        return Math.max(0, Math.min(n - 1, x));
+    }
+
+    static int latToTileY(double lat, int z) {
+        int n = 1 << z;
+        double clamped = Math.max(-85.05112878, Math.min(85.05112878, lat));
+        double rad = Math.toRadians(clamped);
+        int y = (int) Math.floor((1 - Math.log(Math.tan(rad) + 1 / Math.cos(rad)) / Math.PI) / 2 * n);
+        return Math.max(0, Math.min(n - 1, y));
+    }
+
+    static double tileXToLng(int x, int z) {
+        return x / (double) (1 << z) * 360.0 - 180.0;
+    }
+
+    static double tileYToLat(int y, int z) {
+        double n = Math.PI - 2.0 * Math.PI * y / (1 << z);
+        return Math.toDegrees(Math.atan(Math.sinh(n)));
+    }
+}
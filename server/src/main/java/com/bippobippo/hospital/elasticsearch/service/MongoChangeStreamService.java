@@ -1,5 +1,6 @@
 package com.bippobippo.hospital.elasticsearch.service;
 
+import com.bippobippo.hospital.impl.admin.DashboardStatsCache;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Service;
 import org.springframework.data.mongodb.core.MongoTemplate;
@@ -8,6 +9,7 @@ import org.springframework.data.mongodb.core.messaging.DefaultMessageListenerCon
 import org.springframework.data.mongodb.core.messaging.Message;
 import org.springframework.data.mongodb.core.messaging.Subscription;
 import org.springframework.data.mongodb.core.messaging.ChangeStreamRequest;
+import com.mongodb.client.model.changestream.FullDocument;
 import org.bson.Document;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -33,9 +35,19 @@ public class MongoChangeStreamService {
     @Autowired
     private BulkIndexService bulkIndexService;
     
+    @Autowired
+    private MapTileClusterService mapTileClusterService;
+    
+    @Autowired
+    private RegionSummaryService regionSummaryService;
+
+    @Autowired
+    private DashboardStatsCache dashboardStatsCache;
+    
     private MessageListenerContainer container;
     private Subscription hospitalSubscription;
     private Subscription pharmacySubscription;
+    private Subscription hospitalTimesSubscription;
     
     private final ExecutorService executorService = Executors.newFixedThreadPool(2);
     
@@ -61,6 +73,7 @@ public class MongoChangeStreamService {
             ChangeStreamRequest<Document> request = ChangeStreamRequest
                 .builder()
                 .collection("hospitals")
+                .fullDocumentLookup(FullDocument.UPDATE_LOOKUP) // update 이벤트에도 변경 후 문서 포함
                 .publishTo(this::handleHospitalChange) // 리스너는 여기서 설정
                 .build();
             
@@ -80,6 +93,7 @@ public class MongoChangeStreamService {
             ChangeStreamRequest<Document> request = ChangeStreamRequest
                 .builder()
                 .collection("pharmacies")
+                .fullDocumentLookup(FullDocument.UPDATE_LOOKUP) // update 이벤트에도 변경 후 문서 포함
                 .publishTo(this::handlePharmacyChange) // 리스너는 여기서 설정
                 .build();
             
@@ -91,6 +105,51 @@ public class MongoChangeStreamService {
         }
     }
     
+    /**
+     * 진료시간 컬렉션 변경사항 감지 설정
+     */
+    private void setupHospitalTimesChangeStream() {
+        try {
+            ChangeStreamRequest<Document> request = ChangeStreamRequest
+                .builder()
+                .collection("hospitaltimes")
+                .fullDocumentLookup(FullDocument.UPDATE_LOOKUP) // update 이벤트에서도 ykiho 를 얻기 위함
+                .publishTo(this::handleHospitalTimesChange)
+                .build();
+            
+            hospitalTimesSubscription = container.register(request, Document.class, this::handleError);
+            logger.info("🕘 진료시간 컬렉션 Change Stream 구독 시작");
+            
+        } catch (Exception e) {
+            logger.error("❌ 진료시간 Change Stream 설정 중 오류 발생:", e);
+        }
+    }
+    
+    /**
+     * 진료시간 변경사항 처리 - 해당 병원 재색인으로 비트맵과 openHours 갱신
+     */
+    private void handleHospitalTimesChange(Message<Document, Document> message) {
+        try {
+            Document fullDocument = message.getBody().get("fullDocument", Document.class);
+            if (fullDocument == null || fullDocument.get("ykiho") == null) {
+                return;
+            }
+            String ykiho = fullDocument.get("ykiho").toString();
+            logger.info("🕘 진료시간 변경 감지: {}", ykiho);
+            
+            CompletableFuture.runAsync(() -> {
+                try {
+                    bulkIndexService.reindexHospitalByYkiho(ykiho);
+                } catch (Exception e) {
+                    logger.error("❌ 진료시간 변경사항 처리 중 오류 발생:", e);
+                }
+            }, executorService);
+            
+        } catch (Exception e) {
+            logger.error("❌ 진료시간 Change Stream 메시지 처리 중 오류 발생:", e);
+        }
+    }
+    
     /**
      * 병원 데이터 변경사항 처리
      */
@@ -107,6 +166,15 @@ public class MongoChangeStreamService {
             
             CompletableFuture.runAsync(() -> {
                 try {
+                    // 위치가 바뀐 경우 이전 좌표의 지도 문서도 다시 만들어야 하므로 재색인 전에 기존 위치를 읽어둔다
+                    // (삭제 이벤트는 fullDocument 가 없어 지도 문서에 남긴 Mongo _id 로 찾는다)
+                    double[] previousLocation = null;
+                    if (fullDocument != null && fullDocument.get("ykiho") != null) {
+                        previousLocation = bulkIndexService.findIndexedLocation("hospitals", fullDocument.get("ykiho").toString());
+                    } else if (documentKey != null && documentKey.get("_id") != null) {
+                        previousLocation = bulkIndexService.findMapLocationBySourceId(documentKey.get("_id").toString());
+                    }
+                    
                     switch (operationType) {
                         case "insert":
                         case "update":
@@ -131,8 +199,31 @@ public class MongoChangeStreamService {
                             logger.debug("알 수 없는 작업 타입: {}", operationType);
                     }
                     
-                    // 지도 데이터도 업데이트 필요
-                    autoIndexingService.syncMapDataIfNeeded();
+                    // 변경 전/후 좌표의 map_data 문서(단일 마커/클러스터)만 다시 만들고 그 타일 캐시를 무효화
+                    Double lat = fullDocument != null ? toDouble(fullDocument.get("YPos")) : null;
+                    Double lon = fullDocument != null ? toDouble(fullDocument.get("XPos")) : null;
+                    if (previousLocation != null && !(Double.valueOf(previousLocation[0]).equals(lat) && Double.valueOf(previousLocation[1]).equals(lon))) {
+                        bulkIndexService.refreshMapLocation(previousLocation[0], previousLocation[1]);
+                        mapTileClusterService.invalidate(previousLocation[0], previousLocation[1]);
+                    }
+                    if (lat != null && lon != null) {
+                        bulkIndexService.refreshMapLocation(lat, lon);
+                        mapTileClusterService.invalidate(lat, lon);
+                    } else if (previousLocation == null) {
+                        // 위치를 알 수 없는 삭제 - 지도 문서는 건수 점검에 맡기고 타일은 전체 무효화
+                        autoIndexingService.syncMapDataIfNeeded();
+                        mapTileClusterService.invalidateAll();
+                    }
+                    
+                    // 행정구역 집계: 신규 등록은 증분 반영, 수정/삭제는 재집계 예약
+                    if ("insert".equals(operationType) && fullDocument != null) {
+                        regionSummaryService.onFacilityAdded("hospital", toDouble(fullDocument.get("YPos")), toDouble(fullDocument.get("XPos")));
+                    } else {
+                        regionSummaryService.markDirty();
+                    }
+                    
+                    // 관리자 대시보드 통계 재계산 예약
+                    dashboardStatsCache.markDirty();
                     
                 } catch (Exception e) {
                     logger.error("❌ 병원 변경사항 처리 중 오류 발생:", e);
@@ -160,6 +251,15 @@ public class MongoChangeStreamService {
             
             CompletableFuture.runAsync(() -> {
                 try {
+                    // 위치가 바뀐 경우 이전 좌표의 지도 문서도 다시 만들어야 하므로 재색인 전에 기존 위치를 읽어둔다
+                    // (삭제 이벤트는 fullDocument 가 없어 지도 문서에 남긴 Mongo _id 로 찾는다)
+                    double[] previousLocation = null;
+                    if (fullDocument != null && fullDocument.get("ykiho") != null) {
+                        previousLocation = bulkIndexService.findIndexedLocation("pharmacies", fullDocument.get("ykiho").toString());
+                    } else if (documentKey != null && documentKey.get("_id") != null) {
+                        previousLocation = bulkIndexService.findMapLocationBySourceId(documentKey.get("_id").toString());
+                    }
+                    
                     switch (operationType) {
                         case "insert":
                         case "update":
@@ -184,8 +284,28 @@ public class MongoChangeStreamService {
                             logger.debug("알 수 없는 작업 타입: {}", operationType);
                     }
                     
-                    // 지도 데이터도 업데이트 필요
-                    autoIndexingService.syncMapDataIfNeeded();
+                    // 변경 전/후 좌표의 map_data 문서(단일 마커/클러스터)만 다시 만들고 그 타일 캐시를 무효화
+                    Double lat = fullDocument != null ? toDouble(fullDocument.get("Ypos")) : null;
+                    Double lon = fullDocument != null ? toDouble(fullDocument.get("Xpos")) : null;
+                    if (previousLocation != null && !(Double.valueOf(previousLocation[0]).equals(lat) && Double.valueOf(previousLocation[1]).equals(lon))) {
+                        bulkIndexService.refreshMapLocation(previousLocation[0], previousLocation[1]);
+                        mapTileClusterService.invalidate(previousLocation[0], previousLocation[1]);
+                    }
+                    if (lat != null && lon != null) {
+                        bulkIndexService.refreshMapLocation(lat, lon);
+                        mapTileClusterService.invalidate(lat, lon);
+                    } else if (previousLocation == null) {
+                        // 위치를 알 수 없는 삭제 - 지도 문서는 건수 점검에 맡기고 타일은 전체 무효화
+                        autoIndexingService.syncMapDataIfNeeded();
+                        mapTileClusterService.invalidateAll();
+                    }
+                    
+                    // 행정구역 집계: 신규 등록은 증분 반영, 수정/삭제는 재집계 예약
+                    if ("insert".equals(operationType) && fullDocument != null) {
+                        regionSummaryService.onFacilityAdded("pharmacy", toDouble(fullDocument.get("Ypos")), toDouble(fullDocument.get("Xpos")));
+                    } else {
+                        regionSummaryService.markDirty();
+                    }
                     
                 } catch (Exception e) {
                     logger.error("❌ 약국 변경사항 처리 중 오류 발생:", e);
@@ -219,6 +339,9 @@ public class MongoChangeStreamService {
             if (pharmacySubscription != null) {
                 pharmacySubscription.cancel();
             }
+            if (hospitalTimesSubscription != null) {
+                hospitalTimesSubscription.cancel();
+            }
             
             // 잠시 대기
             Thread.sleep(1000);
@@ -226,6 +349,7 @@ public class MongoChangeStreamService {
             // 새로운 구독 설정
             setupHospitalChangeStream();
             setupPharmacyChangeStream();
+            setupHospitalTimesChangeStream();
             
             logger.info("✅ Change Stream 재시작 완료!");
             
@@ -258,6 +382,14 @@ public class MongoChangeStreamService {
                     setupPharmacyChangeStream();
                     break;
                     
+                case "hospitaltimes":
+                    if (hospitalTimesSubscription != null) {
+                        hospitalTimesSubscription.cancel();
+                    }
+                    Thread.sleep(500);
+                    setupHospitalTimesChangeStream();
+                    break;
+                    
                 default:
                     logger.warn("알 수 없는 컬렉션: {}", collectionName);
                     return;
@@ -270,6 +402,17 @@ public class MongoChangeStreamService {
         }
     }
     
+    private Double toDouble(Object value) {
+        if (value instanceof Number) {
+            return ((Number) value).doubleValue();
+        }
+        try {
+            return value != null ? Double.parseDouble(value.toString()) : null;
+        } catch (NumberFormatException e) {
+            return null;
+        }
+    }
+    
     /**
      * 에러 핸들러
      */
@@ -289,6 +432,9 @@ public class MongoChangeStreamService {
             if (pharmacySubscription != null) {
                 pharmacySubscription.cancel();
             }
+            if (hospitalTimesSubscription != null) {
+                hospitalTimesSubscription.cancel();
+            }
             
             // 컨테이너 정리
             if (container != null) {
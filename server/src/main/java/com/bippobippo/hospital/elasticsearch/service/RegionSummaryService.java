@@ -0,0 +1,601 @@
+package com.bippobippo.hospital.elasticsearch.service;
+
+import com.bippobippo.hospital.util.GeoPolygon;
+import com.bippobippo.hospital.util.StrTree;
+import com.mongodb.MongoNamespace;
+import com.mongodb.client.model.RenameCollectionOptions;
+import org.bson.Document;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.data.geo.Point;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.geo.GeoJsonPoint;
+import org.springframework.data.mongodb.core.index.GeoSpatialIndexType;
+import org.springframework.data.mongodb.core.index.GeospatialIndex;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+import org.springframework.data.util.CloseableIterator;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import javax.annotation.PostConstruct;
+import javax.annotation.PreDestroy;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.Date;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.Collectors;
+
+/**
+ * 행정구역(시도/시군구/읍면동/리)별 병원·약국 수 집계
+ *
+ * sggu_boundaries_* 경계와 병원/약국 좌표를 point-in-polygon 으로 조인한 결과를
+ * map_region_summary 컬렉션에 저장하고, 조회는 메모리에 올린 중심점 R-tree 로 처리한다.
+ * 경계는 STR-tree 로 색인하고 좌표는 묶음 단위로 나눠 코어 수만큼의 스레드에서 판정하며,
+ * 여러 도형으로 나뉜 구역의 중심점은 도형 면적으로 가중 평균한다.
+ * 신규 등록은 해당 구역 카운트만 증가시키고, 수정/삭제는 다음 주기에 재집계한다.
+ * 재집계 결과는 임시 컬렉션에 적재한 뒤 rename 으로 교체해 조회 쪽에 빈 상태가 보이지 않게 한다.
+ */
+@Service
+public class RegionSummaryService {
+
+    private static final Logger logger = LoggerFactory.getLogger(RegionSummaryService.class);
+
+    public static final String SUMMARY_COLLECTION = "map_region_summary";
+    private static final String STAGING_COLLECTION = SUMMARY_COLLECTION + "_staging";
+
+    public static final String LEVEL_CTPRVN = "ctprvn";
+    public static final String LEVEL_SIG = "sig";
+    public static final String LEVEL_EMD = "emd";
+    public static final String LEVEL_LI = "li";
+
+    private static final String[] LEVELS = {LEVEL_CTPRVN, LEVEL_SIG, LEVEL_EMD, LEVEL_LI};
+    private static final String[] CODE_FIELDS = {"CTPRVN_CD", "SIG_CD", "EMD_CD", "LI_CD"};
+    private static final String[] NAME_FIELDS = {"CTP_KOR_NM", "SIG_KOR_NM", "EMD_KOR_NM", "LI_KOR_NM"};
+    private static final int JOIN_CHUNK_SIZE = 5000;
+
+    @Autowired
+    private MongoTemplate mongoTemplate;
+
+    @Value("${map.region-summary.join-threads:#{T(java.lang.Runtime).getRuntime().availableProcessors()}}")
+    private int joinThreads;
+
+    private final ExecutorService executorService = Executors.newSingleThreadExecutor();
+
+    private final AtomicBoolean dirty = new AtomicBoolean(false);
+    private final AtomicBoolean rebuilding = new AtomicBoolean(false);
+    private final Object rebuildMonitor = new Object();
+
+    // 시작 시 스냅샷 적재(없으면 재집계) 작업
+    private volatile CompletableFuture<Void> initialization = CompletableFuture.completedFuture(null);
+
+    private volatile boolean geoIndexReady = false;
+
+    // 레벨별 집계 스냅샷 (재집계 시 통째로 교체)
+    private volatile Map<String, LevelSnapshot> snapshots = new HashMap<>();
+
+    @PostConstruct
+    public void initialize() {
+        initialization = CompletableFuture.runAsync(() -> {
+            try {
+                ensureBoundaryIndexes();
+                if (!loadSnapshot()) {
+                    rebuild();
+                }
+            } catch (Exception e) {
+                logger.error("❌ 행정구역 집계 초기화 중 오류 발생:", e);
+            }
+        }, executorService);
+    }
+
+    /**
+     * 집계 스냅샷 보유 여부
+     */
+    public boolean hasSnapshot() {
+        return !snapshots.isEmpty();
+    }
+
+    /**
+     * 집계 스냅샷이 준비될 때까지 대기 (시작 시 적재나 진행 중인 재집계를 기다리고, 아무 작업도 없으면 직접 재집계)
+     *
+     * @return 제한 시간 안에 스냅샷이 준비됐으면 true
+     */
+    public boolean awaitSnapshot(long timeoutMillis) {
+        long deadline = System.currentTimeMillis() + timeoutMillis;
+        try {
+            initialization.get(timeoutMillis, TimeUnit.MILLISECONDS);
+            if (hasSnapshot()) {
+                return true;
+            }
+            if (!rebuilding.get()) {
+                rebuild();
+            }
+            synchronized (rebuildMonitor) {
+                long remaining;
+                while (rebuilding.get() && (remaining = deadline - System.currentTimeMillis()) > 0) {
+                    rebuildMonitor.wait(remaining);
+                }
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } catch (TimeoutException e) {
+            logger.warn("⏳ 행정구역 집계 초기화 대기 시간 초과: {}ms", timeoutMillis);
+        } catch (ExecutionException e) {
+            logger.warn("행정구역 집계 초기화 실패: {}", e.getMessage());
+        }
+        return hasSnapshot();
+    }
+
+    /**
+     * 레벨 전체 구역 목록
+     */
+    public List<Map<String, Object>> getAll(String level) {
+        LevelSnapshot snapshot = snapshots.get(level);
+        if (snapshot == null) {
+            return new ArrayList<>();
+        }
+        return snapshot.regions.values().stream()
+            .sorted(Comparator.comparing(RegionCount::getCode))
+            .map(RegionCount::toMap)
+            .collect(Collectors.toList());
+    }
+
+    /**
+     * 화면 영역 안에 중심점이 있는 구역 목록
+     */
+    public List<Map<String, Object>> getInBounds(String level, double swLat, double swLng, double neLat, double neLng) {
+        LevelSnapshot snapshot = snapshots.get(level);
+        List<Map<String, Object>> results = new ArrayList<>();
+        if (snapshot == null) {
+            return results;
+        }
+        snapshot.centroids.query(
+            Math.min(swLng, neLng), Math.min(swLat, neLat),
+            Math.max(swLng, neLng), Math.max(swLat, neLat),
+            region -> results.add(region.toMap()));
+        return results;
+    }
+
+    /**
+     * 병원/약국 신규 등록 반영 - 좌표를 포함하는 구역의 카운트만 증가
+     */
+    public void onFacilityAdded(String type, Double lat, Double lng) {
+        // 재집계 중에는 증가분이 교체될 스냅샷/컬렉션에 반영돼 사라지므로 다음 재집계로 넘긴다
+        if (lat == null || lng == null || !geoIndexReady || rebuilding.get()) {
+            markDirty();
+            return;
+        }
+
+        String countField = "pharmacy".equals(type) ? "pharmacyCount" : "hospitalCount";
+        Map<String, LevelSnapshot> current = snapshots;
+
+        try {
+            for (int i = 0; i < LEVELS.length; i++) {
+                Query query = new Query(Criteria.where("geometry").intersects(new GeoJsonPoint(new Point(lng, lat))));
+                query.fields().include("properties." + CODE_FIELDS[i]);
+                Map boundary = mongoTemplate.findOne(query, Map.class, "sggu_boundaries_" + LEVELS[i]);
+                if (boundary == null || !(boundary.get("properties") instanceof Map)) {
+                    continue;
+                }
+                Object code = ((Map<?, ?>) boundary.get("properties")).get(CODE_FIELDS[i]);
+                if (code == null) {
+                    continue;
+                }
+
+                String id = LEVELS[i] + ":" + code;
+                mongoTemplate.updateFirst(Query.query(Criteria.where("_id").is(id)),
+                    new Update().inc(countField, 1).set("updatedAt", new Date()), SUMMARY_COLLECTION);
+
+                LevelSnapshot snapshot = current.get(LEVELS[i]);
+                RegionCount region = snapshot != null ? snapshot.regions.get(code.toString()) : null;
+                if (region != null) {
+                    ("pharmacy".equals(type) ? region.pharmacyCount : region.hospitalCount).incrementAndGet();
+                }
+            }
+        } catch (Exception e) {
+            logger.warn("행정구역 집계 증분 반영 실패, 재집계 예약: {}", e.getMessage());
+            markDirty();
+        }
+    }
+
+    /**
+     * 수정/삭제 등 이전 위치를 알 수 없는 변경 - 다음 주기에 재집계
+     */
+    public void markDirty() {
+        dirty.set(true);
+    }
+
+    /**
+     * 변경이 있었으면 재집계 (스케줄러 스레드를 막지 않도록 전용 스레드에서 실행)
+     */
+    @Scheduled(fixedDelayString = "${map.region-summary.refresh-interval-ms:600000}")
+    public void refreshIfDirty() {
+        if (!rebuilding.get() && dirty.compareAndSet(true, false)) {
+            CompletableFuture.runAsync(this::rebuild, executorService);
+        }
+    }
+
+    /**
+     * 경계 × 좌표 전체 재집계 후 컬렉션과 메모리 스냅샷 교체
+     */
+    public void rebuild() {
+        if (!rebuilding.compareAndSet(false, true)) {
+            dirty.set(true);
+            return;
+        }
+
+        long startTime = System.currentTimeMillis();
+        AtomicInteger threadIndex = new AtomicInteger();
+        ExecutorService pool = Executors.newFixedThreadPool(joinThreads, runnable -> {
+            Thread thread = new Thread(runnable, "region-join-" + threadIndex.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+        try {
+            // 레벨별 경계 적재/인덱스 생성도 병렬로
+            List<Future<BoundaryIndex>> loads = new ArrayList<>();
+            for (int i = 0; i < LEVELS.length; i++) {
+                int levelIndex = i;
+                loads.add(pool.submit(() -> loadBoundaries(levelIndex)));
+            }
+            List<BoundaryIndex> indexes = new ArrayList<>();
+            for (Future<BoundaryIndex> load : loads) {
+                indexes.add(load.get());
+            }
+
+            int hospitals = countFacilities("hospitals", "YPos", "XPos", indexes, true, pool);
+            int pharmacies = countFacilities("pharmacies", "Ypos", "Xpos", indexes, false, pool);
+
+            Date now = new Date();
+            List<Document> documents = new ArrayList<>();
+            Map<String, LevelSnapshot> next = new HashMap<>();
+            for (BoundaryIndex index : indexes) {
+                for (RegionCount region : index.regions) {
+                    documents.add(region.toDocument(now));
+                }
+                next.put(index.level, new LevelSnapshot(index.regions));
+            }
+
+            replaceSummaryCollection(documents);
+            snapshots = next;
+
+            logger.info("✅ 행정구역 집계 완료: 병원 {}개, 약국 {}개, 구역 {}개, 스레드 {}개, {}ms",
+                hospitals, pharmacies, documents.size(), joinThreads, System.currentTimeMillis() - startTime);
+        } catch (Exception e) {
+            logger.error("❌ 행정구역 집계 중 오류 발생:", e);
+            dirty.set(true);
+        } finally {
+            pool.shutdownNow();
+            rebuilding.set(false);
+            synchronized (rebuildMonitor) {
+                rebuildMonitor.notifyAll();
+            }
+        }
+    }
+
+    /**
+     * 임시 컬렉션에 적재 후 원본과 교체 (renameCollection dropTarget)
+     */
+    private void replaceSummaryCollection(List<Document> documents) {
+        mongoTemplate.dropCollection(STAGING_COLLECTION);
+        mongoTemplate.createCollection(STAGING_COLLECTION);
+        try {
+            if (!documents.isEmpty()) {
+                mongoTemplate.getCollection(STAGING_COLLECTION).insertMany(documents);
+            }
+            mongoTemplate.getCollection(STAGING_COLLECTION).renameCollection(
+                new MongoNamespace(mongoTemplate.getDb().getName(), SUMMARY_COLLECTION),
+                new RenameCollectionOptions().dropTarget(true));
+        } catch (RuntimeException e) {
+            mongoTemplate.dropCollection(STAGING_COLLECTION);
+            throw e;
+        }
+    }
+
+    private boolean loadSnapshot() {
+        List<Document> documents = mongoTemplate.findAll(Document.class, SUMMARY_COLLECTION);
+        if (documents.isEmpty()) {
+            return false;
+        }
+
+        Map<String, List<RegionCount>> byLevel = new HashMap<>();
+        for (Document document : documents) {
+            RegionCount region = RegionCount.fromDocument(document);
+            byLevel.computeIfAbsent(region.level, k -> new ArrayList<>()).add(region);
+        }
+
+        Map<String, LevelSnapshot> next = new HashMap<>();
+        byLevel.forEach((level, regions) -> next.put(level, new LevelSnapshot(regions)));
+        snapshots = next;
+
+        logger.info("✅ 행정구역 집계 로드 완료: 구역 {}개", documents.size());
+        return true;
+    }
+
+    @SuppressWarnings("unchecked")
+    private BoundaryIndex loadBoundaries(int levelIndex) {
+        String level = LEVELS[levelIndex];
+        List<GeoPolygon> polygons = new ArrayList<>();
+        List<String> slotCodes = new ArrayList<>();
+        List<StrTree.Item<Integer>> items = new ArrayList<>();
+        // 코드별 {면적, 면적×경도, 면적×위도} - 여러 도형으로 나뉜 구역은 면적 가중 합산
+        Map<String, double[]> moments = new LinkedHashMap<>();
+        Map<String, String> names = new HashMap<>();
+
+        // 원본 도형만 필요 (줌별 단순화 도형 제외)
+        Query query = new Query();
+        query.fields().include("properties").include("geometry");
+        try (CloseableIterator<Map> cursor = mongoTemplate.stream(query, Map.class, "sggu_boundaries_" + level)) {
+            while (cursor.hasNext()) {
+                Map<String, Object> boundary = cursor.next();
+                Map<String, Object> properties = (Map<String, Object>) boundary.get("properties");
+                if (properties == null || properties.get(CODE_FIELDS[levelIndex]) == null) {
+                    continue;
+                }
+                GeoPolygon polygon = GeoPolygon.fromGeoJson((Map<String, Object>) boundary.get("geometry"));
+                if (polygon == null) {
+                    continue;
+                }
+
+                String code = properties.get(CODE_FIELDS[levelIndex]).toString();
+                double[] centroid = polygon.centroid();
+                double area = polygon.area();
+                double[] moment = moments.computeIfAbsent(code, k -> new double[]{0, centroid[0], centroid[1]});
+                if (area > 0) {
+                    if (moment[0] == 0) {
+                        moment[1] = 0;
+                        moment[2] = 0;
+                    }
+                    moment[0] += area;
+                    moment[1] += area * centroid[0];
+                    moment[2] += area * centroid[1];
+                }
+                Object name = properties.get(NAME_FIELDS[levelIndex]);
+                names.putIfAbsent(code, name != null ? name.toString() : "");
+
+                int slot = polygons.size();
+                polygons.add(polygon);
+                slotCodes.add(code);
+                items.add(StrTree.item(polygon.getMinX(), polygon.getMinY(), polygon.getMaxX(), polygon.getMaxY(), slot));
+            }
+        }
+
+        List<RegionCount> regions = new ArrayList<>(moments.size());
+        Map<String, RegionCount> byCode = new HashMap<>();
+        moments.forEach((code, moment) -> {
+            double lng = moment[0] > 0 ? moment[1] / moment[0] : moment[1];
+            double lat = moment[0] > 0 ? moment[2] / moment[0] : moment[2];
+            RegionCount region = new RegionCount(level, code, names.get(code), lat, lng, 0, 0);
+            regions.add(region);
+            byCode.put(code, region);
+        });
+        List<RegionCount> slotRegions = new ArrayList<>(slotCodes.size());
+        for (String code : slotCodes) {
+            slotRegions.add(byCode.get(code));
+        }
+
+        return new BoundaryIndex(level, regions, slotRegions, polygons, StrTree.build(items));
+    }
+
+    /**
+     * 좌표를 묶음 단위로 나눠 여러 스레드에서 모든 레벨 경계에 대해 point-in-polygon 판정
+     */
+    private int countFacilities(String collection, String latField, String lngField,
+                                List<BoundaryIndex> indexes, boolean hospital, ExecutorService pool) throws Exception {
+        Query query = new Query();
+        query.fields().include(latField).include(lngField);
+
+        List<Future<?>> futures = new ArrayList<>();
+        // 커서가 작업보다 너무 앞서 나가지 않도록 대기 중인 묶음 수 제한
+        Semaphore permits = new Semaphore(joinThreads * 2);
+        double[] points = new double[JOIN_CHUNK_SIZE * 2];
+        int size = 0;
+        int count = 0;
+        try (CloseableIterator<Map> cursor = mongoTemplate.stream(query, Map.class, collection)) {
+            while (cursor.hasNext()) {
+                Map facility = cursor.next();
+                Double lat = toDouble(facility.get(latField));
+                Double lng = toDouble(facility.get(lngField));
+                if (lat == null || lng == null) {
+                    continue;
+                }
+                points[size * 2] = lng;
+                points[size * 2 + 1] = lat;
+                size++;
+                count++;
+                if (size == JOIN_CHUNK_SIZE) {
+                    futures.add(submitChunk(pool, permits, points, size, indexes, hospital));
+                    points = new double[JOIN_CHUNK_SIZE * 2];
+                    size = 0;
+                }
+            }
+        }
+        if (size > 0) {
+            futures.add(submitChunk(pool, permits, points, size, indexes, hospital));
+        }
+        for (Future<?> future : futures) {
+            future.get();
+        }
+        return count;
+    }
+
+    private Future<?> submitChunk(ExecutorService pool, Semaphore permits, double[] points, int size,
+                                  List<BoundaryIndex> indexes, boolean hospital) throws InterruptedException {
+        permits.acquire();
+        return pool.submit(() -> {
+            try {
+                // 묶음 안에서 먼저 합산한 뒤 한 번씩만 반영 (상위 구역 카운터 경합 방지)
+                Map<RegionCount, long[]> local = new HashMap<>();
+                for (int i = 0; i < size; i++) {
+                    double lng = points[i * 2];
+                    double lat = points[i * 2 + 1];
+                    for (BoundaryIndex index : indexes) {
+                        RegionCount region = index.locate(lng, lat);
+                        if (region != null) {
+                            local.computeIfAbsent(region, k -> new long[1])[0]++;
+                        }
+                    }
+                }
+                local.forEach((region, counter) ->
+                    (hospital ? region.hospitalCount : region.pharmacyCount).addAndGet(counter[0]));
+            } finally {
+                permits.release();
+            }
+        });
+    }
+
+    private void ensureBoundaryIndexes() {
+        try {
+            for (String level : LEVELS) {
+                mongoTemplate.indexOps("sggu_boundaries_" + level)
+                    .ensureIndex(new GeospatialIndex("geometry").typed(GeoSpatialIndexType.GEO_2DSPHERE));
+            }
+            geoIndexReady = true;
+        } catch (Exception e) {
+            // 자기 교차 등 잘못된 도형이 있으면 2dsphere 색인이 실패 - 주기적 재집계로 대체
+            logger.warn("⚠️ 경계 2dsphere 인덱스 생성 실패, 증분 집계 비활성화: {}", e.getMessage());
+        }
+    }
+
+    private Double toDouble(Object value) {
+        if (value == null) {
+            return null;
+        }
+        try {
+            return Double.parseDouble(value.toString());
+        } catch (NumberFormatException e) {
+            return null;
+        }
+    }
+
+    @PreDestroy
+    public void cleanup() {
+        executorService.shutdownNow();
+    }
+
+    /**
+     * 재집계 중에만 사용하는 경계 도형 인덱스
+     */
+    private static final class BoundaryIndex {
+        private final String level;
+        private final List<RegionCount> regions;
+        private final List<RegionCount> slotRegions;
+        private final List<GeoPolygon> polygons;
+        private final StrTree<Integer> tree;
+
+        private BoundaryIndex(String level, List<RegionCount> regions, List<RegionCount> slotRegions,
+                              List<GeoPolygon> polygons, StrTree<Integer> tree) {
+            this.level = level;
+            this.regions = regions;
+            this.slotRegions = slotRegions;
+            this.polygons = polygons;
+            this.tree = tree;
+        }
+
+        private RegionCount locate(double lng, double lat) {
+            RegionCount[] found = new RegionCount[1];
+            tree.query(lng, lat, lng, lat, slot -> {
+                if (found[0] == null && polygons.get(slot).contains(lng, lat)) {
+                    found[0] = slotRegions.get(slot);
+                }
+            });
+            return found[0];
+        }
+    }
+
+    /**
+     * 조회용 레벨 스냅샷 (코드 맵 + 중심점 R-tree)
+     */
+    private static final class LevelSnapshot {
+        private final Map<String, RegionCount> regions = new HashMap<>();
+        private final StrTree<RegionCount> centroids;
+
+        private LevelSnapshot(List<RegionCount> regionList) {
+            List<StrTree.Item<RegionCount>> items = new ArrayList<>(regionList.size());
+            for (RegionCount region : regionList) {
+                regions.put(region.code, region);
+                items.add(StrTree.point(region.lng, region.lat, region));
+            }
+            this.centroids = StrTree.build(items);
+        }
+    }
+
+    private static final class RegionCount {
+        private final String level;
+        private final String code;
+        private final String name;
+        private final double lat;
+        private final double lng;
+        private final AtomicLong hospitalCount;
+        private final AtomicLong pharmacyCount;
+
+        private RegionCount(String level, String code, String name, double lat, double lng, long hospitalCount, long pharmacyCount) {
+            this.level = level;
+            this.code = code;
+            this.name = name;
+            this.lat = lat;
+            this.lng = lng;
+            this.hospitalCount = new AtomicLong(hospitalCount);
+            this.pharmacyCount = new AtomicLong(pharmacyCount);
+        }
+
+        private static RegionCount fromDocument(Document document) {
+            return new RegionCount(
+                document.getString("boundaryType"),
+                document.getString("boundaryId"),
+                document.getString("name"),
+                ((Number) document.get("lat")).doubleValue(),
+                ((Number) document.get("lng")).doubleValue(),
+                ((Number) document.get("hospitalCount")).longValue(),
+                ((Number) document.get("pharmacyCount")).longValue());
+        }
+
+        private String getCode() {
+            return code;
+        }
+
+        private Document toDocument(Date updatedAt) {
+            return new Document("_id", level + ":" + code)
+                .append("boundaryType", level)
+                .append("boundaryId", code)
+                .append("name", name)
+                .append("lat", lat)
+                .append("lng", lng)
+                .append("hospitalCount", hospitalCount.get())
+                .append("pharmacyCount", pharmacyCount.get())
+                .append("updatedAt", updatedAt);
+        }
+
+        private Map<String, Object> toMap() {
+            long hospitals = hospitalCount.get();
+            long pharmacies = pharmacyCount.get();
+            Map<String, Object> map = new HashMap<>();
+            map.put("boundaryType", level);
+            map.put("boundaryId", code);
+            map.put("name", name);
+            map.put("lat", lat);
+            map.put("lng", lng);
+            map.put("hospitalCount", hospitals);
+            map.put("pharmacyCount", pharmacies);
+            map.put("totalCount", hospitals + pharmacies);
+            return map;
+        }
+    }
+}
@@ -0,0 +1,154 @@
+package com.bippobippo.hospital.elasticsearch.service;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.elasticsearch.action.ActionListener;
+import org.elasticsearch.action.search.MultiSearchRequest;
+import org.elasticsearch.action.search.MultiSearchResponse;
+import org.elasticsearch.action.search.SearchRequest;
+import org.elasticsearch.action.search.SearchResponse;
+import org.elasticsearch.client.RequestOptions;
+import org.elasticsearch.client.RestHighLevelClient;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * Elasticsearch 조회 게이트웨이
+ *
+ * 한 요청에서 필요한 여러 검색을 모아 단일 _msearch 로 전송하거나,
+ * 독립적인 검색을 공용 클라이언트의 비동기 API 로 동시에 실행한다.
+ */
+@Service
+public class SearchGateway {
+
+    private static final Logger logger = LoggerFactory.getLogger(SearchGateway.class);
+
+    @Autowired
+    private RestHighLevelClient elasticsearchClient;
+
+    /**
+     * 새 멀티 검색 배치 생성
+     */
+    public Batch batch() {
+        return new Batch();
+    }
+
+    /**
+     * 단일 검색 (공용 커넥션 풀 사용)
+     */
+    public SearchResponse search(SearchRequest request) throws IOException {
+        return elasticsearchClient.search(request, RequestOptions.DEFAULT);
+    }
+
+    /**
+     * 단일 검색 비동기 실행
+     */
+    public CompletableFuture<SearchResponse> searchAsync(SearchRequest request) {
+        CompletableFuture<SearchResponse> future = new CompletableFuture<>();
+        elasticsearchClient.searchAsync(request, RequestOptions.DEFAULT, ActionListener.wrap(
+            future::complete,
+            future::completeExceptionally
+        ));
+        return future;
+    }
+
+    /**
+     * 이름을 붙인 검색 요청 묶음
+     */
+    public class Batch {
+
+        private final Map<String, SearchRequest> requests = new LinkedHashMap<>();
+
+        public Batch add(String key, SearchRequest request) {
+            requests.put(key, request);
+            return this;
+        }
+
+        public boolean isEmpty() {
+            return requests.isEmpty();
+        }
+
+        /**
+         * _msearch 한 번으로 실행 (요청 순서대로 key 에 매핑)
+         */
+        public Map<String, SearchResponse> execute() throws IOException {
+            if (requests.isEmpty()) {
+                return new LinkedHashMap<>();
+            }
+            MultiSearchResponse response = elasticsearchClient.msearch(toMultiSearchRequest(), RequestOptions.DEFAULT);
+            return toResponseMap(response);
+        }
+
+        /**
+         * _msearch 한 번으로 실행하되 실패한 요청은 결과에서 빼고 나머지를 반환 (부분 응답 허용)
+         */
+        public Map<String, SearchResponse> executeAllowingFailures() throws IOException {
+            if (requests.isEmpty()) {
+                return new LinkedHashMap<>();
+            }
+            MultiSearchResponse response = elasticsearchClient.msearch(toMultiSearchRequest(), RequestOptions.DEFAULT);
+            List<String> keys = new ArrayList<>(requests.keySet());
+            MultiSearchResponse.Item[] items = response.getResponses();
+
+            Map<String, SearchResponse> results = new LinkedHashMap<>();
+            for (int i = 0; i < items.length; i++) {
+                if (items[i].isFailure()) {
+                    logger.warn("멀티 검색 중 '{}' 요청 실패 (해당 항목 제외): {}", keys.get(i), items[i].getFailureMessage());
+                    continue;
+                }
+                results.put(keys.get(i), items[i].getResponse());
+            }
+            return results;
+        }
+
+        /**
+         * _msearch 비동기 실행
+         */
+        public CompletableFuture<Map<String, SearchResponse>> executeAsync() {
+            CompletableFuture<Map<String, SearchResponse>> future = new CompletableFuture<>();
+            if (requests.isEmpty()) {
+                future.complete(new LinkedHashMap<>());
+                return future;
+            }
+            elasticsearchClient.msearchAsync(toMultiSearchRequest(), RequestOptions.DEFAULT, ActionListener.wrap(
+                response -> {
+                    try {
+                        future.complete(toResponseMap(response));
+                    } catch (IOException e) {
+                        future.completeExceptionally(e);
+                    }
+                },
+                future::completeExceptionally
+            ));
+            return future;
+        }
+
+        private MultiSearchRequest toMultiSearchRequest() {
+            MultiSearchRequest multiSearchRequest = new MultiSearchRequest();
+            requests.values().forEach(multiSearchRequest::add);
+            return multiSearchRequest;
+        }
+
+        private Map<String, SearchResponse> toResponseMap(MultiSearchResponse response) throws IOException {
+            List<String> keys = new ArrayList<>(requests.keySet());
+            MultiSearchResponse.Item[] items = response.getResponses();
+
+            Map<String, SearchResponse> results = new LinkedHashMap<>();
+            for (int i = 0; i < items.length; i++) {
+                if (items[i].isFailure()) {
+                    logger.error("멀티 검색 중 '{}' 요청 실패: {}", keys.get(i), items[i].getFailureMessage());
+                    throw new IOException("멀티 검색 실패: " + keys.get(i), items[i].getFailure());
+                }
+                results.put(keys.get(i), items[i].getResponse());
+            }
+            return results;
+        }
+    }
+}
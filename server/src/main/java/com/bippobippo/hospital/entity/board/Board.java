@@ -59,6 +59,11 @@ public class Board {
     @Builder.Default
     private Integer likeCount = 0;
 
+    // 댓글 수 (BoardCommentServiceImpl 에서 증감, 목록에서 comments 컬렉션을 로딩하지 않기 위함)
+    @Column(name = "comment_count", nullable = false)
+    @Builder.Default
+    private Integer commentCount = 0;
+
     @OneToMany(mappedBy = "board", cascade = CascadeType.ALL, orphanRemoval = true)
     @Builder.Default
     private Set<BoardComment> comments = new HashSet<>();
@@ -97,6 +102,7 @@ public class Board {
         updatedAt = LocalDateTime.now();
         if (viewCount == null) viewCount = 0;
         if (likeCount == null) likeCount = 0;
+        if (commentCount == null) commentCount = 0;
     }
 
     public void incrementViewCount() {
@@ -9,7 +9,9 @@ import javax.persistence.*;
 import java.time.LocalDateTime;
 
 @Entity
-@Table(name = "hospitals")
+@Table(name = "hospitals", indexes = {
+    @Index(name = "idx_hospitals_lat_lng", columnList = "latitude, longitude")
+})
 @Getter
 @Setter
 public class Hospital {
@@ -9,7 +9,9 @@ import javax.persistence.*;
 import java.time.LocalDateTime;
 
 @Entity
-@Table(name = "hospital_subjects")
+@Table(name = "hospital_subjects", indexes = {
+    @Index(name = "idx_hospital_subjects_ykiho", columnList = "ykiho")
+})
 @Getter
 @Setter
 public class HospitalSubject {
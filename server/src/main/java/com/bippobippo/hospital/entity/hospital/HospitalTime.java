@@ -9,7 +9,9 @@ import javax.persistence.*;
 import java.time.LocalDateTime;
 
 @Entity
-@Table(name = "hospital_times")
+@Table(name = "hospital_times", indexes = {
+    @Index(name = "idx_hospital_times_ykiho", columnList = "ykiho")
+})
 @Getter
 @Setter
 public class HospitalTime {
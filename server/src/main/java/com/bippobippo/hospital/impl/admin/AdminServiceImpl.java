@@ -1,11 +1,15 @@
 package com.bippobippo.hospital.impl.admin;
 
+import com.bippobippo.hospital.config.ConfigSnapshotCache;
+import com.bippobippo.hospital.config.DynamicCorsConfigurationSource;
 import com.bippobippo.hospital.dto.MessageResponse;
+import com.bippobippo.hospital.elasticsearch.service.RegionSummaryService;
 import com.bippobippo.hospital.dto.request.admin.*;
 import com.bippobippo.hospital.dto.response.admin.*;
 import com.bippobippo.hospital.entity.common.CorsConfig;
 import com.bippobippo.hospital.entity.common.ServerConfig;
 import com.bippobippo.hospital.entity.common.SocialConfig;
+import com.bippobippo.hospital.impl.map.BoundaryGeometryStore;
 import com.bippobippo.hospital.repository.admin.*;
 import com.bippobippo.hospital.repository.common.SocialConfigRepository;
 import com.bippobippo.hospital.service.admin.AdminService;
@@ -18,8 +22,9 @@ import com.fasterxml.jackson.databind.ObjectMapper;
 import org.springframework.data.mongodb.core.query.Query;
 import org.springframework.data.mongodb.core.query.Criteria;
 import org.bson.types.ObjectId;
-import org.springframework.data.mongodb.core.aggregation.Aggregation;
 
+import java.io.IOException;
+import java.io.InputStream;
 import java.util.*;
 import java.util.stream.Collectors;
 
@@ -31,110 +36,17 @@ public class AdminServiceImpl implements AdminService {
     private final SocialConfigRepository socialConfigRepository;
     private final CorsConfigRepository corsConfigRepository;
     private final MongoTemplate mongoTemplate;
+    private final RegionSummaryService regionSummaryService;
     private final ObjectMapper objectMapper;
+    private final DynamicCorsConfigurationSource corsConfigurationSource;
+    private final ConfigSnapshotCache configSnapshotCache;
+    private final DashboardStatsCache dashboardStatsCache;
+    private final BoundaryGeometryStore boundaryGeometryStore;
 
     @Override
     public DashboardStatsResponse getDashboardStats() {
-        DashboardStatsResponse response = new DashboardStatsResponse();
-        
-        // MongoDB에서 통계 데이터 조회
-        Query query = new Query();
-        long totalHospitals = mongoTemplate.count(query, "hospitals");
-        
-        // 병원 유형별 분포
-        Aggregation typeAggregation = Aggregation.newAggregation(
-            Aggregation.group("clCdNm").count().as("count")
-        );
-        List<Map<String, Object>> hospitalsByType = mongoTemplate.aggregate(
-            typeAggregation,
-            "hospitals",
-            Map.class
-        ).getMappedResults().stream()
-            .map(map -> (Map<String, Object>) map)
-            .collect(Collectors.toList());
-        
-        // 지역별 분포
-        Aggregation regionAggregation = Aggregation.newAggregation(
-            Aggregation.group("sidoCdNm").count().as("count")
-        );
-        List<Map<String, Object>> hospitalsByRegion = mongoTemplate.aggregate(
-            regionAggregation,
-            "hospitals",
-            Map.class
-        ).getMappedResults().stream()
-            .map(map -> (Map<String, Object>) map)
-            .collect(Collectors.toList());
-        
-        // 최근 업데이트된 병원
-        Query recentQuery = new Query();
-        recentQuery.limit(5);
-        recentQuery.with(org.springframework.data.domain.Sort.by(
-            org.springframework.data.domain.Sort.Direction.DESC, "updatedAt"
-        ));
-        List<Map<String, Object>> recentUpdates = mongoTemplate.find(
-            recentQuery,
-            Map.class,
-            "hospitals"
-        ).stream()
-            .map(map -> (Map<String, Object>) map)
-            .collect(Collectors.toList());
-        
-        // 빈 필드 현황
-        Map<String, Integer> emptyFields = new HashMap<>();
-        emptyFields.put("name", (int) mongoTemplate.count(
-            Query.query(Criteria.where("yadmNm").exists(false)),
-            "hospitals"
-        ));
-        emptyFields.put("address", (int) mongoTemplate.count(
-            Query.query(Criteria.where("addr").exists(false)),
-            "hospitals"
-        ));
-        emptyFields.put("phone", (int) mongoTemplate.count(
-            Query.query(Criteria.where("telno").exists(false)),
-            "hospitals"
-        ));
-        emptyFields.put("type", (int) mongoTemplate.count(
-            Query.query(Criteria.where("clCdNm").exists(false)),
-            "hospitals"
-        ));
-        emptyFields.put("location", (int) mongoTemplate.count(
-            Query.query(Criteria.where("XPos").exists(false)),
-            "hospitals"
-        ));
-        
-        // 응답 구성
-        Map<String, Object> collectionStats = new HashMap<>();
-        Map<String, Object> hospitals = new HashMap<>();
-        hospitals.put("total", totalHospitals);
-        hospitals.put("complete", mongoTemplate.count(
-            Query.query(Criteria.where("status").is("complete")),
-            "hospitals"
-        ));
-        hospitals.put("partial", mongoTemplate.count(
-            Query.query(Criteria.where("status").is("partial")),
-            "hospitals"
-        ));
-        hospitals.put("incomplete", mongoTemplate.count(
-            Query.query(Criteria.where("status").is("incomplete")),
-            "hospitals"
-        ));
-        collectionStats.put("hospitals", hospitals);
-        
-        response.setCollectionStats(collectionStats);
-        response.setHospitalsByType(hospitalsByType.stream()
-            .collect(Collectors.toMap(
-                m -> (String) m.get("_id"),
-                m -> ((Number) m.get("count")).intValue()
-            )));
-        response.setHospitalsByRegion(hospitalsByRegion.stream()
-            .collect(Collectors.toMap(
-                m -> (String) m.get("_id"),
-                m -> ((Number) m.get("count")).intValue()
-            )));
-        response.setRecentUpdates(recentUpdates);
-        response.setEmptyFields(emptyFields);
-        
-        return response;
+        // $facet 한 번으로 계산한 스냅샷 (변경 시 백그라운드 갱신)
+        return dashboardStatsCache.get();
     }
 
     @Override
@@ -222,6 +134,7 @@ public class AdminServiceImpl implements AdminService {
         config.setIsActive(request.getIsActive());
         
         socialConfigRepository.save(config);
+        configSnapshotCache.reloadAfterCommit();
         return new MessageResponse("설정이 추가되었습니다.");
     }
 
@@ -238,6 +151,7 @@ public class AdminServiceImpl implements AdminService {
         config.setIsActive(request.getIsActive());
         
         socialConfigRepository.save(config);
+        configSnapshotCache.reloadAfterCommit();
         return new MessageResponse("설정이 수정되었습니다.");
     }
 
@@ -247,6 +161,7 @@ public class AdminServiceImpl implements AdminService {
         SocialConfig config = socialConfigRepository.findByProvider(provider)
             .orElseThrow(() -> new RuntimeException("설정을 찾을 수 없습니다."));
         socialConfigRepository.delete(config);
+        configSnapshotCache.reloadAfterCommit();
         return new MessageResponse("설정이 삭제되었습니다.");
     }
 
@@ -279,6 +194,7 @@ public class AdminServiceImpl implements AdminService {
         config.setMaxAge(request.getMaxAge());
         
         corsConfigRepository.save(config);
+        corsConfigurationSource.reloadAfterCommit();
         return new MessageResponse("설정이 추가되었습니다.");
     }
 
@@ -295,6 +211,7 @@ public class AdminServiceImpl implements AdminService {
         config.setMaxAge(request.getMaxAge());
         
         corsConfigRepository.save(config);
+        corsConfigurationSource.reloadAfterCommit();
         return new MessageResponse("설정이 수정되었습니다.");
     }
 
@@ -302,26 +219,19 @@ public class AdminServiceImpl implements AdminService {
     @Transactional
     public MessageResponse deleteCorsConfig(Long id) {
         corsConfigRepository.deleteById(id);
+        corsConfigurationSource.reloadAfterCommit();
         return new MessageResponse("설정이 삭제되었습니다.");
     }
 
     @Override
     public GeoJsonUploadResponse uploadCtpBoundary(MultipartFile file) {
-        // GeoJSON 파일 처리 로직 구현
-        return new GeoJsonUploadResponse();
+        return uploadBoundary(file, "sggu_boundaries_ctprvn");
     }
 
     @Override
     public GeoJsonListResponse getCtpFiles() {
         GeoJsonListResponse response = new GeoJsonListResponse();
-        List<Map<String, Object>> features = mongoTemplate.find(
-            new Query(),
-            Map.class,
-            "sggu_boundaries_ctprvn"
-        ).stream()
-            .map(map -> (Map<String, Object>) map)
-            .collect(Collectors.toList());
-        response.setFeatures(features);
+        response.setFeatures(boundaryGeometryStore.listFeatures("sggu_boundaries_ctprvn"));
         return response;
     }
 
@@ -331,26 +241,19 @@ public class AdminServiceImpl implements AdminService {
             Query.query(Criteria.where("_id").is(new ObjectId(fileId))),
             "sggu_boundaries_ctprvn"
         );
+        regionSummaryService.markDirty();
         return new MessageResponse("시도 경계 삭제 완료");
     }
 
     @Override
     public GeoJsonUploadResponse uploadSigBoundary(MultipartFile file) {
-        // GeoJSON 파일 처리 로직 구현
-        return new GeoJsonUploadResponse();
+        return uploadBoundary(file, "sggu_boundaries_sig");
     }
 
     @Override
     public GeoJsonListResponse getSigFiles() {
         GeoJsonListResponse response = new GeoJsonListResponse();
-        List<Map<String, Object>> features = mongoTemplate.find(
-            new Query(),
-            Map.class,
-            "sggu_boundaries_sig"
-        ).stream()
-            .map(map -> (Map<String, Object>) map)
-            .collect(Collectors.toList());
-        response.setFeatures(features);
+        response.setFeatures(boundaryGeometryStore.listFeatures("sggu_boundaries_sig"));
         return response;
     }
 
@@ -360,26 +263,19 @@ public class AdminServiceImpl implements AdminService {
             Query.query(Criteria.where("_id").is(new ObjectId(fileId))),
             "sggu_boundaries_sig"
         );
+        regionSummaryService.markDirty();
         return new MessageResponse("시군구 경계 삭제 완료");
     }
 
     @Override
     public GeoJsonUploadResponse uploadEmdBoundary(MultipartFile file) {
-        // GeoJSON 파일 처리 로직 구현
-        return new GeoJsonUploadResponse();
+        return uploadBoundary(file, "sggu_boundaries_emd");
     }
 
     @Override
     public GeoJsonListResponse getEmdFiles() {
         GeoJsonListResponse response = new GeoJsonListResponse();
-        List<Map<String, Object>> features = mongoTemplate.find(
-            new Query(),
-            Map.class,
-            "sggu_boundaries_emd"
-        ).stream()
-            .map(map -> (Map<String, Object>) map)
-            .collect(Collectors.toList());
-        response.setFeatures(features);
+        response.setFeatures(boundaryGeometryStore.listFeatures("sggu_boundaries_emd"));
         return response;
     }
 
@@ -389,26 +285,19 @@ public class AdminServiceImpl implements AdminService {
             Query.query(Criteria.where("_id").is(new ObjectId(fileId))),
             "sggu_boundaries_emd"
         );
+        regionSummaryService.markDirty();
         return new MessageResponse("읍면동 경계 삭제 완료");
     }
 
     @Override
     public GeoJsonUploadResponse uploadLiBoundary(MultipartFile file) {
-        // GeoJSON 파일 처리 로직 구현
-        return new GeoJsonUploadResponse();
+        return uploadBoundary(file, "sggu_boundaries_li");
     }
 
     @Override
     public GeoJsonListResponse getLiFiles() {
         GeoJsonListResponse response = new GeoJsonListResponse();
-        List<Map<String, Object>> features = mongoTemplate.find(
-            new Query(),
-            Map.class,
-            "sggu_boundaries_li"
-        ).stream()
-            .map(map -> (Map<String, Object>) map)
-            .collect(Collectors.toList());
-        response.setFeatures(features);
+        response.setFeatures(boundaryGeometryStore.listFeatures("sggu_boundaries_li"));
         return response;
     }
 
@@ -418,6 +307,20 @@ public class AdminServiceImpl implements AdminService {
             Query.query(Criteria.where("_id").is(new ObjectId(fileId))),
             "sggu_boundaries_li"
         );
+        regionSummaryService.markDirty();
         return new MessageResponse("리 경계 삭제 완료");
     }
-} 
\ No newline at end of file
+
+    /**
+     * GeoJSON 경계 파일을 스트리밍으로 적재하고 행정구역 집계 재계산 예약
+     */
+    private GeoJsonUploadResponse uploadBoundary(MultipartFile file, String collection) {
+        try (InputStream inputStream = file.getInputStream()) {
+            GeoJsonUploadResponse response = boundaryGeometryStore.importFeatures(inputStream, collection);
+            regionSummaryService.markDirty();
+            return response;
+        } catch (IOException e) {
+            throw new RuntimeException("GeoJSON 파일을 읽는 중 오류가 발생했습니다.", e);
+        }
+    }
+}
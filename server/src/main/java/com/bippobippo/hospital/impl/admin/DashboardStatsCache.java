@@ -0,0 +1,206 @@
+package com.bippobippo.hospital.impl.admin;
+
+import com.bippobippo.hospital.dto.response.admin.DashboardStatsResponse;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.bson.Document;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import javax.annotation.PreDestroy;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * 관리자 대시보드 통계 스냅샷
+ *
+ * hospitals 컬렉션 전체 통계(총계, 유형/지역 분포, 최근 수정, 빈 필드, 상태별 건수)를
+ * $facet 집계 한 번으로 계산해 메모리에 둔다. 대시보드는 항상 스냅샷으로 응답하고,
+ * Change Stream 이 변경을 알리거나(markDirty) 스냅샷이 오래되면 백그라운드에서 다시 계산한다.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class DashboardStatsCache {
+
+    private static final String COLLECTION = "hospitals";
+
+    private final MongoTemplate mongoTemplate;
+
+    @Value("${admin.dashboard.max-age-ms:600000}")
+    private long maxAgeMs;
+
+    private final AtomicBoolean dirty = new AtomicBoolean(false);
+    private final AtomicBoolean refreshing = new AtomicBoolean(false);
+    private final ExecutorService executor = Executors.newSingleThreadExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "dashboard-stats-refresh");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    private volatile DashboardStatsResponse snapshot;
+    private volatile long refreshedAt;
+
+    /**
+     * 현재 스냅샷 (없으면 한 번 계산, 오래되었으면 반환 후 백그라운드 갱신)
+     */
+    public DashboardStatsResponse get() {
+        DashboardStatsResponse current = snapshot;
+        if (current == null) {
+            synchronized (this) {
+                if (snapshot == null) {
+                    refresh();
+                }
+                if (snapshot == null) {
+                    throw new RuntimeException("대시보드 통계를 불러오는데 실패했습니다.");
+                }
+                return snapshot;
+            }
+        }
+        if (dirty.get() || System.currentTimeMillis() - refreshedAt > maxAgeMs) {
+            refreshAsync();
+        }
+        return current;
+    }
+
+    /**
+     * 병원 데이터 변경 알림 (다음 갱신 주기 또는 다음 조회 때 재계산)
+     */
+    public void markDirty() {
+        dirty.set(true);
+    }
+
+    // 1분마다 변경이 있었으면 재계산
+    @Scheduled(fixedDelayString = "${admin.dashboard.refresh-interval-ms:60000}")
+    public void refreshIfDirty() {
+        if (snapshot != null && dirty.get()) {
+            refreshAsync();
+        }
+    }
+
+    private void refreshAsync() {
+        if (!refreshing.get()) {
+            executor.execute(this::refresh);
+        }
+    }
+
+    private void refresh() {
+        if (!refreshing.compareAndSet(false, true)) {
+            return;
+        }
+        try {
+            dirty.set(false);
+            long started = System.currentTimeMillis();
+            snapshot = compute();
+            refreshedAt = System.currentTimeMillis();
+            log.debug("대시보드 통계 갱신: {}ms", refreshedAt - started);
+        } catch (Exception e) {
+            // 이전 스냅샷 유지, 다음 주기에 재시도
+            dirty.set(true);
+            log.error("대시보드 통계 갱신 실패: {}", e.getMessage(), e);
+        } finally {
+            refreshing.set(false);
+        }
+    }
+
+    private DashboardStatsResponse compute() {
+        Document counts = new Document("_id", null)
+            .append("total", new Document("$sum", 1))
+            .append("complete", countIf(new Document("$eq", List.of("$status", "complete"))))
+            .append("partial", countIf(new Document("$eq", List.of("$status", "partial"))))
+            .append("incomplete", countIf(new Document("$eq", List.of("$status", "incomplete"))))
+            .append("emptyName", countMissing("yadmNm"))
+            .append("emptyAddress", countMissing("addr"))
+            .append("emptyPhone", countMissing("telno"))
+            .append("emptyType", countMissing("clCdNm"))
+            .append("emptyLocation", countMissing("XPos"));
+
+        Document facet = new Document("$facet", new Document()
+            .append("counts", List.of(new Document("$group", counts)))
+            .append("byType", List.of(new Document("$group",
+                new Document("_id", "$clCdNm").append("count", new Document("$sum", 1)))))
+            .append("byRegion", List.of(new Document("$group",
+                new Document("_id", "$sidoCdNm").append("count", new Document("$sum", 1)))))
+            .append("recentUpdates", List.of(
+                new Document("$sort", new Document("updatedAt", -1)),
+                new Document("$limit", 5))));
+
+        Document result = mongoTemplate.getCollection(COLLECTION)
+            .aggregate(List.of(facet))
+            .allowDiskUse(true)
+            .first();
+
+        Document totals = firstOf(result, "counts");
+        Map<String, Object> hospitals = new HashMap<>();
+        hospitals.put("total", longOf(totals, "total"));
+        hospitals.put("complete", longOf(totals, "complete"));
+        hospitals.put("partial", longOf(totals, "partial"));
+        hospitals.put("incomplete", longOf(totals, "incomplete"));
+        Map<String, Object> collectionStats = new HashMap<>();
+        collectionStats.put("hospitals", hospitals);
+
+        Map<String, Integer> emptyFields = new HashMap<>();
+        emptyFields.put("name", (int) longOf(totals, "emptyName"));
+        emptyFields.put("address", (int) longOf(totals, "emptyAddress"));
+        emptyFields.put("phone", (int) longOf(totals, "emptyPhone"));
+        emptyFields.put("type", (int) longOf(totals, "emptyType"));
+        emptyFields.put("location", (int) longOf(totals, "emptyLocation"));
+
+        DashboardStatsResponse response = new DashboardStatsResponse();
+        response.setCollectionStats(collectionStats);
+        response.setHospitalsByType(groupCounts(result, "byType"));
+        response.setHospitalsByRegion(groupCounts(result, "byRegion"));
+        response.setRecentUpdates(result != null ? result.getList("recentUpdates", Document.class) : new ArrayList<>());
+        response.setEmptyFields(emptyFields);
+        return response;
+    }
+
+    private static Document countIf(Document condition) {
+        return new Document("$sum", new Document("$cond", List.of(condition, 1, 0)));
+    }
+
+    // exists(false) 와 같은 조건: 필드가 아예 없는 문서
+    private static Document countMissing(String field) {
+        return countIf(new Document("$eq", List.of(new Document("$type", "$" + field), "missing")));
+    }
+
+    private static Document firstOf(Document result, String facet) {
+        if (result == null) {
+            return null;
+        }
+        List<Document> documents = result.getList(facet, Document.class, Collections.emptyList());
+        return documents.isEmpty() ? null : documents.get(0);
+    }
+
+    private static long longOf(Document document, String key) {
+        Object value = document != null ? document.get(key) : null;
+        return value instanceof Number ? ((Number) value).longValue() : 0L;
+    }
+
+    private static Map<String, Integer> groupCounts(Document result, String facet) {
+        Map<String, Integer> counts = new HashMap<>();
+        if (result == null) {
+            return counts;
+        }
+        for (Document group : result.getList(facet, Document.class, Collections.emptyList())) {
+            Object id = group.get("_id");
+            if (id != null) {
+                counts.put(id.toString(), (int) longOf(group, "count"));
+            }
+        }
+        return counts;
+    }
+
+    @PreDestroy
+    public void cleanup() {
+        executor.shutdownNow();
+    }
+}
@@ -14,6 +14,9 @@ import com.bippobippo.hospital.repository.user.UserRepository;
 import com.bippobippo.hospital.service.board.BoardCommentService;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.stereotype.Service;
@@ -31,6 +34,26 @@ public class BoardCommentServiceImpl implements BoardCommentService {
     private final BoardRepository boardRepository;
     private final UserRepository userRepository;
 
+    @Value("${board.comment-count.resync-on-startup:true}")
+    private boolean resyncCommentCountOnStartup;
+
+    /**
+     * 기동 시 hospital_board.comment_count 를 실제 댓글 수로 맞춤 (컬럼 추가 전 데이터 보정)
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    @Transactional
+    public void syncCommentCounts() {
+        if (!resyncCommentCountOnStartup) {
+            return;
+        }
+        try {
+            int updated = boardRepository.recalculateCommentCounts();
+            log.info("게시글 댓글 수 재계산 완료: {}건", updated);
+        } catch (Exception e) {
+            log.error("게시글 댓글 수 재계산 실패: {}", e.getMessage(), e);
+        }
+    }
+
     @Override
     @Transactional(readOnly = true)
     public Page<CommentListResponse> getComments(Integer boardId, int page, int limit) {
@@ -62,6 +85,7 @@ public class BoardCommentServiceImpl implements BoardCommentService {
                 .build();
 
         BoardComment savedComment = commentRepository.save(comment);
+        boardRepository.adjustCommentCount(boardId, 1);
 
         // 병원 태그 처리
         if (request.getHospitalTags() != null && !request.getHospitalTags().isEmpty()) {
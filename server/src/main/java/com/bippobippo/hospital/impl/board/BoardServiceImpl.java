@@ -11,10 +11,12 @@ import com.bippobippo.hospital.entity.board.BoardCategory;
 import com.bippobippo.hospital.entity.board.BoardDetail;
 import com.bippobippo.hospital.entity.board.BoardTag;
 import com.bippobippo.hospital.entity.user.User;
+import com.bippobippo.hospital.repository.board.BoardListItem;
 import com.bippobippo.hospital.repository.board.BoardRepository;
 import com.bippobippo.hospital.repository.board.BoardCategoryRepository;
 import com.bippobippo.hospital.repository.board.BoardCategoryTypeRepository;
 import com.bippobippo.hospital.repository.user.UserRepository;
+import com.bippobippo.hospital.repository.board.BoardTagItem;
 import com.bippobippo.hospital.repository.board.BoardTagRepository;
 import com.bippobippo.hospital.service.board.BoardService;
 import com.bippobippo.hospital.exception.BoardNotFoundException;
@@ -26,8 +28,10 @@ import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.util.ArrayList;
+import java.util.HashMap;
 import java.util.HashSet;
 import java.util.List;
+import java.util.Map;
 import java.util.stream.Collectors;
 
 @Slf4j
@@ -39,21 +43,43 @@ public class BoardServiceImpl implements BoardService {
     private final BoardCategoryTypeRepository boardCategoryTypeRepository;
     private final UserRepository userRepository;
     private final BoardTagRepository boardTagRepository;
+    private final BoardViewCountBuffer viewCountBuffer;
 
     @Override
     @Transactional(readOnly = true)
     public Page<BoardListResponse> getBoardList(int page, int limit, Integer categoryId) {
         try {
             PageRequest pageRequest = PageRequest.of(Math.max(0, page - 1), limit);
-            Page<Board> boards;
+            Page<BoardListItem> items;
             
             if (categoryId != null) {
-                boards = boardRepository.findByCategoryIdAndStatus(categoryId, pageRequest);
+                items = boardRepository.findListItemsByCategoryId(categoryId, pageRequest);
             } else {
-                boards = boardRepository.findByStatus(pageRequest);
+                items = boardRepository.findListItems(pageRequest);
+            }
+
+            // 페이지의 태그를 한 번에 조회
+            Map<Integer, List<BoardListResponse.TagResponse>> tagsByBoard = new HashMap<>();
+            List<Integer> boardIds = items.getContent().stream()
+                .map(BoardListItem::getId)
+                .collect(Collectors.toList());
+            if (!boardIds.isEmpty()) {
+                for (BoardTagItem tag : boardRepository.findTagItemsByBoardIds(boardIds)) {
+                    tagsByBoard.computeIfAbsent(tag.getBoardId(), k -> new ArrayList<>())
+                        .add(BoardListResponse.TagResponse.builder()
+                            .id(tag.getId())
+                            .name(tag.getName())
+                            .slug(tag.getSlug())
+                            .build());
+                }
             }
             
-            return boards.map(BoardListResponse::from);
+            return items.map(item -> {
+                BoardListResponse response = BoardListResponse.from(
+                    item, tagsByBoard.getOrDefault(item.getId(), new ArrayList<>()));
+                response.setViewCount(currentViewCount(item.getId(), item.getViewCount()));
+                return response;
+            });
         } catch (Exception e) {
             log.error("게시글 목록 조회 중 오류 발생: {}", e.getMessage(), e);
             throw new RuntimeException("게시글 목록을 가져오는데 실패했습니다.");
@@ -64,24 +90,12 @@ public class BoardServiceImpl implements BoardService {
     @Transactional(readOnly = true)
     public BoardDetailResponse getBoardDetail(Integer id) {
         try {
-            // 게시글 기본 정보와 연관된 엔티티들을 함께 조회
+            // 게시글 기본 정보와 카테고리/작성자/본문/태그를 한 번에 조회
             Board board = boardRepository.findByIdWithDetails(id);
             if (board == null) {
                 throw new BoardNotFoundException("게시글을 찾을 수 없습니다.");
             }
 
-            // 태그 정보 조회
-            Board boardWithTags = boardRepository.findByIdWithTags(id);
-            if (boardWithTags != null) {
-                board.setTags(boardWithTags.getTags());
-            }
-
-            // 첨부파일 정보 조회
-            Board boardWithAttachments = boardRepository.findByIdWithAttachments(id);
-            if (boardWithAttachments != null) {
-                board.setAttachments(boardWithAttachments.getAttachments());
-            }
-
             return BoardDetailResponse.from(board);
         } catch (Exception e) {
             log.error("게시글 상세 조회 중 오류 발생: {}", e.getMessage(), e);
@@ -196,11 +210,12 @@ public class BoardServiceImpl implements BoardService {
     }
 
     @Override
-    @Transactional
     public void incrementView(Integer id) {
-        Board board = boardRepository.findById(id)
-            .orElseThrow(() -> new RuntimeException("게시글을 찾을 수 없습니다."));
-        board.incrementViewCount();
+        if (!boardRepository.existsById(id)) {
+            throw new RuntimeException("게시글을 찾을 수 없습니다.");
+        }
+        // 행 잠금 없이 메모리에 누적, 주기적으로 배치 반영
+        viewCountBuffer.increment(id);
     }
 
     @Override
@@ -237,8 +252,8 @@ public class BoardServiceImpl implements BoardService {
                 response.setCategoryName(board.getCategory().getName());
                 response.setUsername(board.getUser().getUsername());
                 response.setUserId(board.getUserId());
-                response.setCommentCount(board.getComments().size());
-                response.setViewCount(board.getViewCount());
+                response.setCommentCount(board.getCommentCount());
+                response.setViewCount(currentViewCount(board.getId(), board.getViewCount()));
                 response.setCreatedAt(board.getCreatedAt().toString());
                 response.setUpdatedAt(board.getUpdatedAt().toString());
                 return response;
@@ -248,4 +263,10 @@ public class BoardServiceImpl implements BoardService {
             throw new RuntimeException("관련 게시글을 가져오는데 실패했습니다.");
         }
     }
-} 
\ No newline at end of file
+
+    // 저장된 조회수 + 아직 반영되지 않은 조회수
+    private int currentViewCount(Integer boardId, Integer storedViewCount) {
+        int stored = storedViewCount != null ? storedViewCount : 0;
+        return stored + viewCountBuffer.pending(boardId);
+    }
+} 
@@ -0,0 +1,93 @@
+package com.bippobippo.hospital.impl.board;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import javax.annotation.PreDestroy;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * 게시글 조회수 누적 버퍼
+ *
+ * 조회마다 게시글 행을 잠그고 갱신하는 대신 게시글별 LongAdder 에 모아 두었다가,
+ * 주기적으로 "view_count = view_count + ?" 배치 UPDATE 로 한 번에 반영한다.
+ * 아직 반영되지 않은 증가분은 pending() 으로 조회해 응답에 더한다.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class BoardViewCountBuffer {
+
+    private static final String FLUSH_SQL = "UPDATE hospital_board SET view_count = view_count + ? WHERE id = ?";
+
+    private final JdbcTemplate jdbcTemplate;
+
+    private final ConcurrentHashMap<Integer, LongAdder> counts = new ConcurrentHashMap<>();
+    // DB 에 쓰는 중인 증가분 (커밋 전까지 읽기에 포함)
+    private volatile Map<Integer, Long> inFlight = Collections.emptyMap();
+
+    public void increment(Integer boardId) {
+        counts.computeIfAbsent(boardId, k -> new LongAdder()).increment();
+    }
+
+    /**
+     * 아직 DB 에 반영되지 않은 조회수
+     */
+    public int pending(Integer boardId) {
+        LongAdder adder = counts.get(boardId);
+        long pending = adder != null ? adder.sum() : 0;
+        Long flushing = inFlight.get(boardId);
+        return (int) (pending + (flushing != null ? flushing : 0));
+    }
+
+    // 5초마다 누적된 조회수 반영
+    @Scheduled(fixedDelayString = "${board.view-count.flush-interval-ms:5000}")
+    public synchronized void flush() {
+        Map<Integer, Long> deltas = new HashMap<>();
+        for (Map.Entry<Integer, LongAdder> entry : counts.entrySet()) {
+            Integer boardId = entry.getKey();
+            LongAdder adder = entry.getValue();
+            long delta = adder.sumThenReset();
+            if (delta > 0) {
+                deltas.put(boardId, delta);
+            } else if (counts.remove(boardId, adder)) {
+                // 제거 직전에 들어온 증가분은 새 카운터로 옮김
+                long late = adder.sumThenReset();
+                if (late > 0) {
+                    counts.computeIfAbsent(boardId, k -> new LongAdder()).add(late);
+                }
+            }
+        }
+        if (deltas.isEmpty()) {
+            return;
+        }
+
+        inFlight = deltas;
+        try {
+            List<Object[]> batchArgs = new ArrayList<>(deltas.size());
+            deltas.forEach((boardId, delta) -> batchArgs.add(new Object[]{delta, boardId}));
+            jdbcTemplate.batchUpdate(FLUSH_SQL, batchArgs);
+            log.debug("게시글 조회수 반영: {}건", deltas.size());
+        } catch (Exception e) {
+            // 실패한 증가분은 다음 주기에 다시 반영
+            log.error("게시글 조회수 반영 실패: {}", e.getMessage(), e);
+            deltas.forEach((boardId, delta) -> counts.computeIfAbsent(boardId, k -> new LongAdder()).add(delta));
+        } finally {
+            inFlight = Collections.emptyMap();
+        }
+    }
+
+    @PreDestroy
+    public void cleanup() {
+        flush();
+    }
+}
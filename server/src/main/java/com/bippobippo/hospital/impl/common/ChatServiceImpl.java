@@ -6,19 +6,29 @@ import com.bippobippo.hospital.service.chat.ChatService;
 import com.bippobippo.hospital.util.ChatUtil;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import io.reactivex.disposables.Disposable;
+import org.springframework.http.MediaType;
 import org.springframework.stereotype.Service;
-import org.springframework.web.client.RestTemplate;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Supplier;
 
 @Slf4j
 @Service
 @RequiredArgsConstructor
 public class ChatServiceImpl implements ChatService {
 
-    private final RestTemplate restTemplate;
     private final ChatUtil chatUtil;
+    private final HospitalVectorIndex hospitalVectorIndex;
 
     @Override
-    public ChatMessageResponse processMessage(ChatMessageRequest request) {
+    public CompletableFuture<ChatMessageResponse> processMessage(ChatMessageRequest request) {
         log.info("=== 서버 요청 정보 ===");
         log.info("시간: {}", java.time.LocalDateTime.now());
         log.info("메시지: {}", request.getMessage());
@@ -26,33 +36,133 @@ public class ChatServiceImpl implements ChatService {
         log.info("좌표: {}", request.getCoordinates());
         log.info("=====================");
 
-        ChatMessageResponse response = new ChatMessageResponse();
-
         // 일반 대화인 경우
         if (!chatUtil.isHospitalSearch(request.getMessage())) {
-            response.setMessage(createGeneralResponse());
-            return response;
+            return CompletableFuture.completedFuture(toResponse(createGeneralResponse()));
+        }
+
+        // 지역 기반 검색 우선, 없으면 위치 기반 검색
+        String region = chatUtil.extractRegion(request.getMessage());
+        CompletableFuture<List<Map<String, Object>>> hospitals = findHospitals(request, region);
+
+        // 위치 정보가 없는 경우
+        if (hospitals == null) {
+            return CompletableFuture.completedFuture(toResponse(createLocationRequiredResponse()));
+        }
+
+        // 검색/모델 호출은 ES·OpenAI 클라이언트 스레드에서 이어서 처리 (요청 스레드 반환)
+        return chatUtil.searchHospitals(request.getMessage(), region, hospitals).thenApply(this::toResponse);
+    }
+
+    @Override
+    public void streamMessage(ChatMessageRequest request, SseEmitter emitter) {
+        log.info("채팅 스트리밍 요청: {}, 좌표: {}", request.getMessage(), request.getCoordinates());
+
+        if (!chatUtil.isHospitalSearch(request.getMessage())) {
+            sendAndComplete(emitter, "done", createGeneralResponse());
+            return;
         }
 
-        // 지역 기반 검색인 경우
         String region = chatUtil.extractRegion(request.getMessage());
-        if (region != null) {
-            response.setMessage(chatUtil.searchHospitalsByRegion(request.getMessage(), region));
-            return response;
+        CompletableFuture<List<Map<String, Object>>> hospitals = findHospitals(request, region);
+        if (hospitals == null) {
+            sendAndComplete(emitter, "done", createLocationRequiredResponse());
+            return;
         }
 
-        // 위치 기반 검색인 경우
-        if (request.getCoordinates() != null) {
-            response.setMessage(chatUtil.searchHospitalsByLocation(
-                request.getMessage(), 
-                request.getCoordinates().getLatitude(),
-                request.getCoordinates().getLongitude()
+        // 클라이언트 연결이 끊기거나 시간이 초과되면 모델 스트림도 중단
+        AtomicReference<Disposable> subscription = new AtomicReference<>();
+        AtomicBoolean closed = new AtomicBoolean(false);
+        Runnable cancel = () -> {
+            closed.set(true);
+            Disposable disposable = subscription.get();
+            if (disposable != null) {
+                disposable.dispose();
+            }
+        };
+        emitter.onCompletion(cancel);
+        emitter.onTimeout(cancel);
+        emitter.onError(e -> cancel.run());
+
+        hospitals.whenComplete((list, error) -> {
+            if (error != null) {
+                log.error("{} 병원 검색 오류:", region != null ? "지역 기반" : "위치 기반", error);
+                sendAndComplete(emitter, "error", chatUtil.createErrorResponse());
+                return;
+            }
+            if (closed.get() || !send(emitter, "hospitals", list)) {
+                return;
+            }
+
+            StringBuilder answer = new StringBuilder();
+            subscription.set(chatUtil.streamAnswer(chatUtil.buildPrompt(request.getMessage(), region, list)).subscribe(
+                token -> {
+                    answer.append(token);
+                    if (!send(emitter, "token", Map.of("text", token))) {
+                        cancel.run();
+                    }
+                },
+                e -> {
+                    log.error("OpenAI 스트리밍 오류:", e);
+                    sendAndComplete(emitter, "error", chatUtil.createErrorResponse());
+                },
+                () -> sendAndComplete(emitter, "done", chatUtil.createSearchResponse(region, answer.toString().trim()))
             ));
-            return response;
+            if (closed.get()) {
+                cancel.run();
+            }
+        });
+    }
+
+    // 지역이 있으면 지역 검색, 좌표가 있으면 위치 검색, 둘 다 없으면 null
+    // 벡터 인덱스가 ES 병원 인덱스 전체를 담고 있으면 같은 조건으로 의미 검색을 먼저 하고, 결과가 없거나 실패하면 키워드 검색
+    private CompletableFuture<List<Map<String, Object>>> findHospitals(ChatMessageRequest request, String region) {
+        ChatMessageRequest.Coordinates coordinates = request.getCoordinates();
+        boolean hasLocation = coordinates != null && coordinates.getLatitude() != null && coordinates.getLongitude() != null;
+        if (region == null && !hasLocation) {
+            return null;
+        }
+        Supplier<CompletableFuture<List<Map<String, Object>>>> keywordSearch = () -> region != null
+            ? chatUtil.findHospitalsByRegion(region)
+            : chatUtil.findHospitalsByLocation(request.getMessage(), coordinates.getLatitude(), coordinates.getLongitude());
+        if (!hospitalVectorIndex.coversSearchIndex()) {
+            return keywordSearch.get();
         }
 
-        // 위치 정보가 없는 경우
-        response.setMessage(createLocationRequiredResponse());
+        Double latitude = region == null ? coordinates.getLatitude() : null;
+        Double longitude = region == null ? coordinates.getLongitude() : null;
+        Double radiusKm = region == null ? chatUtil.parseDistance(request.getMessage()) : null;
+        return hospitalVectorIndex.searchAsync(request.getMessage(), 5, region, latitude, longitude, radiusKm)
+            .handle((hospitals, error) -> {
+                if (error != null) {
+                    log.warn("병원 의미 검색 실패, 키워드 검색으로 대체: {}", error.getMessage());
+                }
+                return error == null && !hospitals.isEmpty()
+                    ? CompletableFuture.completedFuture(hospitals)
+                    : keywordSearch.get();
+            })
+            .thenCompose(future -> future);
+    }
+
+    private boolean send(SseEmitter emitter, String event, Object data) {
+        try {
+            emitter.send(SseEmitter.event().name(event).data(data, MediaType.APPLICATION_JSON));
+            return true;
+        } catch (IOException | IllegalStateException e) {
+            log.debug("채팅 스트림 전송 실패 (연결 종료): {}", e.getMessage());
+            return false;
+        }
+    }
+
+    private void sendAndComplete(SseEmitter emitter, String event, String html) {
+        if (send(emitter, event, Map.of("message", html))) {
+            emitter.complete();
+        }
+    }
+
+    private ChatMessageResponse toResponse(String message) {
+        ChatMessageResponse response = new ChatMessageResponse();
+        response.setMessage(message);
         return response;
     }
 
@@ -0,0 +1,65 @@
+package com.bippobippo.hospital.impl.common;
+
+import com.bippobippo.hospital.service.common.ImageBlobStore;
+import com.google.cloud.storage.BlobId;
+import com.google.cloud.storage.BlobInfo;
+import com.google.cloud.storage.Storage;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.Optional;
+
+/**
+ * Google Cloud Storage 이미지 저장소 (app.upload.storage=gcs)
+ *
+ * 키가 내용 해시 기반이라 객체 내용이 바뀌지 않으므로 오래 캐시하도록 Cache-Control 을 붙여 올리고,
+ * 조회는 공개 URL 로 넘긴다.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+@ConditionalOnProperty(name = "app.upload.storage", havingValue = "gcs")
+public class GcsImageBlobStore implements ImageBlobStore {
+
+    private final Storage storage;
+
+    @Value("${app.upload.gcs.bucket}")
+    private String bucket;
+
+    @Value("${app.upload.gcs.public-url:https://storage.googleapis.com}")
+    private String publicBaseUrl;
+
+    @Override
+    public boolean exists(String key) {
+        return storage.get(BlobId.of(bucket, key), Storage.BlobGetOption.fields(Storage.BlobField.NAME)) != null;
+    }
+
+    @Override
+    public void put(String key, Path source, String contentType) throws IOException {
+        BlobInfo blobInfo = BlobInfo.newBuilder(BlobId.of(bucket, key))
+            .setContentType(contentType)
+            .setCacheControl("public, max-age=31536000, immutable")
+            .build();
+        storage.createFrom(blobInfo, source);
+    }
+
+    @Override
+    public void delete(String key) {
+        storage.delete(BlobId.of(bucket, key));
+    }
+
+    @Override
+    public Optional<Path> localPath(String key) {
+        return Optional.empty();
+    }
+
+    @Override
+    public String publicUrl(String key) {
+        return publicBaseUrl + "/" + bucket + "/" + key;
+    }
+}
@@ -0,0 +1,515 @@
+package com.bippobippo.hospital.impl.common;
+
+import com.bippobippo.hospital.elasticsearch.service.SearchGateway;
+import com.bippobippo.hospital.util.ChatUtil;
+import com.bippobippo.hospital.util.HnswIndex;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.theokanning.openai.embedding.EmbeddingRequest;
+import com.theokanning.openai.service.OpenAiService;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.elasticsearch.action.search.SearchRequest;
+import org.elasticsearch.search.builder.SearchSourceBuilder;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import javax.annotation.PostConstruct;
+import javax.annotation.PreDestroy;
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.BufferedReader;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.ByteOrder;
+import java.nio.FloatBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * 병원 임베딩 의미 검색 (JVM 내부 HNSW)
+ *
+ * chatServer/init_vector_db.py 가 내보낸 정규화 float32 벡터 파일을 메모리 매핑하고 그 위에
+ * HNSW 그래프를 만들어 Python 벡터 DB 를 거치지 않고 바로 조회한다. 만든 그래프는 벡터 파일
+ * 옆에 저장해 두고 벡터 파일이 바뀌지 않았으면 재시작 시 그대로 읽는다.
+ *
+ * 지역/반경 필터는 조건을 만족하는 행을 먼저 세어, 적으면 그 행만 전수 비교하고
+ * 많으면 필터를 건 그래프 탐색을 한다. 매니페스트가 바뀌면 주기적으로 다시 적재한다.
+ * 내보낸 벡터 수가 Elasticsearch 병원 인덱스 문서 수에 못 미치면(표본만 내보낸 경우 등)
+ * 채팅 검색은 이 인덱스 대신 키워드 검색을 쓴다 (coversSearchIndex).
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class HospitalVectorIndex {
+
+    private static final String MANIFEST_FILE = "hospital_vectors.json";
+    private static final String VECTOR_FILE = "hospital_vectors.f32";
+    private static final String METADATA_FILE = "hospital_vectors.jsonl";
+    private static final String GRAPH_FILE = "hospital_vectors.hnsw";
+
+    private final OpenAiService openAiService;
+    private final ObjectMapper objectMapper;
+    private final ChatUtil chatUtil;
+    private final SearchGateway searchGateway;
+
+    @Value("${chat.vector.path:../chatServer/vector_db/export}")
+    private String exportPath;
+
+    @Value("${chat.vector.embedding-model:text-embedding-3-small}")
+    private String embeddingModel;
+
+    @Value("${chat.vector.hnsw.m:16}")
+    private int m;
+
+    @Value("${chat.vector.hnsw.ef-construction:100}")
+    private int efConstruction;
+
+    @Value("${chat.vector.hnsw.ef-search:64}")
+    private int efSearch;
+
+    // 필터를 통과한 행이 이 수 이하이면 그래프 대신 전수 비교
+    @Value("${chat.vector.exact-threshold:2000}")
+    private int exactThreshold;
+
+    @Value("${chat.vector.embedding-threads:4}")
+    private int embeddingThreads;
+
+    // 벡터 수 / ES 병원 문서 수가 이 비율 이상이어야 채팅 검색에 사용
+    @Value("${chat.vector.min-coverage:0.95}")
+    private double minCoverage;
+
+    private final ExecutorService loader = Executors.newSingleThreadExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "hospital-vector-loader");
+        thread.setDaemon(true);
+        return thread;
+    });
+    private ExecutorService embeddingExecutor;
+
+    // 정규화한 질의문 → 질의 벡터
+    private Cache<String, float[]> embeddingCache;
+
+    private volatile Snapshot snapshot;
+
+    // Elasticsearch hospitals 인덱스 문서 수 (적재 확인 때마다 갱신, 모르면 -1)
+    private volatile long searchIndexCount = -1;
+
+    @PostConstruct
+    public void init() {
+        AtomicInteger threadIndex = new AtomicInteger();
+        this.embeddingExecutor = Executors.newFixedThreadPool(embeddingThreads, runnable -> {
+            Thread thread = new Thread(runnable, "hospital-vector-embedding-" + threadIndex.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+        this.embeddingCache = Caffeine.newBuilder()
+            .maximumSize(10000)
+            .expireAfterAccess(Duration.ofHours(6))
+            .build();
+        loader.execute(this::reloadIfChanged);
+    }
+
+    public boolean isReady() {
+        return snapshot != null;
+    }
+
+    /**
+     * 벡터 인덱스가 ES 병원 인덱스를 거의 다 담고 있는지 (아니면 의미 검색 결과가 일부 병원에 치우침)
+     */
+    public boolean coversSearchIndex() {
+        Snapshot current = snapshot;
+        long total = searchIndexCount;
+        return current != null && total > 0 && current.index.size() >= total * minCoverage;
+    }
+
+    // 내보내기 파일이 바뀌었으면 다시 적재
+    @Scheduled(fixedDelayString = "${chat.vector.reload-interval-ms:300000}", initialDelay = 300000)
+    public void scheduledReload() {
+        loader.execute(this::reloadIfChanged);
+    }
+
+    /**
+     * 질의문 의미 검색 (임베딩 호출은 별도 풀에서, 결과는 ChatUtil 검색 결과와 같은 형태)
+     */
+    public CompletableFuture<List<Map<String, Object>>> searchAsync(String text, int k, String region,
+                                                                   Double latitude, Double longitude, Double radiusKm) {
+        return CompletableFuture
+            .supplyAsync(() -> embed(text), embeddingExecutor)
+            .thenApply(query -> search(query, k, region, latitude, longitude, radiusKm));
+    }
+
+    /**
+     * 질의 벡터로 검색 (지역, 반경 필터는 선택)
+     */
+    public List<Map<String, Object>> search(float[] query, int k, String region,
+                                            Double latitude, Double longitude, Double radiusKm) {
+        Snapshot current = snapshot;
+        if (current == null) {
+            return new ArrayList<>();
+        }
+        boolean geo = latitude != null && longitude != null && radiusKm != null;
+
+        List<HnswIndex.Result> results;
+        if (region == null && !geo) {
+            results = current.index.search(query, k, efSearch, null);
+        } else {
+            int[] allowed = current.matching(region, geo ? latitude : null, geo ? longitude : null, radiusKm, chatUtil);
+            int count = allowed.length;
+            if (count == 0) {
+                return new ArrayList<>();
+            }
+            if (count <= exactThreshold) {
+                results = current.index.exact(query, k, allowed, count);
+            } else {
+                BitSet mask = new BitSet(current.index.size());
+                for (int node : allowed) {
+                    mask.set(node);
+                }
+                // 통과 비율이 낮을수록 결과가 채워질 때까지 더 넓게 탐색
+                int ef = (int) Math.min(current.index.size(), Math.max(efSearch, (long) k * current.index.size() / count));
+                results = current.index.search(query, k, ef, mask::get);
+            }
+        }
+
+        List<Map<String, Object>> hospitals = new ArrayList<>(results.size());
+        for (HnswIndex.Result result : results) {
+            Map<String, Object> hospital = new HashMap<>(current.metadata[result.getNode()]);
+            hospital.put("score", result.getScore());
+            if (latitude != null && longitude != null
+                    && hospital.get("latitude") instanceof Number && hospital.get("longitude") instanceof Number) {
+                hospital.put("distance", chatUtil.calculateDistance(latitude, longitude,
+                    ((Number) hospital.get("latitude")).doubleValue(), ((Number) hospital.get("longitude")).doubleValue()));
+            }
+            hospitals.add(hospital);
+        }
+        return hospitals;
+    }
+
+    /**
+     * HNSW 와 전수 비교의 재현율/지연 비교
+     *
+     * 저장된 벡터에 잡음을 섞어 질의를 만들므로 임베딩 API 를 호출하지 않는다.
+     */
+    public Map<String, Object> benchmark(int queries, int k, Integer ef, String region) {
+        Snapshot current = snapshot;
+        if (current == null) {
+            throw new IllegalStateException("벡터 인덱스가 아직 적재되지 않았습니다.");
+        }
+        int runs = Math.max(1, Math.min(queries, 1000));
+        int searchEf = ef != null ? ef : efSearch;
+        int dim = current.index.dim();
+        Random random = new Random(42);
+
+        int[] allowed = region != null ? current.matching(region, null, null, null, chatUtil) : null;
+        BitSet mask = null;
+        if (allowed != null) {
+            mask = new BitSet(current.index.size());
+            for (int node : allowed) {
+                mask.set(node);
+            }
+        }
+        BitSet filter = mask;
+
+        long[] hnswNanos = new long[runs];
+        long[] exactNanos = new long[runs];
+        double recallSum = 0;
+        float[] query = new float[dim];
+        for (int run = 0; run < runs; run++) {
+            int source = random.nextInt(current.index.size());
+            double norm = 0;
+            for (int i = 0; i < dim; i++) {
+                query[i] = current.vectors.get(source * dim + i) + (float) (random.nextGaussian() * 0.02);
+                norm += query[i] * query[i];
+            }
+            float scale = (float) (1.0 / Math.sqrt(norm));
+            for (int i = 0; i < dim; i++) {
+                query[i] *= scale;
+            }
+
+            long started = System.nanoTime();
+            List<HnswIndex.Result> exact = current.index.exact(query, k, filter != null ? filter::get : null);
+            exactNanos[run] = System.nanoTime() - started;
+
+            started = System.nanoTime();
+            List<HnswIndex.Result> approximate = current.index.search(query, k, searchEf, filter != null ? filter::get : null);
+            hnswNanos[run] = System.nanoTime() - started;
+
+            Set<Integer> truth = new HashSet<>();
+            exact.forEach(result -> truth.add(result.getNode()));
+            long hits = approximate.stream().filter(result -> truth.contains(result.getNode())).count();
+            recallSum += truth.isEmpty() ? 1.0 : (double) hits / truth.size();
+        }
+
+        Map<String, Object> result = new LinkedHashMap<>();
+        result.put("vectors", current.index.size());
+        result.put("dim", dim);
+        result.put("queries", runs);
+        result.put("k", k);
+        result.put("ef", searchEf);
+        result.put("region", region);
+        result.put("filteredVectors", allowed != null ? allowed.length : current.index.size());
+        result.put("recall", recallSum / runs);
+        result.put("hnsw", latency(hnswNanos));
+        result.put("exact", latency(exactNanos));
+        return result;
+    }
+
+    /**
+     * 내보내기 파일 다시 적재 (관리자 요청)
+     */
+    public void reload() {
+        loader.execute(() -> {
+            load(true);
+            refreshSearchIndexCount();
+        });
+    }
+
+    private void reloadIfChanged() {
+        load(false);
+        refreshSearchIndexCount();
+    }
+
+    private void refreshSearchIndexCount() {
+        Snapshot current = snapshot;
+        if (current == null) {
+            return;
+        }
+        try {
+            long total = searchGateway.search(new SearchRequest("hospitals")
+                    .source(new SearchSourceBuilder().size(0).trackTotalHits(true)))
+                .getHits().getTotalHits().value;
+            if (total != searchIndexCount && current.index.size() < total * minCoverage) {
+                log.warn("병원 벡터 인덱스가 ES 병원 인덱스 일부만 포함합니다 ({} / {}). 채팅 검색은 키워드 검색을 사용합니다.",
+                    current.index.size(), total);
+            }
+            searchIndexCount = total;
+        } catch (Exception e) {
+            log.warn("ES 병원 문서 수 조회 실패: {}", e.getMessage());
+        }
+    }
+
+    private synchronized void load(boolean force) {
+        Path directory = Paths.get(exportPath);
+        Path manifestFile = directory.resolve(MANIFEST_FILE);
+        if (!Files.exists(manifestFile)) {
+            log.debug("병원 벡터 내보내기 파일 없음: {}", manifestFile.toAbsolutePath());
+            return;
+        }
+        try {
+            long manifestModified = Files.getLastModifiedTime(manifestFile).toMillis();
+            Snapshot current = snapshot;
+            if (!force && current != null && current.manifestModified == manifestModified) {
+                return;
+            }
+
+            long started = System.currentTimeMillis();
+            JsonNode manifest = objectMapper.readTree(manifestFile.toFile());
+            int count = manifest.path("count").asInt();
+            int dim = manifest.path("dim").asInt();
+            String model = manifest.path("model").asText(null);
+            if (model != null && !model.equals(embeddingModel)) {
+                log.warn("병원 벡터 임베딩 모델 불일치: 파일 {}, 설정 {}", model, embeddingModel);
+            }
+
+            Path vectorFile = directory.resolve(VECTOR_FILE);
+            long expectedBytes = (long) count * dim * Float.BYTES;
+            if (Files.size(vectorFile) != expectedBytes) {
+                throw new IOException("벡터 파일 크기가 매니페스트와 다릅니다: " + Files.size(vectorFile) + " / " + expectedBytes);
+            }
+            if (expectedBytes > Integer.MAX_VALUE) {
+                throw new IOException("벡터 파일이 너무 큽니다 (2GB 초과): " + expectedBytes);
+            }
+            FloatBuffer vectors;
+            // 매핑은 채널을 닫아도 유지됨
+            try (FileChannel channel = FileChannel.open(vectorFile, StandardOpenOption.READ)) {
+                vectors = channel.map(FileChannel.MapMode.READ_ONLY, 0, expectedBytes)
+                    .order(ByteOrder.LITTLE_ENDIAN)
+                    .asFloatBuffer();
+            }
+
+            Map<String, Object>[] metadata = readMetadata(directory.resolve(METADATA_FILE), count);
+            HnswIndex index = loadGraph(directory.resolve(GRAPH_FILE), vectorFile, vectors, count, dim);
+            snapshot = new Snapshot(index, vectors, metadata, manifestModified);
+            log.info("병원 벡터 인덱스 적재 완료: {}개, {}차원, {}ms", count, dim, System.currentTimeMillis() - started);
+        } catch (Exception e) {
+            // 이전 스냅샷 유지
+            log.error("병원 벡터 인덱스 적재 실패: {}", e.getMessage(), e);
+        }
+    }
+
+    // 벡터 파일이 그대로면 저장된 그래프 사용, 아니면 새로 만들어 저장
+    private HnswIndex loadGraph(Path graphFile, Path vectorFile, FloatBuffer vectors, int count, int dim) throws IOException {
+        long vectorModified = Files.getLastModifiedTime(vectorFile).toMillis();
+        if (Files.exists(graphFile)) {
+            try (DataInputStream in = new DataInputStream(new BufferedInputStream(Files.newInputStream(graphFile)))) {
+                if (in.readLong() == vectorModified && in.readInt() == m && in.readInt() == efConstruction) {
+                    return HnswIndex.read(vectors, count, dim, in);
+                }
+            } catch (IOException e) {
+                log.warn("저장된 HNSW 그래프를 읽지 못해 다시 만듭니다: {}", e.getMessage());
+            }
+        }
+
+        long started = System.currentTimeMillis();
+        HnswIndex index = HnswIndex.build(vectors, count, dim, m, efConstruction, 42L);
+        log.info("HNSW 그래프 생성: {}개, M={}, efConstruction={}, {}ms",
+            count, m, efConstruction, System.currentTimeMillis() - started);
+
+        Path temp = graphFile.resolveSibling(GRAPH_FILE + ".tmp");
+        try (DataOutputStream out = new DataOutputStream(new BufferedOutputStream(Files.newOutputStream(temp)))) {
+            out.writeLong(vectorModified);
+            out.writeInt(m);
+            out.writeInt(efConstruction);
+            index.write(out);
+        }
+        Files.move(temp, graphFile, StandardCopyOption.REPLACE_EXISTING);
+        return index;
+    }
+
+    @SuppressWarnings("unchecked")
+    private Map<String, Object>[] readMetadata(Path metadataFile, int count) throws IOException {
+        Map<String, Object>[] metadata = new Map[count];
+        int row = 0;
+        try (BufferedReader reader = Files.newBufferedReader(metadataFile, StandardCharsets.UTF_8)) {
+            String line;
+            while ((line = reader.readLine()) != null && row < count) {
+                if (line.isBlank()) {
+                    continue;
+                }
+                Map<String, Object> source = objectMapper.readValue(line, Map.class);
+                Map<String, Object> hospital = new HashMap<>();
+                hospital.put("id", source.get("id"));
+                hospital.put("name", source.get("name"));
+                hospital.put("address", source.get("address"));
+                hospital.put("phone", source.get("phone"));
+                hospital.put("department", source.get("major"));
+                hospital.put("category", source.get("category"));
+                hospital.put("region", source.get("region"));
+                hospital.put("latitude", source.get("lat"));
+                hospital.put("longitude", source.get("lon"));
+                metadata[row++] = Map.copyOf(withoutNulls(hospital));
+            }
+        }
+        if (row != count) {
+            throw new IOException("메타데이터 행 수가 매니페스트와 다릅니다: " + row + " / " + count);
+        }
+        return metadata;
+    }
+
+    private static Map<String, Object> withoutNulls(Map<String, Object> map) {
+        map.values().removeIf(value -> value == null);
+        return map;
+    }
+
+    private static Map<String, Object> latency(long[] nanos) {
+        long[] sorted = nanos.clone();
+        Arrays.sort(sorted);
+        long total = 0;
+        for (long value : sorted) {
+            total += value;
+        }
+        Map<String, Object> latency = new LinkedHashMap<>();
+        latency.put("avgMs", total / (double) sorted.length / 1_000_000.0);
+        latency.put("p50Ms", sorted[sorted.length / 2] / 1_000_000.0);
+        latency.put("p95Ms", sorted[Math.min(sorted.length - 1, (int) Math.ceil(sorted.length * 0.95) - 1)] / 1_000_000.0);
+        return latency;
+    }
+
+    private float[] embed(String text) {
+        String key = text.trim().replaceAll("\\s+", " ").toLowerCase();
+        return embeddingCache.get(key, k -> {
+            List<Double> embedding = openAiService.createEmbeddings(EmbeddingRequest.builder()
+                    .model(embeddingModel)
+                    .input(List.of(k))
+                    .build())
+                .getData().get(0).getEmbedding();
+            float[] vector = new float[embedding.size()];
+            double norm = 0;
+            for (int i = 0; i < vector.length; i++) {
+                vector[i] = embedding.get(i).floatValue();
+                norm += vector[i] * vector[i];
+            }
+            float scale = norm > 0 ? (float) (1.0 / Math.sqrt(norm)) : 1f;
+            for (int i = 0; i < vector.length; i++) {
+                vector[i] *= scale;
+            }
+            return vector;
+        });
+    }
+
+    @PreDestroy
+    public void cleanup() {
+        loader.shutdownNow();
+        if (embeddingExecutor != null) {
+            embeddingExecutor.shutdownNow();
+        }
+    }
+
+    private static final class Snapshot {
+        private final HnswIndex index;
+        private final FloatBuffer vectors;
+        private final Map<String, Object>[] metadata;
+        private final long manifestModified;
+
+        private Snapshot(HnswIndex index, FloatBuffer vectors, Map<String, Object>[] metadata, long manifestModified) {
+            this.index = index;
+            this.vectors = vectors;
+            this.metadata = metadata;
+            this.manifestModified = manifestModified;
+        }
+
+        // 지역/반경 조건을 만족하는 행 번호
+        private int[] matching(String region, Double latitude, Double longitude, Double radiusKm, ChatUtil chatUtil) {
+            // 반경을 위경도 폭으로 바꾼 사각형으로 먼저 거른 뒤 정확한 거리 계산
+            double latDelta = radiusKm != null ? radiusKm / 111.0 : 0;
+            double lngDelta = radiusKm != null && latitude != null
+                ? radiusKm / (111.0 * Math.max(0.01, Math.cos(Math.toRadians(latitude)))) : 0;
+
+            int[] nodes = new int[metadata.length];
+            int count = 0;
+            for (int node = 0; node < metadata.length; node++) {
+                Map<String, Object> hospital = metadata[node];
+                if (region != null && !region.equals(hospital.get("region"))) {
+                    continue;
+                }
+                if (latitude != null && longitude != null && radiusKm != null) {
+                    if (!(hospital.get("latitude") instanceof Number) || !(hospital.get("longitude") instanceof Number)) {
+                        continue;
+                    }
+                    double lat = ((Number) hospital.get("latitude")).doubleValue();
+                    double lng = ((Number) hospital.get("longitude")).doubleValue();
+                    if (Math.abs(lat - latitude) > latDelta || Math.abs(lng - longitude) > lngDelta
+                            || chatUtil.calculateDistance(latitude, longitude, lat, lng) > radiusKm) {
+                        continue;
+                    }
+                }
+                nodes[count++] = node;
+            }
+            return Arrays.copyOf(nodes, count);
+        }
+    }
+}
@@ -1,30 +1,123 @@
 package com.bippobippo.hospital.impl.common;
 
+import com.bippobippo.hospital.service.common.ImageBlobStore;
 import com.bippobippo.hospital.service.common.ImageStorageService;
+import com.bippobippo.hospital.service.common.StoredImage;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
 import org.springframework.web.multipart.MultipartFile;
 
+import javax.annotation.PostConstruct;
+import javax.annotation.PreDestroy;
+import javax.imageio.ImageIO;
+import javax.imageio.ImageReader;
+import javax.imageio.stream.ImageInputStream;
+import java.awt.Graphics2D;
+import java.awt.RenderingHints;
+import java.awt.image.BufferedImage;
 import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
 import java.nio.file.Files;
 import java.nio.file.Path;
 import java.nio.file.Paths;
-import java.util.UUID;
+import java.security.DigestInputStream;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.HexFormat;
+import java.util.Iterator;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
 
+/**
+ * 업로드 이미지 저장
+ *
+ * 업로드 파일을 임시 파일로 받으면서 SHA-256 을 계산하고, 내용 해시를 파일명으로 쓰는
+ * 경로({폴더}/{해시 앞 2자리}/{해시}.{확장자})에 저장한다. 같은 내용은 한 번만 저장된다.
+ * 썸네일/중간 크기 변형은 크기가 제한된 작업 풀에서 만들며, 풀이 가득 차면 변형 생성을 건너뛴다.
+ * 빠진 변형은 같은 내용이 다시 업로드될 때 만들고, 그 전까지는 조회 시 원본을 짧은 캐시로 대신 내려준다.
+ */
 @Slf4j
 @Service
 @RequiredArgsConstructor
 public class ImageStorageServiceImpl implements ImageStorageService {
-    
+
+    private final ImageBlobStore blobStore;
+
     @Value("${app.upload.path:src/main/resources/static/uploads}")
     private String uploadPath;
 
+    @Value("${app.upload.max-image-bytes:10485760}")
+    private long maxImageBytes;
+
+    @Value("${app.upload.max-image-pixels:40000000}")
+    private long maxImagePixels;
+
+    @Value("${app.upload.variant-threads:2}")
+    private int variantThreads;
+
+    @Value("${app.upload.variant-queue-size:100}")
+    private int variantQueueSize;
+
     private static final String PROFILE_IMAGES_FOLDER = "profile/";
     private static final String NEWS_IMAGES_FOLDER = "news/";
     private static final String BOARDS_IMAGES_FOLDER = "boards/";
 
+    // 내용 해시 파일명 (이전 UUID 파일명과 구분)
+    private static final Pattern CONTENT_FILENAME = Pattern.compile("([0-9a-f]{64})\\.(jpg|jpeg|png|gif)");
+    private static final long IMMUTABLE_MAX_AGE = 31536000;
+    private static final long LEGACY_MAX_AGE = 86400;
+    private static final long PENDING_VARIANT_MAX_AGE = 60;
+
+    private enum Variant {
+        THUMB("thumb", 200),
+        MEDIUM("medium", 800);
+
+        private final String name;
+        private final int maxSize;
+
+        Variant(String name, int maxSize) {
+            this.name = name;
+            this.maxSize = maxSize;
+        }
+
+        private static Variant from(String name) {
+            for (Variant variant : values()) {
+                if (variant.name.equals(name)) {
+                    return variant;
+                }
+            }
+            return null;
+        }
+    }
+
+    private ThreadPoolExecutor variantExecutor;
+
+    // 존재가 확인된 키 (내용 해시 키는 바뀌지 않으므로 있는 것만 기억)
+    private final Cache<String, Boolean> knownKeys = Caffeine.newBuilder().maximumSize(100000).build();
+
+    @PostConstruct
+    public void init() {
+        AtomicInteger threadIndex = new AtomicInteger();
+        this.variantExecutor = new ThreadPoolExecutor(variantThreads, variantThreads, 60, TimeUnit.SECONDS,
+            new ArrayBlockingQueue<>(variantQueueSize),
+            runnable -> {
+                Thread thread = new Thread(runnable, "image-variant-" + threadIndex.incrementAndGet());
+                thread.setDaemon(true);
+                return thread;
+            },
+            new ThreadPoolExecutor.AbortPolicy());
+    }
+
     @Override
     public String uploadFile(MultipartFile file) {
         return uploadFile(file, PROFILE_IMAGES_FOLDER);
@@ -38,47 +131,266 @@ public class ImageStorageServiceImpl implements ImageStorageService {
         return uploadFile(file, NEWS_IMAGES_FOLDER);
     }
 
+    public String uploadBoardImage(MultipartFile file) {
+        return uploadFile(file, BOARDS_IMAGES_FOLDER);
+    }
+
     private String uploadFile(MultipartFile file, String folder) {
+        if (file.isEmpty()) {
+            throw new IllegalArgumentException("업로드할 파일이 없습니다.");
+        }
+
+        // 파일 확장자 검증
+        String originalFilename = file.getOriginalFilename();
+        String fileExtension = getFileExtension(originalFilename);
+
+        if (!isValidImageExtension(fileExtension)) {
+            throw new IllegalArgumentException("지원하지 않는 이미지 형식입니다. (jpg, jpeg, png, gif만 허용)");
+        }
+        if (file.getSize() > maxImageBytes) {
+            throw new IllegalArgumentException("이미지 크기는 " + (maxImageBytes / 1024 / 1024) + "MB 이하만 허용됩니다.");
+        }
+
+        Path temp = null;
+        boolean handedOff = false;
         try {
-            if (file.isEmpty()) {
-                throw new IllegalArgumentException("업로드할 파일이 없습니다.");
+            // 임시 파일로 받으면서 내용 해시 계산
+            temp = Files.createTempFile("image-upload-", "." + fileExtension);
+            MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            try (InputStream in = new DigestInputStream(file.getInputStream(), digest);
+                 OutputStream out = Files.newOutputStream(temp)) {
+                in.transferTo(out);
             }
+            String hash = HexFormat.of().formatHex(digest.digest());
+            int longSide = validateImage(temp);
 
-            // 파일 확장자 검증
-            String originalFilename = file.getOriginalFilename();
-            String fileExtension = getFileExtension(originalFilename);
-            
-            if (!isValidImageExtension(fileExtension)) {
-                throw new IllegalArgumentException("지원하지 않는 이미지 형식입니다. (jpg, jpeg, png, gif만 허용)");
+            String filename = hash + "." + fileExtension;
+            String key = originalKey(folder, hash, fileExtension);
+            if (exists(key)) {
+                log.info("이미지 업로드 중복: {} -> {}", originalFilename, key);
+                // 이전 업로드 때 풀이 가득 찼거나 변형 생성이 실패했으면 이번에 다시 만든다
+                if (hasMissingVariants(folder, hash, fileExtension, longSide)) {
+                    handedOff = submitVariants(folder, hash, fileExtension, temp);
+                }
+                return filename;
             }
 
-            // 카테고리별 폴더 경로 생성
-            String categoryPath = uploadPath + "/" + folder;
-            Path categoryDir = Paths.get(categoryPath);
-            
-            if (!Files.exists(categoryDir)) {
-                Files.createDirectories(categoryDir);
+            blobStore.put(key, temp, contentType(fileExtension));
+            knownKeys.put(key, Boolean.TRUE);
+            log.info("이미지 업로드 완료: {} -> {}", originalFilename, key);
+
+            handedOff = submitVariants(folder, hash, fileExtension, temp);
+            return filename;
+        } catch (IOException | NoSuchAlgorithmException e) {
+            log.error("이미지 업로드 실패: {}", originalFilename, e);
+            throw new RuntimeException("이미지 업로드 중 오류가 발생했습니다.", e);
+        } finally {
+            if (temp != null && !handedOff) {
+                deleteQuietly(temp);
+            }
+        }
+    }
+
+    // 임시 파일은 변형 작업이 끝난 뒤 삭제, 풀이 가득 차면 변형 없이 원본만 제공
+    private boolean submitVariants(String folder, String hash, String extension, Path source) {
+        try {
+            variantExecutor.execute(() -> createVariants(folder, hash, extension, source));
+            return true;
+        } catch (RejectedExecutionException e) {
+            log.warn("이미지 변형 대기열이 가득 차 변형 생성을 건너뜁니다: {}{}", folder, hash);
+            return false;
+        }
+    }
+
+    // 원본보다 작은 변형 중 아직 저장되지 않은 것이 있는지
+    private boolean hasMissingVariants(String folder, String hash, String extension, int longSide) {
+        for (Variant variant : Variant.values()) {
+            if (longSide > variant.maxSize && !exists(variantKey(folder, hash, variant, extension))) {
+                return true;
             }
+        }
+        return false;
+    }
 
-            // 고유한 파일명 생성
-            String uniqueFilename = generateFileName(originalFilename);
-            Path filePath = categoryDir.resolve(uniqueFilename);
+    // 헤더만 읽어 실제 이미지인지, 픽셀 수가 제한 이내인지 확인 (전체 디코딩 전), 긴 변 길이 반환
+    private int validateImage(Path file) throws IOException {
+        try (ImageInputStream input = ImageIO.createImageInputStream(file.toFile())) {
+            Iterator<ImageReader> readers = input != null ? ImageIO.getImageReaders(input) : null;
+            if (readers == null || !readers.hasNext()) {
+                throw new IllegalArgumentException("이미지 파일이 아닙니다.");
+            }
+            ImageReader reader = readers.next();
+            try {
+                reader.setInput(input, true, true);
+                int width = reader.getWidth(0);
+                int height = reader.getHeight(0);
+                if ((long) width * height > maxImagePixels) {
+                    throw new IllegalArgumentException("이미지 해상도가 너무 큽니다.");
+                }
+                return Math.max(width, height);
+            } finally {
+                reader.dispose();
+            }
+        }
+    }
 
-            // 파일 저장
-            Files.copy(file.getInputStream(), filePath);
-            
-            log.info("이미지 업로드 완료: {} -> {}", originalFilename, filePath);
-            
-            return uniqueFilename;
+    private void createVariants(String folder, String hash, String extension, Path source) {
+        try {
+            BufferedImage image = ImageIO.read(source.toFile());
+            if (image == null) {
+                return;
+            }
+            String format = variantFormat(extension);
+            for (Variant variant : Variant.values()) {
+                // 원본이 더 작으면 변형 없이 원본 사용
+                if (Math.max(image.getWidth(), image.getHeight()) <= variant.maxSize) {
+                    continue;
+                }
+                String key = variantKey(folder, hash, variant, extension);
+                if (exists(key)) {
+                    continue;
+                }
+                Path output = Files.createTempFile("image-variant-", "." + format);
+                try {
+                    ImageIO.write(resize(image, variant.maxSize, "jpg".equals(format)), format, output.toFile());
+                    blobStore.put(key, output, contentType(format));
+                    knownKeys.put(key, Boolean.TRUE);
+                } finally {
+                    deleteQuietly(output);
+                }
+            }
+        } catch (Exception e) {
+            // 변형이 없으면 원본으로 대신 응답
+            log.error("이미지 변형 생성 실패: {}{}", folder, hash, e);
+        } finally {
+            deleteQuietly(source);
+        }
+    }
+
+    // 긴 변 기준 축소, 큰 배율은 절반씩 나눠 줄여 계단 현상 방지
+    private static BufferedImage resize(BufferedImage image, int maxSize, boolean opaque) {
+        double scale = (double) maxSize / Math.max(image.getWidth(), image.getHeight());
+        int targetWidth = Math.max(1, (int) Math.round(image.getWidth() * scale));
+        int targetHeight = Math.max(1, (int) Math.round(image.getHeight() * scale));
+        int type = opaque ? BufferedImage.TYPE_INT_RGB : BufferedImage.TYPE_INT_ARGB;
+
+        BufferedImage current = image;
+        int width = image.getWidth();
+        int height = image.getHeight();
+        do {
+            width = Math.max(targetWidth, width / 2);
+            height = Math.max(targetHeight, height / 2);
+            BufferedImage next = new BufferedImage(width, height, type);
+            Graphics2D graphics = next.createGraphics();
+            try {
+                graphics.setRenderingHint(RenderingHints.KEY_INTERPOLATION, RenderingHints.VALUE_INTERPOLATION_BILINEAR);
+                graphics.setRenderingHint(RenderingHints.KEY_RENDERING, RenderingHints.VALUE_RENDER_QUALITY);
+                graphics.drawImage(current, 0, 0, width, height, null);
+            } finally {
+                graphics.dispose();
+            }
+            current = next;
+        } while (width != targetWidth || height != targetHeight);
+        return current;
+    }
+
+    @Override
+    public StoredImage resolveImage(String folder, String filename, String variantName) {
+        String folderPath = folder + "/";
+        if (!folderPath.equals(PROFILE_IMAGES_FOLDER) && !folderPath.equals(NEWS_IMAGES_FOLDER)
+                && !folderPath.equals(BOARDS_IMAGES_FOLDER)) {
+            return null;
+        }
+
+        Matcher matcher = CONTENT_FILENAME.matcher(filename);
+        if (!matcher.matches()) {
+            return resolveLegacy(folder, filename);
+        }
+        String hash = matcher.group(1);
+        String extension = matcher.group(2);
+
+        boolean pendingVariant = false;
+        if (variantName != null) {
+            Variant variant = Variant.from(variantName);
+            if (variant == null) {
+                return null;
+            }
+            String key = variantKey(folderPath, hash, variant, extension);
+            if (exists(key)) {
+                return toStoredImage(key, contentType(variantFormat(extension)),
+                    "\"" + hash + "-" + variant.name + "\"", IMMUTABLE_MAX_AGE, true);
+            }
+            pendingVariant = true;
+        }
+
+        String key = originalKey(folderPath, hash, extension);
+        if (!exists(key)) {
+            return null;
+        }
+        return pendingVariant
+            ? toStoredImage(key, contentType(extension), "\"" + hash + "\"", PENDING_VARIANT_MAX_AGE, false)
+            : toStoredImage(key, contentType(extension), "\"" + hash + "\"", IMMUTABLE_MAX_AGE, true);
+    }
+
+    private StoredImage toStoredImage(String key, String contentType, String etag, long maxAge, boolean immutable) {
+        return new StoredImage(blobStore.localPath(key).orElse(null), blobStore.publicUrl(key),
+            contentType, etag, maxAge, immutable);
+    }
+
+    // 해시 파일명 도입 전 UUID 파일 (로컬 폴더에 바로 저장됨)
+    private StoredImage resolveLegacy(String folder, String filename) {
+        try {
+            Path base = Paths.get(uploadPath, folder).toAbsolutePath().normalize();
+            Path filePath = base.resolve(filename).normalize();
+            if (!filePath.startsWith(base) || !Files.isRegularFile(filePath)) {
+                return null;
+            }
+            String etag = "W/\"" + Files.size(filePath) + "-" + Files.getLastModifiedTime(filePath).toMillis() + "\"";
+            return new StoredImage(filePath, null, contentType(getFileExtension(filename)), etag, LEGACY_MAX_AGE, false);
         } catch (IOException e) {
-            log.error("이미지 업로드 실패: {}", file.getOriginalFilename(), e);
-            throw new RuntimeException("이미지 업로드 중 오류가 발생했습니다.", e);
+            log.warn("이미지 조회 실패: {}/{} - {}", folder, filename, e.getMessage());
+            return null;
+        }
+    }
+
+    private boolean exists(String key) {
+        if (knownKeys.getIfPresent(key) != null) {
+            return true;
         }
+        boolean exists = blobStore.exists(key);
+        if (exists) {
+            knownKeys.put(key, Boolean.TRUE);
+        }
+        return exists;
+    }
+
+    private static String originalKey(String folder, String hash, String extension) {
+        return folder + hash.substring(0, 2) + "/" + hash + "." + extension;
+    }
+
+    private static String variantKey(String folder, String hash, Variant variant, String extension) {
+        return folder + hash.substring(0, 2) + "/" + hash + "_" + variant.name + "." + variantFormat(extension);
     }
 
-    private String generateFileName(String originalFileName) {
-        String extension = getFileExtension(originalFileName);
-        return UUID.randomUUID().toString() + "." + extension;
+    // JPEG 은 JPEG 로, PNG/GIF 는 투명도를 유지하도록 PNG 로
+    private static String variantFormat(String extension) {
+        return "jpg".equals(extension) || "jpeg".equals(extension) ? "jpg" : "png";
+    }
+
+    private static String contentType(String extension) {
+        switch (extension) {
+            case "jpg":
+            case "jpeg":
+                return "image/jpeg";
+            case "png":
+                return "image/png";
+            case "gif":
+                return "image/gif";
+            case "webp":
+                return "image/webp";
+            default:
+                return "application/octet-stream";
+        }
     }
 
     private String getFileExtension(String filename) {
@@ -92,6 +404,14 @@ public class ImageStorageServiceImpl implements ImageStorageService {
         return extension.matches("(jpg|jpeg|png|gif)");
     }
 
+    private static void deleteQuietly(Path path) {
+        try {
+            Files.deleteIfExists(path);
+        } catch (IOException e) {
+            log.warn("임시 파일 삭제 실패: {}", path);
+        }
+    }
+
     @Override
     public void deleteFile(String fileName) {
         deleteFile(fileName, PROFILE_IMAGES_FOLDER);
@@ -106,6 +426,11 @@ public class ImageStorageServiceImpl implements ImageStorageService {
     }
 
     private void deleteFile(String fileName, String folder) {
+        // 해시 파일은 같은 내용을 올린 다른 사용자와 공유되므로 지우지 않음
+        if (CONTENT_FILENAME.matcher(fileName).matches()) {
+            log.debug("공유 이미지는 삭제하지 않습니다: {}{}", folder, fileName);
+            return;
+        }
         try {
             Path filePath = Paths.get(uploadPath, folder, fileName);
             if (Files.exists(filePath)) {
@@ -116,4 +441,9 @@ public class ImageStorageServiceImpl implements ImageStorageService {
             log.error("이미지 삭제 실패: {}", fileName, e);
         }
     }
-} 
\ No newline at end of file
+
+    @PreDestroy
+    public void cleanup() {
+        variantExecutor.shutdown();
+    }
+}
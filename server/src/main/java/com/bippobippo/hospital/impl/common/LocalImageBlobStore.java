@@ -0,0 +1,70 @@
+package com.bippobippo.hospital.impl.common;
+
+import com.bippobippo.hospital.service.common.ImageBlobStore;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.util.Optional;
+
+/**
+ * 로컬 디스크 이미지 저장소 (기본값, 개발/테스트용)
+ *
+ * 같은 디렉터리의 임시 파일에 쓴 뒤 이름을 바꿔서, 읽는 쪽에서 쓰다 만 파일이 보이지 않게 한다.
+ */
+@Slf4j
+@Component
+@ConditionalOnProperty(name = "app.upload.storage", havingValue = "local", matchIfMissing = true)
+public class LocalImageBlobStore implements ImageBlobStore {
+
+    @Value("${app.upload.path:src/main/resources/static/uploads}")
+    private String uploadPath;
+
+    @Override
+    public boolean exists(String key) {
+        return Files.isRegularFile(resolve(key));
+    }
+
+    @Override
+    public void put(String key, Path source, String contentType) throws IOException {
+        Path target = resolve(key);
+        Files.createDirectories(target.getParent());
+        Path temp = Files.createTempFile(target.getParent(), ".upload-", ".tmp");
+        try {
+            Files.copy(source, temp, StandardCopyOption.REPLACE_EXISTING);
+            Files.move(temp, target, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } finally {
+            Files.deleteIfExists(temp);
+        }
+    }
+
+    @Override
+    public void delete(String key) throws IOException {
+        Files.deleteIfExists(resolve(key));
+    }
+
+    @Override
+    public Optional<Path> localPath(String key) {
+        return Optional.of(resolve(key));
+    }
+
+    @Override
+    public String publicUrl(String key) {
+        return null;
+    }
+
+    private Path resolve(String key) {
+        Path base = Paths.get(uploadPath).toAbsolutePath().normalize();
+        Path path = base.resolve(key).normalize();
+        if (!path.startsWith(base)) {
+            throw new IllegalArgumentException("잘못된 파일 경로입니다: " + key);
+        }
+        return path;
+    }
+}
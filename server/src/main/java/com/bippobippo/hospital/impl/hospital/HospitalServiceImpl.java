@@ -15,6 +15,7 @@ import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.util.List;
+import java.util.Map;
 import java.util.stream.Collectors;
 
 @Slf4j
@@ -26,18 +27,38 @@ public class HospitalServiceImpl implements HospitalService {
     private final HospitalSubjectRepository hospitalSubjectRepository;
     private final HospitalTimeRepository hospitalTimeRepository;
 
+    private static final double METERS_PER_DEGREE = 111320.0;
+
     @Override
     @Transactional(readOnly = true)
     public List<HospitalNearbyResponse> findNearbyHospitals(Double latitude, Double longitude, Integer radius) {
-        // 위치 기반으로 반경 내 병원 검색
-        List<Hospital> hospitals = hospitalRepository.findNearbyHospitals(latitude, longitude, radius, PageRequest.of(0, 10));
+        // 반경(미터)을 위경도 바운딩 박스로 변환해 인덱스 범위 조회
+        double latDelta = radius / METERS_PER_DEGREE;
+        double lngDelta = radius / (METERS_PER_DEGREE * Math.max(Math.cos(Math.toRadians(latitude)), 0.01));
+
+        List<Hospital> hospitals = hospitalRepository.findNearbyHospitals(
+            latitude, longitude, radius,
+            latitude - latDelta, latitude + latDelta,
+            longitude - lngDelta, longitude + lngDelta,
+            PageRequest.of(0, 10));
+
+        if (hospitals.isEmpty()) {
+            return List.of();
+        }
+
+        // 진료과목/진료시간을 페이지 단위로 한 번에 조회
+        List<String> ykihos = hospitals.stream()
+            .map(Hospital::getYkiho)
+            .collect(Collectors.toList());
+        Map<String, List<HospitalSubject>> subjectsByYkiho = hospitalSubjectRepository.findByYkihoIn(ykihos).stream()
+            .collect(Collectors.groupingBy(HospitalSubject::getYkiho));
+        Map<String, List<HospitalTime>> timesByYkiho = hospitalTimeRepository.findByYkihoIn(ykihos).stream()
+            .collect(Collectors.groupingBy(HospitalTime::getYkiho));
 
         return hospitals.stream()
             .map(hospital -> {
-                // 진료과목 조회
-                List<HospitalSubject> subjects = hospitalSubjectRepository.findByYkiho(hospital.getYkiho());
-                // 진료시간 조회
-                List<HospitalTime> times = hospitalTimeRepository.findByYkiho(hospital.getYkiho());
+                List<HospitalSubject> subjects = subjectsByYkiho.getOrDefault(hospital.getYkiho(), List.of());
+                List<HospitalTime> times = timesByYkiho.getOrDefault(hospital.getYkiho(), List.of());
 
                 return HospitalNearbyResponse.builder()
                     .ykiho(hospital.getYkiho())
@@ -0,0 +1,200 @@
+package com.bippobippo.hospital.impl.map;
+
+import com.bippobippo.hospital.dto.response.admin.GeoJsonUploadResponse;
+import com.bippobippo.hospital.util.DouglasPeucker;
+import com.bippobippo.hospital.util.GeoPolygon;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.mongodb.MongoBulkWriteException;
+import com.mongodb.client.model.InsertManyOptions;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.bson.Document;
+import org.bson.types.ObjectId;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Date;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * 행정구역 경계(sggu_boundaries_*) 적재와 줌별 도형 조회
+ *
+ * 업로드된 GeoJSON FeatureCollection 은 Jackson 스트리밍 파서로 feature 한 건씩 읽어
+ * 묶음 단위로 삽입하므로 수백 MB 파일도 메모리에 통째로 올리지 않는다. feature 마다
+ * 줌 레벨별 Douglas-Peucker 단순화 도형(simplified.z{줌}), 중심점(centroid), 경계 상자(bbox)를
+ * 미리 계산해 함께 저장한다. 새 업로드가 끝나면 이전 업로드 문서를 지워 교체한다.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class BoundaryGeometryStore {
+
+    private static final String SIMPLIFIED_FIELD = "simplified";
+
+    private final MongoTemplate mongoTemplate;
+    private final ObjectMapper objectMapper;
+
+    @Value("${boundary.simplify.zoom-levels:6,9,12}")
+    private int[] zoomLevels;
+
+    @Value("${boundary.upload.batch-size:200}")
+    private int batchSize;
+
+    /**
+     * FeatureCollection 스트림을 컬렉션에 적재하고 이전 업로드 문서를 교체
+     */
+    @SuppressWarnings("unchecked")
+    public GeoJsonUploadResponse importFeatures(InputStream inputStream, String collection) throws IOException {
+        String uploadId = new ObjectId().toHexString();
+        Date uploadedAt = new Date();
+        int total = 0;
+        int inserted = 0;
+        int errors = 0;
+
+        List<Document> batch = new ArrayList<>(batchSize);
+        try (JsonParser parser = objectMapper.getFactory().createParser(inputStream)) {
+            if (parser.nextToken() != JsonToken.START_OBJECT) {
+                throw new IllegalArgumentException("GeoJSON FeatureCollection 형식이 아닙니다.");
+            }
+            while (parser.nextToken() == JsonToken.FIELD_NAME) {
+                String field = parser.getCurrentName();
+                JsonToken value = parser.nextToken();
+                if (!"features".equals(field) || value != JsonToken.START_ARRAY) {
+                    parser.skipChildren();
+                    continue;
+                }
+                // feature 하나씩만 트리로 읽음
+                while (parser.nextToken() == JsonToken.START_OBJECT) {
+                    total++;
+                    Map<String, Object> feature = parser.readValueAs(Map.class);
+                    Document document = toDocument(feature, uploadId, uploadedAt);
+                    if (document == null) {
+                        errors++;
+                        continue;
+                    }
+                    batch.add(document);
+                    if (batch.size() >= batchSize) {
+                        int written = insert(collection, batch);
+                        inserted += written;
+                        errors += batch.size() - written;
+                        batch.clear();
+                    }
+                }
+            }
+            if (!batch.isEmpty()) {
+                int written = insert(collection, batch);
+                inserted += written;
+                errors += batch.size() - written;
+            }
+        } catch (IOException | RuntimeException e) {
+            // 중간에 실패하면 이번 업로드 문서만 지우고 이전 데이터 유지
+            mongoTemplate.remove(Query.query(Criteria.where("uploadId").is(uploadId)), collection);
+            throw e;
+        }
+
+        if (inserted > 0) {
+            // 새 업로드가 들어간 뒤에 이전 문서 제거 (조회 중 빈 컬렉션이 보이지 않도록)
+            long removed = mongoTemplate.remove(
+                Query.query(Criteria.where("uploadId").ne(uploadId)), collection).getDeletedCount();
+            log.info("경계 업로드 완료: {} - {}건 적재, {}건 오류, 이전 {}건 교체", collection, inserted, errors, removed);
+        }
+
+        GeoJsonUploadResponse response = new GeoJsonUploadResponse();
+        response.setMessage(inserted > 0 ? "경계 데이터 업로드 완료" : "적재된 경계 데이터가 없습니다.");
+        response.setTotalCount(total);
+        response.setInsertedCount(inserted);
+        response.setSuccessCount(inserted);
+        response.setErrorCount(errors);
+        return response;
+    }
+
+    /**
+     * 목록용 경량 조회 (도형 제외, 속성/중심점/경계 상자만)
+     */
+    @SuppressWarnings("unchecked")
+    public List<Map<String, Object>> listFeatures(String collection) {
+        Query query = new Query();
+        query.fields().include("type").include("properties").include("centroid").include("bbox").include("uploadedAt");
+        List<Map<String, Object>> features = new ArrayList<>();
+        for (Map feature : mongoTemplate.find(query, Map.class, collection)) {
+            features.add((Map<String, Object>) feature);
+        }
+        return features;
+    }
+
+    /**
+     * 줌 레벨에 맞는 단순화 도형 필드 (원본이 필요한 줌이면 null)
+     */
+    public String simplifiedField(Integer zoom) {
+        if (zoom == null) {
+            return null;
+        }
+        int[] levels = sortedLevels();
+        for (int level : levels) {
+            if (zoom <= level) {
+                return SIMPLIFIED_FIELD + ".z" + level;
+            }
+        }
+        return null;
+    }
+
+    @SuppressWarnings("unchecked")
+    private Document toDocument(Map<String, Object> feature, String uploadId, Date uploadedAt) {
+        Map<String, Object> geometry = (Map<String, Object>) feature.get("geometry");
+        GeoPolygon polygon = GeoPolygon.fromGeoJson(geometry);
+        if (polygon == null) {
+            return null;
+        }
+
+        Document simplified = new Document();
+        for (int level : sortedLevels()) {
+            Map<String, Object> simplifiedGeometry = DouglasPeucker.simplify(geometry, DouglasPeucker.toleranceForZoom(level));
+            if (simplifiedGeometry != null) {
+                simplified.append("z" + level, simplifiedGeometry);
+            }
+        }
+
+        double[] centroid = polygon.centroid();
+        Map<String, Object> centroidPoint = new LinkedHashMap<>();
+        centroidPoint.put("type", "Point");
+        centroidPoint.put("coordinates", List.of(centroid[0], centroid[1]));
+
+        return new Document("type", "Feature")
+            .append("properties", feature.get("properties"))
+            .append("geometry", geometry)
+            .append(SIMPLIFIED_FIELD, simplified)
+            .append("centroid", centroidPoint)
+            .append("bbox", List.of(polygon.getMinX(), polygon.getMinY(), polygon.getMaxX(), polygon.getMaxY()))
+            .append("uploadId", uploadId)
+            .append("uploadedAt", uploadedAt);
+    }
+
+    private int insert(String collection, List<Document> documents) {
+        try {
+            mongoTemplate.getCollection(collection).insertMany(documents, new InsertManyOptions().ordered(false));
+            return documents.size();
+        } catch (MongoBulkWriteException e) {
+            // 자기 교차 등으로 2dsphere 색인에 거부된 도형은 건너뜀
+            log.warn("경계 일부 적재 실패: {} {}건 중 {}건 - {}", collection, documents.size(), e.getWriteErrors().size(),
+                e.getWriteErrors().isEmpty() ? "" : e.getWriteErrors().get(0).getMessage());
+            return documents.size() - e.getWriteErrors().size();
+        }
+    }
+
+    private int[] sortedLevels() {
+        int[] levels = zoomLevels.clone();
+        Arrays.sort(levels);
+        return levels;
+    }
+}
@@ -1,8 +1,12 @@
 package com.bippobippo.hospital.impl.map;
 
+import com.bippobippo.hospital.elasticsearch.service.MapTileClusterService;
+import com.bippobippo.hospital.elasticsearch.service.RegionSummaryService;
+import com.bippobippo.hospital.elasticsearch.service.SearchGateway;
 import com.bippobippo.hospital.service.map.MapService;
 import com.bippobippo.hospital.model.MapData;
 import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
 import org.elasticsearch.action.search.SearchRequest;
 import org.elasticsearch.action.search.SearchResponse;
 import org.elasticsearch.client.RequestOptions;
@@ -34,56 +38,111 @@ import java.util.Arrays;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.function.Function;
+import java.util.stream.Collectors;
 
+@Slf4j
 @Service
 @RequiredArgsConstructor
 public class MapServiceImpl implements MapService {
 
+    private static final int MAX_RI_SUMMARY = 1000;
+
     private final RestHighLevelClient client;
+    private final SearchGateway searchGateway;
+    private final MapTileClusterService mapTileClusterService;
+    private final RegionSummaryService regionSummaryService;
     private final MongoTemplate mongoTemplate;
     private final MongoMappingContext mongoMappingContext;
+    private final BoundaryGeometryStore boundaryGeometryStore;
 
     @Override
     public List<Map<String, Object>> getMapData(String type, Double swLat, Double swLng, Double neLat, Double neLng, Integer limit) {
         try {
-            BoolQueryBuilder boolQuery = QueryBuilders.boolQuery();
+            SearchResponse response = searchGateway.search(buildMapDataRequest(type, swLat, swLng, neLat, neLng, limit));
+            return toMapDataResults(response);
+        } catch (IOException e) {
+            throw new RuntimeException("지도 데이터 조회 중 오류가 발생했습니다.", e);
+        }
+    }
 
-            if (type != null) {
-                boolQuery.must(QueryBuilders.termQuery("type", type));
+    @Override
+    public Map<String, Object> getMapBundle(Double swLat, Double swLng, Double neLat, Double neLng,
+                                            Double centerLat, Double centerLng, Integer radius, Integer limit,
+                                            boolean includeClusters) {
+        try {
+            // 병원/약국/클러스터 조회를 단일 _msearch 로 전송
+            SearchGateway.Batch batch = searchGateway.batch()
+                .add("hospitals", buildMapDataRequest("hospital", swLat, swLng, neLat, neLng, limit))
+                .add("pharmacies", buildMapDataRequest("pharmacy", swLat, swLng, neLat, neLng, limit));
+            if (includeClusters && centerLat != null && centerLng != null) {
+                batch.add("clusters", buildClustersRequest(centerLat, centerLng, radius != null ? radius : 5));
             }
 
-            if (swLat != null && swLng != null && neLat != null && neLng != null) {
-                boolQuery.filter(QueryBuilders.geoBoundingBoxQuery("location")
-                    .setCorners(neLat, swLng, swLat, neLng));
-            }
+            // 한 항목이 실패해도 나머지는 그대로 내려주고, 실패한 항목만 빈 목록으로 대체
+            Map<String, SearchResponse> responses = batch.executeAllowingFailures();
 
-            SearchSourceBuilder source = new SearchSourceBuilder()
-                .query(boolQuery)
-                .size(limit != null ? limit : 100)
-                .fetchSource(new String[]{
-                    "type", "name", "address", "yadmNm", "addr", "telno", "location",
-                    "clCdNm", "sidoCdNm", "sgguCdNm", "postNo", "estbDd", "hospUrl"
-                }, null);
+            Map<String, Object> bundle = new HashMap<>();
+            bundle.put("hospitals", bundleSection(responses, "hospitals", this::toMapDataResults));
+            bundle.put("pharmacies", bundleSection(responses, "pharmacies", this::toMapDataResults));
+            bundle.put("clusters", bundleSection(responses, "clusters", this::toClusters));
+            return bundle;
+        } catch (IOException e) {
+            throw new RuntimeException("지도 데이터 조회 중 오류가 발생했습니다.", e);
+        }
+    }
 
-            SearchRequest request = new SearchRequest("map_data");
-            request.source(source);
-            SearchResponse response = client.search(request, RequestOptions.DEFAULT);
+    private List<Map<String, Object>> bundleSection(Map<String, SearchResponse> responses, String key,
+                                                    Function<SearchResponse, List<Map<String, Object>>> mapper) {
+        SearchResponse response = responses.get(key);
+        if (response == null) {
+            return new ArrayList<>();
+        }
+        try {
+            return mapper.apply(response);
+        } catch (RuntimeException e) {
+            log.warn("지도 번들 '{}' 항목 변환 실패 - 빈 목록으로 대체", key, e);
+            return new ArrayList<>();
+        }
+    }
 
-            List<Map<String, Object>> results = new ArrayList<>();
-            response.getHits().forEach(hit -> {
-                Map<String, Object> sourceMap = hit.getSourceAsMap();
-                Map<String, Object> location = (Map<String, Object>) sourceMap.get("location");
-                if (location != null) {
-                    sourceMap.put("lat", location.get("lat"));
-                    sourceMap.put("lng", location.get("lon"));
-                }
-                results.add(sourceMap);
-            });
+    private SearchRequest buildMapDataRequest(String type, Double swLat, Double swLng, Double neLat, Double neLng, Integer limit) {
+        BoolQueryBuilder boolQuery = QueryBuilders.boolQuery();
 
-            return results;
-        } catch (IOException e) {
-            throw new RuntimeException("지도 데이터 조회 중 오류가 발생했습니다.", e);
+        if (type != null) {
+            boolQuery.must(QueryBuilders.termQuery("type", type));
+        }
+
+        if (swLat != null && swLng != null && neLat != null && neLng != null) {
+            boolQuery.filter(QueryBuilders.geoBoundingBoxQuery("location")
+                .setCorners(neLat, swLng, swLat, neLng));
         }
+
+        SearchSourceBuilder source = new SearchSourceBuilder()
+            .query(boolQuery)
+            .size(limit != null ? limit : 100)
+            .fetchSource(new String[]{
+                "type", "name", "address", "yadmNm", "addr", "telno", "location",
+                "clCdNm", "sidoCdNm", "sgguCdNm", "postNo", "estbDd", "hospUrl"
+            }, null);
+
+        SearchRequest request = new SearchRequest("map_data");
+        request.source(source);
+        return request;
+    }
+
+    private List<Map<String, Object>> toMapDataResults(SearchResponse response) {
+        List<Map<String, Object>> results = new ArrayList<>();
+        response.getHits().forEach(hit -> {
+            Map<String, Object> sourceMap = hit.getSourceAsMap();
+            Map<String, Object> location = (Map<String, Object>) sourceMap.get("location");
+            if (location != null) {
+                sourceMap.put("lat", location.get("lat"));
+                sourceMap.put("lng", location.get("lon"));
+            }
+            results.add(sourceMap);
+        });
+        return results;
     }
 
     @Override
@@ -139,32 +198,42 @@ public class MapServiceImpl implements MapService {
 
     @Override
     public List<Map<String, Object>> getSummary() {
-        // TODO: Elasticsearch Aggregation으로 구현
-        return new ArrayList<>();
+        return getSidoSummary();
     }
 
     @Override
     public List<Map<String, Object>> getSidoSummary() {
-        // TODO: Elasticsearch Aggregation으로 구현
-        return new ArrayList<>();
+        return regionSummaryService.getAll(RegionSummaryService.LEVEL_CTPRVN);
     }
 
     @Override
     public List<Map<String, Object>> getSgguSummary(Double swLat, Double swLng, Double neLat, Double neLng) {
-        // TODO: Elasticsearch Aggregation으로 구현
-        return new ArrayList<>();
+        if (swLat == null || swLng == null || neLat == null || neLng == null) {
+            return regionSummaryService.getAll(RegionSummaryService.LEVEL_SIG);
+        }
+        return regionSummaryService.getInBounds(RegionSummaryService.LEVEL_SIG, swLat, swLng, neLat, neLng);
     }
 
     @Override
     public List<Map<String, Object>> getEmdongSummary(Double swLat, Double swLng, Double neLat, Double neLng) {
-        // TODO: Elasticsearch Aggregation으로 구현
-        return new ArrayList<>();
+        if (swLat == null || swLng == null || neLat == null || neLng == null) {
+            throw new IllegalArgumentException("유효하지 않은 좌표값");
+        }
+        return regionSummaryService.getInBounds(RegionSummaryService.LEVEL_EMD, swLat, swLng, neLat, neLng);
     }
 
     @Override
-    public List<String> getRiSummary() {
-        // TODO: Elasticsearch Aggregation으로 구현
-        return new ArrayList<>();
+    public List<String> getRiSummary(Double swLat, Double swLng, Double neLat, Double neLng, Integer limit) {
+        // 전국 리 단위는 수만 건이므로 화면 영역과 건수로 제한
+        List<Map<String, Object>> regions = swLat != null && swLng != null && neLat != null && neLng != null
+            ? regionSummaryService.getInBounds(RegionSummaryService.LEVEL_LI, swLat, swLng, neLat, neLng)
+            : regionSummaryService.getAll(RegionSummaryService.LEVEL_LI);
+        int max = Math.max(1, Math.min(limit != null ? limit : MAX_RI_SUMMARY, MAX_RI_SUMMARY));
+        return regions.stream()
+            .filter(region -> ((Number) region.get("totalCount")).longValue() > 0)
+            .limit(max)
+            .map(region -> (String) region.get("name"))
+            .collect(Collectors.toList());
     }
 
     @Override
@@ -176,61 +245,81 @@ public class MapServiceImpl implements MapService {
                 throw new IllegalArgumentException("유효하지 않은 좌표값");
             }
 
-            BoolQueryBuilder boolQuery = QueryBuilders.boolQuery()
-                .filter(QueryBuilders.termQuery("type", "cluster"))
-                .filter(QueryBuilders.geoDistanceQuery("location")
-                    .point(centerLat, centerLng)
-                    .distance(radius, DistanceUnit.KILOMETERS));
+            SearchResponse response = searchGateway.search(buildClustersRequest(centerLat, centerLng, radius));
+            return toClusters(response);
+        } catch (IOException e) {
+            throw new RuntimeException("클러스터 데이터 조회 중 오류가 발생했습니다.", e);
+        }
+    }
 
-            SearchSourceBuilder source = new SearchSourceBuilder()
-                .query(boolQuery)
-                .size(50)
-                .fetchSource(new String[]{
-                    "location", "clusterCount", "hospitalCount", "pharmacyCount", 
-                    "clusterId", "hospitals", "pharmacies"
-                }, null);
-
-            // 거리순 정렬 추가
-            GeoDistanceSortBuilder sortBuilder = SortBuilders.geoDistanceSort("location", centerLat, centerLng)
-                .order(SortOrder.ASC)
-                .unit(DistanceUnit.KILOMETERS);
-            source.sort(sortBuilder);
+    private SearchRequest buildClustersRequest(Double centerLat, Double centerLng, Integer radius) {
+        BoolQueryBuilder boolQuery = QueryBuilders.boolQuery()
+            .filter(QueryBuilders.termQuery("type", "cluster"))
+            .filter(QueryBuilders.geoDistanceQuery("location")
+                .point(centerLat, centerLng)
+                .distance(radius, DistanceUnit.KILOMETERS));
+
+        SearchSourceBuilder source = new SearchSourceBuilder()
+            .query(boolQuery)
+            .size(50)
+            .fetchSource(new String[]{
+                "location", "clusterCount", "hospitalCount", "pharmacyCount", 
+                "clusterId", "hospitals", "pharmacies"
+            }, null);
+
+        // 거리순 정렬 추가
+        GeoDistanceSortBuilder sortBuilder = SortBuilders.geoDistanceSort("location", centerLat, centerLng)
+            .order(SortOrder.ASC)
+            .unit(DistanceUnit.KILOMETERS);
+        source.sort(sortBuilder);
+
+        SearchRequest request = new SearchRequest("map_data");
+        request.source(source);
+        return request;
+    }
 
-            SearchRequest request = new SearchRequest("map_data");
-            request.source(source);
-            SearchResponse response = client.search(request, RequestOptions.DEFAULT);
+    private List<Map<String, Object>> toClusters(SearchResponse response) {
+        List<Map<String, Object>> clusters = new ArrayList<>();
+        response.getHits().forEach(hit -> {
+            Map<String, Object> sourceMap = hit.getSourceAsMap();
+            Map<String, Object> cluster = new HashMap<>();
+            cluster.put("id", hit.getId());
+            cluster.put("type", "cluster");
+            cluster.put("location", sourceMap.get("location"));
+            cluster.put("clusterCount", sourceMap.getOrDefault("clusterCount", 0));
+            cluster.put("hospitalCount", sourceMap.getOrDefault("hospitalCount", 0));
+            cluster.put("pharmacyCount", sourceMap.getOrDefault("pharmacyCount", 0));
+            
+            // clusterId가 없으면 location 좌표로 생성
+            String clusterId = (String) sourceMap.get("clusterId");
+            if (clusterId == null) {
+                Map<String, Object> location = (Map<String, Object>) sourceMap.get("location");
+                clusterId = location.get("lat") + "_" + location.get("lon");
+            }
+            cluster.put("clusterId", clusterId);
 
-            List<Map<String, Object>> clusters = new ArrayList<>();
-            response.getHits().forEach(hit -> {
-                Map<String, Object> sourceMap = hit.getSourceAsMap();
-                Map<String, Object> cluster = new HashMap<>();
-                cluster.put("id", hit.getId());
-                cluster.put("type", "cluster");
-                cluster.put("location", sourceMap.get("location"));
-                cluster.put("clusterCount", sourceMap.getOrDefault("clusterCount", 0));
-                cluster.put("hospitalCount", sourceMap.getOrDefault("hospitalCount", 0));
-                cluster.put("pharmacyCount", sourceMap.getOrDefault("pharmacyCount", 0));
-                
-                // clusterId가 없으면 location 좌표로 생성
-                String clusterId = (String) sourceMap.get("clusterId");
-                if (clusterId == null) {
-                    Map<String, Object> location = (Map<String, Object>) sourceMap.get("location");
-                    clusterId = location.get("lat") + "_" + location.get("lon");
-                }
-                cluster.put("clusterId", clusterId);
+            // details 객체 생성
+            Map<String, Object> details = new HashMap<>();
+            details.put("hospitals", sourceMap.getOrDefault("hospitals", new ArrayList<>()));
+            details.put("pharmacies", sourceMap.getOrDefault("pharmacies", new ArrayList<>()));
+            cluster.put("details", details);
 
-                // details 객체 생성
-                Map<String, Object> details = new HashMap<>();
-                details.put("hospitals", sourceMap.getOrDefault("hospitals", new ArrayList<>()));
-                details.put("pharmacies", sourceMap.getOrDefault("pharmacies", new ArrayList<>()));
-                cluster.put("details", details);
+            clusters.add(cluster);
+        });
+        return clusters;
+    }
 
-                clusters.add(cluster);
-            });
+    @Override
+    public List<Map<String, Object>> getTileClusters(Double swLat, Double swLng, Double neLat, Double neLng, Integer zoomLevel) {
+        try {
+            // 위도/경도 값 검증
+            if (swLat == null || swLng == null || neLat == null || neLng == null || zoomLevel == null) {
+                throw new IllegalArgumentException("유효하지 않은 좌표값");
+            }
 
-            return clusters;
+            return mapTileClusterService.getTileClusters(swLat, swLng, neLat, neLng, zoomLevel);
         } catch (IOException e) {
-            throw new RuntimeException("클러스터 데이터 조회 중 오류가 발생했습니다.", e);
+            throw new RuntimeException("타일 클러스터 데이터 조회 중 오류가 발생했습니다.", e);
         }
     }
 
@@ -303,6 +392,11 @@ public class MapServiceImpl implements MapService {
 
     @Override
     public Map<String, Object> getBoundaryGeometry(String boundaryType, String name) {
+        return getBoundaryGeometry(boundaryType, name, null);
+    }
+
+    @Override
+    public Map<String, Object> getBoundaryGeometry(String boundaryType, String name, Integer zoomLevel) {
         try {
             if (boundaryType == null || name == null) {
                 throw new IllegalArgumentException("경계 타입과 이름이 필요합니다.");
@@ -331,15 +425,32 @@ public class MapServiceImpl implements MapService {
                     throw new IllegalArgumentException("유효하지 않은 경계 타입입니다.");
             }
 
-            // MongoDB 쿼리 생성
-            Query query = new Query(Criteria.where(queryField).is(name));
-            Map<String, Object> boundary = mongoTemplate.findOne(query, Map.class, collectionName);
-
-            if (boundary == null) {
-                throw new RuntimeException("해당하는 경계를 찾을 수 없습니다.");
+            // 줌에 맞는 단순화 도형만 조회 (없으면 원본 도형)
+            Map<String, Object> geometry = null;
+            String simplifiedField = boundaryGeometryStore.simplifiedField(zoomLevel);
+            if (simplifiedField != null) {
+                Query query = new Query(Criteria.where(queryField).is(name));
+                query.fields().include(simplifiedField);
+                Map<String, Object> boundary = mongoTemplate.findOne(query, Map.class, collectionName);
+                if (boundary == null) {
+                    throw new RuntimeException("해당하는 경계를 찾을 수 없습니다.");
+                }
+                Map<String, Object> simplified = (Map<String, Object>) boundary.get("simplified");
+                if (simplified != null) {
+                    geometry = (Map<String, Object>) simplified.get(simplifiedField.substring(simplifiedField.indexOf('.') + 1));
+                }
             }
 
-            Map<String, Object> geometry = (Map<String, Object>) boundary.get("geometry");
+            if (geometry == null) {
+                Query query = new Query(Criteria.where(queryField).is(name));
+                query.fields().include("geometry");
+                Map<String, Object> boundary = mongoTemplate.findOne(query, Map.class, collectionName);
+                if (boundary == null) {
+                    throw new RuntimeException("해당하는 경계를 찾을 수 없습니다.");
+                }
+                geometry = (Map<String, Object>) boundary.get("geometry");
+                simplifiedField = null;
+            }
             if (geometry == null || !Arrays.asList("MultiPolygon", "Polygon").contains(geometry.get("type"))) {
                 throw new RuntimeException("유효하지 않은 geometry 타입입니다.");
             }
@@ -349,6 +460,7 @@ public class MapServiceImpl implements MapService {
             responseData.put("name", name);
             responseData.put("geometry", geometry);
             responseData.put("geometryType", geometry.get("type"));
+            responseData.put("simplified", simplifiedField != null);
 
             return responseData;
         } catch (Exception e) {
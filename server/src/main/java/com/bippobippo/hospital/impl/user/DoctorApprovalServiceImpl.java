@@ -8,6 +8,7 @@ import com.bippobippo.hospital.entity.user.User;
 import com.bippobippo.hospital.repository.user.DoctorApprovalRequestRepository;
 import com.bippobippo.hospital.repository.user.RoleRepository;
 import com.bippobippo.hospital.repository.user.UserRepository;
+import com.bippobippo.hospital.security.AuthenticatedUserCache;
 import com.bippobippo.hospital.service.user.DoctorApprovalService;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
@@ -29,6 +30,7 @@ public class DoctorApprovalServiceImpl implements DoctorApprovalService {
     private final DoctorApprovalRequestRepository approvalRequestRepository;
     private final UserRepository userRepository;
     private final RoleRepository roleRepository;
+    private final AuthenticatedUserCache authenticatedUserCache;
 
     @Override
     @Transactional
@@ -119,6 +121,7 @@ public class DoctorApprovalServiceImpl implements DoctorApprovalService {
 
         user.getRoles().add(doctorRole);
         userRepository.save(user);
+        authenticatedUserCache.invalidate(user.getUsername());
 
         DoctorApprovalRequest savedRequest = approvalRequestRepository.save(request);
         return DoctorApprovalResponseDto.fromEntity(savedRequest);
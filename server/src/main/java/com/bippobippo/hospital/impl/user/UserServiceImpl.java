@@ -8,6 +8,7 @@ import com.bippobippo.hospital.entity.user.Role;
 import com.bippobippo.hospital.entity.user.User;
 import com.bippobippo.hospital.repository.user.RoleRepository;
 import com.bippobippo.hospital.repository.user.UserRepository;
+import com.bippobippo.hospital.security.AuthenticatedUserCache;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
@@ -30,6 +31,7 @@ public class UserServiceImpl implements UserService {
     private final PasswordEncoder passwordEncoder;
     private final ImageStorageService imageStorageService;
     private final ObjectMapper objectMapper;
+    private final AuthenticatedUserCache authenticatedUserCache;
 
     @Override
     public UserDetails loadUserByUsername(String username) throws UsernameNotFoundException {
@@ -154,6 +156,7 @@ public class UserServiceImpl implements UserService {
             if (request.getNewPassword() != null && !request.getNewPassword().isEmpty()) {
                 log.info("비밀번호 업데이트");
                 user.setPassword(passwordEncoder.encode(request.getNewPassword()));
+                authenticatedUserCache.invalidate(user.getUsername());
             }
 
             // 프로필 이미지 업데이트
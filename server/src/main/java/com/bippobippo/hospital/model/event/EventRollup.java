@@ -0,0 +1,46 @@
+package com.bippobippo.hospital.model.event;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.springframework.data.annotation.Id;
+import org.springframework.data.mongodb.core.mapping.Field;
+
+import java.time.LocalDateTime;
+
+/**
+ * 이벤트 시간 구간 집계 (event_rollups_hourly / event_rollups_daily)
+ *
+ * _id = "{dimension}|{key}|{eventType}|{bucketKey}" 로 고정해 적재 경로의 $inc upsert 와
+ * 재집계($merge)가 같은 문서를 갱신한다.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class EventRollup {
+
+    public static final String HOURLY_COLLECTION = "event_rollups_hourly";
+    public static final String DAILY_COLLECTION = "event_rollups_daily";
+
+    public static final String DIMENSION_USER = "user";
+    public static final String DIMENSION_HOSPITAL = "hospital";
+
+    @Id
+    private String id;
+
+    private String dimension; // user, hospital
+
+    private String key; // userId 또는 hospitalId
+
+    @Field("event_type")
+    private String eventType;
+
+    private LocalDateTime bucket; // 구간 시작 시각
+
+    private Long count;
+
+    @Field("updated_at")
+    private LocalDateTime updatedAt;
+}
@@ -67,6 +67,21 @@ public class UserProfile {
     @Field("total_dwell_time")
     private Integer totalDwellTime;
 
+    @Field("dwell_count")
+    private Integer dwellCount; // 체류 시간 이벤트 수 (평균 체류 시간 = 총 체류 시간 / 이벤트 수)
+
+    @Field("specialty_scores")
+    private Map<String, Double> specialtyScores; // 진료과목별 감쇠 점수 (forward decay, 기준 시점 가중치로 누적)
+
+    @Field("region_scores")
+    private Map<String, Double> regionScores; // 지역별 감쇠 점수
+
+    @Field("activity_score")
+    private Double activityScore; // 감쇠 활동 점수
+
+    @Field("compacted_at")
+    private LocalDateTime compactedAt; // 마지막 정리(compaction) 시각
+
     @Field("user_agent")
     private String userAgent;
 
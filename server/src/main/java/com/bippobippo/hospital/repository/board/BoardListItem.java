@@ -0,0 +1,24 @@
+package com.bippobippo.hospital.repository.board;
+
+import java.time.LocalDateTime;
+
+/**
+ * 게시글 목록용 프로젝션 (엔티티/연관 컬렉션을 로딩하지 않고 필요한 컬럼만 조회)
+ */
+public interface BoardListItem {
+    Integer getId();
+    String getTitle();
+    String getSummary();
+    Integer getCategoryId();
+    String getCategoryName();
+    Integer getUserId();
+    String getNickname();
+    String getProfileImage();
+    String getStatus();
+    Boolean getIsNotice();
+    Integer getViewCount();
+    Integer getLikeCount();
+    Integer getCommentCount();
+    LocalDateTime getCreatedAt();
+    LocalDateTime getUpdatedAt();
+}
@@ -4,30 +4,24 @@ import com.bippobippo.hospital.entity.board.Board;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
 import java.util.List;
 
 @Repository
 public interface BoardRepository extends JpaRepository<Board, Integer> {
+    // 상세 조회에 필요한 연관 엔티티를 한 번에 로딩
     @Query("SELECT DISTINCT b FROM Board b " +
            "LEFT JOIN FETCH b.category " +
            "LEFT JOIN FETCH b.user " +
            "LEFT JOIN FETCH b.boardDetail " +
-           "WHERE b.id = :id")
-    Board findByIdWithDetails(@Param("id") Integer id);
-
-    @Query("SELECT DISTINCT b FROM Board b " +
            "LEFT JOIN FETCH b.tags " +
            "WHERE b.id = :id")
-    Board findByIdWithTags(@Param("id") Integer id);
-
-    @Query("SELECT b FROM Board b " +
-           "LEFT JOIN FETCH b.attachments " +
-           "WHERE b.id = :id")
-    Board findByIdWithAttachments(@Param("id") Integer id);
+    Board findByIdWithDetails(@Param("id") Integer id);
 
     @Query("SELECT b FROM Board b LEFT JOIN FETCH b.category LEFT JOIN FETCH b.user WHERE b.category.id = :categoryId")
     List<Board> findByCategoryId(@Param("categoryId") Integer categoryId);
@@ -43,6 +37,42 @@ public interface BoardRepository extends JpaRepository<Board, Integer> {
            countQuery = "SELECT COUNT(b) FROM Board b WHERE b.status = 'published'")
     Page<Board> findByStatus(Pageable pageable);
 
+    // 목록 조회 - 엔티티 대신 필요한 컬럼만 조회 (댓글/태그 컬렉션 로딩 없음)
+    @Query(value = "SELECT b.id AS id, b.title AS title, b.summary AS summary, " +
+           "c.id AS categoryId, c.name AS categoryName, b.userId AS userId, " +
+           "u.nickname AS nickname, u.profileImage AS profileImage, b.status AS status, " +
+           "b.isNotice AS isNotice, b.viewCount AS viewCount, b.likeCount AS likeCount, " +
+           "b.commentCount AS commentCount, b.createdAt AS createdAt, b.updatedAt AS updatedAt " +
+           "FROM Board b LEFT JOIN b.category c LEFT JOIN b.user u " +
+           "WHERE b.status = 'published'",
+           countQuery = "SELECT COUNT(b) FROM Board b WHERE b.status = 'published'")
+    Page<BoardListItem> findListItems(Pageable pageable);
+
+    @Query(value = "SELECT b.id AS id, b.title AS title, b.summary AS summary, " +
+           "c.id AS categoryId, c.name AS categoryName, b.userId AS userId, " +
+           "u.nickname AS nickname, u.profileImage AS profileImage, b.status AS status, " +
+           "b.isNotice AS isNotice, b.viewCount AS viewCount, b.likeCount AS likeCount, " +
+           "b.commentCount AS commentCount, b.createdAt AS createdAt, b.updatedAt AS updatedAt " +
+           "FROM Board b LEFT JOIN b.category c LEFT JOIN b.user u " +
+           "WHERE c.id = :categoryId AND b.status = 'published'",
+           countQuery = "SELECT COUNT(b) FROM Board b WHERE b.category.id = :categoryId AND b.status = 'published'")
+    Page<BoardListItem> findListItemsByCategoryId(@Param("categoryId") Integer categoryId, Pageable pageable);
+
+    @Query("SELECT b.id AS boardId, t.id AS id, t.name AS name, t.slug AS slug " +
+           "FROM Board b JOIN b.tags t WHERE b.id IN :boardIds")
+    List<BoardTagItem> findTagItemsByBoardIds(@Param("boardIds") Collection<Integer> boardIds);
+
+    // 댓글 수 증감 (엔티티를 거치지 않아 동시 작성에도 누락 없음)
+    @Modifying
+    @Query("UPDATE Board b SET b.commentCount = b.commentCount + :delta WHERE b.id = :id")
+    int adjustCommentCount(@Param("id") Integer id, @Param("delta") int delta);
+
+    // 저장된 댓글 수를 실제 댓글 행 수로 재계산
+    @Modifying
+    @Query(value = "UPDATE hospital_board b SET b.comment_count = " +
+           "(SELECT COUNT(*) FROM hospital_board_comments c WHERE c.board_id = b.id)", nativeQuery = true)
+    int recalculateCommentCounts();
+
     Page<Board> findByUserId(Integer userId, Pageable pageable);
     Page<Board> findByTitleContainingOrSummaryContaining(String title, String summary, Pageable pageable);
 
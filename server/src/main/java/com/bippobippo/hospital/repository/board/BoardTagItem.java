@@ -0,0 +1,11 @@
+package com.bippobippo.hospital.repository.board;
+
+/**
+ * 게시글 목록의 태그 일괄 조회용 프로젝션
+ */
+public interface BoardTagItem {
+    Integer getBoardId();
+    Integer getId();
+    String getName();
+    String getSlug();
+}
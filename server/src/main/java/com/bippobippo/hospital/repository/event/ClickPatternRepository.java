@@ -49,10 +49,6 @@ public interface ClickPatternRepository extends MongoRepository<ClickPattern, St
     @Query(value = "{'userId': ?0}", sort = "{'createdAt': -1}")
     List<ClickPattern> findRecentClicksByUserId(String userId);
 
-    // 인기 클릭 병원 조회
-    @Query(value = "{}", sort = "{'createdAt': -1}")
-    List<ClickPattern> findPopularClickedHospitals();
-
     // 특정 기간 동안의 모든 클릭 조회
     List<ClickPattern> findByCreatedAtBetweenOrderByCreatedAtDesc(
             LocalDateTime startDate, LocalDateTime endDate);
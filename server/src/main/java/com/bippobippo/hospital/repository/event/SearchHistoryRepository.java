@@ -40,10 +40,6 @@ public interface SearchHistoryRepository extends MongoRepository<SearchHistory,
     @Query(value = "{'userId': ?0}", sort = "{'createdAt': -1}")
     List<SearchHistory> findRecentSearchesByUserId(String userId);
 
-    // 인기 검색어 조회 (전체)
-    @Query(value = "{}", sort = "{'createdAt': -1}")
-    List<SearchHistory> findPopularSearches();
-
     // 특정 기간 동안의 모든 검색 조회
     List<SearchHistory> findByCreatedAtBetweenOrderByCreatedAtDesc(
             LocalDateTime startDate, LocalDateTime endDate);
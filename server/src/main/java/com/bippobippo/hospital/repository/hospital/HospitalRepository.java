@@ -12,12 +12,18 @@ import java.util.List;
 @Repository
 public interface HospitalRepository extends JpaRepository<Hospital, String> {
     
+    /**
+     * 반경 내 병원 조회
+     * (latitude, longitude) 복합 인덱스를 타는 바운딩 박스로 후보를 먼저 좁힌 뒤 정확한 거리(미터)로 거른다.
+     */
     @Query(value = """
         SELECT h.*, 
-        (6371 * acos(cos(radians(:latitude)) * cos(radians(h.latitude)) * 
+        (6371000 * acos(LEAST(1, cos(radians(:latitude)) * cos(radians(h.latitude)) * 
         cos(radians(h.longitude) - radians(:longitude)) + 
-        sin(radians(:latitude)) * sin(radians(h.latitude)))) AS distance 
+        sin(radians(:latitude)) * sin(radians(h.latitude))))) AS distance 
         FROM hospitals h 
+        WHERE h.latitude BETWEEN :minLat AND :maxLat 
+        AND h.longitude BETWEEN :minLng AND :maxLng 
         HAVING distance <= :radius 
         ORDER BY distance
         """, nativeQuery = true)
@@ -25,6 +31,10 @@ public interface HospitalRepository extends JpaRepository<Hospital, String> {
         @Param("latitude") Double latitude,
         @Param("longitude") Double longitude,
         @Param("radius") Integer radius,
+        @Param("minLat") Double minLat,
+        @Param("maxLat") Double maxLat,
+        @Param("minLng") Double minLng,
+        @Param("maxLng") Double maxLng,
         Pageable pageable
     );
 } 
\ No newline at end of file
@@ -4,9 +4,11 @@ import com.bippobippo.hospital.entity.hospital.HospitalSubject;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
 import java.util.List;
 
 @Repository
 public interface HospitalSubjectRepository extends JpaRepository<HospitalSubject, Long> {
     List<HospitalSubject> findByYkiho(String ykiho);
+    List<HospitalSubject> findByYkihoIn(Collection<String> ykihos);
 } 
\ No newline at end of file
@@ -4,9 +4,11 @@ import com.bippobippo.hospital.entity.hospital.HospitalTime;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
 import java.util.List;
 
 @Repository
 public interface HospitalTimeRepository extends JpaRepository<HospitalTime, Long> {
     List<HospitalTime> findByYkiho(String ykiho);
+    List<HospitalTime> findByYkihoIn(Collection<String> ykihos);
 } 
\ No newline at end of file
@@ -0,0 +1,32 @@
+package com.bippobippo.hospital.scheduler.bus;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 공공데이터 API 호출 간격 제한 (여러 수집 스레드가 공유)
+ *
+ * 호출 시각 슬롯만 잠금 안에서 예약하고 대기는 잠금 밖에서 하므로,
+ * 병렬 수집 중에도 전체 호출률이 설정값을 넘지 않는다.
+ */
+class ApiRateLimiter {
+
+    private final long intervalNanos;
+    private long nextSlot = System.nanoTime();
+
+    ApiRateLimiter(double requestsPerSecond) {
+        this.intervalNanos = (long) (TimeUnit.SECONDS.toNanos(1) / Math.max(0.1, requestsPerSecond));
+    }
+
+    void acquire() throws InterruptedException {
+        long waitNanos;
+        synchronized (this) {
+            long now = System.nanoTime();
+            long slot = Math.max(now, nextSlot);
+            nextSlot = slot + intervalNanos;
+            waitNanos = slot - now;
+        }
+        if (waitNanos > 0) {
+            TimeUnit.NANOSECONDS.sleep(waitNanos);
+        }
+    }
+}
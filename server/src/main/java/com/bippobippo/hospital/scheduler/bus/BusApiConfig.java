@@ -0,0 +1,20 @@
+package com.bippobippo.hospital.scheduler.bus;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * 공공데이터 버스 API 공용 설정
+ *
+ * 위치 조회와 노선/정류장 수집이 같은 서비스 키의 호출 한도를 나눠 쓰므로
+ * 호출 간격 제한기는 하나만 만들어 모든 수집기에 주입한다.
+ */
+@Configuration
+public class BusApiConfig {
+
+    @Bean
+    ApiRateLimiter busApiRateLimiter(@Value("${bus.api.requests-per-second:4}") double requestsPerSecond) {
+        return new ApiRateLimiter(requestsPerSecond);
+    }
+}
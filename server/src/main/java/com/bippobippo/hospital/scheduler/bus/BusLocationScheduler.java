@@ -21,9 +21,11 @@ import java.net.HttpURLConnection;
 import java.net.URL;
 import java.util.*;
 import java.util.concurrent.*;
-import java.util.concurrent.atomic.AtomicInteger;
-import java.util.stream.Collectors;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
 import org.springframework.scheduling.annotation.Async;
+import javax.annotation.PostConstruct;
+import javax.annotation.PreDestroy;
 
 @Slf4j
 @Component
@@ -34,6 +36,7 @@ public class BusLocationScheduler {
     // private final BusLocationKafkaProducer kafkaProducer;
     private final BusLocationWebSocketHandler webSocketHandler;
     private final BusRouteTrackingService busRouteTrackingService;
+    private final ApiRateLimiter rateLimiter;
 
     @Value("${bus.api.serviceKey}")
     private String serviceKey;
@@ -44,274 +47,183 @@ public class BusLocationScheduler {
     // 병렬 처리를 위한 스레드 풀 설정
     private final ExecutorService executorService = Executors.newFixedThreadPool(5);
     
-    // API 호출 제한 관리 설정
-    @Value("${api.rate-limit.batch-size:5}")
-    private int batchSize;
+    // 조회 주기는 공용 스케줄러 스레드를 막지 않도록 전용 스레드에서 실행
+    private final ExecutorService pollExecutor = Executors.newSingleThreadExecutor(r -> {
+        Thread thread = new Thread(r, "bus-location-poll");
+        thread.setDaemon(true);
+        return thread;
+    });
     
-    @Value("${api.rate-limit.delay-between-batches:3000}")
-    private int delayBetweenBatches;
+    @Value("${bus.api.requests-per-second:4}")
+    private double requestsPerSecond;
     
-    @Value("${api.rate-limit.delay-after-rate-limit:15000}")
-    private int delayAfterRateLimit;
+    // 우선순위 위치 조회 설정
+    @Value("${bus.polling.enabled:false}")
+    private boolean pollingEnabled;
     
-    @Value("${api.rate-limit.max-rate-limit-retries:3}")
-    private int maxRateLimitRetries;
+    @Value("${bus.polling.tick-ms:10000}")
+    private long tickMs;
     
-    @Value("${api.rate-limit.delay-between-requests:200}")
-    private int delayBetweenRequests;
+    @Value("${bus.polling.min-interval-ms:30000}")
+    private long minIntervalMs;
     
-    @Value("${api.rate-limit.max-rate-limit-count:3}")
-    private int maxRateLimitCount;
+    @Value("${bus.polling.max-interval-ms:900000}")
+    private long maxIntervalMs;
     
-    @Value("${api.rate-limit.extended-wait-time:60000}")
-    private int extendedWaitTime;
+    @Value("${bus.polling.route-refresh-ms:600000}")
+    private long routeRefreshMs;
     
-    // 시간대별 API 호출 제한 관리
-    private int getTimeBasedDelay() {
-        int hour = java.time.LocalTime.now().getHour();
-        
-        // 새벽 시간대 (0-6시): 더 빠른 처리
-        if (hour >= 0 && hour < 6) {
-            return delayBetweenRequests / 2;
-        }
-        // 출근 시간대 (7-9시): 더 느린 처리
-        else if (hour >= 7 && hour < 10) {
-            return delayBetweenRequests * 2;
-        }
-        // 퇴근 시간대 (17-19시): 더 느린 처리
-        else if (hour >= 17 && hour < 20) {
-            return delayBetweenRequests * 2;
+    // API 호출 제한 발생 시 대기 시간
+    @Value("${api.rate-limit.delay-after-rate-limit:15000}")
+    private int delayAfterRateLimit;
+    
+    private RoutePollPlanner planner;
+    private volatile long routesLoadedAt;
+    private volatile long pausedUntil;
+    private final AtomicLong rateLimitCount = new AtomicLong();
+    private final AtomicBoolean polling = new AtomicBoolean(false);
+    
+    @PostConstruct
+    public void initialize() {
+        planner = new RoutePollPlanner(minIntervalMs, maxIntervalMs);
+    }
+    
+    // 주기마다 목표 갱신 주기를 넘긴 노선을 우선순위 순으로 조회
+    @Scheduled(fixedDelayString = "${bus.polling.tick-ms:10000}")
+    public void fetchAllBusLocations() {
+        if (!pollingEnabled) {
+            return;
         }
-        // 일반 시간대: 기본 설정 사용
-        else {
-            return delayBetweenRequests;
+        if (polling.get()) {
+            log.debug("이전 버스 위치 조회 주기가 아직 진행 중입니다.");
+            return;
         }
+        // 한 주기에 쓸 수 있는 호출 예산 = 초당 호출 수 × 주기
+        int budget = Math.max(1, (int) (requestsPerSecond * tickMs / 1000));
+        pollExecutor.execute(() -> pollCycle(budget, 1.0));
     }
     
-    // API 호출 제한 후 지능적인 대기 시간 계산
-    private int getRateLimitDelay(int retryCount) {
-        int baseDelay = delayAfterRateLimit;
-        
-        // 재시도 횟수에 따라 지수적 증가 (1, 2, 4배)
-        int multiplier = (int) Math.pow(2, retryCount - 1);
-        
-        // 최대 5분까지만 대기
-        int maxDelay = 300000; // 5분
-        int calculatedDelay = baseDelay * multiplier;
-        
-        return Math.min(calculatedDelay, maxDelay);
+    // 전체 노선 즉시 수집 (우선순위 순)
+    @Async
+    public void fetchAllBusLocationsNow() {
+        log.info("전국 버스 위치 수집 시작");
+        pollCycle(Integer.MAX_VALUE, Double.NEGATIVE_INFINITY);
     }
     
-    // 배치 처리를 위한 메서드 추가
-    private void fetchBusLocationsByBatch(List<BusRoute> routes, int batchSize) {
-        List<List<BusRoute>> batches = new ArrayList<>();
-        for (int i = 0; i < routes.size(); i += batchSize) {
-            batches.add(routes.subList(i, Math.min(i + batchSize, routes.size())));
+    private void pollCycle(int budget, double minScore) {
+        if (!polling.compareAndSet(false, true)) {
+            log.debug("이전 버스 위치 조회 주기가 아직 진행 중입니다.");
+            return;
         }
-        
-        AtomicInteger totalSuccess = new AtomicInteger(0);
-        AtomicInteger totalError = new AtomicInteger(0);
-        
-        for (List<BusRoute> batch : batches) {
-            List<Future<Void>> batchFutures = new ArrayList<>();
+        try {
+            long now = System.currentTimeMillis();
+            if (now < pausedUntil) {
+                log.debug("API 호출 제한으로 {}초간 조회를 쉽니다.", (pausedUntil - now) / 1000);
+                return;
+            }
+            refreshRoutesIfStale(now);
             
-            for (BusRoute route : batch) {
-                Future<Void> future = executorService.submit(() -> {
-                    try {
-                        fetchBusLocationsByRoute(route);
-                        totalSuccess.incrementAndGet();
-                    } catch (Exception e) {
-                        log.error("노선 {} 버스 위치 수집 실패", route.getRouteId(), e);
-                        totalError.incrementAndGet();
-                    }
-                    return null;
-                });
-                batchFutures.add(future);
+            List<BusRoute> batch = planner.nextBatch(budget, minScore, now, webSocketHandler::getSubscriberCount);
+            if (batch.isEmpty()) {
+                return;
             }
             
-            // 배치 완료 대기
-            for (Future<Void> future : batchFutures) {
+            List<Future<?>> futures = new ArrayList<>(batch.size());
+            for (BusRoute route : batch) {
+                futures.add(executorService.submit(() -> pollRoute(route)));
+            }
+            for (Future<?> future : futures) {
                 try {
                     future.get(60, TimeUnit.SECONDS); // 60초 타임아웃
                 } catch (TimeoutException e) {
-                    log.warn("배치 처리 타임아웃");
+                    log.warn("노선 위치 조회 타임아웃");
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    return;
                 } catch (Exception e) {
-                    log.error("배치 처리 실패", e);
+                    log.error("노선 위치 조회 실패", e);
                 }
             }
             
-            log.info("배치 처리 완료 - 성공: {}, 실패: {}", totalSuccess.get(), totalError.get());
+            log.info("버스 위치 조회 주기 완료 - 노선 {}/{}개, {}ms",
+                batch.size(), planner.routeCount(), System.currentTimeMillis() - now);
             
-            // API 호출 제한을 피하기 위한 지연 (배치 간 2초 대기)
-            try {
-                Thread.sleep(2000);
-            } catch (InterruptedException e) {
-                Thread.currentThread().interrupt();
-                break;
-            }
+        } catch (Exception e) {
+            log.error("버스 위치 조회 주기 중 오류 발생: {}", e.getMessage(), e);
+        } finally {
+            polling.set(false);
         }
     }
-
-    // 2분마다 실행 (API 제한 회피를 위해 주기 늘림)
-    // @Scheduled(fixedRate = 120000)
-    public void fetchAllBusLocations() {
-        log.info("전국 버스 위치 수집 시작");
-        fetchAllBusLocationsInternal();
+    
+    private void refreshRoutesIfStale(long now) {
+        if (now - routesLoadedAt < routeRefreshMs && planner.routeCount() > 0) {
+            return;
+        }
+        List<BusRoute> allRoutes = busRouteService.getAllRoutes();
+        planner.syncRoutes(allRoutes);
+        routesLoadedAt = now;
+        log.info("위치 조회 대상 노선 갱신: {}개", allRoutes.size());
     }
     
-    // 배치 처리로 모든 노선의 버스 위치 수집
-    @Async
-    public void fetchAllBusLocationsNow() {
-        log.info("전국 버스 위치 수집 시작");
-        
+    private void pollRoute(BusRoute route) {
         try {
-            List<BusRoute> allRoutes = busRouteService.getAllRoutes();
-            log.info("총 {}개 노선에 대해 버스 위치 수집 시작", allRoutes.size());
-            
-            // API 호출 제한 관리를 위한 변수들
-            int successCount = 0;
-            int failureCount = 0;
-            int rateLimitCount = 0;
-            
-            for (int i = 0; i < allRoutes.size(); i += batchSize) {
-                int endIndex = Math.min(i + batchSize, allRoutes.size());
-                List<BusRoute> batch = allRoutes.subList(i, endIndex);
-                
-                log.info("배치 처리 중: {}/{} (노선 {}개)", endIndex, allRoutes.size(), batch.size());
-                
-                for (BusRoute route : batch) {
-                    int retryCount = 0;
-                    boolean processed = false;
-                    
-                    while (!processed && retryCount < maxRateLimitRetries) {
-                        try {
-                            // API 호출 제한 체크
-                            if (rateLimitCount > maxRateLimitCount) {
-                                log.warn("API 호출 제한이 많이 발생했습니다. {}초 대기 후 재시도합니다.", extendedWaitTime / 1000);
-                                Thread.sleep(extendedWaitTime); // 설정된 시간만큼 대기
-                                rateLimitCount = 0; // 카운터 리셋
-                            }
-                            
-                            fetchBusLocationsByRoute(route);
-                            successCount++;
-                            processed = true;
-                            
-                            // 각 노선 처리 후 짧은 대기 (API 호출 제한 방지)
-                            Thread.sleep(getTimeBasedDelay());
-                            
-                        } catch (InterruptedException e) {
-                            log.error("버스 위치 수집이 중단되었습니다: {}", e.getMessage());
-                            Thread.currentThread().interrupt();
-                            return;
-                        } catch (Exception e) {
-                            String errorMsg = e.getMessage();
-                            
-                            // API 호출 제한 오류 감지
-                            if (errorMsg != null && errorMsg.contains("LIMITED_NUMBER_OF_SERVICE_REQUESTS_EXCEEDS_ERROR")) {
-                                rateLimitCount++;
-                                retryCount++;
-                                log.warn("노선 {} API 호출 제한 발생 ({}번째, 재시도 {}/{}). 잠시 대기합니다.", 
-                                    route.getRouteId(), rateLimitCount, retryCount, maxRateLimitRetries);
-                                
-                                try {
-                                    Thread.sleep(getRateLimitDelay(retryCount)); // 재시도할수록 더 오래 대기
-                                } catch (InterruptedException ie) {
-                                    Thread.currentThread().interrupt();
-                                    return;
-                                }
-                            } else {
-                                log.error("노선 {} 버스 위치 수집 실패: {}", route.getRouteId(), errorMsg);
-                                failureCount++;
-                                processed = true; // 다른 오류는 재시도하지 않음
-                            }
-                        }
-                    }
-                    
-                    // 최대 재시도 횟수를 초과한 경우
-                    if (!processed) {
-                        log.error("노선 {} 최대 재시도 횟수 초과로 처리 중단", route.getRouteId());
-                        failureCount++;
-                    }
-                }
-                
-                // 배치 처리 후 대기 (API 호출 제한 방지)
-                if (endIndex < allRoutes.size()) {
-                    try {
-                        log.info("배치 완료. {}초 대기 후 다음 배치 처리...", delayBetweenBatches / 1000);
-                        Thread.sleep(delayBetweenBatches);
-                    } catch (InterruptedException e) {
-                        log.error("배치 처리 대기 중 중단되었습니다: {}", e.getMessage());
-                        Thread.currentThread().interrupt();
-                        return;
-                    }
-                }
+            if (System.currentTimeMillis() < pausedUntil) {
+                return;
             }
-            
-            log.info("전국 버스 위치 수집 완료 - 성공: {}, 실패: {}, 호출 제한: {}회", 
-                successCount, failureCount, rateLimitCount);
-            
-        } catch (Exception e) {
-            log.error("전국 버스 위치 수집 중 오류 발생: {}", e.getMessage(), e);
+            rateLimiter.acquire();
+            List<BusLocation> locations = fetchBusLocationsByRoute(route);
+            if (locations != null) {
+                planner.recordPoll(route.getRouteId(), locations, System.currentTimeMillis());
+            } else {
+                planner.recordFailure(route.getRouteId(), System.currentTimeMillis());
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
         }
     }
     
-    private void fetchAllBusLocationsInternal() {
-        // MongoDB에서 모든 노선 조회
-        List<BusRoute> allRoutes = busRouteService.getAllRoutes();
-        log.info("총 {}개의 노선에서 버스 위치 수집 시작", allRoutes.size());
+    /**
+     * 노선별 위치 신선도 지표
+     */
+    public Map<String, Object> getPollingMetrics() {
+        long now = System.currentTimeMillis();
+        List<Map<String, Object>> routes = planner.metrics(now, webSocketHandler::getSubscriberCount);
         
-        // 도시별 노선 분포 확인
-        Map<String, Long> totalCityDistribution = allRoutes.stream()
-            .collect(Collectors.groupingBy(BusRoute::getCityCode, Collectors.counting()));
-        log.info("전체 노선의 도시별 분포: {}", totalCityDistribution);
-        
-        // 다양한 도시의 노선을 골고루 선택
-        List<BusRoute> routesToProcess = selectDiverseRoutes(allRoutes, 200);
-        
-        // 선택된 노선의 도시별 분포 로깅
-        Map<String, Long> selectedCityDistribution = routesToProcess.stream()
-            .collect(Collectors.groupingBy(BusRoute::getCityCode, Collectors.counting()));
-        log.info("선택된 노선의 도시별 분포: {}", selectedCityDistribution);
-        
-        // 배치 크기 설정 (한 번에 처리할 노선 수)
-        int batchSize = 20;
-        
-        // 배치 처리 실행
-        fetchBusLocationsByBatch(routesToProcess, batchSize);
+        // 운행 차량이 있거나 구독 중인 노선의 경과 시간 분포
+        List<Long> watchedStaleness = new ArrayList<>();
+        long neverPolled = 0;
+        for (Map<String, Object> route : routes) {
+            Object staleness = route.get("stalenessSeconds");
+            if (staleness == null) {
+                neverPolled++;
+            } else if ((int) route.get("activeVehicles") > 0 || (int) route.get("subscribers") > 0) {
+                watchedStaleness.add((Long) staleness);
+            }
+        }
+        Collections.sort(watchedStaleness);
         
-        log.info("전국 버스 위치 수집 완료 (처리된 노선: {})", routesToProcess.size());
+        Map<String, Object> metrics = new LinkedHashMap<>();
+        metrics.put("pollingEnabled", pollingEnabled);
+        metrics.put("totalRoutes", routes.size());
+        metrics.put("neverPolledRoutes", neverPolled);
+        metrics.put("watchedRoutes", watchedStaleness.size());
+        metrics.put("watchedStalenessP50Seconds", percentile(watchedStaleness, 0.5));
+        metrics.put("watchedStalenessP95Seconds", percentile(watchedStaleness, 0.95));
+        metrics.put("rateLimitCount", rateLimitCount.get());
+        metrics.put("pausedUntil", pausedUntil > now ? new Date(pausedUntil) : null);
+        metrics.put("routes", routes);
+        return metrics;
     }
     
-    // 다양한 도시의 노선을 선택하는 메서드
-    private List<BusRoute> selectDiverseRoutes(List<BusRoute> allRoutes, int maxRoutes) {
-        // 도시별로 노선을 그룹화
-        Map<String, List<BusRoute>> routesByCity = allRoutes.stream()
-            .collect(Collectors.groupingBy(BusRoute::getCityCode));
-        
-        List<BusRoute> selectedRoutes = new ArrayList<>();
-        
-        // 각 도시에서 비례적으로 노선 선택
-        for (Map.Entry<String, List<BusRoute>> entry : routesByCity.entrySet()) {
-            String cityCode = entry.getKey();
-            List<BusRoute> cityRoutes = entry.getValue();
-            
-            // 각 도시에서 최대 20개 노선 선택 (도시별 균등 분배)
-            int routesToSelect = Math.min(20, cityRoutes.size());
-            List<BusRoute> selectedCityRoutes = cityRoutes.subList(0, routesToSelect);
-            selectedRoutes.addAll(selectedCityRoutes);
-            
-            log.debug("도시 {}에서 {}개 노선 선택", cityCode, routesToSelect);
+    private static Long percentile(List<Long> sorted, double p) {
+        if (sorted.isEmpty()) {
+            return null;
         }
-        
-        // 최대 개수로 제한
-        if (selectedRoutes.size() > maxRoutes) {
-            selectedRoutes = selectedRoutes.subList(0, maxRoutes);
-        }
-        
-        return selectedRoutes;
+        return sorted.get(Math.min(sorted.size() - 1, (int) (sorted.size() * p)));
     }
 
-    private void fetchBusLocationsByRoute(BusRoute route) {
+    // 노선 버스 위치 조회 (실패 시 null)
+    private List<BusLocation> fetchBusLocationsByRoute(BusRoute route) {
         try {
             String urlString = "http://apis.data.go.kr/1613000/BusLcInfoInqireService/getRouteAcctoBusLcList"
                 + "?serviceKey=" + serviceKey
@@ -339,11 +251,19 @@ public class BusLocationScheduler {
             
             String xml = response.toString();
             
+            // API 호출 제한 - 전체 조회를 잠시 멈춤
+            if (xml.contains("LIMITED_NUMBER_OF_SERVICE_REQUESTS_EXCEEDS_ERROR")) {
+                rateLimitCount.incrementAndGet();
+                pausedUntil = System.currentTimeMillis() + delayAfterRateLimit;
+                log.warn("노선 {} API 호출 제한 발생. {}초간 조회를 중단합니다.", route.getRouteId(), delayAfterRateLimit / 1000);
+                return null;
+            }
+            
             // 에러 응답 체크
             if (xml.contains("SERVICE_KEY_IS_NOT_REGISTERED_ERROR") || 
                 xml.contains("SERVICE ERROR")) {
                 log.warn("노선 {} API 호출 실패: {}", route.getRouteId(), xml);
-                return;
+                return null;
             }
             
             List<BusLocation> locations = new ArrayList<>();
@@ -394,17 +314,28 @@ public class BusLocationScheduler {
             }
             
             if (!locations.isEmpty()) {
+                // 차량별 최신 위치 갱신 + 시간 버킷 이력 저장
+                busLocationService.saveAll(locations);
+                
                 // Kafka로 원본 데이터 전송 (비동기 처리) - 주석처리
                 // kafkaProducer.sendBusLocationBatch(route.getRouteId(), locations);
                 
                 log.debug("노선 {} ({}) 버스 위치 {}건 수집 완료 (Kafka 전송 비활성화)", 
                     route.getRouteId(), route.getRouteNo(), locations.size());
             }
+            return locations;
             
         } catch (Exception e) {
             log.error("노선 {} 버스 위치 수집 중 오류", route.getRouteId(), e);
+            return null;
         }
     }
+    
+    @PreDestroy
+    public void cleanup() {
+        pollExecutor.shutdownNow();
+        executorService.shutdownNow();
+    }
 
     private String getText(Node node, String tag) {
         Node n = node.selectSingleNode(tag);
@@ -1,13 +1,17 @@
 package com.bippobippo.hospital.scheduler.bus;
 
 import com.bippobippo.hospital.model.bus.BusRoute;
-import com.bippobippo.hospital.service.bus.BusRouteService;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.dom4j.Document;
 import org.dom4j.DocumentHelper;
 import org.dom4j.Node;
 import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.index.Index;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
 import org.springframework.scheduling.annotation.Scheduled;
 import org.springframework.stereotype.Component;
 import java.io.BufferedReader;
@@ -15,12 +19,16 @@ import java.io.InputStreamReader;
 import java.net.HttpURLConnection;
 import java.net.URL;
 import java.util.*;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
 
 @Slf4j
 @Component
 @RequiredArgsConstructor
 public class BusRouteCollector {
-    private final BusRouteService busRouteService;
+    private final MongoTemplate mongoTemplate;
+    private final ApiRateLimiter rateLimiter;
 
     @Value("${bus.api.serviceKey}")
     private String serviceKey;
@@ -28,6 +36,9 @@ public class BusRouteCollector {
     @Value("${bus.api.cities}")
     private String cities;
 
+    @Value("${bus.collector.threads:4}")
+    private int collectorThreads;
+
     // 하루에 한 번 실행 (새벽 3시)
     // @Scheduled(cron = "0 0 3 * * ?")
     public void collectAllBusRoutes() {
@@ -42,26 +53,53 @@ public class BusRouteCollector {
     }
 
     private void collectAllBusRoutesInternal() {
-        busRouteService.deleteAll();
-        log.info("기존 노선 정보 삭제 완료");
         List<City> cityList = fetchAllCities();
-        for (City city : cityList) {
-            try {
-                collectBusRoutesByCity(city.getCityCode());
-                Thread.sleep(1000); // API 호출 간격 조절
-            } catch (Exception e) {
-                log.error("도시 {} 버스 노선 수집 실패", city.getCityCode(), e);
+        if (cityList.isEmpty()) {
+            log.warn("도시코드를 가져오지 못해 기존 노선 정보를 유지합니다.");
+            return;
+        }
+
+        // 수집이 끝날 때까지 기존 노선 정보는 그대로 조회되도록 임시 컬렉션에 적재
+        StagingCollection<BusRoute> staging = StagingCollection.begin(mongoTemplate, BusRoute.class);
+        ExecutorService executor = Executors.newFixedThreadPool(collectorThreads);
+        try {
+            CompletableFuture<?>[] futures = cityList.stream()
+                .map(city -> CompletableFuture.runAsync(() -> {
+                    if (!collectBusRoutesByCity(city.getCityCode(), staging)) {
+                        // 수집 실패한 도시는 이전 노선 정보를 이어서 사용
+                        staging.carryOver(Query.query(Criteria.where("cityCode").is(city.getCityCode())));
+                    }
+                }, executor))
+                .toArray(CompletableFuture[]::new);
+            CompletableFuture.allOf(futures).join();
+
+            if (staging.getInsertedCount() == 0) {
+                staging.abort();
+                log.warn("수집된 노선이 없어 기존 노선 정보를 유지합니다.");
+                return;
             }
+
+            staging.commit(List.of(
+                new Index().on("routeId", Sort.Direction.ASC),
+                new Index().on("cityCode", Sort.Direction.ASC),
+                new Index().on("routeNo", Sort.Direction.ASC)));
+            log.info("전국 버스 노선 정보 수집 완료");
+        } catch (Exception e) {
+            staging.abort();
+            log.error("전국 버스 노선 정보 수집 중 오류", e);
+        } finally {
+            executor.shutdown();
         }
-        log.info("전국 버스 노선 정보 수집 완료");
     }
 
-    private void collectBusRoutesByCity(String cityCode) {
+    private boolean collectBusRoutesByCity(String cityCode, StagingCollection<BusRoute> staging) {
         try {
             int pageNo = 1;
             int totalCount = 0;
             
             do {
+                rateLimiter.acquire(); // API 호출 간격 조절
+                
                 String urlString = "http://apis.data.go.kr/1613000/BusRouteInfoInqireService/getRouteNoList"
                     + "?serviceKey=" + serviceKey
                     + "&cityCode=" + cityCode
@@ -92,7 +130,7 @@ public class BusRouteCollector {
                     xml.contains("APPLICATION_ERROR") ||
                     xml.contains("HTTP_ERROR")) {
                     log.warn("도시 {} API 호출 실패: {}", cityCode, xml);
-                    return;
+                    return false;
                 }
                 
                 Document doc = DocumentHelper.parseText(xml);
@@ -103,7 +141,7 @@ public class BusRouteCollector {
                     Node resultMsgNode = doc.selectSingleNode("//resultMsg");
                     log.warn("도시 {} API 에러: {} - {}", cityCode, resultCodeNode.getText(), 
                         resultMsgNode != null ? resultMsgNode.getText() : "알 수 없는 에러");
-                    return;
+                    return false;
                 }
                 
                 // 전체 개수 확인
@@ -133,7 +171,7 @@ public class BusRouteCollector {
                 }
                 
                 if (!routes.isEmpty()) {
-                    busRouteService.saveAll(routes);
+                    staging.insertAll(routes);
                     log.info("도시 {} 페이지 {} 노선 {}건 저장", cityCode, pageNo, routes.size());
                 } else {
                     log.debug("도시 {} 페이지 {} 노선 데이터 없음", cityCode, pageNo);
@@ -143,8 +181,13 @@ public class BusRouteCollector {
                 
             } while (pageNo <= Math.ceil(totalCount / 100.0));
             
+            return true;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return false;
         } catch (Exception e) {
             log.error("도시 {} 버스 노선 수집 중 오류", cityCode, e);
+            return false;
         }
     }
 
@@ -10,6 +10,11 @@ import org.dom4j.Document;
 import org.dom4j.DocumentHelper;
 import org.dom4j.Node;
 import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.index.Index;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
 import org.springframework.scheduling.annotation.Scheduled;
 import org.springframework.stereotype.Component;
 import java.io.BufferedReader;
@@ -17,6 +22,10 @@ import java.io.InputStreamReader;
 import java.net.HttpURLConnection;
 import java.net.URL;
 import java.util.*;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
 
 @Slf4j
 @Component
@@ -24,10 +33,15 @@ import java.util.*;
 public class BusRouteStationCollector {
     private final BusRouteService busRouteService;
     private final BusRouteStationService busRouteStationService;
+    private final MongoTemplate mongoTemplate;
+    private final ApiRateLimiter rateLimiter;
 
     @Value("${bus.api.serviceKey}")
     private String serviceKey;
 
+    @Value("${bus.collector.threads:4}")
+    private int collectorThreads;
+
     // 하루에 한 번 실행 (새벽 4시)
     // @Scheduled(cron = "0 0 4 * * ?")
     public void collectAllRouteStations() {
@@ -42,52 +56,74 @@ public class BusRouteStationCollector {
     }
 
     private void collectAllRouteStationsInternal() {
+        List<BusRoute> activeRoutes;
         try {
-            // 기존 데이터 삭제
-            busRouteStationService.deleteAll();
-            log.info("기존 노선별 정류장 정보 삭제 완료");
-
             // 모든 노선 조회
             List<BusRoute> allRoutes = busRouteService.getAllRoutes();
             log.info("총 {}개의 노선에서 정류장 정보 수집 시작", allRoutes.size());
 
             // 실제 운행 중인 노선만 필터링 (세종시, 부산시)
-            List<BusRoute> activeRoutes = allRoutes.stream()
+            activeRoutes = allRoutes.stream()
                 .filter(route -> "12".equals(route.getCityCode()) || "21".equals(route.getCityCode()))
                 .limit(100) // 테스트를 위해 100개로 제한
                 .toList();
+        } catch (Exception e) {
+            log.error("노선별 정류장 정보 수집 중 오류", e);
+            return;
+        }
+
+        log.info("실제 운행 중인 {}개 노선에서 정류장 정보 수집", activeRoutes.size());
+        if (activeRoutes.isEmpty()) {
+            log.warn("수집할 노선이 없어 기존 노선별 정류장 정보를 유지합니다.");
+            return;
+        }
 
-            log.info("실제 운행 중인 {}개 노선에서 정류장 정보 수집", activeRoutes.size());
-
-            int processedCount = 0;
-            for (BusRoute route : activeRoutes) {
-                try {
-                    collectRouteStations(route);
-                    processedCount++;
-                    
-                    if (processedCount % 10 == 0) {
-                        log.info("진행률: {}/{} ({}%)", processedCount, activeRoutes.size(), 
-                            (processedCount * 100) / activeRoutes.size());
+        // 수집이 끝날 때까지 기존 정류장 정보는 그대로 조회되도록 임시 컬렉션에 적재
+        StagingCollection<BusRouteStation> staging = StagingCollection.begin(mongoTemplate, BusRouteStation.class);
+        ExecutorService executor = Executors.newFixedThreadPool(collectorThreads);
+        try {
+            AtomicInteger processedCount = new AtomicInteger();
+            CompletableFuture<?>[] futures = activeRoutes.stream()
+                .map(route -> CompletableFuture.runAsync(() -> {
+                    if (!collectRouteStations(route, staging)) {
+                        // 수집 실패한 노선은 이전 정류장 정보를 이어서 사용
+                        staging.carryOver(Query.query(Criteria.where("routeId").is(route.getRouteId())));
                     }
-                    
-                    // API 호출 간격 조절
-                    Thread.sleep(500);
-                    
-                } catch (Exception e) {
-                    log.error("노선 {} 정류장 정보 수집 실패: {}", route.getRouteId(), e.getMessage());
-                }
+                    int processed = processedCount.incrementAndGet();
+                    if (processed % 10 == 0) {
+                        log.info("진행률: {}/{} ({}%)", processed, activeRoutes.size(),
+                            (processed * 100) / activeRoutes.size());
+                    }
+                }, executor))
+                .toArray(CompletableFuture[]::new);
+            CompletableFuture.allOf(futures).join();
+
+            if (staging.getInsertedCount() == 0) {
+                staging.abort();
+                log.warn("수집된 정류장 정보가 없어 기존 노선별 정류장 정보를 유지합니다.");
+                return;
             }
 
+            staging.commit(List.of(
+                new Index().on("routeId", Sort.Direction.ASC).on("stationSeq", Sort.Direction.ASC),
+                new Index().on("stationId", Sort.Direction.ASC),
+                new Index().on("cityCode", Sort.Direction.ASC)));
+
             long totalStations = busRouteStationService.getCount();
             log.info("전국 노선별 정류장 정보 수집 완료: 총 {}개 정류장 정보", totalStations);
 
         } catch (Exception e) {
+            staging.abort();
             log.error("노선별 정류장 정보 수집 중 오류", e);
+        } finally {
+            executor.shutdown();
         }
     }
 
-    private void collectRouteStations(BusRoute route) {
+    private boolean collectRouteStations(BusRoute route, StagingCollection<BusRouteStation> staging) {
         try {
+            rateLimiter.acquire(); // API 호출 간격 조절
+
             String urlString = "http://apis.data.go.kr/1613000/BusRouteInfoInqireService/getRouteAcctoThrghSttnList"
                 + "?serviceKey=" + serviceKey
                 + "&cityCode=" + route.getCityCode()
@@ -118,7 +154,7 @@ public class BusRouteStationCollector {
             if (xml.contains("SERVICE_KEY_IS_NOT_REGISTERED_ERROR") || 
                 xml.contains("SERVICE ERROR")) {
                 log.warn("노선 {} 정류장 API 호출 실패: {}", route.getRouteId(), xml);
-                return;
+                return false;
             }
 
             Document doc = DocumentHelper.parseText(xml);
@@ -142,14 +178,19 @@ public class BusRouteStationCollector {
             }
 
             if (!routeStations.isEmpty()) {
-                busRouteStationService.saveAll(routeStations);
+                staging.insertAll(routeStations);
                 log.debug("노선 {} 정류장 {}개 저장 완료", route.getRouteId(), routeStations.size());
             } else {
                 log.debug("노선 {} 정류장 데이터 없음", route.getRouteId());
             }
+            return true;
 
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return false;
         } catch (Exception e) {
             log.error("노선 {} 정류장 정보 수집 중 오류", route.getRouteId(), e);
+            return false;
         }
     }
 
@@ -6,121 +6,130 @@ import com.bippobippo.hospital.service.bus.BusRouteStationService;
 import com.bippobippo.hospital.service.bus.BusStationRouteService;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.bson.Document;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.aggregation.Aggregation;
+import org.springframework.data.mongodb.core.aggregation.AggregationOptions;
+import org.springframework.data.mongodb.core.aggregation.ComparisonOperators;
+import org.springframework.data.mongodb.core.aggregation.ConditionalOperators;
+import org.springframework.data.mongodb.core.aggregation.MergeOperation;
+import org.springframework.data.mongodb.core.index.Index;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
 import org.springframework.scheduling.annotation.Scheduled;
 import org.springframework.stereotype.Component;
 
 import java.util.*;
-import java.util.stream.Collectors;
 
 @Slf4j
 @Component
 @RequiredArgsConstructor
 public class BusStationRouteCollector {
-    
+
     private final BusRouteStationService busRouteStationService;
     private final BusStationRouteService busStationRouteService;
-    
+    private final MongoTemplate mongoTemplate;
+
     // 하루에 한 번 실행 (새벽 5시)
     // @Scheduled(cron = "0 0 5 * * ?")
     public void generateStationRoutes() {
         log.info("정류장별 정차 버스 정보 생성 시작");
         generateStationRoutesInternal();
     }
-    
+
     // 수동 실행용
     public void generateStationRoutesNow() {
         log.info("정류장별 정차 버스 정보 즉시 생성 시작");
         generateStationRoutesInternal();
     }
-    
+
     private void generateStationRoutesInternal() {
         try {
-            // 기존 데이터 삭제
-            busStationRouteService.deleteAll();
-            log.info("기존 정류장별 정차 버스 정보 삭제 완료");
-            
-            // 모든 노선별 정류장 데이터 조회
-            List<BusRouteStation> allRouteStations = busRouteStationService.getAllRouteStations();
-            log.info("총 {}개의 노선별 정류장 데이터에서 정류장별 정차 버스 정보 생성", allRouteStations.size());
-            
-            if (allRouteStations.isEmpty()) {
+            long routeStationCount = busRouteStationService.getCount();
+            log.info("총 {}개의 노선별 정류장 데이터에서 정류장별 정차 버스 정보 생성", routeStationCount);
+
+            if (routeStationCount == 0) {
                 log.warn("노선별 정류장 데이터가 없습니다. BusRouteStationCollector를 먼저 실행해주세요.");
                 return;
             }
-            
-            // 정류장별로 그룹화
-            Map<String, List<BusRouteStation>> stationsByStationId = allRouteStations.stream()
-                .collect(Collectors.groupingBy(BusRouteStation::getStationId));
-            
-            log.info("총 {}개의 고유 정류장에서 정차 버스 정보 생성", stationsByStationId.size());
-            
-            int processedCount = 0;
-            for (Map.Entry<String, List<BusRouteStation>> entry : stationsByStationId.entrySet()) {
-                String stationId = entry.getKey();
-                List<BusRouteStation> routeStations = entry.getValue();
-                
-                try {
-                    generateStationRoute(stationId, routeStations);
-                    processedCount++;
-                    
-                    if (processedCount % 1000 == 0) {
-                        log.info("진행률: {}/{} ({}%)", processedCount, stationsByStationId.size(), 
-                            (processedCount * 100) / stationsByStationId.size());
-                    }
-                    
-                } catch (Exception e) {
-                    log.error("정류장 {} 정차 버스 정보 생성 실패: {}", stationId, e.getMessage());
-                }
-            }
-            
+
+            String sourceCollection = mongoTemplate.getCollectionName(BusRouteStation.class);
+            String targetCollection = mongoTemplate.getCollectionName(BusStationRoute.class);
+            ensureIndexes(targetCollection);
+
+            // 정류장별 그룹화를 서버에서 수행하고 정류장 단위로 덮어쓰므로
+            // JVM 에 전체 노선별 정류장을 올리지 않고, 조회 중에도 정류장 문서가 비지 않는다
+            Date runStartedAt = new Date();
+            mongoTemplate.aggregate(
+                buildStationRouteAggregation(targetCollection, runStartedAt),
+                sourceCollection,
+                Document.class);
+
+            // 이번 실행에서 갱신되지 않은 정류장은 더 이상 정차 노선이 없는 정류장
+            Query staleQuery = Query.query(new Criteria().orOperator(
+                Criteria.where("updatedAt").lt(runStartedAt),
+                Criteria.where("updatedAt").exists(false)));
+            long removed = mongoTemplate.remove(staleQuery, targetCollection).getDeletedCount();
+
             long totalStations = busStationRouteService.getCount();
-            log.info("정류장별 정차 버스 정보 생성 완료: 총 {}개 정류장", totalStations);
-            
+            log.info("정류장별 정차 버스 정보 생성 완료: 총 {}개 정류장 (제거 {}개, {}ms)",
+                totalStations, removed, System.currentTimeMillis() - runStartedAt.getTime());
+
         } catch (Exception e) {
             log.error("정류장별 정차 버스 정보 생성 중 오류", e);
         }
     }
-    
-    private void generateStationRoute(String stationId, List<BusRouteStation> routeStations) {
-        if (routeStations.isEmpty()) {
-            return;
-        }
-        
-        // 첫 번째 데이터로 정류장 기본 정보 설정
-        BusRouteStation first = routeStations.get(0);
-        String stationName = first.getStationNm();
-        String cityCode = first.getCityCode();
-        String gpsY = first.getGpsY();
-        String gpsX = first.getGpsX();
-        
-        // 해당 정류장에 정차하는 노선들 정보 생성
-        List<BusStationRoute.RouteInfo> routes = routeStations.stream()
-            .map(this::convertToRouteInfo)
-            .collect(Collectors.toList());
-        
-        // 정류장별 정차 버스 정보 저장
-        busStationRouteService.updateStationRoutes(stationId, stationName, cityCode, gpsY, gpsX, routes);
-    }
-    
-    private BusStationRoute.RouteInfo convertToRouteInfo(BusRouteStation routeStation) {
-        return BusStationRoute.RouteInfo.builder()
-            .routeId(routeStation.getRouteId())
-            .routeNo(routeStation.getRouteNo())
-            .routeNm(routeStation.getRouteNo()) // routeNo를 routeNm으로 사용
-            .stationSeq(routeStation.getStationSeq())
-            .direction(determineDirection(routeStation.getStationSeq()))
-            .firstBusTime("05:00") // 기본값
-            .lastBusTime("24:00")  // 기본값
-            .interval(10)          // 기본 배차간격 10분
-            .build();
+
+    /**
+     * bus_route_stations → bus_station_routes 역색인 파이프라인
+     *
+     * $project 로 운행방향 등 기본값을 계산하고, stationId 로 $group 한 뒤
+     * _id(=stationId) 기준 $merge 로 정류장 문서를 교체/추가한다.
+     */
+    private Aggregation buildStationRouteAggregation(String targetCollection, Date updatedAt) {
+        return Aggregation.newAggregation(
+            Aggregation.match(Criteria.where("stationId").ne(null)),
+            Aggregation.project("stationId", "stationNm", "cityCode", "gpsY", "gpsX", "routeId", "routeNo", "stationSeq")
+                // 간단한 로직: 순서가 작으면 상행, 크면 하행
+                .and(ConditionalOperators.when(ComparisonOperators.valueOf("stationSeq").lessThanEqualToValue(20))
+                    .then("상행")
+                    .otherwise("하행")).as("direction"),
+            Aggregation.sort(Sort.Direction.ASC, "stationId", "routeId", "stationSeq"),
+            Aggregation.group("stationId")
+                .first("stationNm").as("stationNm")
+                .first("cityCode").as("cityCode")
+                .first("gpsY").as("gpsY")
+                .first("gpsX").as("gpsX")
+                .push(new Document("routeId", "$routeId")
+                    .append("routeNo", "$routeNo")
+                    .append("routeNm", "$routeNo") // routeNo를 routeNm으로 사용
+                    .append("stationSeq", "$stationSeq")
+                    .append("direction", "$direction")
+                    .append("firstBusTime", "05:00") // 기본값
+                    .append("lastBusTime", "24:00")  // 기본값
+                    .append("interval", 10))         // 기본 배차간격 10분
+                .as("routes"),
+            Aggregation.addFields()
+                .addFieldWithValue("stationId", "$_id")
+                .addFieldWithValue("updatedAt", updatedAt)
+                .build(),
+            Aggregation.merge()
+                .intoCollection(targetCollection)
+                .on("_id")
+                .whenMatched(MergeOperation.WhenDocumentsMatch.replaceDocument())
+                .whenDocumentsDontMatch(MergeOperation.WhenDocumentsDontMatch.insertNewDocument())
+                .build()
+        ).withOptions(AggregationOptions.builder().allowDiskUse(true).build());
     }
-    
-    private String determineDirection(int stationSeq) {
-        // 간단한 로직: 순서가 작으면 상행, 크면 하행
-        if (stationSeq <= 20) {
-            return "상행";
-        } else {
-            return "하행";
-        }
+
+    private void ensureIndexes(String targetCollection) {
+        List<Index> indexes = List.of(
+            new Index().on("stationId", Sort.Direction.ASC),
+            new Index().on("stationNm", Sort.Direction.ASC),
+            new Index().on("cityCode", Sort.Direction.ASC),
+            new Index().on("routes.routeId", Sort.Direction.ASC),
+            new Index().on("updatedAt", Sort.Direction.ASC));
+        indexes.forEach(index -> mongoTemplate.indexOps(targetCollection).ensureIndex(index));
     }
-} 
\ No newline at end of file
+}
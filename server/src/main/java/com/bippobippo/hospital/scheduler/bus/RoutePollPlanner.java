@@ -0,0 +1,182 @@
+package com.bippobippo.hospital.scheduler.bus;
+
+import com.bippobippo.hospital.model.bus.BusLocation;
+import com.bippobippo.hospital.model.bus.BusRoute;
+
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.ToIntFunction;
+
+/**
+ * 노선별 위치 조회 우선순위 계획
+ *
+ * 노선마다 중요도(운행 차량 수, WebSocket 구독자 수, 최근 위치 변화율)로 목표 갱신 주기를 정하고,
+ * 마지막 조회 이후 경과 시간을 목표 주기로 나눈 값(score)이 큰 노선부터 조회한다.
+ * score 가 1 이상이면 목표 주기를 넘긴 상태이므로, 한 주기의 호출 예산은 그런 노선에만 쓴다.
+ */
+class RoutePollPlanner {
+
+    // 위치 변화율 지수 이동 평균 계수
+    private static final double CHANGE_RATE_ALPHA = 0.3;
+    // 한 번도 조회하지 않은 노선의 기본 score (중요도 순으로 먼저 조회)
+    private static final double NEVER_POLLED_SCORE = 1_000.0;
+
+    private final long minIntervalMs;
+    private final long maxIntervalMs;
+    private final Map<String, RouteState> states = new ConcurrentHashMap<>();
+
+    RoutePollPlanner(long minIntervalMs, long maxIntervalMs) {
+        this.minIntervalMs = minIntervalMs;
+        this.maxIntervalMs = Math.max(minIntervalMs, maxIntervalMs);
+    }
+
+    /**
+     * 노선 목록 동기화 - 새 노선 추가, 사라진 노선 제거
+     */
+    void syncRoutes(List<BusRoute> routes) {
+        Set<String> routeIds = new HashSet<>();
+        for (BusRoute route : routes) {
+            routeIds.add(route.getRouteId());
+            states.computeIfAbsent(route.getRouteId(), k -> new RouteState(route));
+        }
+        states.keySet().retainAll(routeIds);
+    }
+
+    /**
+     * 이번 주기에 조회할 노선 (score 내림차순, score 가 minScore 이상인 노선 중 최대 budget 개)
+     */
+    List<BusRoute> nextBatch(int budget, double minScore, long now, ToIntFunction<String> subscriberCount) {
+        PriorityQueue<RouteState> due = new PriorityQueue<>(Comparator.comparingDouble(s -> s.score));
+        for (RouteState state : states.values()) {
+            state.subscribers = subscriberCount.applyAsInt(state.route.getRouteId());
+            state.score = score(state, now);
+            if (state.score < minScore) {
+                continue;
+            }
+            // 상위 budget 개만 유지하는 최소 힙
+            if (due.size() < budget) {
+                due.add(state);
+            } else if (!due.isEmpty() && due.peek().score < state.score) {
+                due.poll();
+                due.add(state);
+            }
+        }
+
+        List<BusRoute> batch = new ArrayList<>(due.size());
+        while (!due.isEmpty()) {
+            batch.add(due.poll().route);
+        }
+        Collections.reverse(batch);
+        return batch;
+    }
+
+    /**
+     * 조회 결과 반영 - 차량 수, 위치 변화 여부
+     */
+    void recordPoll(String routeId, List<BusLocation> locations, long now) {
+        RouteState state = states.get(routeId);
+        if (state == null) {
+            return;
+        }
+
+        long fingerprint = fingerprint(locations);
+        boolean changed = state.polls == 0 || fingerprint != state.fingerprint;
+
+        state.fingerprint = fingerprint;
+        state.activeVehicles = locations.size();
+        state.changeRate += CHANGE_RATE_ALPHA * ((changed ? 1.0 : 0.0) - state.changeRate);
+        state.lastPolledAt = now;
+        if (changed) {
+            state.lastChangedAt = now;
+        }
+        state.polls++;
+    }
+
+    /**
+     * 조회 실패 - 다음 주기에 다시 시도하되 바로 재시도하지는 않도록 조회 시각만 갱신
+     */
+    void recordFailure(String routeId, long now) {
+        RouteState state = states.get(routeId);
+        if (state != null) {
+            state.lastPolledAt = now;
+            state.failures++;
+        }
+    }
+
+    int routeCount() {
+        return states.size();
+    }
+
+    /**
+     * 노선별 신선도 지표 (경과 시간이 긴 순)
+     */
+    List<Map<String, Object>> metrics(long now, ToIntFunction<String> subscriberCount) {
+        List<RouteState> sorted = new ArrayList<>(states.values());
+        sorted.sort(Comparator.comparingLong((RouteState s) -> s.lastPolledAt));
+
+        List<Map<String, Object>> metrics = new ArrayList<>(sorted.size());
+        for (RouteState state : sorted) {
+            state.subscribers = subscriberCount.applyAsInt(state.route.getRouteId());
+            Map<String, Object> metric = new LinkedHashMap<>();
+            metric.put("routeId", state.route.getRouteId());
+            metric.put("routeNo", state.route.getRouteNo());
+            metric.put("cityCode", state.route.getCityCode());
+            metric.put("activeVehicles", state.activeVehicles);
+            metric.put("subscribers", state.subscribers);
+            metric.put("changeRate", Math.round(state.changeRate * 100.0) / 100.0);
+            metric.put("targetIntervalSeconds", targetIntervalMs(state) / 1000);
+            metric.put("stalenessSeconds", state.lastPolledAt > 0 ? (now - state.lastPolledAt) / 1000 : null);
+            metric.put("lastChangedAt", state.lastChangedAt > 0 ? new Date(state.lastChangedAt) : null);
+            metric.put("polls", state.polls);
+            metric.put("failures", state.failures);
+            metrics.add(metric);
+        }
+        return metrics;
+    }
+
+    private double score(RouteState state, long now) {
+        if (state.lastPolledAt == 0) {
+            return NEVER_POLLED_SCORE + importance(state);
+        }
+        return (double) (now - state.lastPolledAt) / targetIntervalMs(state);
+    }
+
+    // 중요도가 높을수록 목표 주기가 짧아짐 (최소/최대 주기 사이)
+    private long targetIntervalMs(RouteState state) {
+        long interval = (long) (maxIntervalMs / importance(state));
+        return Math.max(minIntervalMs, Math.min(maxIntervalMs, interval));
+    }
+
+    private static double importance(RouteState state) {
+        return 1.0
+            + Math.min(state.activeVehicles, 20) / 4.0  // 운행 차량 (최대 +5)
+            + state.subscribers * 3.0                     // 지켜보는 사용자
+            + state.changeRate * 2.0;                     // 최근 위치 변화
+    }
+
+    private static long fingerprint(List<BusLocation> locations) {
+        long hash = locations.size();
+        for (BusLocation location : locations) {
+            // 순서와 무관하도록 차량별 해시를 더함
+            hash += Objects.hash(location.getVehicleNo(), location.getGpsLat(), location.getGpsLong(), location.getNodeId());
+        }
+        return hash;
+    }
+
+    private static final class RouteState {
+        private final BusRoute route;
+        private volatile long lastPolledAt;
+        private volatile long lastChangedAt;
+        private volatile int activeVehicles;
+        private volatile double changeRate;
+        private volatile long fingerprint;
+        private volatile long polls;
+        private volatile long failures;
+        private int subscribers;
+        private double score;
+
+        private RouteState(BusRoute route) {
+            this.route = route;
+        }
+    }
+}
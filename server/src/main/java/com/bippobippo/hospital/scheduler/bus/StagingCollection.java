@@ -0,0 +1,90 @@
+package com.bippobippo.hospital.scheduler.bus;
+
+import com.mongodb.MongoNamespace;
+import com.mongodb.client.model.RenameCollectionOptions;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.data.mongodb.core.BulkOperations;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.index.IndexDefinition;
+import org.springframework.data.mongodb.core.query.Query;
+
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * 수집 중에는 임시(staging) 컬렉션에 적재하고, 완료 시 원본 컬렉션과 원자적으로 교체
+ *
+ * 교체 전까지 조회 쪽은 이전 데이터를 그대로 보므로 비어 있거나 일부만 적재된
+ * 상태가 노출되지 않는다. 실패 시 {@link #abort()} 로 임시 컬렉션만 버린다.
+ */
+@Slf4j
+class StagingCollection<T> {
+
+    private final MongoTemplate mongoTemplate;
+    private final Class<T> entityClass;
+    private final String targetName;
+    private final String stagingName;
+    private final AtomicLong insertedCount = new AtomicLong();
+
+    private StagingCollection(MongoTemplate mongoTemplate, Class<T> entityClass) {
+        this.mongoTemplate = mongoTemplate;
+        this.entityClass = entityClass;
+        this.targetName = mongoTemplate.getCollectionName(entityClass);
+        this.stagingName = targetName + "_staging";
+    }
+
+    /**
+     * 이전 실행에서 남은 임시 컬렉션을 비우고 새로 시작
+     */
+    static <T> StagingCollection<T> begin(MongoTemplate mongoTemplate, Class<T> entityClass) {
+        StagingCollection<T> staging = new StagingCollection<>(mongoTemplate, entityClass);
+        mongoTemplate.dropCollection(staging.stagingName);
+        mongoTemplate.createCollection(staging.stagingName);
+        return staging;
+    }
+
+    /**
+     * 순서 보장 없는 bulk insert (여러 스레드에서 동시에 호출 가능)
+     */
+    void insertAll(List<T> documents) {
+        if (documents.isEmpty()) {
+            return;
+        }
+        mongoTemplate.bulkOps(BulkOperations.BulkMode.UNORDERED, entityClass, stagingName)
+            .insert(documents)
+            .execute();
+        insertedCount.addAndGet(documents.size());
+    }
+
+    /**
+     * 일부 수집에 실패한 범위는 임시 컬렉션에서 지우고 원본의 이전 데이터로 채움
+     */
+    void carryOver(Query query) {
+        mongoTemplate.remove(query, stagingName);
+        List<T> previous = mongoTemplate.find(query, entityClass, targetName);
+        insertAll(previous);
+        log.info("{} 이전 데이터 {}건 유지", targetName, previous.size());
+    }
+
+    long getInsertedCount() {
+        return insertedCount.get();
+    }
+
+    /**
+     * 임시 컬렉션에 인덱스를 만든 뒤 원본 컬렉션과 교체 (renameCollection dropTarget)
+     */
+    void commit(List<? extends IndexDefinition> indexes) {
+        for (IndexDefinition index : indexes) {
+            mongoTemplate.indexOps(stagingName).ensureIndex(index);
+        }
+        mongoTemplate.getCollection(stagingName).renameCollection(
+            new MongoNamespace(mongoTemplate.getDb().getName(), targetName),
+            new RenameCollectionOptions().dropTarget(true));
+        log.info("{} 컬렉션 교체 완료 ({}건)", targetName, mongoTemplate.getCollection(targetName).estimatedDocumentCount());
+    }
+
+    void abort() {
+        mongoTemplate.dropCollection(stagingName);
+        log.warn("{} 임시 컬렉션 폐기", stagingName);
+    }
+}
@@ -0,0 +1,77 @@
+package com.bippobippo.hospital.security;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import javax.annotation.PostConstruct;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.security.core.userdetails.UserDetails;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.Duration;
+import java.util.function.Supplier;
+
+/**
+ * JWT 인증 요청에서 조회한 UserDetails 캐시
+ *
+ * (사용자 이름, 토큰 ID) 단위로 짧은 시간 보관하며, 역할/비밀번호 변경 시 해당 사용자의
+ * 항목을 모두 무효화한다. 트랜잭션 안에서 무효화하면 커밋 후에도 한 번 더 무효화해서
+ * 커밋 전에 다시 읽힌 이전 값이 남지 않도록 한다.
+ */
+@Component
+public class AuthenticatedUserCache {
+
+    private static final Logger log = LoggerFactory.getLogger(AuthenticatedUserCache.class);
+
+    @Value("${jwt.user-cache.ttl-seconds:60}")
+    private long ttlSeconds;
+
+    @Value("${jwt.user-cache.max-size:10000}")
+    private long maxSize;
+
+    private Cache<String, UserDetails> cache;
+
+    @PostConstruct
+    public void init() {
+        this.cache = Caffeine.newBuilder()
+                .maximumSize(maxSize)
+                .expireAfterWrite(Duration.ofSeconds(ttlSeconds))
+                .build();
+    }
+
+    public UserDetails get(String username, String tokenId, Supplier<UserDetails> loader) {
+        return cache.get(key(username, tokenId), k -> loader.get());
+    }
+
+    /**
+     * 사용자의 캐시 항목을 모두 제거 (역할, 비밀번호 등 인증 정보 변경 시 호출)
+     */
+    public void invalidate(String username) {
+        if (username == null) {
+            return;
+        }
+        evict(username);
+
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    evict(username);
+                }
+            });
+        }
+    }
+
+    private void evict(String username) {
+        String prefix = username + ":";
+        cache.asMap().keySet().removeIf(key -> key.startsWith(prefix));
+        log.debug("Authenticated user cache invalidated for user: {}", username);
+    }
+
+    private static String key(String username, String tokenId) {
+        return username + ":" + tokenId;
+    }
+}
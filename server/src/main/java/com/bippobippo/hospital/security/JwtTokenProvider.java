@@ -16,6 +16,7 @@ import org.springframework.stereotype.Component;
 import javax.crypto.SecretKey;
 import java.nio.charset.StandardCharsets;
 import java.util.Date;
+import java.util.UUID;
 import java.util.stream.Collectors;
 
 @Component
@@ -32,10 +33,16 @@ public class JwtTokenProvider {
 
     private SecretKey key;
 
+    // 파서는 스레드 안전하므로 한 번만 생성해서 재사용
+    private JwtParser parser;
+
     @PostConstruct
     public void init() {
         byte[] keyBytes = jwtSecret.getBytes(StandardCharsets.UTF_8);
         this.key = Keys.hmacShaKeyFor(keyBytes);
+        this.parser = Jwts.parserBuilder()
+                .setSigningKey(key)
+                .build();
     }
 
     public String createToken(Authentication authentication) {
@@ -50,6 +57,7 @@ public class JwtTokenProvider {
 
         String token = Jwts.builder()
                 .setSubject(username)
+                .setId(UUID.randomUUID().toString())
                 .claim("roles", authorities)
                 .setIssuedAt(now)
                 .setExpiration(expiryDate)
@@ -59,12 +67,21 @@ public class JwtTokenProvider {
         return token;
     }
 
+    /**
+     * 서명·만료 검증과 클레임 추출을 한 번의 파싱으로 처리 (실패 시 JwtException)
+     */
     public Claims getClaimsFromToken(String token) {
-        return Jwts.parserBuilder()
-                .setSigningKey(key)
-                .build()
-                .parseClaimsJws(token)
-                .getBody();
+        return parser.parseClaimsJws(token).getBody();
+    }
+
+    /**
+     * 캐시 키로 쓸 토큰 식별자 - jti 가 없는 이전 토큰은 발급 시각으로 대체
+     */
+    public String getTokenId(Claims claims) {
+        if (claims.getId() != null) {
+            return claims.getId();
+        }
+        return claims.getIssuedAt() != null ? "iat-" + claims.getIssuedAt().getTime() : "none";
     }
 
     public String getUsernameFromToken(String token) {
@@ -73,10 +90,7 @@ public class JwtTokenProvider {
 
     public boolean validateToken(String token) {
         try {
-            Jwts.parserBuilder()
-                .setSigningKey(key)
-                .build()
-                .parseClaimsJws(token);
+            parser.parseClaimsJws(token);
             log.debug("Token validation successful");
             return true;
         } catch (SignatureException ex) {
@@ -6,7 +6,8 @@ import com.bippobippo.hospital.entity.user.User;
 import com.bippobippo.hospital.entity.user.Role;
 import com.bippobippo.hospital.repository.user.UserRepository;
 import com.bippobippo.hospital.repository.user.RoleRepository;
-import com.bippobippo.hospital.repository.common.SocialConfigRepository;
+import com.bippobippo.hospital.config.ConfigSnapshotCache;
+import com.bippobippo.hospital.security.AuthenticatedUserCache;
 import com.bippobippo.hospital.security.JwtTokenProvider;
 import com.bippobippo.hospital.service.common.EmailService;
 import lombok.RequiredArgsConstructor;
@@ -47,12 +48,13 @@ public class AuthService {
 
     private final UserRepository userRepository;
     private final RoleRepository roleRepository;
-    private final SocialConfigRepository socialConfigRepository;
+    private final ConfigSnapshotCache configSnapshotCache;
     private final PasswordEncoder passwordEncoder;
     private final AuthenticationManager authenticationManager;
     private final JwtTokenProvider jwtTokenProvider;
     private final RestTemplate restTemplate;
     private final EmailService emailService;
+    private final AuthenticatedUserCache authenticatedUserCache;
 
     public void register(RegisterRequest request) {
         // 아이디 중복 체크
@@ -129,7 +131,7 @@ public class AuthService {
 
     @Transactional
     public Map<String, Object> handleNaverCallback(String code, String state) {
-        var config = socialConfigRepository.findByProviderAndIsActive("naver", true)
+        var config = configSnapshotCache.findActiveSocialConfig("naver")
                 .orElseThrow(() -> new RuntimeException("네이버 로그인 설정을 찾을 수 없습니다."));
 
         // 액세스 토큰 요청
@@ -214,7 +216,7 @@ public class AuthService {
         try {
             log.info("카카오 콜백 처리 시작 - code: {}", code);
             
-            var config = socialConfigRepository.findByProviderAndIsActive("kakao", true)
+            var config = configSnapshotCache.findActiveSocialConfig("kakao")
                     .orElseThrow(() -> new RuntimeException("카카오 로그인 설정을 찾을 수 없습니다."));
             log.info("카카오 설정 로드 완료 - clientId: {}", config.getClientId());
 
@@ -351,7 +353,7 @@ public class AuthService {
 
     @Transactional
     public Map<String, Object> handleGoogleCallback(String code) {
-        var config = socialConfigRepository.findByProviderAndIsActive("google", true)
+        var config = configSnapshotCache.findActiveSocialConfig("google")
                 .orElseThrow(() -> new RuntimeException("구글 로그인 설정을 찾을 수 없습니다."));
 
         // 액세스 토큰 요청
@@ -436,7 +438,7 @@ public class AuthService {
 
     @Transactional(readOnly = true)
     public Map<String, Object> getSocialConfig(String provider) {
-        var config = socialConfigRepository.findByProviderAndIsActive(provider, true)
+        var config = configSnapshotCache.findActiveSocialConfig(provider)
                 .orElseThrow(() -> new RuntimeException("소셜 로그인 설정을 찾을 수 없습니다."));
 
         Map<String, Object> result = new HashMap<>();
@@ -521,6 +523,7 @@ public class AuthService {
         user.setResetTokenExpiry(null);
         
         userRepository.save(user);
+        authenticatedUserCache.invalidate(user.getUsername());
         log.info("비밀번호 재설정 완료: {}", user.getEmail());
     }
 } 
\ No newline at end of file
@@ -5,12 +5,18 @@ import com.bippobippo.hospital.model.bus.BusLocation;
 import com.bippobippo.hospital.model.bus.BusStation;
 import com.bippobippo.hospital.model.bus.BusRouteStation;
 import com.bippobippo.hospital.model.bus.BusStationRoute;
+import com.bippobippo.hospital.util.WeeklySchedule;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
 
+import javax.annotation.PostConstruct;
+import java.time.ZonedDateTime;
 import java.util.*;
-import java.util.stream.Collectors;
+import java.util.concurrent.TimeUnit;
 import java.util.Optional;
 
 @Slf4j
@@ -18,11 +24,41 @@ import java.util.Optional;
 @RequiredArgsConstructor
 public class BusArrivalPredictionService {
     
+    // 순서 기반이므로 10km까지 허용
+    private static final double MAX_PREDICTION_DISTANCE_KM = 10.0;
+    
     private final BusLocationService busLocationService;
     private final BusStationService busStationService;
     private final BusRouteService busRouteService;
     private final BusRouteStationService busRouteStationService;
     private final BusStationRouteService busStationRouteService;
+    private final SegmentTravelTimeService segmentTravelTimeService;
+    
+    @Value("${bus.prediction.matrix-ttl-ms:15000}")
+    private long matrixTtlMs;
+    
+    @Value("${bus.prediction.topology-ttl-ms:600000}")
+    private long topologyTtlMs;
+    
+    @Value("${bus.prediction.matrix-cache-size:2000}")
+    private long matrixCacheSize;
+    
+    // 노선별 정류장 배열 / ETA 행렬 캐시 (정류장 전광판 조회가 같은 노선 행렬을 공유)
+    // 조회된 노선 수만큼 늘어나지 않도록 크기와 TTL 로 제한
+    private Cache<String, RouteTopology> topologyCache;
+    private Cache<String, RouteEtaMatrix> matrixCache;
+    
+    @PostConstruct
+    public void init() {
+        this.topologyCache = Caffeine.newBuilder()
+            .maximumSize(matrixCacheSize)
+            .expireAfterWrite(topologyTtlMs, TimeUnit.MILLISECONDS)
+            .build();
+        this.matrixCache = Caffeine.newBuilder()
+            .maximumSize(matrixCacheSize)
+            .expireAfterWrite(matrixTtlMs, TimeUnit.MILLISECONDS)
+            .build();
+    }
     
     // 정류장별 버스 도착 예측
     public List<BusArrivalPrediction> predictArrivalsForStation(String stationId) {
@@ -44,31 +80,12 @@ public class BusArrivalPredictionService {
             if (stationRoute.isPresent()) {
                 log.debug("BusStationRoute에서 정류장 {} 정차 버스 {}개 발견", stationId, stationRoute.get().getRoutes().size());
                 
-                // 3. 각 노선별로 버스 위치 조회 및 도착 예측
+                // 3. 각 노선의 ETA 행렬에서 해당 정류장 열을 읽음
                 for (BusStationRoute.RouteInfo routeInfo : stationRoute.get().getRoutes()) {
-                    String routeId = routeInfo.getRouteId();
-                    
-                    // 해당 노선의 버스 위치 조회
-                    List<BusLocation> routeBusLocations = busLocationService.getBusLocations(routeId);
-                    
-                    if (routeBusLocations.isEmpty()) {
-                        log.debug("노선 {}에 운행 중인 버스가 없습니다.", routeId);
-                        continue;
-                    }
-                    
-                    log.debug("노선 {}에 {}개 버스 운행 중", routeId, routeBusLocations.size());
-                    
-                    // 4. 각 버스별로 도착 시간 예측
-                    for (BusLocation busLocation : routeBusLocations) {
-                        BusArrivalPrediction prediction = predictArrivalForBusWithRouteInfo(
-                            busLocation, station, routeInfo);
-                        if (prediction != null) {
-                            predictions.add(prediction);
-                        }
-                    }
+                    collectStationPredictions(routeInfo.getRouteId(), routeInfo.getStationSeq(), station, predictions);
                 }
                 
-                // 5. 도착 시간순으로 정렬
+                // 4. 도착 시간순으로 정렬
                 predictions.sort(Comparator.comparing(BusArrivalPrediction::getEstimatedArrivalMinutes));
                 
                 log.info("정류장 {} 도착 예측 완료: {}개 버스 (BusStationRoute 기반)", 
@@ -110,31 +127,12 @@ public class BusArrivalPredictionService {
             
             log.debug("정류장 {}을 경유하는 {}개 노선 발견", stationId, routeStations.size());
             
-            // 3. 각 노선별로 버스 위치 조회 및 도착 예측
+            // 3. 각 노선의 ETA 행렬에서 해당 정류장 열을 읽음
             for (BusRouteStation routeStation : routeStations) {
-                String routeId = routeStation.getRouteId();
-                
-                // 해당 노선의 버스 위치 조회
-                List<BusLocation> routeBusLocations = busLocationService.getBusLocations(routeId);
-                
-                if (routeBusLocations.isEmpty()) {
-                    log.debug("노선 {}에 운행 중인 버스가 없습니다.", routeId);
-                    continue;
-                }
-                
-                log.debug("노선 {}에 {}개 버스 운행 중", routeId, routeBusLocations.size());
-                
-                // 4. 각 버스별로 도착 시간 예측
-                for (BusLocation busLocation : routeBusLocations) {
-                    BusArrivalPrediction prediction = predictArrivalForBus(
-                        busLocation, station, routeStation);
-                    if (prediction != null) {
-                        predictions.add(prediction);
-                    }
-                }
+                collectStationPredictions(routeStation.getRouteId(), routeStation.getStationSeq(), station, predictions);
             }
             
-            // 5. 도착 시간순으로 정렬
+            // 4. 도착 시간순으로 정렬
             predictions.sort(Comparator.comparing(BusArrivalPrediction::getEstimatedArrivalMinutes));
             
             log.info("정류장 {} 도착 예측 완료: {}개 버스 (기존 BusRouteStation 기반)", 
@@ -147,275 +145,183 @@ public class BusArrivalPredictionService {
         return predictions;
     }
     
-    // 특정 버스의 도착 시간 예측 (BusStationRoute.RouteInfo 사용)
-    private BusArrivalPrediction predictArrivalForBusWithRouteInfo(BusLocation busLocation, BusStation station, BusStationRoute.RouteInfo routeInfo) {
+    // 노선별 도착 예측 (운행 중인 모든 버스 × 남은 정류장)
+    public List<BusArrivalPrediction> predictArrivalsForRoute(String routeId) {
+        List<BusArrivalPrediction> predictions = new ArrayList<>();
+        
         try {
-            // 1. 버스의 현재 위치와 목표 정류장의 순서 비교
-            int busCurrentSeq = getBusCurrentStationSeq(busLocation, routeInfo.getRouteId());
-            int targetStationSeq = routeInfo.getStationSeq();
-            
-            // 버스가 이미 목표 정류장을 지났으면 예측하지 않음
-            if (busCurrentSeq >= targetStationSeq) {
-                log.debug("버스 {}가 이미 정류장 {}을 지남 (현재: {}, 목표: {})", 
-                    busLocation.getVehicleNo(), station.getStationNm(), busCurrentSeq, targetStationSeq);
-                return null;
+            RouteEtaMatrix matrix = getEtaMatrix(routeId);
+            if (matrix == null) {
+                return predictions;
             }
             
-            // 2. 경로상 거리 계산 (순서 기반)
-            double routeDistanceKm = calculateRouteDistance(busLocation, station, routeInfo.getRouteId());
-            
-            // 거리가 너무 멀면 제외 (10km까지 허용 - 순서 기반이므로 더 넓게)
-            if (routeDistanceKm > 10.0) {
-                log.debug("버스 {}와 정류장 {} 간 거리가 너무 멀음: {}km", 
-                    busLocation.getVehicleNo(), station.getStationNm(), routeDistanceKm);
-                return null;
+            RouteTopology topology = matrix.getTopology();
+            for (int b = 0; b < matrix.busCount(); b++) {
+                for (int s = matrix.currentIndexOf(b) + 1; s < topology.size(); s++) {
+                    if (matrix.distanceKmAt(b, s) > MAX_PREDICTION_DISTANCE_KM) {
+                        break;
+                    }
+                    predictions.add(toPrediction(matrix, b, s, topology.stationIdAt(s), topology.stationNameAt(s),
+                        topology.latAt(s), topology.lngAt(s)));
+                }
             }
             
-            // 3. 정류장 간 평균 소요 시간 계산
-            int estimatedMinutes = calculateEstimatedTimeByStations(busCurrentSeq, targetStationSeq, routeInfo.getRouteId());
-            
-            // 4. 시간대별 보정
-            double timeFactor = calculateTimeFactor();
-            estimatedMinutes = (int) Math.round(estimatedMinutes * timeFactor);
-            
-            // 5. 교통 상황 반영
-            double trafficFactor = calculateTrafficFactor();
-            estimatedMinutes = (int) Math.round(estimatedMinutes * trafficFactor);
-            
-            // 6. 예측 신뢰도 계산
-            double confidence = calculateConfidenceBySequence(busCurrentSeq, targetStationSeq, routeDistanceKm);
-            
-            // 7. 예측 결과 생성
-            Calendar cal = Calendar.getInstance();
-            cal.add(Calendar.MINUTE, estimatedMinutes);
+            predictions.sort(Comparator.comparing(BusArrivalPrediction::getEstimatedArrivalMinutes));
             
-            return BusArrivalPrediction.builder()
-                .routeId(busLocation.getRouteId())
-                .routeNm(busLocation.getRouteNm())
-                .stationId(station.getStationId())
-                .stationNm(station.getStationNm())
-                .stationSeq(routeInfo.getStationSeq())
-                .vehicleNo(busLocation.getVehicleNo())
-                .currentLat(busLocation.getGpsLat())
-                .currentLong(busLocation.getGpsLong())
-                .stationLat(Double.parseDouble(station.getGpsY()))
-                .stationLong(Double.parseDouble(station.getGpsX()))
-                .estimatedArrivalMinutes(estimatedMinutes)
-                .distanceKm(routeDistanceKm)
-                .speedKmh(calculateAverageSpeedByRoute(routeInfo.getRouteId()))
-                .trafficCondition(getTrafficCondition(trafficFactor))
-                .weatherCondition("맑음") // 실제로는 외부 API 연동 필요
-                .dayOfWeek(cal.get(Calendar.DAY_OF_WEEK))
-                .hourOfDay(cal.get(Calendar.HOUR_OF_DAY))
-                .predictedAt(new Date())
-                .estimatedArrivalTime(cal.getTime())
-                .confidence(confidence)
-                .factors(Arrays.asList("정류장순서", "경로거리", "평균소요시간", "교통상황", "시간대"))
-                .build();
-                
         } catch (Exception e) {
-            log.error("버스 도착 예측 실패: {}", e.getMessage(), e);
-            return null;
+            log.error("노선 도착 예측 실패: {}", e.getMessage(), e);
         }
+        
+        return predictions;
     }
     
-    // 특정 버스의 도착 시간 예측 (기존 BusRouteStation 사용)
-    private BusArrivalPrediction predictArrivalForBus(BusLocation busLocation, BusStation station, BusRouteStation routeStation) {
-        try {
-            // 1. 버스의 현재 위치와 목표 정류장의 순서 비교
-            int busCurrentSeq = getBusCurrentStationSeq(busLocation, routeStation.getRouteId());
-            int targetStationSeq = routeStation.getStationSeq();
-            
-            // 버스가 이미 목표 정류장을 지났으면 예측하지 않음
-            if (busCurrentSeq >= targetStationSeq) {
-                log.debug("버스 {}가 이미 정류장 {}을 지남 (현재: {}, 목표: {})", 
-                    busLocation.getVehicleNo(), station.getStationNm(), busCurrentSeq, targetStationSeq);
-                return null;
-            }
-            
-            // 2. 경로상 거리 계산 (순서 기반)
-            double routeDistanceKm = calculateRouteDistance(busLocation, station, routeStation.getRouteId());
-            
-            // 거리가 너무 멀면 제외 (10km까지 허용 - 순서 기반이므로 더 넓게)
-            if (routeDistanceKm > 10.0) {
-                log.debug("버스 {}와 정류장 {} 간 거리가 너무 멀음: {}km", 
-                    busLocation.getVehicleNo(), station.getStationNm(), routeDistanceKm);
-                return null;
-            }
-            
-            // 3. 정류장 간 평균 소요 시간 계산
-            int estimatedMinutes = calculateEstimatedTimeByStations(busCurrentSeq, targetStationSeq, routeStation.getRouteId());
-            
-            // 4. 시간대별 보정
-            double timeFactor = calculateTimeFactor();
-            estimatedMinutes = (int) Math.round(estimatedMinutes * timeFactor);
-            
-            // 5. 교통 상황 반영
-            double trafficFactor = calculateTrafficFactor();
-            estimatedMinutes = (int) Math.round(estimatedMinutes * trafficFactor);
-            
-            // 6. 예측 신뢰도 계산
-            double confidence = calculateConfidenceBySequence(busCurrentSeq, targetStationSeq, routeDistanceKm);
-            
-            // 7. 예측 결과 생성
-            Calendar cal = Calendar.getInstance();
-            cal.add(Calendar.MINUTE, estimatedMinutes);
-            
-            return BusArrivalPrediction.builder()
-                .routeId(busLocation.getRouteId())
-                .routeNm(busLocation.getRouteNm())
-                .stationId(station.getStationId())
-                .stationNm(station.getStationNm())
-                .stationSeq(routeStation.getStationSeq())
-                .vehicleNo(busLocation.getVehicleNo())
-                .currentLat(busLocation.getGpsLat())
-                .currentLong(busLocation.getGpsLong())
-                .stationLat(Double.parseDouble(station.getGpsY()))
-                .stationLong(Double.parseDouble(station.getGpsX()))
-                .estimatedArrivalMinutes(estimatedMinutes)
-                .distanceKm(routeDistanceKm)
-                .speedKmh(calculateAverageSpeedByRoute(routeStation.getRouteId()))
-                .trafficCondition(getTrafficCondition(trafficFactor))
-                .weatherCondition("맑음") // 실제로는 외부 API 연동 필요
-                .dayOfWeek(cal.get(Calendar.DAY_OF_WEEK))
-                .hourOfDay(cal.get(Calendar.HOUR_OF_DAY))
-                .predictedAt(new Date())
-                .estimatedArrivalTime(cal.getTime())
-                .confidence(confidence)
-                .factors(Arrays.asList("정류장순서", "경로거리", "평균소요시간", "교통상황", "시간대"))
-                .build();
-                
-        } catch (Exception e) {
-            log.error("버스 도착 예측 실패: {}", e.getMessage(), e);
+    /**
+     * 노선 ETA 행렬 조회 (TTL 내에서는 캐시된 행렬 재사용)
+     */
+    public RouteEtaMatrix getEtaMatrix(String routeId) {
+        RouteEtaMatrix cached = matrixCache.getIfPresent(routeId);
+        if (cached != null && System.currentTimeMillis() - cached.getComputedAt() < matrixTtlMs) {
+            return cached;
+        }
+        
+        RouteTopology topology = getTopology(routeId);
+        if (topology == null) {
             return null;
         }
+        
+        List<BusLocation> routeBusLocations = busLocationService.getBusLocations(routeId);
+        if (routeBusLocations.isEmpty()) {
+            log.debug("노선 {}에 운행 중인 버스가 없습니다.", routeId);
+        }
+        
+        RouteEtaMatrix matrix = RouteEtaMatrix.compute(topology, routeBusLocations, calculateSegmentMinutes(topology));
+        matrixCache.put(routeId, matrix);
+        log.debug("노선 {} ETA 행렬 계산: 버스 {}대 × 정류장 {}개", routeId, matrix.busCount(), topology.size());
+        return matrix;
     }
     
-    // 버스의 현재 정류장 순서 추정
-    private int getBusCurrentStationSeq(BusLocation busLocation, String routeId) {
-        try {
-            // 해당 노선의 모든 정류장 정보 조회
-            List<BusRouteStation> routeStations = busRouteStationService.getStationsByRoute(routeId);
-            
-            // 버스 위치와 가장 가까운 정류장 찾기
-            double minDistance = Double.MAX_VALUE;
-            int closestSeq = 1;
-            
-            for (BusRouteStation routeStation : routeStations) {
-                double distance = calculateDistance(
-                    busLocation.getGpsLat(), busLocation.getGpsLong(),
-                    Double.parseDouble(routeStation.getGpsY()), Double.parseDouble(routeStation.getGpsX())
-                );
-                
-                if (distance < minDistance) {
-                    minDistance = distance;
-                    closestSeq = routeStation.getStationSeq();
-                }
-            }
-            
-            return closestSeq;
-            
-        } catch (Exception e) {
-            log.error("버스 현재 정류장 순서 추정 실패: {}", e.getMessage());
-            return 1; // 기본값
+    private RouteTopology getTopology(String routeId) {
+        RouteTopology cached = topologyCache.getIfPresent(routeId);
+        if (cached != null && System.currentTimeMillis() - cached.getLoadedAt() < topologyTtlMs) {
+            return cached;
+        }
+        
+        List<BusRouteStation> routeStations = busRouteStationService.getStationsByRoute(routeId);
+        if (routeStations.isEmpty()) {
+            topologyCache.invalidate(routeId);
+            return null;
         }
+        
+        RouteTopology topology = RouteTopology.of(routeId, routeStations);
+        topologyCache.put(routeId, topology);
+        return topology;
     }
     
-    // 경로상 거리 계산 (정류장 순서 기반)
-    private double calculateRouteDistance(BusLocation busLocation, BusStation targetStation, String routeId) {
-        try {
-            List<BusRouteStation> routeStations = busRouteStationService.getStationsByRoute(routeId);
-            
-            // 버스 현재 위치와 가장 가까운 정류장 찾기
-            int busCurrentSeq = getBusCurrentStationSeq(busLocation, routeId);
-            int targetStationSeq = routeStations.stream()
-                .filter(rs -> rs.getStationId().equals(targetStation.getStationId()))
-                .mapToInt(BusRouteStation::getStationSeq)
-                .findFirst()
-                .orElse(1);
-            
-            // 경로상 거리 계산 (정류장 간 거리 누적)
-            double totalDistance = 0.0;
-            for (int i = busCurrentSeq; i < targetStationSeq; i++) {
-                final int currentSeq = i;
-                BusRouteStation current = routeStations.stream()
-                    .filter(rs -> rs.getStationSeq() == currentSeq)
-                    .findFirst()
-                    .orElse(null);
-                    
-                final int nextSeq = i + 1;
-                BusRouteStation next = routeStations.stream()
-                    .filter(rs -> rs.getStationSeq() == nextSeq)
-                    .findFirst()
-                    .orElse(null);
-                    
-                if (current != null && next != null) {
-                    totalDistance += calculateDistance(
-                        Double.parseDouble(current.getGpsY()), Double.parseDouble(current.getGpsX()),
-                        Double.parseDouble(next.getGpsY()), Double.parseDouble(next.getGpsX())
-                    );
-                }
+    // 행렬의 정류장 열에서 아직 도착 전인 버스의 예측 생성
+    private void collectStationPredictions(String routeId, int stationSeq, BusStation station, List<BusArrivalPrediction> predictions) {
+        RouteEtaMatrix matrix = getEtaMatrix(routeId);
+        if (matrix == null || matrix.busCount() == 0) {
+            return;
+        }
+        
+        int s = matrix.getTopology().indexOfSeq(stationSeq);
+        if (s < 0) {
+            return;
+        }
+        
+        double stationLat = Double.parseDouble(station.getGpsY());
+        double stationLong = Double.parseDouble(station.getGpsX());
+        for (int b = 0; b < matrix.busCount(); b++) {
+            // 버스가 이미 목표 정류장을 지났거나 거리가 너무 멀면 제외
+            if (!matrix.isDownstream(b, s) || matrix.distanceKmAt(b, s) > MAX_PREDICTION_DISTANCE_KM) {
+                continue;
             }
-            
-            return totalDistance;
-            
-        } catch (Exception e) {
-            log.error("경로상 거리 계산 실패: {}", e.getMessage());
-            // 대체 방법: 직선 거리 계산
-            return calculateDistance(
-                busLocation.getGpsLat(), busLocation.getGpsLong(),
-                Double.parseDouble(targetStation.getGpsY()), Double.parseDouble(targetStation.getGpsX())
-            );
+            predictions.add(toPrediction(matrix, b, s, station.getStationId(), station.getStationNm(), stationLat, stationLong));
         }
     }
     
-    // 정류장 간 평균 소요 시간 계산
-    private int calculateEstimatedTimeByStations(int currentSeq, int targetSeq, String routeId) {
-        try {
-            // 정류장 간 평균 소요 시간 (분)
-            int stationsBetween = targetSeq - currentSeq;
-            
-            // 기본 정류장 간 소요 시간 (평균 3분)
-            int baseTimePerStation = 3;
-            
-            // 시간대별 조정
-            Calendar cal = Calendar.getInstance();
-            int hour = cal.get(Calendar.HOUR_OF_DAY);
-            
-            if (hour >= 7 && hour <= 9) {
-                baseTimePerStation = 4; // 출근 시간 (더 오래 걸림)
-            } else if (hour >= 17 && hour <= 19) {
-                baseTimePerStation = 4; // 퇴근 시간 (더 오래 걸림)
-            } else if (hour >= 22 || hour <= 6) {
-                baseTimePerStation = 2; // 심야 시간 (빠름)
-            }
-            
-            return stationsBetween * baseTimePerStation;
-            
-        } catch (Exception e) {
-            log.error("정류장 간 소요 시간 계산 실패: {}", e.getMessage());
-            return (targetSeq - currentSeq) * 3; // 기본값
+    private BusArrivalPrediction toPrediction(RouteEtaMatrix matrix, int b, int s, String stationId, String stationNm,
+                                              double stationLat, double stationLong) {
+        RouteTopology topology = matrix.getTopology();
+        BusLocation busLocation = matrix.busAt(b);
+        int estimatedMinutes = (int) Math.round(matrix.minutesAt(b, s));
+        double routeDistanceKm = matrix.distanceKmAt(b, s);
+        double trafficFactor = calculateTrafficFactor();
+        
+        Calendar cal = Calendar.getInstance();
+        cal.add(Calendar.MINUTE, estimatedMinutes);
+        
+        return BusArrivalPrediction.builder()
+            .routeId(busLocation.getRouteId())
+            .routeNm(busLocation.getRouteNm())
+            .stationId(stationId)
+            .stationNm(stationNm)
+            .stationSeq(topology.seqAt(s))
+            .vehicleNo(busLocation.getVehicleNo())
+            .currentLat(busLocation.getGpsLat())
+            .currentLong(busLocation.getGpsLong())
+            .stationLat(stationLat)
+            .stationLong(stationLong)
+            .estimatedArrivalMinutes(estimatedMinutes)
+            .distanceKm(routeDistanceKm)
+            .speedKmh(estimatedMinutes > 0 ? routeDistanceKm / estimatedMinutes * 60 : 0.0)
+            .trafficCondition(getTrafficCondition(trafficFactor))
+            .weatherCondition("맑음") // 실제로는 외부 API 연동 필요
+            .dayOfWeek(cal.get(Calendar.DAY_OF_WEEK))
+            .hourOfDay(cal.get(Calendar.HOUR_OF_DAY))
+            .predictedAt(new Date())
+            .estimatedArrivalTime(cal.getTime())
+            .confidence(calculateConfidenceBySequence(topology.seqAt(matrix.currentIndexOf(b)), topology.seqAt(s), routeDistanceKm))
+            .factors(Arrays.asList("정류장순서", "경로거리", "평균소요시간", "교통상황", "시간대"))
+            .build();
+    }
+    
+    // 구간별 소요 시간 (분) - 학습된 구간 소요 시간을 우선 사용하고, 없으면 시간대 휴리스틱으로 대체
+    private double[] calculateSegmentMinutes(RouteTopology topology) {
+        ZonedDateTime now = ZonedDateTime.now(WeeklySchedule.ZONE);
+        int slot = SegmentTravelTimeTable.slotOf(WeeklySchedule.minuteOfWeek(now));
+        double heuristicMinutes = heuristicMinutesPerStation(now);
+        boolean learnedRoute = segmentTravelTimeService.hasRoute(topology.getRouteId());
+        
+        double[] segments = new double[Math.max(0, topology.size() - 1)];
+        for (int i = 0; i < segments.length; i++) {
+            int fromSeq = topology.seqAt(i);
+            int toSeq = topology.seqAt(i + 1);
+            double learned = learnedRoute
+                ? segmentTravelTimeService.estimateMinutes(topology.getRouteId(), fromSeq, toSeq, slot)
+                : Double.NaN;
+            // 순서 번호가 비어 있는 구간은 빠진 정류장 수만큼 반영
+            segments[i] = !Double.isNaN(learned) ? learned : heuristicMinutes * (toSeq - fromSeq);
         }
+        return segments;
     }
     
-    // 노선별 평균 속도 계산
-    private double calculateAverageSpeedByRoute(String routeId) {
-        // 기본 평균 속도 (시내버스 기준)
-        double baseSpeed = 25.0; // km/h
+    /**
+     * 기존 휴리스틱의 정류장당 소요 시간 (분) - 학습 데이터가 없을 때와 평가 기준선으로 사용
+     */
+    public double heuristicMinutesPerStation(ZonedDateTime time) {
+        int hour = time.getHour();
+        int dayOfWeek = time.getDayOfWeek().getValue() % 7 + 1; // Calendar 기준 (일요일 = 1)
         
-        // 시간대별 속도 조정
-        Calendar cal = Calendar.getInstance();
-        int hour = cal.get(Calendar.HOUR_OF_DAY);
+        // 기본 정류장 간 소요 시간 (평균 3분)
+        int baseTimePerStation = 3;
         
         if (hour >= 7 && hour <= 9) {
-            baseSpeed *= 0.7; // 출근 시간 (30% 감소)
+            baseTimePerStation = 4; // 출근 시간 (더 오래 걸림)
         } else if (hour >= 17 && hour <= 19) {
-            baseSpeed *= 0.7; // 퇴근 시간 (30% 감소)
+            baseTimePerStation = 4; // 퇴근 시간 (더 오래 걸림)
         } else if (hour >= 22 || hour <= 6) {
-            baseSpeed *= 1.2; // 심야 시간 (20% 증가)
+            baseTimePerStation = 2; // 심야 시간 (빠름)
         }
         
-        return baseSpeed;
+        return baseTimePerStation * calculateTimeFactor(hour) * calculateTrafficFactor(hour, dayOfWeek);
+    }
+    
+    /**
+     * 운행 기록 재생 평가 (학습 모델 vs 기존 휴리스틱)
+     */
+    public Map<String, Object> evaluatePredictionModel(Date from, Date to) {
+        return segmentTravelTimeService.evaluate(from, to, this::heuristicMinutesPerStation);
     }
     
     // 순서 기반 신뢰도 계산
@@ -440,47 +346,13 @@ public class BusArrivalPredictionService {
         return Math.min(confidence, 1.0);
     }
     
-    // 두 지점 간 거리 계산 (Haversine 공식)
-    private double calculateDistance(double lat1, double lon1, double lat2, double lon2) {
-        final int R = 6371; // 지구 반지름 (km)
-        
-        double latDistance = Math.toRadians(lat2 - lat1);
-        double lonDistance = Math.toRadians(lon2 - lon1);
-        
-        double a = Math.sin(latDistance / 2) * Math.sin(latDistance / 2)
-                + Math.cos(Math.toRadians(lat1)) * Math.cos(Math.toRadians(lat2))
-                * Math.sin(lonDistance / 2) * Math.sin(lonDistance / 2);
-        
-        double c = 2 * Math.atan2(Math.sqrt(a), Math.sqrt(1 - a));
-        
-        return R * c;
-    }
-    
-    // 평균 속도 계산 (노선별, 시간대별)
-    private double calculateAverageSpeed(BusLocation busLocation, BusStation station) {
-        // 기본 평균 속도 (시내버스 기준)
-        double baseSpeed = 25.0; // km/h
-        
-        // 시간대별 속도 조정
-        Calendar cal = Calendar.getInstance();
-        int hour = cal.get(Calendar.HOUR_OF_DAY);
-        
-        if (hour >= 7 && hour <= 9) {
-            baseSpeed *= 0.7; // 출근 시간 (30% 감소)
-        } else if (hour >= 17 && hour <= 19) {
-            baseSpeed *= 0.7; // 퇴근 시간 (30% 감소)
-        } else if (hour >= 22 || hour <= 6) {
-            baseSpeed *= 1.2; // 심야 시간 (20% 증가)
-        }
-        
-        return baseSpeed;
-    }
-    
     // 교통 상황 팩터 계산
     private double calculateTrafficFactor() {
         Calendar cal = Calendar.getInstance();
-        int hour = cal.get(Calendar.HOUR_OF_DAY);
-        int dayOfWeek = cal.get(Calendar.DAY_OF_WEEK);
+        return calculateTrafficFactor(cal.get(Calendar.HOUR_OF_DAY), cal.get(Calendar.DAY_OF_WEEK));
+    }
+    
+    private double calculateTrafficFactor(int hour, int dayOfWeek) {
         
         // 주말 vs 평일
         if (dayOfWeek == Calendar.SATURDAY || dayOfWeek == Calendar.SUNDAY) {
@@ -499,17 +371,8 @@ public class BusArrivalPredictionService {
         }
     }
     
-    // 날씨 팩터 계산
-    private double calculateWeatherFactor() {
-        // 실제로는 기상청 API 연동 필요
-        // 현재는 기본값 반환
-        return 1.0;
-    }
-    
     // 시간대별 팩터 계산
-    private double calculateTimeFactor() {
-        Calendar cal = Calendar.getInstance();
-        int hour = cal.get(Calendar.HOUR_OF_DAY);
+    private double calculateTimeFactor(int hour) {
         
         // 시간대별 혼잡도
         if (hour >= 6 && hour <= 8) {
@@ -533,25 +396,4 @@ public class BusArrivalPredictionService {
             return "정상";
         }
     }
-    
-    // 노선별 도착 예측
-    public List<BusArrivalPrediction> predictArrivalsForRoute(String routeId) {
-        List<BusArrivalPrediction> predictions = new ArrayList<>();
-        
-        try {
-            // 해당 노선의 모든 버스 위치 조회
-            List<BusLocation> routeLocations = busLocationService.getBusLocations(routeId);
-            
-            // 각 버스별로 모든 정류장 도착 시간 예측
-            for (BusLocation busLocation : routeLocations) {
-                // TODO: 노선의 모든 정류장 정보를 조회하여 각 정류장별 도착 시간 예측
-                // 현재는 간단히 현재 정류장만 예측
-            }
-            
-        } catch (Exception e) {
-            log.error("노선 도착 예측 실패: {}", e.getMessage(), e);
-        }
-        
-        return predictions;
-    }
-} 
\ No newline at end of file
+}
@@ -0,0 +1,202 @@
+package com.bippobippo.hospital.service.bus;
+
+import com.bippobippo.hospital.model.bus.BusLocation;
+import com.bippobippo.hospital.model.bus.BusRouteTracking;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.bson.Document;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.mongodb.core.BulkOperations;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.index.Index;
+import org.springframework.data.mongodb.core.index.IndexDefinition;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+import org.springframework.stereotype.Service;
+
+import javax.annotation.PostConstruct;
+import java.time.Duration;
+import java.util.*;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 버스 위치/운행 기록 보존 정책
+ *
+ * - bus_locations: 차량별 최신 위치 1건만 유지, 갱신이 끊긴 차량은 TTL 로 제거
+ * - bus_location_history: 원본 GPS 좌표를 (차량, 1시간) 버킷 문서에 모아 저장, 보존 기간 후 TTL 삭제
+ * - bus_route_tracking: 종료된 운행은 endTime 기준 TTL 삭제 (운행 중인 문서는 endTime 이 없어 대상 아님)
+ * - bus_route_tracking_archive: 운행 문서의 방문/예측 배열 상한을 넘긴 오래된 항목 보관
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class BusHistoryRetentionService {
+
+    public static final String HISTORY_COLLECTION = "bus_location_history";
+    public static final String ARCHIVE_COLLECTION = "bus_route_tracking_archive";
+
+    // 한 버킷(1시간)에 담는 최대 좌표 수 - 수집 주기가 짧아져도 문서 크기 고정
+    private static final int MAX_FIXES_PER_BUCKET = 720;
+    private static final long BUCKET_MILLIS = TimeUnit.HOURS.toMillis(1);
+
+    private final MongoTemplate mongoTemplate;
+
+    @Value("${bus.retention.location-stale-minutes:30}")
+    private long locationStaleMinutes;
+
+    @Value("${bus.retention.history-days:7}")
+    private long historyDays;
+
+    @Value("${bus.retention.tracking-days:30}")
+    private long trackingDays;
+
+    @Value("${bus.retention.max-station-visits:300}")
+    private int maxStationVisits;
+
+    @Value("${bus.retention.max-predictions:200}")
+    private int maxPredictions;
+
+    @PostConstruct
+    public void ensureIndexes() {
+        ensureIndex(mongoTemplate.getCollectionName(BusLocation.class),
+            new Index().on("updatedAt", Sort.Direction.ASC).expire(Duration.ofMinutes(locationStaleMinutes)));
+        ensureIndex(HISTORY_COLLECTION,
+            new Index().on("bucketStart", Sort.Direction.ASC).expire(Duration.ofDays(historyDays)));
+        ensureIndex(HISTORY_COLLECTION,
+            new Index().on("vehicleNo", Sort.Direction.ASC).on("bucketStart", Sort.Direction.DESC));
+        ensureIndex(mongoTemplate.getCollectionName(BusRouteTracking.class),
+            new Index().on("endTime", Sort.Direction.ASC).expire(Duration.ofDays(trackingDays)));
+        ensureIndex(mongoTemplate.getCollectionName(BusRouteTracking.class),
+            new Index().on("isActive", Sort.Direction.ASC).on("cityCode", Sort.Direction.ASC));
+        ensureIndex(ARCHIVE_COLLECTION,
+            new Index().on("archivedAt", Sort.Direction.ASC).expire(Duration.ofDays(trackingDays)));
+        ensureIndex(ARCHIVE_COLLECTION,
+            new Index().on("trackingId", Sort.Direction.ASC));
+    }
+
+    private void ensureIndex(String collection, IndexDefinition index) {
+        try {
+            mongoTemplate.indexOps(collection).ensureIndex(index);
+        } catch (Exception e) {
+            // 같은 키의 기존 인덱스와 옵션이 다르면 생성 실패 - 기존 인덱스를 유지하고 계속 진행
+            log.warn("{} 인덱스 생성 실패 ({}): {}", collection, index.getIndexKeys().toJson(), e.getMessage());
+        }
+    }
+
+    /**
+     * 원본 좌표를 (차량, 1시간) 버킷에 추가
+     */
+    public void appendFixes(List<BusLocation> locations) {
+        if (locations.isEmpty()) {
+            return;
+        }
+
+        BulkOperations bulkOps = mongoTemplate.bulkOps(BulkOperations.BulkMode.UNORDERED, HISTORY_COLLECTION);
+        int count = 0;
+        for (BusLocation location : locations) {
+            if (location.getVehicleNo() == null) {
+                continue;
+            }
+            Date fixTime = location.getUpdatedAt() != null ? location.getUpdatedAt() : new Date();
+            Date bucketStart = new Date(fixTime.getTime() - fixTime.getTime() % BUCKET_MILLIS);
+
+            Document fix = new Document("t", fixTime)
+                .append("lat", location.getGpsLat())
+                .append("lng", location.getGpsLong())
+                .append("nodeId", location.getNodeId());
+
+            Update update = new Update()
+                .setOnInsert("vehicleNo", location.getVehicleNo())
+                .setOnInsert("bucketStart", bucketStart)
+                .set("routeId", location.getRouteId())
+                .set("cityCode", location.getCityCode())
+                .inc("count", 1);
+            update.push("fixes").slice(-MAX_FIXES_PER_BUCKET).each(fix);
+
+            String bucketId = location.getVehicleNo() + ":" + bucketStart.getTime();
+            bulkOps.upsert(Query.query(Criteria.where("_id").is(bucketId)), update);
+            count++;
+        }
+
+        if (count > 0) {
+            bulkOps.execute();
+        }
+    }
+
+    /**
+     * 방문 기록이 상한을 넘으면 오래된 절반을 보관 컬렉션으로 이동
+     */
+    public void trimStationVisits(BusRouteTracking tracking) {
+        trim(tracking, "stationVisits", tracking.getStationVisits(), maxStationVisits);
+    }
+
+    /**
+     * 예측 기록이 상한을 넘으면 오래된 절반을 보관 컬렉션으로 이동
+     */
+    public void trimPredictions(BusRouteTracking tracking) {
+        trim(tracking, "predictions", tracking.getPredictions(), maxPredictions);
+    }
+
+    private <T> void trim(BusRouteTracking tracking, String kind, List<T> items, int max) {
+        if (items == null || items.size() <= max) {
+            return;
+        }
+
+        // 한 번에 여러 건을 옮겨 매번 보관 문서가 생기지 않도록 함
+        List<T> overflow = items.subList(0, items.size() - max / 2);
+        List<Object> converted = new ArrayList<>(overflow.size());
+        for (T item : overflow) {
+            converted.add(mongoTemplate.getConverter().convertToMongoType(item));
+        }
+        Document archive = new Document("trackingId", tracking.getId())
+            .append("vehicleNo", tracking.getVehicleNo())
+            .append("routeId", tracking.getRouteId())
+            .append("kind", kind)
+            .append("items", converted)
+            .append("archivedAt", new Date());
+
+        try {
+            mongoTemplate.save(archive, ARCHIVE_COLLECTION);
+            log.debug("버스 {} {} {}건 보관 처리", tracking.getVehicleNo(), kind, overflow.size());
+            overflow.clear();
+        } catch (Exception e) {
+            log.error("버스 {} {} 보관 실패: {}", tracking.getVehicleNo(), kind, e.getMessage());
+        }
+    }
+
+    /**
+     * 보관된 방문/예측 기록 조회 (오래된 순)
+     */
+    public List<Map> getArchived(String trackingId, String kind) {
+        Query query = Query.query(Criteria.where("trackingId").is(trackingId).and("kind").is(kind))
+            .with(Sort.by(Sort.Direction.ASC, "archivedAt"));
+        List<Map> items = new ArrayList<>();
+        for (Map archive : mongoTemplate.find(query, Map.class, ARCHIVE_COLLECTION)) {
+            Object archived = archive.get("items");
+            if (archived instanceof List) {
+                for (Object item : (List<?>) archived) {
+                    if (item instanceof Map) {
+                        items.add((Map) item);
+                    }
+                }
+            }
+        }
+        return items;
+    }
+
+    public Map<String, Object> getRetentionStats() {
+        Map<String, Object> stats = new LinkedHashMap<>();
+        stats.put("latestLocations", mongoTemplate.estimatedCount(BusLocation.class));
+        stats.put("historyBuckets", mongoTemplate.estimatedCount(HISTORY_COLLECTION));
+        stats.put("trackings", mongoTemplate.estimatedCount(BusRouteTracking.class));
+        stats.put("archivedChunks", mongoTemplate.estimatedCount(ARCHIVE_COLLECTION));
+        stats.put("locationStaleMinutes", locationStaleMinutes);
+        stats.put("historyDays", historyDays);
+        stats.put("trackingDays", trackingDays);
+        stats.put("maxStationVisits", maxStationVisits);
+        stats.put("maxPredictions", maxPredictions);
+        return stats;
+    }
+}
@@ -131,24 +131,19 @@ public class BusLocationProcessingService {
     public void generateAndSendRealTimeStats() {
         try {
             // 전체 버스 위치 통계
-            List<BusLocation> allLocations = busLocationService.getAllBusLocations();
+            // 도시별 통계 (DB 에서 $group 집계)
+            Map<String, Long> cityStats = busLocationService.getLocationCountsByCity();
+            long totalActiveBuses = cityStats.values().stream().mapToLong(Long::longValue).sum();
             
             Map<String, Object> realTimeStats = new HashMap<>();
-            realTimeStats.put("totalActiveBuses", allLocations.size());
+            realTimeStats.put("totalActiveBuses", totalActiveBuses);
             realTimeStats.put("timestamp", new Date());
-            
-            // 도시별 통계
-            Map<String, Long> cityStats = allLocations.stream()
-                .collect(Collectors.groupingBy(
-                    loc -> loc.getCityCode() == null ? "UNKNOWN" : loc.getCityCode(),
-                    Collectors.counting()
-                ));
             realTimeStats.put("cityStats", cityStats);
             
             // Kafka로 실시간 통계 전송 - 주석처리
             // kafkaProducer.sendProcessedBusLocation(realTimeStats);
             
-            log.info("실시간 통계 생성 완료: {}개 버스 (Kafka 전송 비활성화)", allLocations.size());
+            log.info("실시간 통계 생성 완료: {}개 버스 (Kafka 전송 비활성화)", totalActiveBuses);
             
         } catch (Exception e) {
             log.error("실시간 통계 생성 실패: {}", e.getMessage(), e);
@@ -3,13 +3,19 @@ package com.bippobippo.hospital.service.bus;
 import com.bippobippo.hospital.model.bus.BusLocation;
 import com.bippobippo.hospital.repository.bus.BusLocationRepository;
 import lombok.RequiredArgsConstructor;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.aggregation.Aggregation;
 import org.springframework.stereotype.Service;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
 
 @Service
 @RequiredArgsConstructor
 public class BusLocationService {
     private final BusLocationRepository repository;
+    private final MongoTemplate mongoTemplate;
+    private final BusHistoryRetentionService retentionService;
 
     public List<BusLocation> getBusLocations(String routeId) {
         return repository.findByRouteId(routeId);
@@ -23,11 +29,41 @@ public class BusLocationService {
         return repository.findAll();
     }
 
+    // 차량별 최신 위치는 덮어쓰고, 원본 좌표는 시간 버킷 이력에 추가
     public void saveAll(List<BusLocation> locations) {
+        for (BusLocation location : locations) {
+            if (location.getId() == null && location.getVehicleNo() != null) {
+                location.setId(location.getRouteId() + ":" + location.getVehicleNo());
+            }
+        }
         repository.saveAll(locations);
+        retentionService.appendFixes(locations);
     }
 
     public long getLocationCount() {
         return repository.count();
     }
-} 
\ No newline at end of file
+
+    // 노선별 버스 수 (문서를 불러오지 않고 $group 으로 집계)
+    public Map<String, Long> getLocationCountsByRoute() {
+        return countBy("routeId");
+    }
+
+    // 도시별 버스 수
+    public Map<String, Long> getLocationCountsByCity() {
+        return countBy("cityCode");
+    }
+
+    private Map<String, Long> countBy(String field) {
+        Aggregation aggregation = Aggregation.newAggregation(
+            Aggregation.group(field).count().as("count")
+        );
+
+        Map<String, Long> counts = new LinkedHashMap<>();
+        for (Map result : mongoTemplate.aggregate(aggregation, BusLocation.class, Map.class).getMappedResults()) {
+            Object key = result.get("_id");
+            counts.put(key == null ? "UNKNOWN" : key.toString(), ((Number) result.get("count")).longValue());
+        }
+        return counts;
+    }
+}
@@ -4,10 +4,14 @@ import com.bippobippo.hospital.model.bus.*;
 import com.bippobippo.hospital.repository.bus.BusRouteTrackingRepository;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.aggregation.Aggregation;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
 import org.springframework.stereotype.Service;
 
 import java.util.*;
-import java.util.stream.Collectors;
 
 @Slf4j
 @Service
@@ -18,6 +22,13 @@ public class BusRouteTrackingService {
     private final BusRouteStationService busRouteStationService;
     private final BusStationService busStationService;
     private final BusRouteService busRouteService;
+    private final SegmentTravelTimeService segmentTravelTimeService;
+    private final BusHistoryRetentionService retentionService;
+    private final MongoTemplate mongoTemplate;
+    
+    // 전체 운행 목록에 포함할 최근 방문 정류장 수
+    @Value("${bus.tracking.summary-visits:30}")
+    private int summaryVisits;
     
     // 새로운 버스 운행 시작 (왕복 운행 고려)
     public BusRouteTracking startNewRouteTracking(BusLocation busLocation, String routeNo) {
@@ -282,12 +293,29 @@ public class BusRouteTrackingService {
                 .delayMinutes(0) // TODO: 실제 지연 시간 계산
                 .build();
             
+            // 직전 방문과의 간격을 구간 소요 시간 모델에 반영
+            BusRouteTracking.StationVisit previousVisit = tracking.getStationVisits().isEmpty()
+                ? null
+                : tracking.getStationVisits().get(tracking.getStationVisits().size() - 1);
+            if (previousVisit != null) {
+                segmentTravelTimeService.observeVisit(tracking.getRouteId(), previousVisit, visit);
+            }
+            
             tracking.getStationVisits().add(visit);
             tracking.setUpdatedAt(new Date());
             
-            // 통계 정보 업데이트
+            // 통계 정보 업데이트 (방문 배열이 잘려도 누적값이 유지되도록 증분 반영)
+            tracking.setTotalStations(tracking.getTotalStations() + 1);
+            if (previousVisit != null) {
+                double distance = calculateDistance(previousVisit.getGpsLat(), previousVisit.getGpsLong(),
+                    visit.getGpsLat(), visit.getGpsLong());
+                tracking.setTotalDistance(Math.round((tracking.getTotalDistance() + distance) * 100.0) / 100.0);
+            }
             updateTrackingStatistics(tracking);
             
+            // 방문 기록 상한 초과분은 보관 컬렉션으로 이동
+            retentionService.trimStationVisits(tracking);
+            
             repository.save(tracking);
             log.info("버스 {} 정류장 {} 방문 기록 추가 (순서: {})", vehicleNo, stationNm, stationSeq);
             return true;
@@ -380,6 +408,7 @@ public class BusRouteTrackingService {
             
             tracking.getPredictions().add(newPrediction);
             tracking.setUpdatedAt(new Date());
+            retentionService.trimPredictions(tracking);
             
             repository.save(tracking);
             log.debug("버스 {} 정류장 {} 도착 예측 기록 추가", vehicleNo, prediction.getStationNm());
@@ -469,27 +498,9 @@ public class BusRouteTrackingService {
         }
     }
     
-    // 통계 정보 업데이트
+    // 통계 정보 업데이트 (정류장 수/거리는 방문 추가 시 증분 반영)
     private void updateTrackingStatistics(BusRouteTracking tracking) {
         try {
-            List<BusRouteTracking.StationVisit> visits = tracking.getStationVisits();
-            
-            // 총 정류장 수
-            tracking.setTotalStations(visits.size());
-            
-            // 총 운행 거리 계산
-            double totalDistance = 0.0;
-            for (int i = 0; i < visits.size() - 1; i++) {
-                BusRouteTracking.StationVisit current = visits.get(i);
-                BusRouteTracking.StationVisit next = visits.get(i + 1);
-                
-                totalDistance += calculateDistance(
-                    current.getGpsLat(), current.getGpsLong(),
-                    next.getGpsLat(), next.getGpsLong()
-                );
-            }
-            tracking.setTotalDistance(Math.round(totalDistance * 100.0) / 100.0);
-            
             // 총 운행 시간 계산
             if (tracking.getStartTime() != null) {
                 Date endTime = tracking.getEndTime() != null ? tracking.getEndTime() : new Date();
@@ -549,44 +560,51 @@ public class BusRouteTrackingService {
         return repository.countByRouteIdAndIsActiveTrue(routeId);
     }
     
-    // 전체 운행 중인 버스들 조회
+    // 전체 운행 중인 버스들 조회 (최근 방문 N건만 포함, 예측 배열 제외)
     public List<BusRouteTracking> getAllActiveTrackings() {
-        return repository.findByIsActiveTrue();
+        Query query = Query.query(Criteria.where("isActive").is(true));
+        query.fields().slice("stationVisits", -summaryVisits).exclude("predictions");
+        return mongoTemplate.find(query, BusRouteTracking.class);
     }
     
-    // 도시별 운행 중인 버스 수 조회
+    // 도시별 운행 중인 버스 수 조회 ($group 집계)
     public Map<String, Object> getActiveBusCountByCity() {
-        List<BusRouteTracking> allActive = repository.findByIsActiveTrue();
-        
-        // 도시별 버스 수 집계
-        Map<String, Long> cityCounts = allActive.stream()
-            .collect(Collectors.groupingBy(BusRouteTracking::getCityCode, Collectors.counting()));
+        Aggregation aggregation = Aggregation.newAggregation(
+            Aggregation.match(Criteria.where("isActive").is(true)),
+            Aggregation.group("cityCode")
+                .count().as("totalBuses")
+                .sum("totalStations").as("totalStations")
+                .sum("totalDistance").as("totalDistance")
+                .sum("totalDuration").as("totalDuration")
+        );
         
-        // 도시별 상세 통계
+        Map<String, Long> cityCounts = new HashMap<>();
         Map<String, Map<String, Object>> cityStats = new HashMap<>();
-        for (BusRouteTracking tracking : allActive) {
-            String cityCode = tracking.getCityCode();
-            cityStats.computeIfAbsent(cityCode, k -> {
-                Map<String, Object> stats = new HashMap<>();
-                stats.put("totalBuses", 0L);
-                stats.put("totalStations", 0);
-                stats.put("totalDistance", 0.0);
-                stats.put("totalDuration", 0);
-                return stats;
-            });
-            
-            Map<String, Object> stats = cityStats.get(cityCode);
-            stats.put("totalBuses", (Long) stats.get("totalBuses") + 1);
-            stats.put("totalStations", (Integer) stats.get("totalStations") + tracking.getTotalStations());
-            stats.put("totalDistance", (Double) stats.get("totalDistance") + tracking.getTotalDistance());
-            stats.put("totalDuration", (Integer) stats.get("totalDuration") + tracking.getTotalDuration());
+        long totalActiveBuses = 0;
+        for (Map result : mongoTemplate.aggregate(aggregation, BusRouteTracking.class, Map.class).getMappedResults()) {
+            String cityCode = String.valueOf(result.get("_id"));
+            long totalBuses = ((Number) result.get("totalBuses")).longValue();
+            totalActiveBuses += totalBuses;
+            cityCounts.put(cityCode, totalBuses);
+            
+            Map<String, Object> stats = new HashMap<>();
+            stats.put("totalBuses", totalBuses);
+            stats.put("totalStations", ((Number) result.get("totalStations")).intValue());
+            stats.put("totalDistance", ((Number) result.get("totalDistance")).doubleValue());
+            stats.put("totalDuration", ((Number) result.get("totalDuration")).intValue());
+            cityStats.put(cityCode, stats);
         }
         
         return Map.of(
-            "totalActiveBuses", allActive.size(),
+            "totalActiveBuses", totalActiveBuses,
             "cityCounts", cityCounts,
             "cityStats", cityStats,
             "timestamp", new Date()
         );
     }
-} 
\ No newline at end of file
+    
+    // 보관 컬렉션으로 옮겨진 오래된 방문 기록 조회
+    public List<Map> getArchivedStationVisits(String trackingId) {
+        return retentionService.getArchived(trackingId, "stationVisits");
+    }
+}
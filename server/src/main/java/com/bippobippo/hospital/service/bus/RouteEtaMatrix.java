@@ -0,0 +1,100 @@
+package com.bippobippo.hospital.service.bus;
+
+import com.bippobippo.hospital.model.bus.BusLocation;
+
+import java.util.List;
+
+/**
+ * 노선 단위 (버스 × 하류 정류장) 도착 예상 시간 행렬
+ *
+ * 구간별 소요 시간의 누적합을 한 번 계산한 뒤, 버스마다 현재 위치 이후 정류장에 대해
+ * 누적값의 차이만 채운다. 이미 지난 정류장은 NaN 이다.
+ */
+public final class RouteEtaMatrix {
+
+    private final RouteTopology topology;
+    private final List<BusLocation> buses;
+    private final int[] currentIndex;
+    private final float[] minutes;
+    private final float[] distanceKm;
+    private final long computedAt = System.currentTimeMillis();
+
+    private RouteEtaMatrix(RouteTopology topology, List<BusLocation> buses, int[] currentIndex,
+                           float[] minutes, float[] distanceKm) {
+        this.topology = topology;
+        this.buses = buses;
+        this.currentIndex = currentIndex;
+        this.minutes = minutes;
+        this.distanceKm = distanceKm;
+    }
+
+    /**
+     * @param segmentMinutes i 번째 정류장 → i+1 번째 정류장 소요 시간(분), 길이 = 정류장 수 - 1
+     */
+    public static RouteEtaMatrix compute(RouteTopology topology, List<BusLocation> buses, double[] segmentMinutes) {
+        int stationCount = topology.size();
+        int busCount = buses.size();
+
+        double[] cumulativeMinutes = new double[stationCount];
+        for (int i = 1; i < stationCount; i++) {
+            cumulativeMinutes[i] = cumulativeMinutes[i - 1] + segmentMinutes[i - 1];
+        }
+
+        int[] currentIndex = new int[busCount];
+        float[] minutes = new float[busCount * stationCount];
+        float[] distanceKm = new float[busCount * stationCount];
+
+        for (int b = 0; b < busCount; b++) {
+            BusLocation bus = buses.get(b);
+            int current = topology.nearestIndex(bus.getGpsLat(), bus.getGpsLong());
+            currentIndex[b] = current;
+
+            int row = b * stationCount;
+            double baseMinutes = cumulativeMinutes[current];
+            double baseKm = topology.cumulativeKmAt(current);
+            for (int s = 0; s < stationCount; s++) {
+                if (s <= current) {
+                    minutes[row + s] = Float.NaN;
+                    distanceKm[row + s] = Float.NaN;
+                } else {
+                    minutes[row + s] = (float) (cumulativeMinutes[s] - baseMinutes);
+                    distanceKm[row + s] = (float) (topology.cumulativeKmAt(s) - baseKm);
+                }
+            }
+        }
+
+        return new RouteEtaMatrix(topology, buses, currentIndex, minutes, distanceKm);
+    }
+
+    public boolean isDownstream(int bus, int station) {
+        return !Float.isNaN(minutes[bus * topology.size() + station]);
+    }
+
+    public double minutesAt(int bus, int station) {
+        return minutes[bus * topology.size() + station];
+    }
+
+    public double distanceKmAt(int bus, int station) {
+        return distanceKm[bus * topology.size() + station];
+    }
+
+    public int currentIndexOf(int bus) {
+        return currentIndex[bus];
+    }
+
+    public BusLocation busAt(int bus) {
+        return buses.get(bus);
+    }
+
+    public int busCount() {
+        return buses.size();
+    }
+
+    public RouteTopology getTopology() {
+        return topology;
+    }
+
+    public long getComputedAt() {
+        return computedAt;
+    }
+}
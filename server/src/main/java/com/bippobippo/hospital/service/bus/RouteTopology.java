@@ -0,0 +1,168 @@
+package com.bippobippo.hospital.service.bus;
+
+import com.bippobippo.hospital.model.bus.BusRouteStation;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+
+/**
+ * 노선의 정류장 순서/좌표/누적 거리를 순서대로 펼친 배열 표현
+ *
+ * 정류장 순서(stationSeq) 기준으로 정렬되어 있으며, 누적 거리(cumulativeKm)는
+ * 첫 정류장부터 각 정류장까지 정류장 간 직선 거리의 합이다.
+ */
+public final class RouteTopology {
+
+    private final String routeId;
+    private final int[] seqs;
+    private final String[] stationIds;
+    private final String[] stationNames;
+    private final double[] lats;
+    private final double[] lngs;
+    private final double[] cumulativeKm;
+    private final long loadedAt = System.currentTimeMillis();
+
+    private RouteTopology(String routeId, int[] seqs, String[] stationIds, String[] stationNames,
+                          double[] lats, double[] lngs, double[] cumulativeKm) {
+        this.routeId = routeId;
+        this.seqs = seqs;
+        this.stationIds = stationIds;
+        this.stationNames = stationNames;
+        this.lats = lats;
+        this.lngs = lngs;
+        this.cumulativeKm = cumulativeKm;
+    }
+
+    public static RouteTopology of(String routeId, List<BusRouteStation> routeStations) {
+        List<BusRouteStation> sorted = new ArrayList<>(routeStations);
+        sorted.sort(Comparator.comparingInt(BusRouteStation::getStationSeq));
+
+        // 같은 순서가 중복 수집된 경우 첫 번째만 사용
+        List<BusRouteStation> unique = new ArrayList<>(sorted.size());
+        for (BusRouteStation station : sorted) {
+            if (unique.isEmpty() || unique.get(unique.size() - 1).getStationSeq() != station.getStationSeq()) {
+                unique.add(station);
+            }
+        }
+
+        int n = unique.size();
+        int[] seqs = new int[n];
+        String[] stationIds = new String[n];
+        String[] stationNames = new String[n];
+        double[] lats = new double[n];
+        double[] lngs = new double[n];
+        double[] cumulativeKm = new double[n];
+
+        int lastWithCoords = -1;
+        for (int i = 0; i < n; i++) {
+            BusRouteStation station = unique.get(i);
+            seqs[i] = station.getStationSeq();
+            stationIds[i] = station.getStationId();
+            stationNames[i] = station.getStationNm();
+            lats[i] = parseCoordinate(station.getGpsY());
+            lngs[i] = parseCoordinate(station.getGpsX());
+
+            cumulativeKm[i] = i > 0 ? cumulativeKm[i - 1] : 0.0;
+            if (!Double.isNaN(lats[i]) && !Double.isNaN(lngs[i])) {
+                if (lastWithCoords >= 0) {
+                    cumulativeKm[i] += haversineKm(lats[lastWithCoords], lngs[lastWithCoords], lats[i], lngs[i]);
+                }
+                lastWithCoords = i;
+            }
+        }
+
+        return new RouteTopology(routeId, seqs, stationIds, stationNames, lats, lngs, cumulativeKm);
+    }
+
+    /**
+     * 좌표와 가장 가까운 정류장 위치 (좌표 없는 정류장 제외, 없으면 0)
+     */
+    public int nearestIndex(double lat, double lng) {
+        int nearest = 0;
+        double minDistance = Double.MAX_VALUE;
+        for (int i = 0; i < seqs.length; i++) {
+            if (Double.isNaN(lats[i]) || Double.isNaN(lngs[i])) {
+                continue;
+            }
+            double distance = haversineKm(lat, lng, lats[i], lngs[i]);
+            if (distance < minDistance) {
+                minDistance = distance;
+                nearest = i;
+            }
+        }
+        return nearest;
+    }
+
+    /**
+     * 정류장 순서로 배열 위치 조회 (없으면 -1)
+     */
+    public int indexOfSeq(int seq) {
+        int index = Arrays.binarySearch(seqs, seq);
+        return index >= 0 ? index : -1;
+    }
+
+    public int size() {
+        return seqs.length;
+    }
+
+    public String getRouteId() {
+        return routeId;
+    }
+
+    public int seqAt(int index) {
+        return seqs[index];
+    }
+
+    public String stationIdAt(int index) {
+        return stationIds[index];
+    }
+
+    public String stationNameAt(int index) {
+        return stationNames[index];
+    }
+
+    public double latAt(int index) {
+        return lats[index];
+    }
+
+    public double lngAt(int index) {
+        return lngs[index];
+    }
+
+    public double cumulativeKmAt(int index) {
+        return cumulativeKm[index];
+    }
+
+    public long getLoadedAt() {
+        return loadedAt;
+    }
+
+    private static double parseCoordinate(String value) {
+        if (value == null || value.isEmpty()) {
+            return Double.NaN;
+        }
+        try {
+            return Double.parseDouble(value);
+        } catch (NumberFormatException e) {
+            return Double.NaN;
+        }
+    }
+
+    // 두 지점 간 거리 계산 (Haversine 공식)
+    static double haversineKm(double lat1, double lon1, double lat2, double lon2) {
+        final int R = 6371; // 지구 반지름 (km)
+
+        double latDistance = Math.toRadians(lat2 - lat1);
+        double lonDistance = Math.toRadians(lon2 - lon1);
+
+        double a = Math.sin(latDistance / 2) * Math.sin(latDistance / 2)
+                + Math.cos(Math.toRadians(lat1)) * Math.cos(Math.toRadians(lat2))
+                * Math.sin(lonDistance / 2) * Math.sin(lonDistance / 2);
+
+        double c = 2 * Math.atan2(Math.sqrt(a), Math.sqrt(1 - a));
+
+        return R * c;
+    }
+}
@@ -0,0 +1,294 @@
+package com.bippobippo.hospital.service.bus;
+
+import com.bippobippo.hospital.model.bus.BusRouteTracking;
+import com.bippobippo.hospital.util.WeeklySchedule;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.bson.Document;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.util.CloseableIterator;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import javax.annotation.PostConstruct;
+import javax.annotation.PreDestroy;
+import java.time.ZonedDateTime;
+import java.util.*;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.ToDoubleFunction;
+
+/**
+ * BusRouteTracking 방문 기록으로 학습한 구간 소요 시간 모델
+ *
+ * 매일 새벽 전체 운행 기록(보관 컬렉션으로 옮겨진 방문 포함)으로 조회 테이블을 다시 만들고,
+ * 운행 중에는 새 정류장 방문이 기록될 때마다 직전 방문과의 간격을 테이블에 바로 반영한다.
+ * 재구성은 수 분이 걸릴 수 있어 스케줄러 스레드가 아닌 전용 스레드에서 실행한다.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class SegmentTravelTimeService {
+
+    // 평가 시 한 방문에서 예측하는 최대 정류장 수
+    private static final int EVALUATION_HORIZON = 10;
+
+    private final MongoTemplate mongoTemplate;
+
+    private final ExecutorService executorService = Executors.newSingleThreadExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "segment-travel-time-rebuild");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    private final AtomicBoolean rebuilding = new AtomicBoolean(false);
+
+    private volatile SegmentTravelTimeTable table = new SegmentTravelTimeTable();
+
+    @PostConstruct
+    public void initialize() {
+        rebuildAsync();
+    }
+
+    // 하루에 한 번 실행 (새벽 2시 30분)
+    @Scheduled(cron = "0 30 2 * * ?")
+    public void scheduledRebuild() {
+        rebuildAsync();
+    }
+
+    /**
+     * 전용 스레드에서 재구성 (이미 진행 중이면 false)
+     */
+    public boolean rebuildAsync() {
+        if (rebuilding.get()) {
+            return false;
+        }
+        CompletableFuture.runAsync(this::rebuild, executorService);
+        return true;
+    }
+
+    private void rebuild() {
+        if (!rebuilding.compareAndSet(false, true)) {
+            return;
+        }
+        long startTime = System.currentTimeMillis();
+        try {
+            SegmentTravelTimeTable rebuilt = train(null);
+            table = rebuilt;
+            log.info("구간 소요 시간 모델 재구성 완료: 노선 {}개, 구간 {}개, {}ms",
+                rebuilt.routeCount(), rebuilt.segmentCount(), System.currentTimeMillis() - startTime);
+        } catch (Exception e) {
+            log.error("구간 소요 시간 모델 재구성 실패: {}", e.getMessage(), e);
+        } finally {
+            rebuilding.set(false);
+        }
+    }
+
+    /**
+     * 운행 중 정류장 방문 반영 (직전 방문 → 이번 방문)
+     */
+    public void observeVisit(String routeId, BusRouteTracking.StationVisit previous, BusRouteTracking.StationVisit current) {
+        if (previous == null || current == null || previous.getArrivalTime() == null || current.getArrivalTime() == null) {
+            return;
+        }
+        observe(table, routeId, previous, current);
+    }
+
+    /**
+     * fromSeq → toSeq 예상 소요 시간 (분), 학습되지 않은 구간이 있으면 NaN
+     */
+    public double estimateMinutes(String routeId, int fromSeq, int toSeq, int slot) {
+        return estimateMinutes(table, routeId, fromSeq, toSeq, slot);
+    }
+
+    public boolean hasRoute(String routeId) {
+        return table.hasRoute(routeId);
+    }
+
+    /**
+     * 기록 재생 평가 - from 이전 기록으로 학습한 모델로 [from, to) 기록을 예측해 비교
+     *
+     * @param baselineMinutesPerStation 비교용 기존 휴리스틱 (시각 → 정류장당 분)
+     */
+    public Map<String, Object> evaluate(Date from, Date to, ToDoubleFunction<ZonedDateTime> baselineMinutesPerStation) {
+        long trainStart = System.currentTimeMillis();
+        SegmentTravelTimeTable trained = train(from);
+        long trainMillis = System.currentTimeMillis() - trainStart;
+
+        long samples = 0;
+        long covered = 0;
+        double modelAbsError = 0;
+        double modelSquaredError = 0;
+        long modelWithinTwoMinutes = 0;
+        double baselineAbsError = 0;
+        long[] latencies = new long[1024];
+        int latencyCount = 0;
+
+        Query query = trackingQuery(Criteria.where("startTime").gte(from).lt(to));
+        try (CloseableIterator<BusRouteTracking> cursor = mongoTemplate.stream(query, BusRouteTracking.class)) {
+            while (cursor.hasNext()) {
+                BusRouteTracking tracking = cursor.next();
+                List<BusRouteTracking.StationVisit> visits = orderedVisits(tracking);
+
+                for (int i = 0; i < visits.size(); i++) {
+                    BusRouteTracking.StationVisit origin = visits.get(i);
+                    ZonedDateTime originTime = origin.getArrivalTime().toInstant().atZone(WeeklySchedule.ZONE);
+                    int slot = SegmentTravelTimeTable.slotOf(WeeklySchedule.minuteOfWeek(originTime));
+
+                    for (int j = i + 1; j < visits.size() && j <= i + EVALUATION_HORIZON; j++) {
+                        BusRouteTracking.StationVisit target = visits.get(j);
+                        if (target.getStationSeq() <= origin.getStationSeq()) {
+                            break;
+                        }
+                        double actual = (target.getArrivalTime().getTime() - origin.getArrivalTime().getTime()) / 60000.0;
+                        if (actual <= 0) {
+                            continue;
+                        }
+                        samples++;
+
+                        int stations = target.getStationSeq() - origin.getStationSeq();
+                        baselineAbsError += Math.abs(stations * baselineMinutesPerStation.applyAsDouble(originTime) - actual);
+
+                        long lookupStart = System.nanoTime();
+                        double predicted = estimateMinutes(trained, tracking.getRouteId(),
+                            origin.getStationSeq(), target.getStationSeq(), slot);
+                        long lookupNanos = System.nanoTime() - lookupStart;
+                        if (latencyCount == latencies.length) {
+                            latencies = Arrays.copyOf(latencies, latencies.length * 2);
+                        }
+                        latencies[latencyCount++] = lookupNanos;
+
+                        if (Double.isNaN(predicted)) {
+                            continue;
+                        }
+                        covered++;
+                        double error = predicted - actual;
+                        modelAbsError += Math.abs(error);
+                        modelSquaredError += error * error;
+                        if (Math.abs(error) <= 2.0) {
+                            modelWithinTwoMinutes++;
+                        }
+                    }
+                }
+            }
+        }
+
+        Arrays.sort(latencies, 0, latencyCount);
+
+        Map<String, Object> result = new LinkedHashMap<>();
+        result.put("from", from);
+        result.put("to", to);
+        result.put("trainMillis", trainMillis);
+        result.put("trainedRoutes", trained.routeCount());
+        result.put("trainedSegments", trained.segmentCount());
+        result.put("samples", samples);
+        result.put("coverage", samples > 0 ? (double) covered / samples : 0.0);
+        result.put("modelMaeMinutes", covered > 0 ? modelAbsError / covered : null);
+        result.put("modelRmseMinutes", covered > 0 ? Math.sqrt(modelSquaredError / covered) : null);
+        result.put("modelWithinTwoMinutes", covered > 0 ? (double) modelWithinTwoMinutes / covered : null);
+        result.put("baselineMaeMinutes", samples > 0 ? baselineAbsError / samples : null);
+        result.put("lookupP50Nanos", latencyCount > 0 ? latencies[latencyCount / 2] : null);
+        result.put("lookupP99Nanos", latencyCount > 0 ? latencies[Math.min(latencyCount - 1, (int) (latencyCount * 0.99))] : null);
+        return result;
+    }
+
+    // until 이전에 시작한 운행 기록으로 학습 (null 이면 전체)
+    private SegmentTravelTimeTable train(Date until) {
+        SegmentTravelTimeTable trained = new SegmentTravelTimeTable();
+        Query query = trackingQuery(until != null ? Criteria.where("startTime").lt(until) : new Criteria());
+        try (CloseableIterator<BusRouteTracking> cursor = mongoTemplate.stream(query, BusRouteTracking.class)) {
+            while (cursor.hasNext()) {
+                BusRouteTracking tracking = cursor.next();
+                observeAll(trained, tracking.getRouteId(), orderedVisits(tracking), until);
+            }
+        }
+        trainArchived(trained, until);
+        return trained;
+    }
+
+    // 운행 문서 상한을 넘어 보관 컬렉션으로 옮겨진 방문 기록도 학습에 포함
+    private void trainArchived(SegmentTravelTimeTable trained, Date until) {
+        Query query = new Query(Criteria.where("kind").is("stationVisits"));
+        query.fields().include("routeId").include("items.stationSeq").include("items.arrivalTime");
+        try (CloseableIterator<Document> cursor = mongoTemplate.stream(query, Document.class, BusHistoryRetentionService.ARCHIVE_COLLECTION)) {
+            while (cursor.hasNext()) {
+                Document archive = cursor.next();
+                String routeId = archive.getString("routeId");
+                List<?> items = archive.get("items", List.class);
+                if (routeId == null || items == null) {
+                    continue;
+                }
+                List<BusRouteTracking.StationVisit> visits = new ArrayList<>(items.size());
+                for (Object item : items) {
+                    if (item instanceof Document) {
+                        BusRouteTracking.StationVisit visit = mongoTemplate.getConverter().read(BusRouteTracking.StationVisit.class, (Document) item);
+                        if (visit.getArrivalTime() != null) {
+                            visits.add(visit);
+                        }
+                    }
+                }
+                observeAll(trained, routeId, visits, until);
+            }
+        }
+    }
+
+    // 연속 방문 간격 반영 (until 이 있으면 그 이전에 도착한 구간만)
+    private void observeAll(SegmentTravelTimeTable target, String routeId, List<BusRouteTracking.StationVisit> visits, Date until) {
+        for (int i = 1; i < visits.size(); i++) {
+            if (until != null && !visits.get(i).getArrivalTime().before(until)) {
+                break;
+            }
+            observe(target, routeId, visits.get(i - 1), visits.get(i));
+        }
+    }
+
+    private Query trackingQuery(Criteria criteria) {
+        Query query = new Query(criteria).with(Sort.by(Sort.Direction.ASC, "startTime"));
+        query.fields().include("routeId").include("startTime")
+            .include("stationVisits.stationSeq").include("stationVisits.arrivalTime");
+        return query;
+    }
+
+    private List<BusRouteTracking.StationVisit> orderedVisits(BusRouteTracking tracking) {
+        if (tracking.getRouteId() == null || tracking.getStationVisits() == null) {
+            return Collections.emptyList();
+        }
+        List<BusRouteTracking.StationVisit> visits = new ArrayList<>();
+        for (BusRouteTracking.StationVisit visit : tracking.getStationVisits()) {
+            if (visit.getArrivalTime() != null) {
+                visits.add(visit);
+            }
+        }
+        return visits;
+    }
+
+    private static void observe(SegmentTravelTimeTable target, String routeId,
+                                BusRouteTracking.StationVisit previous, BusRouteTracking.StationVisit current) {
+        double minutes = (current.getArrivalTime().getTime() - previous.getArrivalTime().getTime()) / 60000.0;
+        int slot = SegmentTravelTimeTable.slotOf(
+            WeeklySchedule.minuteOfWeek(previous.getArrivalTime().toInstant().atZone(WeeklySchedule.ZONE)));
+        target.observe(routeId, previous.getStationSeq(), current.getStationSeq(), slot, minutes);
+    }
+
+    private static double estimateMinutes(SegmentTravelTimeTable source, String routeId, int fromSeq, int toSeq, int slot) {
+        double total = 0;
+        for (int seq = fromSeq; seq < toSeq; seq++) {
+            double minutes = source.lookup(routeId, seq, slot);
+            if (Double.isNaN(minutes)) {
+                return Double.NaN;
+            }
+            total += minutes;
+        }
+        return total;
+    }
+
+    @PreDestroy
+    public void cleanup() {
+        executorService.shutdownNow();
+    }
+}
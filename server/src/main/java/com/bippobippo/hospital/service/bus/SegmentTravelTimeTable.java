@@ -0,0 +1,109 @@
+package com.bippobippo.hospital.service.bus;
+
+import com.bippobippo.hospital.util.WeeklySchedule;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * (노선, 구간, 요일, 15분 슬롯)별 정류장 간 소요 시간 조회 테이블
+ *
+ * 구간은 출발 정류장 순서(fromSeq → fromSeq + 1)로 식별하며, 슬롯은 한 주를 15분 단위로
+ * 나눈 {@link WeeklySchedule} 슬롯을 그대로 사용한다. 관측이 있는 구간만 배열을 만들고,
+ * 슬롯 표본이 부족하면 같은 요일·시간대의 인접 슬롯 → 구간 전체 평균 순으로 대체한다.
+ */
+public final class SegmentTravelTimeTable {
+
+    // 한 구간 소요 시간으로 인정하는 상한 (분) - 차고지 대기 등 이상치 제외
+    static final double MAX_SEGMENT_MINUTES = 30.0;
+    // 방문 기록 사이 누락 정류장 허용 개수
+    static final int MAX_SEQ_GAP = 5;
+    // 슬롯 평균을 신뢰하기 위한 최소 표본 수
+    private static final int MIN_SLOT_SAMPLES = 3;
+    // 오래된 관측의 영향을 줄이기 위한 가중치 상한 (이동 평균처럼 동작)
+    private static final int MAX_WEIGHT = 200;
+
+    private final Map<String, Map<Integer, Segment>> routes = new ConcurrentHashMap<>();
+
+    /**
+     * 관측 추가 - fromSeq 에서 toSeq 까지 걸린 시간을 구간 수로 나눠 각 구간에 반영
+     */
+    public void observe(String routeId, int fromSeq, int toSeq, int slot, double minutes) {
+        int gap = toSeq - fromSeq;
+        if (routeId == null || gap <= 0 || gap > MAX_SEQ_GAP) {
+            return;
+        }
+        double perSegment = minutes / gap;
+        if (perSegment <= 0 || perSegment > MAX_SEGMENT_MINUTES) {
+            return;
+        }
+        Map<Integer, Segment> segments = routes.computeIfAbsent(routeId, k -> new ConcurrentHashMap<>());
+        for (int seq = fromSeq; seq < toSeq; seq++) {
+            segments.computeIfAbsent(seq, k -> new Segment()).add(slot, perSegment);
+        }
+    }
+
+    /**
+     * 구간 소요 시간 (분), 학습된 값이 없으면 NaN
+     */
+    public double lookup(String routeId, int fromSeq, int slot) {
+        Map<Integer, Segment> segments = routes.get(routeId);
+        if (segments == null) {
+            return Double.NaN;
+        }
+        Segment segment = segments.get(fromSeq);
+        return segment != null ? segment.estimate(slot) : Double.NaN;
+    }
+
+    public boolean hasRoute(String routeId) {
+        return routes.containsKey(routeId);
+    }
+
+    public int routeCount() {
+        return routes.size();
+    }
+
+    public int segmentCount() {
+        return routes.values().stream().mapToInt(Map::size).sum();
+    }
+
+    public static int slotOf(int minuteOfWeek) {
+        return Math.floorMod(minuteOfWeek, WeeklySchedule.MINUTES_PER_WEEK) / WeeklySchedule.SLOT_MINUTES;
+    }
+
+    private static final class Segment {
+        private final float[] slotMinutes = new float[WeeklySchedule.SLOTS_PER_WEEK];
+        private final short[] slotCounts = new short[WeeklySchedule.SLOTS_PER_WEEK];
+        private double overallMinutes;
+        private int overallCount;
+
+        private synchronized void add(int slot, double minutes) {
+            int count = Math.min(slotCounts[slot] + 1, MAX_WEIGHT);
+            slotMinutes[slot] += (float) ((minutes - slotMinutes[slot]) / count);
+            slotCounts[slot] = (short) count;
+
+            overallCount = Math.min(overallCount + 1, MAX_WEIGHT);
+            overallMinutes += (minutes - overallMinutes) / overallCount;
+        }
+
+        private double estimate(int slot) {
+            if (slotCounts[slot] >= MIN_SLOT_SAMPLES) {
+                return slotMinutes[slot];
+            }
+
+            // 앞뒤 15분 슬롯까지 합쳐서 표본 확보
+            double sum = 0;
+            int count = 0;
+            for (int offset = -1; offset <= 1; offset++) {
+                int neighbor = Math.floorMod(slot + offset, WeeklySchedule.SLOTS_PER_WEEK);
+                sum += slotMinutes[neighbor] * slotCounts[neighbor];
+                count += slotCounts[neighbor];
+            }
+            if (count >= MIN_SLOT_SAMPLES) {
+                return sum / count;
+            }
+
+            return overallCount >= MIN_SLOT_SAMPLES ? overallMinutes : Double.NaN;
+        }
+    }
+}
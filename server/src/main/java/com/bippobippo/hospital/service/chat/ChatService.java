@@ -2,7 +2,15 @@ package com.bippobippo.hospital.service.chat;
 
 import com.bippobippo.hospital.dto.request.chat.ChatMessageRequest;
 import com.bippobippo.hospital.dto.response.chat.ChatMessageResponse;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.util.concurrent.CompletableFuture;
 
 public interface ChatService {
-    ChatMessageResponse processMessage(ChatMessageRequest request);
+    CompletableFuture<ChatMessageResponse> processMessage(ChatMessageRequest request);
+
+    /**
+     * 검색 결과(hospitals), 모델 응답 조각(token), 최종 HTML(done) 순으로 SSE 전송
+     */
+    void streamMessage(ChatMessageRequest request, SseEmitter emitter);
 } 
\ No newline at end of file
@@ -0,0 +1,32 @@
+package com.bippobippo.hospital.service.common;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.Optional;
+
+/**
+ * 업로드 이미지 원본/변형 파일 저장소
+ *
+ * 키는 내용 해시 기반 경로(예: profile/ab/ab12...cd.jpg)라서 같은 키의 내용은 바뀌지 않는다.
+ */
+public interface ImageBlobStore {
+
+    boolean exists(String key);
+
+    /**
+     * 파일을 키 위치에 저장 (이미 있으면 덮어씀)
+     */
+    void put(String key, Path source, String contentType) throws IOException;
+
+    void delete(String key) throws IOException;
+
+    /**
+     * 로컬 파일 경로 (원격 저장소면 empty)
+     */
+    Optional<Path> localPath(String key);
+
+    /**
+     * 원격 저장소 공개 URL (로컬 저장소면 null)
+     */
+    String publicUrl(String key);
+}
@@ -17,6 +17,29 @@ public interface ImageStorageService {
      */
     String uploadProfileImage(MultipartFile file);
 
+    /**
+     * 뉴스 이미지를 업로드합니다.
+     * @param file 업로드할 뉴스 이미지 파일
+     * @return 업로드된 파일의 파일명
+     */
+    String uploadNewsImage(MultipartFile file);
+
+    /**
+     * 게시글 본문 이미지를 업로드합니다.
+     * @param file 업로드할 게시글 이미지 파일
+     * @return 업로드된 파일의 파일명
+     */
+    String uploadBoardImage(MultipartFile file);
+
+    /**
+     * 업로드된 이미지의 저장 위치와 캐시 정보를 조회합니다.
+     * @param folder 이미지 폴더 (profile, news, boards)
+     * @param filename 업로드 시 반환된 파일명
+     * @param variant 변형 이름 (thumb, medium), 원본이면 null
+     * @return 조회 결과, 없으면 null
+     */
+    StoredImage resolveImage(String folder, String filename, String variant);
+
     /**
      * 로컬 저장소에서 파일을 삭제합니다.
      * @param fileName 삭제할 파일 이름
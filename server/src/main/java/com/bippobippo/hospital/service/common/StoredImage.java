@@ -0,0 +1,20 @@
+package com.bippobippo.hospital.service.common;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+import java.nio.file.Path;
+
+/**
+ * 업로드 이미지 조회 결과 (로컬 파일 또는 원격 URL 중 하나)
+ */
+@Getter
+@AllArgsConstructor
+public class StoredImage {
+    private final Path localPath;
+    private final String redirectUrl;
+    private final String contentType;
+    private final String etag;
+    private final long maxAgeSeconds;
+    private final boolean immutable;
+}
@@ -20,11 +20,21 @@ public interface AnalyticsService {
     UserProfileResponse getUserProfile(String userId);
     SearchAnalyticsResponse getSearchAnalytics(String userId);
     AnalyticsResponse getPopularSearches();
+    AnalyticsResponse getPopularSearches(String window);
     AnalyticsResponse getPopularHospitals();
+    AnalyticsResponse getPopularHospitals(String window);
 
     // 사용자 프로파일 업데이트
     AnalyticsResponse updateUserProfile(String userId);
 
     // 통계 데이터 조회
     AnalyticsResponse getEventStatistics(String userId, String eventType, String startDate, String endDate);
+    AnalyticsResponse getHospitalEventStatistics(String hospitalId, String eventType, String startDate, String endDate);
+
+    // 통계 집계 재계산 및 조회 성능 비교 (관리자)
+    AnalyticsResponse rebuildEventRollups(String fromDate, String toDate);
+    AnalyticsResponse benchmarkEventStatistics(String userId, String eventType, int iterations);
+
+    // 이벤트 적재 버퍼 상태
+    AnalyticsResponse getIngestStats();
 } 
\ No newline at end of file
@@ -1,6 +1,9 @@
 package com.bippobippo.hospital.service.event;
 
 import com.bippobippo.hospital.dto.response.event.UserProfileResponse;
+import com.bippobippo.hospital.model.event.ClickPattern;
+import com.bippobippo.hospital.model.event.DwellTime;
+import com.bippobippo.hospital.model.event.SearchHistory;
 
 import java.util.List;
 import java.util.Map;
@@ -10,9 +13,17 @@ public interface UserProfileService {
     // 사용자 프로파일 조회
     UserProfileResponse getUserProfile(String userId);
 
-    // 사용자 프로파일 생성 또는 업데이트
+    // 사용자 프로파일 생성 또는 업데이트 (전체 이력으로 재구성)
     UserProfileResponse createOrUpdateUserProfile(String userId);
 
+    // 이벤트 한 건씩 프로파일 증분 갱신 ($inc upsert)
+    void applySearchEvent(SearchHistory searchHistory);
+    void applyClickEvent(ClickPattern clickPattern);
+    void applyDwellTimeEvent(DwellTime dwellTime);
+
+    // 감쇠 점수 정리 및 파생 필드 저장
+    int compactProfiles();
+
     // 사용자 선호도 계산
     Map<String, Object> calculateUserPreferences(String userId);
 
@@ -0,0 +1,549 @@
+package com.bippobippo.hospital.service.event.impl;
+
+import com.bippobippo.hospital.model.event.UserBehaviorEvent;
+import com.bippobippo.hospital.model.event.UserProfile;
+import com.mongodb.MongoBulkWriteException;
+import com.mongodb.bulk.BulkWriteError;
+import com.mongodb.client.model.InsertManyOptions;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.bson.Document;
+import org.bson.json.JsonMode;
+import org.bson.json.JsonWriterSettings;
+import org.bson.types.ObjectId;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.mongodb.BulkOperationException;
+import org.springframework.data.mongodb.core.BulkOperations;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.stereotype.Component;
+
+import javax.annotation.PostConstruct;
+import javax.annotation.PreDestroy;
+import java.io.BufferedReader;
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+/**
+ * 분석 이벤트 적재 버퍼
+ *
+ * 요청 스레드는 이벤트 문서를 제한된 큐에 넣고 바로 응답하며, 전용 쓰기 스레드가 큐에서 모인 만큼
+ * 꺼내 컬렉션별로 순서 없는(unordered) 대량 삽입을 한다. 큐가 가득 차면 설정에 따라 버리거나(DROP)
+ * 스필 대기열에 넘기고(SPILL), 전용 스필 스레드가 로컬 파일에 JSON 줄로 기록했다가 큐가 한가할 때 다시 적재한다.
+ * 요청 스레드는 어느 경우에도 큐에 넣기만 하고 파일 입출력을 기다리지 않는다.
+ * 사용자 프로파일 증분(ProfileUpdate)도 같은 큐로 받아 bulk upsert 로 반영한다 (스필 대상 아님).
+ * 저장된 행동 이벤트는 같은 스레드에서 통계용 시간/일 집계(EventStatisticsRollup)에 더한다 (재적재 포함).
+ * 종료 시에는 남은 이벤트를 모두 쓰고, 시간 안에 못 쓴 이벤트는 파일로 남긴다.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class AnalyticsEventBuffer {
+
+    public enum OverflowPolicy { DROP, SPILL }
+
+    private static final String SPILL_PREFIX = "analytics-spill-";
+    private static final String SPILL_SUFFIX = ".jsonl";
+    private static final JsonWriterSettings EXTENDED_JSON = JsonWriterSettings.builder()
+        .outputMode(JsonMode.EXTENDED)
+        .build();
+
+    private final MongoTemplate mongoTemplate;
+    private final EventStatisticsRollup eventRollup;
+
+    @Value("${analytics.ingest.queue-capacity:100000}")
+    private int queueCapacity;
+
+    @Value("${analytics.ingest.batch-size:1000}")
+    private int batchSize;
+
+    @Value("${analytics.ingest.max-wait-ms:200}")
+    private long maxWaitMs;
+
+    @Value("${analytics.ingest.writer-threads:2}")
+    private int writerThreads;
+
+    @Value("${analytics.ingest.overflow-policy:SPILL}")
+    private OverflowPolicy overflowPolicy;
+
+    @Value("${analytics.ingest.spill-dir:${java.io.tmpdir}/hospital-analytics-spill}")
+    private String spillDir;
+
+    @Value("${analytics.ingest.spill-max-mb:512}")
+    private long spillMaxMb;
+
+    @Value("${analytics.ingest.spill-queue-capacity:10000}")
+    private int spillQueueCapacity;
+
+    @Value("${analytics.ingest.shutdown-timeout-seconds:10}")
+    private long shutdownTimeoutSeconds;
+
+    private BlockingQueue<Object> queue;
+    private BlockingQueue<Object> spillQueue;
+    private ExecutorService executor;
+    private ExecutorService spillExecutor;
+    private volatile boolean running;
+
+    private final LongAdder accepted = new LongAdder();
+    private final LongAdder written = new LongAdder();
+    private final LongAdder failed = new LongAdder();
+    private final LongAdder spilled = new LongAdder();
+    private final LongAdder replayed = new LongAdder();
+    private final LongAdder dropped = new LongAdder();
+
+    // 스필 파일 쓰기 상태 (spillLock 으로 보호)
+    private final Object spillLock = new Object();
+    private BufferedWriter spillWriter;
+    private long spillBytes;
+    private final AtomicInteger spillSequence = new AtomicInteger();
+    private final AtomicBoolean replaying = new AtomicBoolean(false);
+
+    @PostConstruct
+    public void start() {
+        queue = new ArrayBlockingQueue<>(queueCapacity);
+        running = true;
+
+        AtomicInteger threadIndex = new AtomicInteger();
+        executor = Executors.newFixedThreadPool(writerThreads, runnable -> {
+            Thread thread = new Thread(runnable, "analytics-ingest-" + threadIndex.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+        for (int i = 0; i < writerThreads; i++) {
+            executor.submit(this::drainLoop);
+        }
+
+        spillQueue = new ArrayBlockingQueue<>(spillQueueCapacity);
+        spillExecutor = Executors.newSingleThreadExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "analytics-spill");
+            thread.setDaemon(true);
+            return thread;
+        });
+        spillExecutor.submit(this::spillLoop);
+
+        synchronized (spillLock) {
+            spillBytes = existingSpillFiles().stream().mapToLong(this::sizeOf).sum();
+        }
+        log.info("분석 이벤트 버퍼 시작: 큐 {}건, 배치 {}건, 쓰기 스레드 {}개, 초과 정책 {}",
+            queueCapacity, batchSize, writerThreads, overflowPolicy);
+    }
+
+    /**
+     * 이벤트 문서 적재 요청 (큐나 스필 대기열에 넣으면 true, 버리면 false)
+     *
+     * 스필 대기열에 넣은 문서도 스필 용량 한도를 넘으면 스필 스레드에서 버려지고 dropped 로 집계된다.
+     */
+    public boolean submit(Object document) {
+        if (running && queue.offer(document)) {
+            accepted.increment();
+            return true;
+        }
+        if (running && overflowPolicy == OverflowPolicy.SPILL && !(document instanceof ProfileUpdate)
+                && spillQueue.offer(document)) {
+            accepted.increment();
+            return true;
+        }
+        dropped.increment();
+        return false;
+    }
+
+    public Map<String, Object> getStats() {
+        Map<String, Object> stats = new LinkedHashMap<>();
+        stats.put("queued", queue.size());
+        stats.put("capacity", queueCapacity);
+        stats.put("spillQueued", spillQueue.size());
+        stats.put("overflowPolicy", overflowPolicy.name());
+        stats.put("accepted", accepted.sum());
+        stats.put("written", written.sum());
+        stats.put("failed", failed.sum());
+        stats.put("spilled", spilled.sum());
+        stats.put("replayed", replayed.sum());
+        stats.put("dropped", dropped.sum());
+        synchronized (spillLock) {
+            stats.put("spillBytes", spillBytes);
+        }
+        return stats;
+    }
+
+    private void drainLoop() {
+        List<Object> batch = new ArrayList<>(batchSize);
+        while (running || !queue.isEmpty()) {
+            try {
+                Object first = queue.poll(maxWaitMs, TimeUnit.MILLISECONDS);
+                if (first == null) {
+                    // 큐가 비었을 때만 스필 파일 재적재
+                    replaySpillFiles();
+                    continue;
+                }
+                batch.add(first);
+                queue.drainTo(batch, batchSize - 1);
+                write(batch);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            } catch (Exception e) {
+                log.error("분석 이벤트 쓰기 루프 오류: {}", e.getMessage(), e);
+            } finally {
+                batch.clear();
+            }
+        }
+    }
+
+    /**
+     * 큐가 가득 차 넘어온 문서를 모아 스필 파일에 기록 (용량 한도를 넘으면 버림)
+     */
+    private void spillLoop() {
+        List<Object> batch = new ArrayList<>(batchSize);
+        while (running || !spillQueue.isEmpty()) {
+            try {
+                Object first = spillQueue.poll(maxWaitMs, TimeUnit.MILLISECONDS);
+                if (first == null) {
+                    continue;
+                }
+                batch.add(first);
+                spillQueue.drainTo(batch, batchSize - 1);
+                if (!spill(batch)) {
+                    dropped.add(batch.size());
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            } catch (Exception e) {
+                log.error("분석 이벤트 스필 루프 오류: {}", e.getMessage(), e);
+            } finally {
+                batch.clear();
+            }
+        }
+    }
+
+    private void write(List<Object> batch) {
+        Map<Class<?>, List<Object>> byType = new LinkedHashMap<>();
+        for (Object document : batch) {
+            byType.computeIfAbsent(document.getClass(), k -> new ArrayList<>()).add(document);
+        }
+
+        List<Object> profileUpdates = byType.remove(ProfileUpdate.class);
+        if (profileUpdates != null) {
+            writeProfileUpdates(profileUpdates);
+        }
+
+        byType.forEach((type, documents) -> {
+            try {
+                BulkOperations operations = mongoTemplate.bulkOps(BulkOperations.BulkMode.UNORDERED, type);
+                operations.insert(documents);
+                operations.execute();
+                written.add(documents.size());
+                if (type == UserBehaviorEvent.class) {
+                    eventRollup.record(documents);
+                }
+            } catch (BulkOperationException e) {
+                // 일부 문서만 실패 (중복 키 등 다시 써도 실패할 오류) - 나머지는 이미 저장됨
+                int failedCount = e.getErrors().size();
+                written.add(documents.size() - failedCount);
+                failed.add(failedCount);
+                if (type == UserBehaviorEvent.class) {
+                    Set<Integer> failedIndexes = e.getErrors().stream()
+                        .map(BulkWriteError::getIndex)
+                        .collect(Collectors.toSet());
+                    List<Object> saved = new ArrayList<>(documents.size() - failedCount);
+                    for (int i = 0; i < documents.size(); i++) {
+                        if (!failedIndexes.contains(i)) {
+                            saved.add(documents.get(i));
+                        }
+                    }
+                    eventRollup.record(saved);
+                }
+                log.warn("분석 이벤트 일부 저장 실패: {} {}건 중 {}건", type.getSimpleName(), documents.size(), failedCount);
+            } catch (Exception e) {
+                // 연결 오류 등 배치 전체 실패 - 정책에 따라 파일로 보관
+                log.error("분석 이벤트 저장 실패: {} {}건, error={}", type.getSimpleName(), documents.size(), e.getMessage());
+                if (overflowPolicy != OverflowPolicy.SPILL || !spill(documents)) {
+                    failed.add(documents.size());
+                }
+            }
+        });
+    }
+
+    private void writeProfileUpdates(List<Object> updates) {
+        try {
+            BulkOperations operations = mongoTemplate.bulkOps(BulkOperations.BulkMode.UNORDERED, UserProfile.class);
+            for (Object item : updates) {
+                ProfileUpdate profileUpdate = (ProfileUpdate) item;
+                operations.upsert(profileUpdate.query(), profileUpdate.update());
+            }
+            operations.execute();
+            written.add(updates.size());
+        } catch (BulkOperationException e) {
+            written.add(updates.size() - e.getErrors().size());
+            failed.add(e.getErrors().size());
+            log.warn("사용자 프로파일 증분 갱신 일부 실패: {}건 중 {}건", updates.size(), e.getErrors().size());
+        } catch (Exception e) {
+            // 프로파일 증분은 스필하지 않음 (재구성은 createOrUpdateUserProfile)
+            failed.add(updates.size());
+            log.error("사용자 프로파일 증분 갱신 실패: {}건, error={}", updates.size(), e.getMessage());
+        }
+    }
+
+    /**
+     * 문서를 "컬렉션 이름\tJSON" 줄로 스필 파일에 기록 (_id 를 미리 채워 재적재 시 중복 저장 방지)
+     *
+     * 용량 한도를 넘으면 한 건도 쓰지 않고 false 를 돌려주므로, 호출한 쪽은 배치 전체를 실패로 셀 수 있다.
+     */
+    private boolean spill(List<Object> documents) {
+        StringBuilder lines = new StringBuilder();
+        int count = 0;
+        int skipped = 0;
+        for (Object document : documents) {
+            // 프로파일 증분은 스필 대상 아님
+            if (document instanceof ProfileUpdate) {
+                skipped++;
+                continue;
+            }
+            lines.append(mongoTemplate.getCollectionName(document.getClass()))
+                .append('\t')
+                .append(toJson(document))
+                .append(System.lineSeparator());
+            count++;
+        }
+        long bytes = lines.toString().getBytes(StandardCharsets.UTF_8).length;
+
+        synchronized (spillLock) {
+            try {
+                if (spillBytes + bytes > spillMaxMb * 1024 * 1024) {
+                    log.warn("분석 이벤트 스필 용량 초과: {}MB ({}건 기록 안 함)", spillMaxMb, count);
+                    return false;
+                }
+                if (spillWriter == null) {
+                    Files.createDirectories(Paths.get(spillDir));
+                    Path spillFile = Paths.get(spillDir,
+                        SPILL_PREFIX + System.currentTimeMillis() + "-" + spillSequence.incrementAndGet() + SPILL_SUFFIX);
+                    spillWriter = Files.newBufferedWriter(spillFile, StandardCharsets.UTF_8,
+                        StandardOpenOption.CREATE, StandardOpenOption.APPEND);
+                }
+                spillWriter.write(lines.toString());
+                spillWriter.flush();
+                spillBytes += bytes;
+                spilled.add(count);
+                dropped.add(skipped);
+                return true;
+            } catch (Exception e) {
+                log.error("분석 이벤트 스필 실패: {}", e.getMessage(), e);
+                return false;
+            }
+        }
+    }
+
+    // 재적재 시 Document.parse 로 날짜/ObjectId/Long 타입이 그대로 복원되도록 확장 JSON 으로 기록
+    private String toJson(Object entity) {
+        Document document = new Document();
+        mongoTemplate.getConverter().write(entity, document);
+        if (document.get("_id") == null) {
+            document.put("_id", new ObjectId());
+        }
+        return document.toJson(EXTENDED_JSON);
+    }
+
+    /**
+     * 스필 파일을 오래된 순으로 다시 적재 (한 번에 한 스레드만, 실패하면 파일을 남겨 다음에 재시도)
+     */
+    private void replaySpillFiles() {
+        if (!running || !replaying.compareAndSet(false, true)) {
+            return;
+        }
+        try {
+            List<Path> files = existingSpillFiles();
+            if (files.isEmpty()) {
+                return;
+            }
+            // 쓰는 중인 파일은 닫아서 이후 스필은 새 파일로 가게 함
+            synchronized (spillLock) {
+                closeSpillWriter();
+            }
+            for (Path file : files) {
+                if (!running || !queue.isEmpty()) {
+                    return;
+                }
+                long size = sizeOf(file);
+                if (!replay(file)) {
+                    return;
+                }
+                Files.deleteIfExists(file);
+                synchronized (spillLock) {
+                    spillBytes = Math.max(0, spillBytes - size);
+                }
+            }
+        } catch (Exception e) {
+            log.error("분석 이벤트 스필 재적재 실패: {}", e.getMessage(), e);
+        } finally {
+            replaying.set(false);
+        }
+    }
+
+    private boolean replay(Path file) throws IOException {
+        Map<String, List<Document>> pending = new HashMap<>();
+        int lines = 0;
+        try (BufferedReader reader = Files.newBufferedReader(file, StandardCharsets.UTF_8)) {
+            String line;
+            while ((line = reader.readLine()) != null) {
+                int tab = line.indexOf('\t');
+                if (tab <= 0) {
+                    continue;
+                }
+                List<Document> documents = pending.computeIfAbsent(line.substring(0, tab), k -> new ArrayList<>());
+                documents.add(Document.parse(line.substring(tab + 1)));
+                lines++;
+                if (documents.size() >= batchSize && !insertRaw(line.substring(0, tab), documents)) {
+                    return false;
+                }
+            }
+        }
+        for (Map.Entry<String, List<Document>> entry : pending.entrySet()) {
+            if (!insertRaw(entry.getKey(), entry.getValue())) {
+                return false;
+            }
+        }
+        log.info("분석 이벤트 스필 파일 재적재 완료: {} ({}건)", file.getFileName(), lines);
+        return true;
+    }
+
+    private boolean insertRaw(String collectionName, List<Document> documents) {
+        if (documents.isEmpty()) {
+            return true;
+        }
+        Set<Integer> failedIndexes = Set.of();
+        try {
+            mongoTemplate.getCollection(collectionName)
+                .insertMany(documents, new InsertManyOptions().ordered(false));
+            replayed.add(documents.size());
+        } catch (MongoBulkWriteException e) {
+            // 이전 재적재에서 이미 저장된 문서 (중복 _id) 는 무시
+            replayed.add(documents.size() - e.getWriteErrors().size());
+            failedIndexes = e.getWriteErrors().stream()
+                .map(BulkWriteError::getIndex)
+                .collect(Collectors.toSet());
+        } catch (Exception e) {
+            log.warn("분석 이벤트 재적재 중단: {} ({})", collectionName, e.getMessage());
+            return false;
+        }
+        if (collectionName.equals(mongoTemplate.getCollectionName(UserBehaviorEvent.class))) {
+            recordReplayedEvents(documents, failedIndexes);
+        }
+        documents.clear();
+        return true;
+    }
+
+    /**
+     * 재적재로 새로 저장된 행동 이벤트를 집계에 더하고, 해당 일자를 재계산 대상으로 표시
+     *
+     * 중복 _id 로 건너뛴 문서는 이전 재적재에서 저장됐지만 집계 반영 전에 중단됐을 수 있으므로
+     * 그 일자도 다음 재계산 범위에 넣는다.
+     */
+    private void recordReplayedEvents(List<Document> documents, Set<Integer> failedIndexes) {
+        List<UserBehaviorEvent> saved = new ArrayList<>(documents.size() - failedIndexes.size());
+        for (int i = 0; i < documents.size(); i++) {
+            UserBehaviorEvent event = mongoTemplate.getConverter().read(UserBehaviorEvent.class, documents.get(i));
+            if (event.getCreatedAt() != null) {
+                eventRollup.markStale(event.getCreatedAt().toLocalDate());
+            }
+            if (!failedIndexes.contains(i)) {
+                saved.add(event);
+            }
+        }
+        eventRollup.record(saved);
+    }
+
+    private List<Path> existingSpillFiles() {
+        Path directory = Paths.get(spillDir);
+        if (!Files.isDirectory(directory)) {
+            return new ArrayList<>();
+        }
+        try (Stream<Path> files = Files.list(directory)) {
+            return files
+                .filter(path -> {
+                    String name = path.getFileName().toString();
+                    return name.startsWith(SPILL_PREFIX) && name.endsWith(SPILL_SUFFIX);
+                })
+                .sorted()
+                .collect(Collectors.toList());
+        } catch (IOException e) {
+            log.error("분석 이벤트 스필 디렉터리 조회 실패: {}", e.getMessage());
+            return new ArrayList<>();
+        }
+    }
+
+    private long sizeOf(Path file) {
+        try {
+            return Files.size(file);
+        } catch (IOException e) {
+            return 0;
+        }
+    }
+
+    private void closeSpillWriter() {
+        if (spillWriter == null) {
+            return;
+        }
+        try {
+            spillWriter.close();
+        } catch (IOException e) {
+            log.warn("분석 이벤트 스필 파일 닫기 실패: {}", e.getMessage());
+        }
+        spillWriter = null;
+    }
+
+    @PreDestroy
+    public void cleanup() {
+        running = false;
+        awaitShutdown(executor);
+        awaitShutdown(spillExecutor);
+
+        // 시간 안에 쓰지 못한 이벤트 (스필 대기열에 남은 것 포함)
+        List<Object> remaining = new ArrayList<>();
+        queue.drainTo(remaining);
+        spillQueue.drainTo(remaining);
+        if (!remaining.isEmpty()) {
+            if (overflowPolicy == OverflowPolicy.SPILL && spill(remaining)) {
+                log.info("종료 시 남은 분석 이벤트 {}건을 스필 파일에 기록", remaining.size());
+            } else {
+                dropped.add(remaining.size());
+                log.warn("종료 시 분석 이벤트 {}건 유실", remaining.size());
+            }
+        }
+        synchronized (spillLock) {
+            closeSpillWriter();
+        }
+        log.info("분석 이벤트 버퍼 종료: {}", getStats());
+    }
+
+    private void awaitShutdown(ExecutorService service) {
+        service.shutdown();
+        try {
+            if (!service.awaitTermination(shutdownTimeoutSeconds, TimeUnit.SECONDS)) {
+                service.shutdownNow();
+            }
+        } catch (InterruptedException e) {
+            service.shutdownNow();
+            Thread.currentThread().interrupt();
+        }
+    }
+}
@@ -13,10 +13,13 @@ import com.bippobippo.hospital.service.event.AnalyticsService;
 import com.bippobippo.hospital.service.event.UserProfileService;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.bson.types.ObjectId;
 import org.springframework.stereotype.Service;
-import org.springframework.transaction.annotation.Transactional;
 
+import java.time.LocalDate;
 import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.stream.Collectors;
@@ -29,18 +32,18 @@ public class AnalyticsServiceImpl implements AnalyticsService {
     private final UserBehaviorEventRepository userBehaviorEventRepository;
     private final SearchHistoryRepository searchHistoryRepository;
     private final ClickPatternRepository clickPatternRepository;
-    private final DwellTimeRepository dwellTimeRepository;
     private final UserProfileRepository userProfileRepository;
     private final UserProfileService userProfileService;
+    private final AnalyticsEventBuffer eventBuffer;
+    private final PopularityTracker popularityTracker;
+    private final EventStatisticsRollup eventRollup;
 
     @Override
-    @Transactional
     public AnalyticsResponse collectSearchEvent(SearchEventRequest request) {
         try {
-            log.info("검색 이벤트 수집 시작: userId={}, query={}", request.getUserId(), request.getSearchQuery());
-
-            // 1. UserBehaviorEvent 저장
+            // 1. UserBehaviorEvent 적재
             UserBehaviorEvent behaviorEvent = UserBehaviorEvent.builder()
+                    .id(new ObjectId().toHexString())
                     .userId(request.getUserId())
                     .eventType("SEARCH")
                     .pageType("SEARCH_RESULT")
@@ -52,9 +55,8 @@ public class AnalyticsServiceImpl implements AnalyticsService {
                     .createdAt(LocalDateTime.now())
                     .updatedAt(LocalDateTime.now())
                     .build();
-            userBehaviorEventRepository.save(behaviorEvent);
 
-            // 2. SearchHistory 저장
+            // 2. SearchHistory 적재
             SearchHistory searchHistory = SearchHistory.builder()
                     .userId(request.getUserId())
                     .searchQuery(request.getSearchQuery())
@@ -69,12 +71,14 @@ public class AnalyticsServiceImpl implements AnalyticsService {
                     .createdAt(LocalDateTime.now())
                     .updatedAt(LocalDateTime.now())
                     .build();
-            searchHistoryRepository.save(searchHistory);
 
-            // 3. 사용자 프로파일 업데이트
-            userProfileService.createOrUpdateUserProfile(request.getUserId());
+            if (!enqueue(behaviorEvent, searchHistory)) {
+                return overloaded();
+            }
 
-            log.info("검색 이벤트 수집 완료: userId={}", request.getUserId());
+            // 3. 사용자 프로파일 증분 갱신 (같은 버퍼에서 bulk upsert)
+            userProfileService.applySearchEvent(searchHistory);
+            popularityTracker.record(PopularityTracker.Category.SEARCH, request.getSearchQuery());
             return AnalyticsResponse.success("검색 이벤트가 성공적으로 수집되었습니다.", Map.of("eventId", behaviorEvent.getId()));
 
         } catch (Exception e) {
@@ -84,13 +88,11 @@ public class AnalyticsServiceImpl implements AnalyticsService {
     }
 
     @Override
-    @Transactional
     public AnalyticsResponse collectClickEvent(ClickEventRequest request) {
         try {
-            log.info("클릭 이벤트 수집 시작: userId={}, hospitalId={}", request.getUserId(), request.getHospitalId());
-
-            // 1. UserBehaviorEvent 저장
+            // 1. UserBehaviorEvent 적재
             UserBehaviorEvent behaviorEvent = UserBehaviorEvent.builder()
+                    .id(new ObjectId().toHexString())
                     .userId(request.getUserId())
                     .eventType("CLICK")
                     .pageType(request.getPageType())
@@ -103,9 +105,8 @@ public class AnalyticsServiceImpl implements AnalyticsService {
                     .createdAt(LocalDateTime.now())
                     .updatedAt(LocalDateTime.now())
                     .build();
-            userBehaviorEventRepository.save(behaviorEvent);
 
-            // 2. ClickPattern 저장
+            // 2. ClickPattern 적재
             ClickPattern clickPattern = ClickPattern.builder()
                     .userId(request.getUserId())
                     .hospitalId(request.getHospitalId())
@@ -121,12 +122,14 @@ public class AnalyticsServiceImpl implements AnalyticsService {
                     .createdAt(LocalDateTime.now())
                     .updatedAt(LocalDateTime.now())
                     .build();
-            clickPatternRepository.save(clickPattern);
 
-            // 3. 사용자 프로파일 업데이트
-            userProfileService.createOrUpdateUserProfile(request.getUserId());
+            if (!enqueue(behaviorEvent, clickPattern)) {
+                return overloaded();
+            }
 
-            log.info("클릭 이벤트 수집 완료: userId={}", request.getUserId());
+            // 3. 사용자 프로파일 증분 갱신 (같은 버퍼에서 bulk upsert)
+            userProfileService.applyClickEvent(clickPattern);
+            popularityTracker.record(PopularityTracker.Category.HOSPITAL, request.getHospitalId());
             return AnalyticsResponse.success("클릭 이벤트가 성공적으로 수집되었습니다.", Map.of("eventId", behaviorEvent.getId()));
 
         } catch (Exception e) {
@@ -136,13 +139,11 @@ public class AnalyticsServiceImpl implements AnalyticsService {
     }
 
     @Override
-    @Transactional
     public AnalyticsResponse collectDwellTimeEvent(DwellTimeRequest request) {
         try {
-            log.info("체류 시간 이벤트 수집 시작: userId={}, pageType={}", request.getUserId(), request.getPageType());
-
-            // 1. UserBehaviorEvent 저장
+            // 1. UserBehaviorEvent 적재
             UserBehaviorEvent behaviorEvent = UserBehaviorEvent.builder()
+                    .id(new ObjectId().toHexString())
                     .userId(request.getUserId())
                     .eventType("DWELL_TIME")
                     .pageType(request.getPageType())
@@ -155,9 +156,8 @@ public class AnalyticsServiceImpl implements AnalyticsService {
                     .createdAt(LocalDateTime.now())
                     .updatedAt(LocalDateTime.now())
                     .build();
-            userBehaviorEventRepository.save(behaviorEvent);
 
-            // 2. DwellTime 저장
+            // 2. DwellTime 적재
             DwellTime dwellTime = DwellTime.builder()
                     .userId(request.getUserId())
                     .pageType(request.getPageType())
@@ -174,12 +174,13 @@ public class AnalyticsServiceImpl implements AnalyticsService {
                     .createdAt(LocalDateTime.now())
                     .updatedAt(LocalDateTime.now())
                     .build();
-            dwellTimeRepository.save(dwellTime);
 
-            // 3. 사용자 프로파일 업데이트
-            userProfileService.createOrUpdateUserProfile(request.getUserId());
+            if (!enqueue(behaviorEvent, dwellTime)) {
+                return overloaded();
+            }
 
-            log.info("체류 시간 이벤트 수집 완료: userId={}", request.getUserId());
+            // 3. 사용자 프로파일 증분 갱신 (같은 버퍼에서 bulk upsert)
+            userProfileService.applyDwellTimeEvent(dwellTime);
             return AnalyticsResponse.success("체류 시간 이벤트가 성공적으로 수집되었습니다.", Map.of("eventId", behaviorEvent.getId()));
 
         } catch (Exception e) {
@@ -189,13 +190,11 @@ public class AnalyticsServiceImpl implements AnalyticsService {
     }
 
     @Override
-    @Transactional
     public AnalyticsResponse collectPageViewEvent(PageViewRequest request) {
         try {
-            log.info("페이지 뷰 이벤트 수집 시작: userId={}, pageType={}", request.getUserId(), request.getPageType());
-
-            // UserBehaviorEvent 저장
+            // UserBehaviorEvent 적재
             UserBehaviorEvent behaviorEvent = UserBehaviorEvent.builder()
+                    .id(new ObjectId().toHexString())
                     .userId(request.getUserId())
                     .eventType("PAGE_VIEW")
                     .pageType(request.getPageType())
@@ -208,9 +207,10 @@ public class AnalyticsServiceImpl implements AnalyticsService {
                     .createdAt(LocalDateTime.now())
                     .updatedAt(LocalDateTime.now())
                     .build();
-            userBehaviorEventRepository.save(behaviorEvent);
 
-            log.info("페이지 뷰 이벤트 수집 완료: userId={}", request.getUserId());
+            if (!enqueue(behaviorEvent, null)) {
+                return overloaded();
+            }
             return AnalyticsResponse.success("페이지 뷰 이벤트가 성공적으로 수집되었습니다.", Map.of("eventId", behaviorEvent.getId()));
 
         } catch (Exception e) {
@@ -219,6 +219,26 @@ public class AnalyticsServiceImpl implements AnalyticsService {
         }
     }
 
+    /**
+     * 이벤트 문서를 적재 버퍼에 넣고 바로 반환 (과부하로 버려지면 false)
+     */
+    private boolean enqueue(UserBehaviorEvent behaviorEvent, Object typedEvent) {
+        boolean accepted = eventBuffer.submit(behaviorEvent);
+        if (typedEvent != null) {
+            accepted = eventBuffer.submit(typedEvent) && accepted;
+        }
+        return accepted;
+    }
+
+    private AnalyticsResponse overloaded() {
+        return AnalyticsResponse.error("이벤트 수집량이 많아 일부 이벤트가 저장되지 않았습니다.");
+    }
+
+    @Override
+    public AnalyticsResponse getIngestStats() {
+        return AnalyticsResponse.success("이벤트 적재 상태 조회 완료", eventBuffer.getStats());
+    }
+
     @Override
     public UserProfileResponse getUserProfile(String userId) {
         try {
@@ -261,14 +281,15 @@ public class AnalyticsServiceImpl implements AnalyticsService {
 
     @Override
     public AnalyticsResponse getPopularSearches() {
-        try {
-            List<SearchHistory> popularSearches = searchHistoryRepository.findPopularSearches();
-            Map<String, Long> searchFrequency = popularSearches.stream()
-                    .collect(Collectors.groupingBy(
-                            SearchHistory::getSearchQuery,
-                            Collectors.counting()
-                    ));
+        return getPopularSearches("day");
+    }
 
+    @Override
+    public AnalyticsResponse getPopularSearches(String window) {
+        try {
+            // 주기적으로 갱신되는 메모리 순위를 그대로 반환
+            Map<String, Long> searchFrequency = popularityTracker.top(
+                    PopularityTracker.Category.SEARCH, PopularityTracker.Window.from(window));
             return AnalyticsResponse.success("인기 검색어 조회 완료", searchFrequency);
         } catch (Exception e) {
             log.error("인기 검색어 조회 실패: error={}", e.getMessage(), e);
@@ -278,14 +299,14 @@ public class AnalyticsServiceImpl implements AnalyticsService {
 
     @Override
     public AnalyticsResponse getPopularHospitals() {
-        try {
-            List<ClickPattern> popularHospitals = clickPatternRepository.findPopularClickedHospitals();
-            Map<String, Long> hospitalFrequency = popularHospitals.stream()
-                    .collect(Collectors.groupingBy(
-                            ClickPattern::getHospitalId,
-                            Collectors.counting()
-                    ));
+        return getPopularHospitals("day");
+    }
 
+    @Override
+    public AnalyticsResponse getPopularHospitals(String window) {
+        try {
+            Map<String, Long> hospitalFrequency = popularityTracker.top(
+                    PopularityTracker.Category.HOSPITAL, PopularityTracker.Window.from(window));
             return AnalyticsResponse.success("인기 병원 조회 완료", hospitalFrequency);
         } catch (Exception e) {
             log.error("인기 병원 조회 실패: error={}", e.getMessage(), e);
@@ -310,13 +331,13 @@ public class AnalyticsServiceImpl implements AnalyticsService {
             LocalDateTime start = LocalDateTime.parse(startDate);
             LocalDateTime end = LocalDateTime.parse(endDate);
 
-            List<UserBehaviorEvent> events = userBehaviorEventRepository
-                    .findByUserIdAndEventTypeAndCreatedAtBetweenOrderByCreatedAtDesc(userId, eventType, start, end);
+            // 시간/일 집계 구간 합산 (원본 이벤트는 1시간 미만 경계만 조회)
+            long totalEvents = eventRollup.count(EventRollup.DIMENSION_USER, userId, eventType, start, end);
 
             Map<String, Object> statistics = Map.of(
                     "userId", userId,
                     "eventType", eventType,
-                    "totalEvents", events.size(),
+                    "totalEvents", totalEvents,
                     "startDate", startDate,
                     "endDate", endDate
             );
@@ -327,4 +348,88 @@ public class AnalyticsServiceImpl implements AnalyticsService {
             return AnalyticsResponse.error("이벤트 통계 조회 중 오류가 발생했습니다: " + e.getMessage());
         }
     }
-} 
\ No newline at end of file
+
+    @Override
+    public AnalyticsResponse getHospitalEventStatistics(String hospitalId, String eventType, String startDate, String endDate) {
+        try {
+            LocalDateTime start = LocalDateTime.parse(startDate);
+            LocalDateTime end = LocalDateTime.parse(endDate);
+
+            long totalEvents = eventRollup.count(EventRollup.DIMENSION_HOSPITAL, hospitalId, eventType, start, end);
+
+            Map<String, Object> statistics = Map.of(
+                    "hospitalId", hospitalId,
+                    "eventType", eventType,
+                    "totalEvents", totalEvents,
+                    "startDate", startDate,
+                    "endDate", endDate
+            );
+
+            return AnalyticsResponse.success("병원 이벤트 통계 조회 완료", statistics);
+        } catch (Exception e) {
+            log.error("병원 이벤트 통계 조회 실패: hospitalId={}, error={}", hospitalId, e.getMessage(), e);
+            return AnalyticsResponse.error("병원 이벤트 통계 조회 중 오류가 발생했습니다: " + e.getMessage());
+        }
+    }
+
+    @Override
+    public AnalyticsResponse rebuildEventRollups(String fromDate, String toDate) {
+        try {
+            int days = eventRollup.rebuild(LocalDate.parse(fromDate), LocalDate.parse(toDate));
+            return AnalyticsResponse.success("이벤트 집계 재계산 완료", Map.of("days", days));
+        } catch (Exception e) {
+            log.error("이벤트 집계 재계산 실패: error={}", e.getMessage(), e);
+            return AnalyticsResponse.error("이벤트 집계 재계산 중 오류가 발생했습니다: " + e.getMessage());
+        }
+    }
+
+    /**
+     * 통계 조회 지연 비교 (1일 / 1년, 집계 합산 vs 원본 이벤트 조회)
+     */
+    @Override
+    public AnalyticsResponse benchmarkEventStatistics(String userId, String eventType, int iterations) {
+        try {
+            int runs = Math.max(1, Math.min(iterations, 20));
+            LocalDateTime end = LocalDateTime.now();
+            List<Map<String, Object>> results = new ArrayList<>();
+
+            for (int days : new int[]{1, 365}) {
+                LocalDateTime start = end.minusDays(days);
+                long rollupTotal = 0;
+                long rawTotal = 0;
+
+                long rollupStarted = System.nanoTime();
+                for (int i = 0; i < runs; i++) {
+                    rollupTotal = eventRollup.count(EventRollup.DIMENSION_USER, userId, eventType, start, end);
+                }
+                long rollupNanos = System.nanoTime() - rollupStarted;
+
+                long rawStarted = System.nanoTime();
+                for (int i = 0; i < runs; i++) {
+                    rawTotal = userBehaviorEventRepository
+                            .findByUserIdAndEventTypeAndCreatedAtBetweenOrderByCreatedAtDesc(userId, eventType, start, end)
+                            .size();
+                }
+                long rawNanos = System.nanoTime() - rawStarted;
+
+                Map<String, Object> result = new LinkedHashMap<>();
+                result.put("rangeDays", days);
+                result.put("rollupTotal", rollupTotal);
+                result.put("rollupAvgMs", rollupNanos / runs / 1_000_000.0);
+                result.put("rawTotal", rawTotal);
+                result.put("rawAvgMs", rawNanos / runs / 1_000_000.0);
+                results.add(result);
+            }
+
+            return AnalyticsResponse.success("이벤트 통계 조회 성능 비교 완료", Map.of(
+                    "userId", userId,
+                    "eventType", eventType,
+                    "iterations", runs,
+                    "ranges", results
+            ));
+        } catch (Exception e) {
+            log.error("이벤트 통계 성능 비교 실패: userId={}, error={}", userId, e.getMessage(), e);
+            return AnalyticsResponse.error("이벤트 통계 성능 비교 중 오류가 발생했습니다: " + e.getMessage());
+        }
+    }
+} 
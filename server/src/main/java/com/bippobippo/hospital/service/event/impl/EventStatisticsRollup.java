@@ -0,0 +1,297 @@
+package com.bippobippo.hospital.service.event.impl;
+
+import com.bippobippo.hospital.model.event.EventRollup;
+import com.bippobippo.hospital.model.event.UserBehaviorEvent;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.bson.Document;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.mongodb.core.BulkOperations;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.aggregation.Aggregation;
+import org.springframework.data.mongodb.core.index.Index;
+import org.springframework.data.mongodb.core.index.IndexOperations;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import javax.annotation.PostConstruct;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.time.format.DateTimeFormatter;
+import java.time.temporal.ChronoUnit;
+import java.util.Date;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * 이벤트 통계용 시간/일 단위 집계 (사용자별, 병원별 x 이벤트 유형)
+ *
+ * 적재 버퍼가 이벤트 배치를 저장한 직후 같은 배치를 구간별로 합쳐 $inc upsert 하고,
+ * 매일 새벽 전날 구간(과 스필 재적재로 지난 날짜 이벤트가 들어온 일자)을 원본 이벤트에서 $merge 로
+ * 다시 계산해 스필/실패로 빠진 건을 맞춘다.
+ * 기간 조회는 온전한 일 → 일 단위, 남는 시간 → 시간 단위, 1시간 미만 경계만 원본 이벤트를 센다.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class EventStatisticsRollup {
+
+    private static final DateTimeFormatter HOUR_KEY = DateTimeFormatter.ofPattern("yyyy-MM-dd'T'HH");
+    private static final DateTimeFormatter DAY_KEY = DateTimeFormatter.ofPattern("yyyy-MM-dd");
+
+    private final MongoTemplate mongoTemplate;
+
+    // 다음 재계산 때 함께 다시 계산할 가장 이른 일자 (스필 재적재분)
+    private final AtomicReference<LocalDate> earliestStaleDay = new AtomicReference<>();
+
+    @PostConstruct
+    public void ensureIndexes() {
+        try {
+            for (String collection : List.of(EventRollup.HOURLY_COLLECTION, EventRollup.DAILY_COLLECTION)) {
+                mongoTemplate.indexOps(collection).ensureIndex(new Index()
+                    .on("dimension", Sort.Direction.ASC)
+                    .on("key", Sort.Direction.ASC)
+                    .on("event_type", Sort.Direction.ASC)
+                    .on("bucket", Sort.Direction.ASC));
+            }
+            // 경계 구간 계산 및 재집계용 원본 이벤트 인덱스
+            IndexOperations events = mongoTemplate.indexOps(UserBehaviorEvent.class);
+            events.ensureIndex(new Index()
+                .on("user_id", Sort.Direction.ASC)
+                .on("event_type", Sort.Direction.ASC)
+                .on("created_at", Sort.Direction.ASC));
+            events.ensureIndex(new Index()
+                .on("hospital_id", Sort.Direction.ASC)
+                .on("event_type", Sort.Direction.ASC)
+                .on("created_at", Sort.Direction.ASC));
+            events.ensureIndex(new Index().on("created_at", Sort.Direction.ASC));
+        } catch (Exception e) {
+            log.warn("이벤트 집계 인덱스 생성 실패: {}", e.getMessage());
+        }
+    }
+
+    /**
+     * 저장된 이벤트 배치를 구간별로 합쳐 집계 컬렉션에 반영
+     */
+    public void record(List<?> events) {
+        Map<String, Increment> hourly = new HashMap<>();
+        Map<String, Increment> daily = new HashMap<>();
+        for (Object item : events) {
+            UserBehaviorEvent event = (UserBehaviorEvent) item;
+            if (event.getEventType() == null || event.getCreatedAt() == null) {
+                continue;
+            }
+            LocalDateTime hour = event.getCreatedAt().truncatedTo(ChronoUnit.HOURS);
+            LocalDateTime day = hour.truncatedTo(ChronoUnit.DAYS);
+            if (event.getUserId() != null) {
+                add(hourly, EventRollup.DIMENSION_USER, event.getUserId(), event.getEventType(), hour, HOUR_KEY);
+                add(daily, EventRollup.DIMENSION_USER, event.getUserId(), event.getEventType(), day, DAY_KEY);
+            }
+            if (event.getHospitalId() != null) {
+                add(hourly, EventRollup.DIMENSION_HOSPITAL, event.getHospitalId(), event.getEventType(), hour, HOUR_KEY);
+                add(daily, EventRollup.DIMENSION_HOSPITAL, event.getHospitalId(), event.getEventType(), day, DAY_KEY);
+            }
+        }
+        upsert(EventRollup.HOURLY_COLLECTION, hourly);
+        upsert(EventRollup.DAILY_COLLECTION, daily);
+    }
+
+    /**
+     * [start, end) 기간의 이벤트 수
+     */
+    public long count(String dimension, String key, String eventType, LocalDateTime start, LocalDateTime end) {
+        String rawField = EventRollup.DIMENSION_USER.equals(dimension) ? "user_id" : "hospital_id";
+        LocalDateTime hourStart = ceil(start, ChronoUnit.HOURS);
+        LocalDateTime hourEnd = end.truncatedTo(ChronoUnit.HOURS);
+        if (!hourStart.isBefore(hourEnd)) {
+            return countRaw(rawField, key, eventType, start, end);
+        }
+
+        long total = countRaw(rawField, key, eventType, start, hourStart)
+            + countRaw(rawField, key, eventType, hourEnd, end);
+        LocalDateTime dayStart = ceil(hourStart, ChronoUnit.DAYS);
+        LocalDateTime dayEnd = hourEnd.truncatedTo(ChronoUnit.DAYS);
+        if (dayStart.isBefore(dayEnd)) {
+            total += sumBuckets(EventRollup.DAILY_COLLECTION, dimension, key, eventType, dayStart, dayEnd)
+                + sumBuckets(EventRollup.HOURLY_COLLECTION, dimension, key, eventType, hourStart, dayStart)
+                + sumBuckets(EventRollup.HOURLY_COLLECTION, dimension, key, eventType, dayEnd, hourEnd);
+        } else {
+            total += sumBuckets(EventRollup.HOURLY_COLLECTION, dimension, key, eventType, hourStart, hourEnd);
+        }
+        return total;
+    }
+
+    /**
+     * 해당 일자의 집계를 다음 재계산 때 다시 계산하도록 표시
+     */
+    public void markStale(LocalDate day) {
+        earliestStaleDay.accumulateAndGet(day, (current, added) ->
+            current == null || added.isBefore(current) ? added : current);
+    }
+
+    // 매일 새벽 3시 30분 - 전날(과 재적재로 표시된 일자부터) 집계를 원본 이벤트 기준으로 다시 계산
+    @Scheduled(cron = "${analytics.rollup.reconcile-cron:0 30 3 * * ?}")
+    public void reconcile() {
+        LocalDate today = LocalDate.now();
+        LocalDate from = today.minusDays(1);
+        LocalDate stale = earliestStaleDay.getAndSet(null);
+        if (stale != null && stale.isBefore(from)) {
+            from = stale;
+        }
+        rebuild(from, today);
+    }
+
+    /**
+     * [from, to) 일자의 시간/일 집계를 원본 이벤트에서 다시 계산 ($merge, 하루씩)
+     */
+    public int rebuild(LocalDate from, LocalDate to) {
+        int days = 0;
+        for (LocalDate day = from; day.isBefore(to); day = day.plusDays(1)) {
+            LocalDateTime dayStart = day.atStartOfDay();
+            LocalDateTime dayEnd = dayStart.plusDays(1);
+            try {
+                merge(EventRollup.HOURLY_COLLECTION, "%Y-%m-%dT%H", ":00:00", dayStart, dayEnd);
+                merge(EventRollup.DAILY_COLLECTION, "%Y-%m-%d", "T00:00:00", dayStart, dayEnd);
+                days++;
+            } catch (Exception e) {
+                log.error("이벤트 집계 재계산 실패: {}, error={}", day, e.getMessage(), e);
+            }
+        }
+        log.info("이벤트 집계 재계산 완료: {} ~ {} ({}일)", from, to, days);
+        return days;
+    }
+
+    private void add(Map<String, Increment> increments, String dimension, String key, String eventType,
+                     LocalDateTime bucket, DateTimeFormatter bucketFormat) {
+        String id = rollupId(dimension, key, eventType, bucket.format(bucketFormat));
+        increments.computeIfAbsent(id, k -> new Increment(dimension, key, eventType, bucket)).count++;
+    }
+
+    private void upsert(String collection, Map<String, Increment> increments) {
+        if (increments.isEmpty()) {
+            return;
+        }
+        try {
+            LocalDateTime now = LocalDateTime.now();
+            BulkOperations operations = mongoTemplate.bulkOps(BulkOperations.BulkMode.UNORDERED, EventRollup.class, collection);
+            increments.forEach((id, increment) -> operations.upsert(
+                Query.query(Criteria.where("_id").is(id)),
+                new Update()
+                    .inc("count", increment.count)
+                    .set("updated_at", now)
+                    .setOnInsert("dimension", increment.dimension)
+                    .setOnInsert("key", increment.key)
+                    .setOnInsert("event_type", increment.eventType)
+                    .setOnInsert("bucket", increment.bucket)));
+            operations.execute();
+        } catch (Exception e) {
+            // 빠진 증분은 다음 재계산에서 보정
+            log.warn("이벤트 집계 반영 실패: {} {}건, error={}", collection, increments.size(), e.getMessage());
+        }
+    }
+
+    private long sumBuckets(String collection, String dimension, String key, String eventType,
+                            LocalDateTime from, LocalDateTime to) {
+        if (!from.isBefore(to)) {
+            return 0;
+        }
+        Aggregation aggregation = Aggregation.newAggregation(
+            Aggregation.match(Criteria.where("dimension").is(dimension)
+                .and("key").is(key)
+                .and("event_type").is(eventType)
+                .and("bucket").gte(from).lt(to)),
+            Aggregation.group().sum("count").as("count"));
+        Document result = mongoTemplate.aggregate(aggregation, collection, Document.class).getUniqueMappedResult();
+        return result != null && result.get("count") != null ? ((Number) result.get("count")).longValue() : 0;
+    }
+
+    private long countRaw(String field, String key, String eventType, LocalDateTime from, LocalDateTime to) {
+        if (!from.isBefore(to)) {
+            return 0;
+        }
+        return mongoTemplate.count(Query.query(Criteria.where(field).is(key)
+            .and("event_type").is(eventType)
+            .and("created_at").gte(from).lt(to)), UserBehaviorEvent.class);
+    }
+
+    /**
+     * 원본 이벤트 → 집계 컬렉션 파이프라인
+     *
+     * 이벤트마다 (user, userId) / (hospital, hospitalId) 두 키로 펼쳐 구간별로 세고,
+     * 적재 경로와 같은 _id 로 $merge(replace) 한다. 날짜 문자열은 서버 시간대 기준.
+     */
+    private void merge(String collection, String bucketFormat, String bucketSuffix,
+                       LocalDateTime from, LocalDateTime to) {
+        String zone = ZoneId.systemDefault().getId();
+        List<Document> pipeline = List.of(
+            new Document("$match", new Document("created_at", new Document("$gte", toDate(from)).append("$lt", toDate(to)))
+                .append("event_type", new Document("$ne", null))),
+            new Document("$project", new Document("event_type", 1)
+                .append("bucket_key", new Document("$dateToString", new Document("format", bucketFormat)
+                    .append("date", "$created_at")
+                    .append("timezone", zone)))
+                .append("keys", List.of(
+                    new Document("dimension", EventRollup.DIMENSION_USER).append("key", "$user_id"),
+                    new Document("dimension", EventRollup.DIMENSION_HOSPITAL).append("key", "$hospital_id")))),
+            new Document("$unwind", "$keys"),
+            new Document("$match", new Document("keys.key", new Document("$ne", null))),
+            new Document("$group", new Document("_id", new Document("dimension", "$keys.dimension")
+                    .append("key", "$keys.key")
+                    .append("event_type", "$event_type")
+                    .append("bucket_key", "$bucket_key"))
+                .append("count", new Document("$sum", 1))),
+            new Document("$project", new Document("_id", new Document("$concat",
+                    List.of("$_id.dimension", "|", "$_id.key", "|", "$_id.event_type", "|", "$_id.bucket_key")))
+                .append("dimension", "$_id.dimension")
+                .append("key", "$_id.key")
+                .append("event_type", "$_id.event_type")
+                .append("bucket", new Document("$dateFromString", new Document("dateString",
+                        new Document("$concat", List.of("$_id.bucket_key", bucketSuffix)))
+                    .append("timezone", zone)))
+                .append("count", 1)
+                .append("updated_at", toDate(LocalDateTime.now()))),
+            new Document("$merge", new Document("into", collection)
+                .append("on", "_id")
+                .append("whenMatched", "replace")
+                .append("whenNotMatched", "insert")));
+
+        mongoTemplate.getCollection(mongoTemplate.getCollectionName(UserBehaviorEvent.class))
+            .aggregate(pipeline)
+            .allowDiskUse(true)
+            .toCollection();
+    }
+
+    private static String rollupId(String dimension, String key, String eventType, String bucketKey) {
+        return dimension + "|" + key + "|" + eventType + "|" + bucketKey;
+    }
+
+    private static LocalDateTime ceil(LocalDateTime time, ChronoUnit unit) {
+        LocalDateTime floor = time.truncatedTo(unit);
+        return floor.equals(time) ? time : floor.plus(1, unit);
+    }
+
+    private static Date toDate(LocalDateTime time) {
+        return Date.from(time.atZone(ZoneId.systemDefault()).toInstant());
+    }
+
+    private static final class Increment {
+        private final String dimension;
+        private final String key;
+        private final String eventType;
+        private final LocalDateTime bucket;
+        private long count;
+
+        private Increment(String dimension, String key, String eventType, LocalDateTime bucket) {
+            this.dimension = dimension;
+            this.key = key;
+            this.eventType = eventType;
+            this.bucket = bucket;
+        }
+    }
+}
@@ -0,0 +1,257 @@
+package com.bippobippo.hospital.service.event.impl;
+
+import com.bippobippo.hospital.util.SpaceSaving;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.redis.core.RedisOperations;
+import org.springframework.data.redis.core.SessionCallback;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.core.ZSetOperations;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import javax.annotation.PreDestroy;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * 인기 검색어/병원 순위 (최근 1시간/1일/1주)
+ *
+ * 각 노드는 수집 경로에서 받은 항목을 Space-Saving 요약에 모아 두었다가 주기적으로 Redis 의
+ * 시간 구간별 정렬 집합(5분 / 1시간 단위)에 더하고, 구간별로 상위 항목만 남긴다.
+ * 같은 주기에 모든 노드의 구간 집합을 읽어 창(window)별 상위 K개를 계산해 메모리에 두므로
+ * 조회는 DB/Redis 를 거치지 않고 미리 만든 결과를 그대로 돌려준다.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class PopularityTracker {
+
+    public enum Category {
+        SEARCH("search"), HOSPITAL("hospital");
+
+        private final String key;
+
+        Category(String key) {
+            this.key = key;
+        }
+    }
+
+    public enum Window {
+        HOUR, DAY, WEEK;
+
+        public static Window from(String value) {
+            if (value == null) {
+                return DAY;
+            }
+            switch (value.toLowerCase(Locale.ROOT)) {
+                case "hour":
+                    return HOUR;
+                case "week":
+                    return WEEK;
+                default:
+                    return DAY;
+            }
+        }
+    }
+
+    private static final String KEY_PREFIX = "analytics:popular:";
+    private static final long MINUTE_BUCKET_MS = Duration.ofMinutes(5).toMillis();
+    private static final long HOUR_BUCKET_MS = Duration.ofHours(1).toMillis();
+    private static final int MAX_KEY_LENGTH = 100;
+
+    private final StringRedisTemplate redisTemplate;
+
+    @Value("${analytics.popularity.local-capacity:2000}")
+    private int localCapacity;
+
+    @Value("${analytics.popularity.bucket-capacity:500}")
+    private int bucketCapacity;
+
+    @Value("${analytics.popularity.top-k:50}")
+    private int topK;
+
+    // 아직 Redis 에 반영하지 않은 항목 (pending 으로 동기화)
+    private final Map<Category, SpaceSaving> pending = new EnumMap<>(Category.class);
+
+    // 창별 상위 항목 (불변 맵, 갱신 시 통째로 교체)
+    private volatile Map<Category, Map<Window, Map<String, Long>>> rankings = Collections.emptyMap();
+
+    public void record(Category category, String rawKey) {
+        String key = normalize(category, rawKey);
+        if (key == null) {
+            return;
+        }
+        synchronized (pending) {
+            pending.computeIfAbsent(category, c -> new SpaceSaving(localCapacity)).offer(key);
+        }
+    }
+
+    /**
+     * 창별 인기 항목 (추정 횟수 내림차순)
+     */
+    public Map<String, Long> top(Category category, Window window) {
+        return rankings.getOrDefault(category, Collections.emptyMap())
+            .getOrDefault(window, Collections.emptyMap());
+    }
+
+    // 30초마다 로컬 집계를 Redis 에 반영하고 순위 재계산
+    @Scheduled(fixedDelayString = "${analytics.popularity.sync-ms:30000}")
+    public void sync() {
+        long now = System.currentTimeMillis();
+        for (Category category : Category.values()) {
+            flush(category, now);
+        }
+        refresh(now);
+    }
+
+    @PreDestroy
+    public void cleanup() {
+        long now = System.currentTimeMillis();
+        for (Category category : Category.values()) {
+            flush(category, now);
+        }
+    }
+
+    private void flush(Category category, long now) {
+        SpaceSaving summary;
+        List<SpaceSaving.Counter> counters;
+        synchronized (pending) {
+            summary = pending.remove(category);
+            if (summary == null || summary.isEmpty()) {
+                return;
+            }
+            counters = summary.top(summary.size());
+        }
+        String minuteKey = bucketKey(category, "m5", now - now % MINUTE_BUCKET_MS);
+        String hourKey = bucketKey(category, "h1", now - now % HOUR_BUCKET_MS);
+
+        try {
+            redisTemplate.executePipelined(new SessionCallback<Object>() {
+                @Override
+                @SuppressWarnings("unchecked")
+                public Object execute(RedisOperations operations) {
+                    ZSetOperations<String, String> zSet = operations.opsForZSet();
+                    for (SpaceSaving.Counter counter : counters) {
+                        zSet.incrementScore(minuteKey, counter.getKey(), counter.getCount());
+                        zSet.incrementScore(hourKey, counter.getKey(), counter.getCount());
+                    }
+                    // 구간별로 상위 항목만 유지
+                    zSet.removeRange(minuteKey, 0, -(bucketCapacity + 1));
+                    zSet.removeRange(hourKey, 0, -(bucketCapacity + 1));
+                    operations.expire(minuteKey, Duration.ofHours(1).plus(Duration.ofMinutes(10)));
+                    operations.expire(hourKey, Duration.ofDays(7).plus(Duration.ofHours(2)));
+                    return null;
+                }
+            });
+        } catch (Exception e) {
+            // 다음 주기에 다시 반영
+            log.warn("인기 순위 Redis 반영 실패: {} ({})", category, e.getMessage());
+            synchronized (pending) {
+                pending.computeIfAbsent(category, c -> new SpaceSaving(localCapacity)).merge(summary);
+            }
+        }
+    }
+
+    private void refresh(long now) {
+        try {
+            Map<Category, Map<Window, Map<String, Long>>> rebuilt = new EnumMap<>(Category.class);
+            for (Category category : Category.values()) {
+                List<String> minuteKeys = bucketKeys(category, "m5", now, MINUTE_BUCKET_MS, 12);
+                List<String> hourKeys = bucketKeys(category, "h1", now, HOUR_BUCKET_MS, 24 * 7);
+                List<Map<String, Double>> minuteBuckets = readBuckets(minuteKeys);
+                List<Map<String, Double>> hourBuckets = readBuckets(hourKeys);
+
+                Map<Window, Map<String, Long>> windows = new EnumMap<>(Window.class);
+                windows.put(Window.HOUR, topOf(minuteBuckets));
+                windows.put(Window.DAY, topOf(hourBuckets.subList(0, 24)));
+                windows.put(Window.WEEK, topOf(hourBuckets));
+                rebuilt.put(category, Collections.unmodifiableMap(windows));
+            }
+            rankings = Collections.unmodifiableMap(rebuilt);
+        } catch (Exception e) {
+            // 이전 순위를 계속 사용
+            log.warn("인기 순위 갱신 실패: {}", e.getMessage());
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    private List<Map<String, Double>> readBuckets(List<String> keys) {
+        List<Object> results = redisTemplate.executePipelined(new SessionCallback<Object>() {
+            @Override
+            public Object execute(RedisOperations operations) {
+                for (String key : keys) {
+                    operations.opsForZSet().reverseRangeWithScores(key, 0, bucketCapacity - 1);
+                }
+                return null;
+            }
+        });
+
+        List<Map<String, Double>> buckets = new ArrayList<>(results.size());
+        for (Object result : results) {
+            Map<String, Double> bucket = new HashMap<>();
+            if (result instanceof Iterable) {
+                for (Object item : (Iterable<Object>) result) {
+                    if (item instanceof ZSetOperations.TypedTuple) {
+                        ZSetOperations.TypedTuple<String> tuple = (ZSetOperations.TypedTuple<String>) item;
+                        if (tuple.getValue() != null && tuple.getScore() != null) {
+                            bucket.put(tuple.getValue(), tuple.getScore());
+                        }
+                    }
+                }
+            }
+            buckets.add(bucket);
+        }
+        return buckets;
+    }
+
+    private Map<String, Long> topOf(List<Map<String, Double>> buckets) {
+        Map<String, Double> totals = new HashMap<>();
+        for (Map<String, Double> bucket : buckets) {
+            bucket.forEach((key, score) -> totals.merge(key, score, Double::sum));
+        }
+        Map<String, Long> top = new LinkedHashMap<>();
+        totals.entrySet().stream()
+            .sorted(Map.Entry.<String, Double>comparingByValue().reversed())
+            .limit(topK)
+            .forEach(entry -> top.put(entry.getKey(), Math.round(entry.getValue())));
+        return Collections.unmodifiableMap(top);
+    }
+
+    // 최근 구간부터 count 개
+    private List<String> bucketKeys(Category category, String granularity, long now, long bucketMs, int count) {
+        long current = now - now % bucketMs;
+        List<String> keys = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            keys.add(bucketKey(category, granularity, current - i * bucketMs));
+        }
+        return keys;
+    }
+
+    private String bucketKey(Category category, String granularity, long bucketStart) {
+        return KEY_PREFIX + category.key + ":" + granularity + ":" + bucketStart;
+    }
+
+    // 검색어는 공백 정리 + 소문자, 병원 ID 는 그대로
+    private String normalize(Category category, String rawKey) {
+        if (rawKey == null) {
+            return null;
+        }
+        String key = rawKey.trim();
+        if (key.isEmpty()) {
+            return null;
+        }
+        if (category == Category.SEARCH) {
+            key = key.replaceAll("\\s+", " ").toLowerCase(Locale.ROOT);
+        }
+        return key.length() > MAX_KEY_LENGTH ? key.substring(0, MAX_KEY_LENGTH) : key;
+    }
+}
@@ -0,0 +1,29 @@
+package com.bippobippo.hospital.service.event.impl;
+
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+
+/**
+ * 이벤트 한 건에 대한 사용자 프로파일 증분 갱신 (user_id 기준 upsert)
+ *
+ * AnalyticsEventBuffer 가 이벤트 문서와 같은 큐로 받아 순서 없는 bulk upsert 로 반영한다.
+ */
+final class ProfileUpdate {
+
+    private final String userId;
+    private final Update update;
+
+    ProfileUpdate(String userId, Update update) {
+        this.userId = userId;
+        this.update = update;
+    }
+
+    Query query() {
+        return Query.query(Criteria.where("user_id").is(userId));
+    }
+
+    Update update() {
+        return update;
+    }
+}
@@ -6,9 +6,22 @@ import com.bippobippo.hospital.repository.event.*;
 import com.bippobippo.hospital.service.event.UserProfileService;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.mongodb.core.BulkOperations;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.index.Index;
+import org.springframework.data.mongodb.core.query.BasicQuery;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+import org.springframework.data.util.CloseableIterator;
+import org.springframework.scheduling.annotation.Scheduled;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import javax.annotation.PostConstruct;
+import java.time.Duration;
 import java.time.LocalDateTime;
 import java.util.*;
 import java.util.stream.Collectors;
@@ -23,6 +36,246 @@ public class UserProfileServiceImpl implements UserProfileService {
     private final ClickPatternRepository clickPatternRepository;
     private final DwellTimeRepository dwellTimeRepository;
     private final UserProfileRepository userProfileRepository;
+    private final MongoTemplate mongoTemplate;
+    private final AnalyticsEventBuffer eventBuffer;
+
+    // 이벤트별 활동 점수 가중치 (기존 점수식 (검색*10 + 클릭*5 + 이벤트*2) / 10 과 같은 비율)
+    private static final double SEARCH_ACTIVITY = 1.2;
+    private static final double CLICK_ACTIVITY = 0.7;
+    private static final double DWELL_ACTIVITY = 0.2;
+    private static final int COMPACTION_BATCH_SIZE = 500;
+
+    @Value("${analytics.profile.half-life-days:30}")
+    private double halfLifeDays;
+
+    // forward decay 기준 시점: 점수는 exp(λ(t - 기준)) 가중치로 누적하고, 읽을 때 exp(-λ(now - 기준)) 을 곱한다.
+    // 반감기 30일 기준으로 수십 년 동안 double 범위 안에 있으므로 기준 시점을 옮길 필요가 없다.
+    @Value("${analytics.profile.decay-epoch:2025-01-01T00:00:00}")
+    private String decayEpoch;
+
+    @Value("${analytics.profile.max-search-patterns:200}")
+    private int maxSearchPatterns;
+
+    @Value("${analytics.profile.min-score:0.01}")
+    private double minScore;
+
+    private LocalDateTime epoch;
+    private double lambdaPerDay;
+
+    @PostConstruct
+    public void init() {
+        epoch = LocalDateTime.parse(decayEpoch);
+        lambdaPerDay = Math.log(2) / halfLifeDays;
+        try {
+            mongoTemplate.indexOps(UserProfile.class)
+                .ensureIndex(new Index().on("user_id", Sort.Direction.ASC).unique());
+        } catch (Exception e) {
+            // 기존 중복 프로파일이 있으면 일반 인덱스로 대체
+            log.warn("user_profiles.user_id 고유 인덱스 생성 실패, 일반 인덱스 사용: {}", e.getMessage());
+            mongoTemplate.indexOps(UserProfile.class)
+                .ensureIndex(new Index().on("user_id", Sort.Direction.ASC));
+        }
+    }
+
+    @Override
+    public void applySearchEvent(SearchHistory searchHistory) {
+        if (searchHistory.getUserId() == null) {
+            return;
+        }
+        LocalDateTime at = searchHistory.getCreatedAt() != null ? searchHistory.getCreatedAt() : LocalDateTime.now();
+        double weight = decayWeight(at);
+
+        Update update = baseUpdate()
+            .inc("total_searches", 1)
+            .inc("activity_score", SEARCH_ACTIVITY * weight)
+            .max("last_search_date", at)
+            .inc("specialty_scores." + extractSpecialtyFromQuery(searchHistory.getSearchQuery()), weight);
+        String patternKey = fieldKey(searchHistory.getSearchQuery());
+        if (patternKey != null) {
+            update.inc("search_patterns." + patternKey, 1);
+        }
+        String regionKey = fieldKey(searchHistory.getRegion());
+        if (regionKey != null) {
+            update.inc("region_scores." + regionKey, weight);
+        }
+        eventBuffer.submit(new ProfileUpdate(searchHistory.getUserId(), update));
+    }
+
+    @Override
+    public void applyClickEvent(ClickPattern clickPattern) {
+        if (clickPattern.getUserId() == null) {
+            return;
+        }
+        LocalDateTime at = clickPattern.getCreatedAt() != null ? clickPattern.getCreatedAt() : LocalDateTime.now();
+
+        Update update = baseUpdate()
+            .inc("total_clicks", 1)
+            .inc("activity_score", CLICK_ACTIVITY * decayWeight(at));
+        if (clickPattern.getClickPosition() != null) {
+            update.inc("click_patterns." + clickPattern.getClickPosition(), 1);
+        }
+        eventBuffer.submit(new ProfileUpdate(clickPattern.getUserId(), update));
+    }
+
+    @Override
+    public void applyDwellTimeEvent(DwellTime dwellTime) {
+        if (dwellTime.getUserId() == null) {
+            return;
+        }
+        LocalDateTime at = dwellTime.getCreatedAt() != null ? dwellTime.getCreatedAt() : LocalDateTime.now();
+        int seconds = dwellTime.getDwellTimeSeconds() != null ? dwellTime.getDwellTimeSeconds() : 0;
+
+        Update update = baseUpdate()
+            .inc("total_dwell_time", seconds)
+            .inc("dwell_count", 1)
+            .inc("activity_score", DWELL_ACTIVITY * decayWeight(at));
+        eventBuffer.submit(new ProfileUpdate(dwellTime.getUserId(), update));
+    }
+
+    // 매일 새벽 4시 - 감쇠로 사라진 점수 정리 및 파생 필드 갱신
+    @Scheduled(cron = "${analytics.profile.compaction-cron:0 0 4 * * ?}")
+    public void scheduledCompaction() {
+        compactProfiles();
+    }
+
+    /**
+     * 마지막 정리 이후 갱신된 프로파일만 대상으로 감쇠 점수가 임계값 아래로 떨어진 항목과
+     * 상위 N개 밖의 검색 패턴을 제거하고, 선호 진료과목/지역, 검색 빈도, 클릭률, 평균 체류 시간을 저장한다.
+     * 모든 점수는 같은 비율로 감쇠하므로 새 이벤트가 없는 프로파일은 순위가 바뀌지 않는다.
+     */
+    @Override
+    public int compactProfiles() {
+        LocalDateTime now = LocalDateTime.now();
+        double decay = currentDecay(now);
+        Query query = new BasicQuery("{ $or: [ { compacted_at: { $exists: false } }, "
+            + "{ $expr: { $gt: ['$updated_at', '$compacted_at'] } } ] }");
+
+        int compacted = 0;
+        int pending = 0;
+        BulkOperations operations = mongoTemplate.bulkOps(BulkOperations.BulkMode.UNORDERED, UserProfile.class);
+        try (CloseableIterator<UserProfile> profiles = mongoTemplate.stream(query, UserProfile.class)) {
+            while (profiles.hasNext()) {
+                UserProfile profile = profiles.next();
+                operations.updateOne(Query.query(Criteria.where("_id").is(profile.getId())),
+                    compactionUpdate(profile, decay, now));
+                if (++pending >= COMPACTION_BATCH_SIZE) {
+                    operations.execute();
+                    compacted += pending;
+                    pending = 0;
+                    operations = mongoTemplate.bulkOps(BulkOperations.BulkMode.UNORDERED, UserProfile.class);
+                }
+            }
+        } catch (Exception e) {
+            log.error("사용자 프로파일 정리 실패: {}", e.getMessage(), e);
+        }
+        if (pending > 0) {
+            operations.execute();
+            compacted += pending;
+        }
+        log.info("사용자 프로파일 정리 완료: {}건", compacted);
+        return compacted;
+    }
+
+    private Update compactionUpdate(UserProfile profile, double decay, LocalDateTime now) {
+        Update update = new Update();
+
+        Map<String, Double> specialties = pruneScores(profile.getSpecialtyScores(), decay, "specialty_scores.", update);
+        Map<String, Double> regions = pruneScores(profile.getRegionScores(), decay, "region_scores.", update);
+        if (profile.getSearchPatterns() != null && profile.getSearchPatterns().size() > maxSearchPatterns) {
+            profile.getSearchPatterns().entrySet().stream()
+                .sorted(Map.Entry.<String, Integer>comparingByValue().reversed())
+                .skip(maxSearchPatterns)
+                .forEach(entry -> update.unset("search_patterns." + entry.getKey()));
+        }
+
+        update.set("preferred_specialties", topKeys(specialties, 5, "기타"));
+        update.set("preferred_regions", topKeys(regions, 3, null));
+        update.set("search_frequency", searchFrequencyOf(profile.getTotalSearches()));
+        update.set("click_rate", clickRateOf(profile.getTotalClicks(), profile.getTotalSearches()));
+        update.set("avg_dwell_time", avgDwellTimeOf(profile));
+        update.set("compacted_at", now);
+        return update;
+    }
+
+    // 현재 감쇠 점수가 임계값 아래인 항목은 제거하고 남은 점수 반환
+    private Map<String, Double> pruneScores(Map<String, Double> scores, double decay, String path, Update update) {
+        Map<String, Double> kept = new HashMap<>();
+        if (scores == null) {
+            return kept;
+        }
+        scores.forEach((key, score) -> {
+            if (score == null || score * decay < minScore) {
+                update.unset(path + key);
+            } else {
+                kept.put(key, score);
+            }
+        });
+        return kept;
+    }
+
+    private Update baseUpdate() {
+        LocalDateTime now = LocalDateTime.now();
+        return new Update()
+            .set("updated_at", now)
+            .setOnInsert("created_at", now)
+            .setOnInsert("preferred_distance", 10)
+            .setOnInsert("preferred_rating", 4.0);
+    }
+
+    // 이벤트 시점의 forward decay 가중치
+    private double decayWeight(LocalDateTime at) {
+        return Math.exp(lambdaPerDay * daysSinceEpoch(at));
+    }
+
+    // 누적 점수를 현재 시점 값으로 바꾸는 배율
+    private double currentDecay(LocalDateTime now) {
+        return Math.exp(-lambdaPerDay * daysSinceEpoch(now));
+    }
+
+    private double daysSinceEpoch(LocalDateTime at) {
+        return Duration.between(epoch, at).toMillis() / 86_400_000.0;
+    }
+
+    // Mongo 필드 경로로 쓸 수 있게 '.', '$' 를 치환 (검색어/지역명이 맵 키로 들어감)
+    private static String fieldKey(String raw) {
+        if (raw == null || raw.trim().isEmpty()) {
+            return null;
+        }
+        String key = raw.trim().replace('.', '_').replace('$', '_');
+        return key.length() > 100 ? key.substring(0, 100) : key;
+    }
+
+    private static List<String> topKeys(Map<String, Double> scores, int limit, String exclude) {
+        if (scores == null) {
+            return List.of();
+        }
+        return scores.entrySet().stream()
+            .filter(entry -> entry.getValue() != null && !entry.getKey().equals(exclude))
+            .sorted(Map.Entry.<String, Double>comparingByValue().reversed())
+            .limit(limit)
+            .map(Map.Entry::getKey)
+            .collect(Collectors.toList());
+    }
+
+    private static String searchFrequencyOf(Integer totalSearches) {
+        int searches = totalSearches != null ? totalSearches : 0;
+        if (searches >= 50) return "HIGH";
+        else if (searches >= 20) return "MEDIUM";
+        else return "LOW";
+    }
+
+    private static double clickRateOf(Integer totalClicks, Integer totalSearches) {
+        if (totalSearches == null || totalSearches == 0) return 0.0;
+        int clicks = totalClicks != null ? totalClicks : 0;
+        return Math.round((double) clicks / totalSearches * 100.0) / 100.0;
+    }
+
+    private static Integer avgDwellTimeOf(UserProfile profile) {
+        if (profile.getDwellCount() != null && profile.getDwellCount() > 0 && profile.getTotalDwellTime() != null) {
+            return profile.getTotalDwellTime() / profile.getDwellCount();
+        }
+        return profile.getAvgDwellTime() != null ? profile.getAvgDwellTime() : 60;
+    }
 
     @Override
     public UserProfileResponse getUserProfile(String userId) {
@@ -67,7 +320,13 @@ public class UserProfileServiceImpl implements UserProfileService {
             userProfile.setPreferredRating((Double) preferences.get("rating"));
 
             // 검색 패턴 분석
-            Map<String, Integer> searchPatterns = analyzeSearchPatterns(userId);
+            Map<String, Integer> searchPatterns = new HashMap<>();
+            analyzeSearchPatterns(userId).forEach((query, count) -> {
+                String key = fieldKey(query);
+                if (key != null) {
+                    searchPatterns.merge(key, count, Integer::sum);
+                }
+            });
             userProfile.setSearchPatterns(searchPatterns);
 
             // 클릭 패턴 분석
@@ -89,6 +348,9 @@ public class UserProfileServiceImpl implements UserProfileService {
             // 클릭률 계산
             userProfile.setClickRate(calculateClickRate(userId));
 
+            // 감쇠 점수/체류 이벤트 수 재구성 (증분 갱신과 같은 기준)
+            rebuildRunningScores(userProfile, userId);
+
             // 최근 검색일 업데이트
             List<SearchHistory> recentSearches = searchHistoryRepository.findRecentSearchesByUserId(userId);
             if (!recentSearches.isEmpty()) {
@@ -110,6 +372,34 @@ public class UserProfileServiceImpl implements UserProfileService {
         }
     }
 
+    private void rebuildRunningScores(UserProfile userProfile, String userId) {
+        Map<String, Double> specialtyScores = new HashMap<>();
+        Map<String, Double> regionScores = new HashMap<>();
+        double activity = 0;
+
+        for (SearchHistory search : searchHistoryRepository.findByUserIdOrderByCreatedAtDesc(userId)) {
+            double weight = decayWeight(search.getCreatedAt() != null ? search.getCreatedAt() : LocalDateTime.now());
+            specialtyScores.merge(extractSpecialtyFromQuery(search.getSearchQuery()), weight, Double::sum);
+            String regionKey = fieldKey(search.getRegion());
+            if (regionKey != null) {
+                regionScores.merge(regionKey, weight, Double::sum);
+            }
+            activity += SEARCH_ACTIVITY * weight;
+        }
+        for (ClickPattern click : clickPatternRepository.findByUserIdOrderByCreatedAtDesc(userId)) {
+            activity += CLICK_ACTIVITY * decayWeight(click.getCreatedAt() != null ? click.getCreatedAt() : LocalDateTime.now());
+        }
+        List<DwellTime> dwellTimes = dwellTimeRepository.findByUserIdOrderByCreatedAtDesc(userId);
+        for (DwellTime dwellTime : dwellTimes) {
+            activity += DWELL_ACTIVITY * decayWeight(dwellTime.getCreatedAt() != null ? dwellTime.getCreatedAt() : LocalDateTime.now());
+        }
+
+        userProfile.setSpecialtyScores(specialtyScores);
+        userProfile.setRegionScores(regionScores);
+        userProfile.setActivityScore(activity);
+        userProfile.setDwellCount(dwellTimes.size());
+    }
+
     @Override
     public Map<String, Object> calculateUserPreferences(String userId) {
         Map<String, Object> preferences = new HashMap<>();
@@ -238,8 +528,8 @@ public class UserProfileServiceImpl implements UserProfileService {
     public List<String> getRecommendedSpecialties(String userId) {
         try {
             UserProfile profile = userProfileRepository.findByUserId(userId).orElse(null);
-            if (profile != null && profile.getPreferredSpecialties() != null) {
-                return profile.getPreferredSpecialties();
+            if (profile != null) {
+                return preferredSpecialtiesOf(profile);
             }
             return List.of();
         } catch (Exception e) {
@@ -252,8 +542,8 @@ public class UserProfileServiceImpl implements UserProfileService {
     public List<String> getRecommendedRegions(String userId) {
         try {
             UserProfile profile = userProfileRepository.findByUserId(userId).orElse(null);
-            if (profile != null && profile.getPreferredRegions() != null) {
-                return profile.getPreferredRegions();
+            if (profile != null) {
+                return preferredRegionsOf(profile);
             }
             return List.of();
         } catch (Exception e) {
@@ -287,6 +577,12 @@ public class UserProfileServiceImpl implements UserProfileService {
     @Override
     public Double calculateUserActivityScore(String userId) {
         try {
+            UserProfile profile = userProfileRepository.findByUserId(userId).orElse(null);
+            if (profile != null && profile.getActivityScore() != null) {
+                double activityScore = Math.min(100.0, profile.getActivityScore() * currentDecay(LocalDateTime.now()));
+                return Math.round(activityScore * 100.0) / 100.0;
+            }
+
             long totalSearches = searchHistoryRepository.countByUserId(userId);
             long totalClicks = clickPatternRepository.countByUserId(userId);
             long totalEvents = userBehaviorEventRepository.countByUserId(userId);
@@ -304,6 +600,11 @@ public class UserProfileServiceImpl implements UserProfileService {
     @Override
     public String calculateSearchFrequency(String userId) {
         try {
+            UserProfile profile = userProfileRepository.findByUserId(userId).orElse(null);
+            if (profile != null && profile.getTotalSearches() != null) {
+                return searchFrequencyOf(profile.getTotalSearches());
+            }
+
             long totalSearches = searchHistoryRepository.countByUserId(userId);
             
             if (totalSearches >= 50) return "HIGH";
@@ -319,6 +620,11 @@ public class UserProfileServiceImpl implements UserProfileService {
     @Override
     public Double calculateClickRate(String userId) {
         try {
+            UserProfile profile = userProfileRepository.findByUserId(userId).orElse(null);
+            if (profile != null && profile.getTotalSearches() != null) {
+                return clickRateOf(profile.getTotalClicks(), profile.getTotalSearches());
+            }
+
             long totalSearches = searchHistoryRepository.countByUserId(userId);
             long totalClicks = clickPatternRepository.countByUserId(userId);
 
@@ -334,6 +640,11 @@ public class UserProfileServiceImpl implements UserProfileService {
     @Override
     public Integer calculateAverageDwellTime(String userId) {
         try {
+            UserProfile profile = userProfileRepository.findByUserId(userId).orElse(null);
+            if (profile != null && profile.getDwellCount() != null) {
+                return avgDwellTimeOf(profile);
+            }
+
             Map<String, Object> dwellTimePatterns = analyzeDwellTimePatterns(userId);
             return (Integer) dwellTimePatterns.get("avgDwellTime");
         } catch (Exception e) {
@@ -367,16 +678,33 @@ public class UserProfileServiceImpl implements UserProfileService {
         return "기타";
     }
 
+    // 감쇠 점수가 있으면 점수 순위, 없으면 (이전 방식으로 만든 프로파일) 저장된 목록
+    private List<String> preferredSpecialtiesOf(UserProfile profile) {
+        if (profile.getSpecialtyScores() != null && !profile.getSpecialtyScores().isEmpty()) {
+            return topKeys(profile.getSpecialtyScores(), 5, "기타");
+        }
+        return profile.getPreferredSpecialties() != null ? profile.getPreferredSpecialties() : List.of();
+    }
+
+    private List<String> preferredRegionsOf(UserProfile profile) {
+        if (profile.getRegionScores() != null && !profile.getRegionScores().isEmpty()) {
+            return topKeys(profile.getRegionScores(), 3, null);
+        }
+        return profile.getPreferredRegions() != null ? profile.getPreferredRegions() : List.of();
+    }
+
     private UserProfileResponse convertToResponse(UserProfile profile) {
         return UserProfileResponse.builder()
                 .userId(profile.getUserId())
-                .preferredSpecialties(profile.getPreferredSpecialties())
-                .preferredRegions(profile.getPreferredRegions())
+                .preferredSpecialties(preferredSpecialtiesOf(profile))
+                .preferredRegions(preferredRegionsOf(profile))
                 .preferredDistance(profile.getPreferredDistance())
                 .preferredRating(profile.getPreferredRating())
-                .searchFrequency(profile.getSearchFrequency())
-                .avgDwellTime(profile.getAvgDwellTime())
-                .clickRate(profile.getClickRate())
+                .searchFrequency(profile.getTotalSearches() != null
+                        ? searchFrequencyOf(profile.getTotalSearches()) : profile.getSearchFrequency())
+                .avgDwellTime(avgDwellTimeOf(profile))
+                .clickRate(profile.getTotalSearches() != null
+                        ? clickRateOf(profile.getTotalClicks(), profile.getTotalSearches()) : profile.getClickRate())
                 .preferredHospitalTypes(profile.getPreferredHospitalTypes())
                 .searchPatterns(profile.getSearchPatterns())
                 .clickPatterns(profile.getClickPatterns())
@@ -1,5 +1,6 @@
 package com.bippobippo.hospital.service.hospital;
 
+import com.bippobippo.hospital.config.DynamicCorsConfigurationSource;
 import com.bippobippo.hospital.entity.hospital.HospitalOrigin;
 import com.bippobippo.hospital.entity.hospital.HospitalOriginHistory;
 import com.bippobippo.hospital.entity.user.User;
@@ -18,6 +19,7 @@ public class HospitalOriginService {
     private final HospitalOriginRepository originRepository;
     private final HospitalOriginHistoryRepository historyRepository;
     private final UserRepository userRepository;
+    private final DynamicCorsConfigurationSource corsConfigurationSource;
 
     public List<HospitalOrigin> findAll() {
         return originRepository.findAll();
@@ -31,6 +33,7 @@ public class HospitalOriginService {
         origin.setCreatedBy(userId);
         origin.setUpdatedBy(userId);
         HospitalOrigin savedOrigin = originRepository.save(origin);
+        corsConfigurationSource.reloadAfterCommit();
 
         HospitalOriginHistory history = new HospitalOriginHistory();
         history.setOriginId(savedOrigin.getId());
@@ -59,6 +62,7 @@ public class HospitalOriginService {
         existingOrigin.setUpdatedBy(userId);
         
         HospitalOrigin updatedOrigin = originRepository.save(existingOrigin);
+        corsConfigurationSource.reloadAfterCommit();
 
         HospitalOriginHistory history = new HospitalOriginHistory();
         history.setOriginId(updatedOrigin.getId());
@@ -83,6 +87,7 @@ public class HospitalOriginService {
         origin.setIsActive(false);
         origin.setUpdatedBy(userId);
         HospitalOrigin updatedOrigin = originRepository.save(origin);
+        corsConfigurationSource.reloadAfterCommit();
 
         HospitalOriginHistory history = new HospitalOriginHistory();
         history.setOriginId(updatedOrigin.getId());
@@ -111,5 +116,6 @@ public class HospitalOriginService {
         historyRepository.save(history);
 
         originRepository.delete(origin);
+        corsConfigurationSource.reloadAfterCommit();
     }
 } 
\ No newline at end of file
@@ -1,8 +1,10 @@
 package com.bippobippo.hospital.service.hospital;
 
+import com.bippobippo.hospital.elasticsearch.service.BulkIndexService;
 import com.bippobippo.hospital.entity.OperatingTimeSuggestion;
 import com.bippobippo.hospital.repository.OperatingTimeSuggestionRepository;
 import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
 import org.springframework.data.mongodb.core.MongoTemplate;
 import org.springframework.data.mongodb.core.query.Criteria;
 import org.springframework.data.mongodb.core.query.Query;
@@ -15,12 +17,14 @@ import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 
+@Slf4j
 @Service
 @RequiredArgsConstructor
 public class OperatingTimeSuggestionServiceImpl implements OperatingTimeSuggestionService {
 
     private final OperatingTimeSuggestionRepository operatingTimeSuggestionRepository;
     private final MongoTemplate mongoTemplate;
+    private final BulkIndexService bulkIndexService;
 
     @Override
     public OperatingTimeSuggestion saveSuggestion(OperatingTimeSuggestion suggestion) {
@@ -72,6 +76,13 @@ public class OperatingTimeSuggestionServiceImpl implements OperatingTimeSuggesti
         // hospitals 컬렉션도 업데이트 (백업)
         mongoTemplate.updateFirst(query, update, "hospitals");
         
+        // 진료시간 비트맵과 검색 인덱스 갱신 (실패해도 승인은 유지, 주기적 재적재로 보정)
+        try {
+            bulkIndexService.reindexHospitalByYkiho(hospitalId);
+        } catch (Exception e) {
+            log.warn("진료시간 변경 후 병원 재색인 실패: {}", hospitalId, e);
+        }
+        
         // 제안 상태를 승인으로 변경
         suggestion.setStatus(OperatingTimeSuggestion.SuggestionStatus.APPROVED);
         suggestion.setReviewedAt(LocalDateTime.now());
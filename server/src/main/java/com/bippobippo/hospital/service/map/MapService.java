@@ -5,13 +5,16 @@ import java.util.Map;
 
 public interface MapService {
     List<Map<String, Object>> getMapData(String type, Double swLat, Double swLng, Double neLat, Double neLng, Integer limit);
+    Map<String, Object> getMapBundle(Double swLat, Double swLng, Double neLat, Double neLng, Double centerLat, Double centerLng, Integer radius, Integer limit, boolean includeClusters);
     List<Map<String, Object>> search(String query);
     List<Map<String, Object>> getSummary();
     List<Map<String, Object>> getSidoSummary();
     List<Map<String, Object>> getSgguSummary(Double swLat, Double swLng, Double neLat, Double neLng);
     List<Map<String, Object>> getEmdongSummary(Double swLat, Double swLng, Double neLat, Double neLng);
-    List<String> getRiSummary();
+    List<String> getRiSummary(Double swLat, Double swLng, Double neLat, Double neLng, Integer limit);
     List<Map<String, Object>> getClusters(Double swLat, Double swLng, Double neLat, Double neLng, Double centerLat, Double centerLng, Integer radius);
+    List<Map<String, Object>> getTileClusters(Double swLat, Double swLng, Double neLat, Double neLng, Integer zoomLevel);
     List<Map<String, Object>> getMapCluster(Double swLat, Double swLng, Double neLat, Double neLng, Integer zoomLevel);
     Map<String, Object> getBoundaryGeometry(String boundaryType, String name);
+    Map<String, Object> getBoundaryGeometry(String boundaryType, String name, Integer zoomLevel);
 } 
\ No newline at end of file
@@ -1,20 +1,35 @@
 package com.bippobippo.hospital.util;
 
-import com.fasterxml.jackson.databind.ObjectMapper;
-import com.fasterxml.jackson.databind.JsonNode;
-import com.theokanning.openai.completion.CompletionRequest;
+import com.bippobippo.hospital.elasticsearch.service.SearchGateway;
+import com.github.benmanes.caffeine.cache.AsyncCache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.theokanning.openai.completion.chat.ChatCompletionRequest;
+import com.theokanning.openai.completion.chat.ChatMessage;
+import com.theokanning.openai.completion.chat.ChatMessageRole;
 import com.theokanning.openai.service.OpenAiService;
+import io.reactivex.Flowable;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Component;
-import org.springframework.web.client.RestTemplate;
+import org.elasticsearch.action.search.SearchRequest;
+import org.elasticsearch.action.search.SearchResponse;
+import org.elasticsearch.common.unit.DistanceUnit;
+import org.elasticsearch.index.query.QueryBuilders;
+import org.elasticsearch.search.SearchHit;
+import org.elasticsearch.search.builder.SearchSourceBuilder;
+import org.elasticsearch.search.sort.SortBuilders;
+import org.elasticsearch.search.sort.SortOrder;
 
+import javax.annotation.PostConstruct;
+import java.time.Duration;
 import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.Comparator;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.CompletableFuture;
 import java.util.stream.Collectors;
 
 @Slf4j
@@ -22,14 +37,46 @@ import java.util.stream.Collectors;
 @RequiredArgsConstructor
 public class ChatUtil {
 
-    private final RestTemplate restTemplate;
-    private final ObjectMapper objectMapper;
+    private final SearchGateway searchGateway;
+    private final OpenAiService openAiService;
 
-    @Value("${openai.api.key}")
-    private String openaiApiKey;
+    @Value("${openai.chat.model:gpt-3.5-turbo}")
+    private String model;
 
-    @Value("${elasticsearch.url}")
-    private String elasticsearchUrl;
+    @Value("${openai.chat.max-tokens:500}")
+    private int maxTokens;
+
+    @Value("${openai.chat.temperature:0.7}")
+    private double temperature;
+
+    @Value("${chat.search-cache.ttl-seconds:300}")
+    private long cacheTtlSeconds;
+
+    @Value("${chat.search-cache.max-size:10000}")
+    private long cacheMaxSize;
+
+    // 약 500m 격자
+    @Value("${chat.search-cache.geo-cell-degrees:0.005}")
+    private double geoCellDegrees;
+
+    // 위치 검색 시 격자 셀 중심 기준으로 가져오는 후보 수
+    @Value("${chat.search-cache.geo-fetch-size:50}")
+    private int geoFetchSize;
+
+    private static final int NEARBY_RESULT_SIZE = 5;
+
+    // 정규화한 검색 조건(지역 또는 반경+격자 셀) → 병원 목록
+    private AsyncCache<String, List<Map<String, Object>>> searchCache;
+
+    @PostConstruct
+    public void init() {
+        // 위치 후보 목록이 지역 결과보다 크므로 항목 수 대신 병원 수로 제한 (max-size 는 5건 결과 기준 항목 수)
+        this.searchCache = Caffeine.newBuilder()
+            .maximumWeight(cacheMaxSize * NEARBY_RESULT_SIZE)
+            .weigher((String key, List<Map<String, Object>> hospitals) -> Math.max(1, hospitals.size()))
+            .expireAfterWrite(Duration.ofSeconds(cacheTtlSeconds))
+            .buildAsync();
+    }
 
     // 병원 검색 관련 키워드
     private static final List<String> HOSPITAL_KEYWORDS = Arrays.asList(
@@ -69,170 +116,221 @@ public class ChatUtil {
         return R * c;
     }
 
-    // 지역 기반 병원 검색
-    public String searchHospitalsByRegion(String message, String region) {
-        try {
-            // Elasticsearch 검색
-            String searchUrl = elasticsearchUrl + "/hospitals/_search";
-            String searchQuery = String.format("""
-                {
-                    "query": {
-                        "term": {
-                            "region.keyword": "%s"
-                        }
-                    },
-                    "size": 5,
-                    "sort": [
-                        { "_score": { "order": "desc" } }
-                    ]
-                }
-                """, region);
+    /**
+     * 지역 기반 병원 검색 (지역 단위 캐시)
+     */
+    public CompletableFuture<List<Map<String, Object>>> findHospitalsByRegion(String region) {
+        return searchCache.get("region:" + region, (key, executor) -> {
+            SearchSourceBuilder source = new SearchSourceBuilder()
+                .query(QueryBuilders.termQuery("region", region))
+                .size(5)
+                .sort(SortBuilders.scoreSort().order(SortOrder.DESC));
+            return searchGateway.searchAsync(new SearchRequest("hospitals").source(source))
+                .thenApply(response -> extractHospitalsFromResponse(response, false));
+        });
+    }
 
-            String response = restTemplate.postForObject(searchUrl, searchQuery, String.class);
-            List<Object> hospitals = extractHospitalsFromResponse(response);
+    /**
+     * 위치 기반 병원 검색
+     *
+     * 좌표를 격자 셀로 정규화해 셀 중심에서 (반경 + 셀 반 대각선) 안의 병원을 넉넉히 가져와 캐시하고,
+     * 요청 좌표 기준으로 거리를 다시 계산해 반경 밖은 버리고 가까운 순으로 자른다.
+     * 캐시된 후보만으로 요청 좌표의 최근접 결과를 보장할 수 없으면 요청 좌표로 직접 검색한다.
+     */
+    public CompletableFuture<List<Map<String, Object>>> findHospitalsByLocation(String message, double latitude, double longitude) {
+        double distance = parseDistance(message);
+        long latCell = Math.round(latitude / geoCellDegrees);
+        long lngCell = Math.round(longitude / geoCellDegrees);
+        double cellLat = latCell * geoCellDegrees;
+        double cellLng = lngCell * geoCellDegrees;
+        double halfDiagonal = calculateDistance(cellLat, cellLng, cellLat + geoCellDegrees / 2,
+            cellLng + geoCellDegrees / 2);
+        String key = "geo:" + distance + ":" + latCell + ":" + lngCell;
 
-            // OpenAI API 호출
-            String openaiResponse = callOpenAI(message, region, hospitals);
+        return searchCache.get(key, (k, executor) -> searchNearby(cellLat, cellLng, distance + halfDiagonal, geoFetchSize))
+            .thenCompose(candidates -> {
+                List<Map<String, Object>> nearest = nearestWithin(candidates, latitude, longitude, distance, halfDiagonal);
+                if (nearest != null) {
+                    return CompletableFuture.completedFuture(nearest);
+                }
+                return searchNearby(latitude, longitude, distance, NEARBY_RESULT_SIZE);
+            });
+    }
 
-            return createRegionSearchResponse(region, openaiResponse);
-        } catch (Exception e) {
-            log.error("지역 기반 병원 검색 오류:", e);
-            return createErrorResponse();
-        }
+    private CompletableFuture<List<Map<String, Object>>> searchNearby(double latitude, double longitude, double distanceKm, int size) {
+        SearchSourceBuilder source = new SearchSourceBuilder()
+            .query(QueryBuilders.boolQuery()
+                .filter(QueryBuilders.geoDistanceQuery("location")
+                    .point(latitude, longitude)
+                    .distance(distanceKm, DistanceUnit.KILOMETERS)))
+            .size(size)
+            .sort(SortBuilders.geoDistanceSort("location", latitude, longitude)
+                .order(SortOrder.ASC)
+                .unit(DistanceUnit.KILOMETERS));
+        return searchGateway.searchAsync(new SearchRequest("hospitals").source(source))
+            .thenApply(response -> extractHospitalsFromResponse(response, true));
     }
 
-    // 위치 기반 병원 검색
-    public String searchHospitalsByLocation(String message, Double latitude, Double longitude) {
-        try {
-            // 검색어에서 키워드 추출
-            List<String> keywords = Arrays.asList(message.toLowerCase().split(" "));
-            List<String> departmentKeywords = Arrays.asList("내과", "외과", "소아과", "치과", "한의원", "정형외과", "이비인후과", "안과", "피부과", "산부인과");
-            List<String> serviceKeywords = Arrays.asList("야간", "주말", "응급", "영업중");
-
-            // 검색 조건 파싱
-            double distance = keywords.contains("500미터") ? 0.5 :
-                            keywords.contains("1킬로") ? 1 :
-                            keywords.contains("2킬로") ? 2 :
-                            keywords.contains("3킬로") ? 3 : 5;
-
-            // Elasticsearch 검색
-            String searchUrl = elasticsearchUrl + "/hospitals/_search";
-            String searchQuery = String.format("""
-                {
-                    "query": {
-                        "bool": {
-                            "filter": [
-                                {
-                                    "geo_distance": {
-                                        "distance": "%fkm",
-                                        "location": {
-                                            "lat": %f,
-                                            "lon": %f
-                                        }
-                                    }
-                                }
-                            ]
-                        }
-                    },
-                    "size": 5,
-                    "sort": [
-                        {
-                            "_geo_distance": {
-                                "location": {
-                                    "lat": %f,
-                                    "lon": %f
-                                },
-                                "order": "asc",
-                                "unit": "km"
-                            }
-                        }
-                    ]
-                }
-                """, distance, latitude, longitude, latitude, longitude);
+    /**
+     * 셀 중심 기준 후보에서 요청 좌표 기준 반경 내 최근접 병원, 후보 밖에 더 가까운 병원이 있을 수 있으면 null
+     *
+     * 후보를 다 채우지 못했으면 셀 검색 반경 안의 병원이 모두 들어 있다. 다 채웠으면 가져오지 못한 병원은
+     * 셀 중심에서 마지막 후보보다 멀고, 요청 좌표에서는 (마지막 후보 거리 - 셀 반 대각선)보다 멀다.
+     */
+    private List<Map<String, Object>> nearestWithin(List<Map<String, Object>> candidates, double latitude, double longitude,
+                                                    double distance, double halfDiagonal) {
+        List<Map<String, Object>> nearest = withDistanceFrom(candidates, latitude, longitude).stream()
+            .filter(h -> h.get("distance") instanceof Number && ((Number) h.get("distance")).doubleValue() <= distance)
+            .limit(NEARBY_RESULT_SIZE)
+            .collect(Collectors.toList());
+        if (candidates.size() < geoFetchSize) {
+            return nearest;
+        }
 
-            String response = restTemplate.postForObject(searchUrl, searchQuery, String.class);
-            List<Object> hospitals = extractHospitalsFromResponse(response);
+        Object last = candidates.get(candidates.size() - 1).get("distance");
+        double guaranteed = (last instanceof Number ? ((Number) last).doubleValue() : 0) - halfDiagonal;
+        double needed = nearest.size() < NEARBY_RESULT_SIZE
+            ? distance
+            : ((Number) nearest.get(nearest.size() - 1).get("distance")).doubleValue();
+        return needed <= guaranteed ? nearest : null;
+    }
 
-            // OpenAI API 호출
-            String openaiResponse = callOpenAI(message, null, hospitals);
+    // 검색어에서 반경 추출 (기본 5km)
+    public double parseDistance(String message) {
+        List<String> keywords = Arrays.asList(message.toLowerCase().split(" "));
+        return keywords.contains("500미터") ? 0.5 :
+               keywords.contains("1킬로") ? 1 :
+               keywords.contains("2킬로") ? 2 :
+               keywords.contains("3킬로") ? 3 : 5;
+    }
 
-            return createLocationSearchResponse(openaiResponse);
-        } catch (Exception e) {
-            log.error("위치 기반 병원 검색 오류:", e);
-            return createErrorResponse();
+    // 캐시된 목록은 공유되므로 복사본에 요청 좌표 기준 거리를 넣음
+    private List<Map<String, Object>> withDistanceFrom(List<Map<String, Object>> hospitals, double latitude, double longitude) {
+        List<Map<String, Object>> result = new ArrayList<>(hospitals.size());
+        for (Map<String, Object> hospital : hospitals) {
+            Map<String, Object> copy = new HashMap<>(hospital);
+            if (hospital.get("latitude") instanceof Number && hospital.get("longitude") instanceof Number) {
+                copy.put("distance", calculateDistance(latitude, longitude,
+                    ((Number) hospital.get("latitude")).doubleValue(), ((Number) hospital.get("longitude")).doubleValue()));
+            }
+            result.add(copy);
         }
+        result.sort(Comparator.comparingDouble(h -> h.get("distance") instanceof Number
+            ? ((Number) h.get("distance")).doubleValue() : Double.MAX_VALUE));
+        return result;
     }
 
-    private List<Object> extractHospitalsFromResponse(String response) {
-        try {
-            JsonNode root = objectMapper.readTree(response);
-            JsonNode hits = root.path("hits").path("hits");
-            List<Object> hospitals = new ArrayList<>();
-            
-            for (JsonNode hit : hits) {
-                JsonNode source = hit.path("_source");
-                Map<String, Object> hospital = new HashMap<>();
-                hospital.put("name", source.path("name").asText());
-                hospital.put("address", source.path("address").asText());
-                hospital.put("phone", source.path("phone").asText());
-                hospital.put("department", source.path("department").asText());
-                hospital.put("distance", hit.path("sort").get(0).asDouble());
-                hospitals.add(hospital);
+    private List<Map<String, Object>> extractHospitalsFromResponse(SearchResponse response, boolean sortedByDistance) {
+        List<Map<String, Object>> hospitals = new ArrayList<>();
+        for (SearchHit hit : response.getHits().getHits()) {
+            Map<String, Object> source = hit.getSourceAsMap();
+            Map<String, Object> hospital = new HashMap<>();
+            hospital.put("name", source.get("yadmNm"));
+            hospital.put("address", source.get("addr"));
+            hospital.put("phone", source.get("telno"));
+            hospital.put("department", source.get("major"));
+            if (source.get("location") instanceof Map) {
+                Map<?, ?> location = (Map<?, ?>) source.get("location");
+                hospital.put("latitude", location.get("lat"));
+                hospital.put("longitude", location.get("lon"));
+            }
+            if (sortedByDistance && hit.getSortValues().length > 0 && hit.getSortValues()[0] instanceof Number) {
+                hospital.put("distance", ((Number) hit.getSortValues()[0]).doubleValue());
             }
-            
-            return hospitals;
-        } catch (Exception e) {
-            log.error("Elasticsearch 응답 파싱 오류:", e);
-            return List.of();
+            hospitals.add(hospital);
         }
+        return hospitals;
     }
 
-    private String callOpenAI(String message, String region, List<Object> hospitals) {
-        try {
-            OpenAiService service = new OpenAiService(openaiApiKey);
-            
-            String prompt = String.format("""
-                다음은 병원 검색 결과입니다. 사용자의 질문에 대해 자연스럽게 답변해주세요.
-                
-                사용자 질문: %s
-                검색 지역: %s
-                
-                검색된 병원 목록:
-                %s
-                
-                답변 형식:
-                1. 사용자의 질문에 대한 직접적인 답변
-                2. 검색된 병원들의 주요 정보 (이름, 주소, 전화번호, 진료과목)
-                3. 추가 안내사항 (예약 방법, 진료시간 등)
-                """,
-                message,
-                region != null ? region : "현재 위치 기준",
-                hospitals.stream()
-                    .map(h -> {
-                        Map<String, Object> hospital = (Map<String, Object>) h;
-                        return String.format("- %s\n  주소: %s\n  전화: %s\n  진료과목: %s\n  거리: %.1fkm",
-                            hospital.get("name"),
-                            hospital.get("address"),
-                            hospital.get("phone"),
-                            hospital.get("department"),
-                            hospital.get("distance"));
-                    })
-                    .collect(Collectors.joining("\n"))
-            );
-
-            CompletionRequest request = CompletionRequest.builder()
-                .model("gpt-3.5-turbo")
-                .prompt(prompt)
-                .maxTokens(500)
-                .temperature(0.7)
-                .build();
-
-            String response = service.createCompletion(request).getChoices().get(0).getText();
-            return response.trim();
-        } catch (Exception e) {
-            log.error("OpenAI API 호출 오류:", e);
-            return "죄송합니다. 응답을 생성하는 중에 오류가 발생했습니다.";
-        }
+    /**
+     * 검색 결과로 모델 프롬프트 생성
+     */
+    public String buildPrompt(String message, String region, List<Map<String, Object>> hospitals) {
+        return String.format("""
+            다음은 병원 검색 결과입니다. 사용자의 질문에 대해 자연스럽게 답변해주세요.
+
+            사용자 질문: %s
+            검색 지역: %s
+
+            검색된 병원 목록:
+            %s
+
+            답변 형식:
+            1. 사용자의 질문에 대한 직접적인 답변
+            2. 검색된 병원들의 주요 정보 (이름, 주소, 전화번호, 진료과목)
+            3. 추가 안내사항 (예약 방법, 진료시간 등)
+            """,
+            message,
+            region != null ? region : "현재 위치 기준",
+            hospitals.stream()
+                .map(hospital -> {
+                    String line = String.format("- %s\n  주소: %s\n  전화: %s\n  진료과목: %s",
+                        hospital.get("name"),
+                        hospital.get("address"),
+                        hospital.get("phone"),
+                        hospital.get("department"));
+                    if (hospital.get("distance") != null) {
+                        line += String.format("\n  거리: %.1fkm", hospital.get("distance"));
+                    }
+                    return line;
+                })
+                .collect(Collectors.joining("\n"))
+        );
+    }
+
+    /**
+     * 모델 응답을 생성되는 대로 조각 단위로 전달 (공용 클라이언트, OkHttp 스레드에서 실행)
+     */
+    public Flowable<String> streamAnswer(String prompt) {
+        ChatCompletionRequest request = ChatCompletionRequest.builder()
+            .model(model)
+            .messages(List.of(new ChatMessage(ChatMessageRole.USER.value(), prompt)))
+            .maxTokens(maxTokens)
+            .temperature(temperature)
+            .stream(true)
+            .build();
+
+        return openAiService.streamChatCompletion(request)
+            .filter(chunk -> !chunk.getChoices().isEmpty()
+                && chunk.getChoices().get(0).getMessage() != null
+                && chunk.getChoices().get(0).getMessage().getContent() != null)
+            .map(chunk -> chunk.getChoices().get(0).getMessage().getContent());
+    }
+
+    /**
+     * 모델 응답 전체 (스트림을 모아 완료 시 반환)
+     */
+    public CompletableFuture<String> answer(String prompt) {
+        CompletableFuture<String> future = new CompletableFuture<>();
+        streamAnswer(prompt)
+            .reduce(new StringBuilder(), StringBuilder::append)
+            .subscribe(text -> future.complete(text.toString().trim()), future::completeExceptionally);
+        return future;
+    }
+
+    /**
+     * 검색 결과 → 모델 응답 → HTML 메시지 (지역 지정 시 지역 제목)
+     */
+    public CompletableFuture<String> searchHospitals(String message, String region,
+                                                     CompletableFuture<List<Map<String, Object>>> hospitals) {
+        return hospitals
+            .thenCompose(list -> answer(buildPrompt(message, region, list))
+                .exceptionally(e -> {
+                    log.error("OpenAI API 호출 오류:", e);
+                    return "죄송합니다. 응답을 생성하는 중에 오류가 발생했습니다.";
+                }))
+            .thenApply(answer -> createSearchResponse(region, answer))
+            .exceptionally(e -> {
+                log.error("{} 병원 검색 오류:", region != null ? "지역 기반" : "위치 기반", e);
+                return createErrorResponse();
+            });
+    }
+
+    /**
+     * 모델 응답을 검색 결과 메시지 HTML 로 감쌈
+     */
+    public String createSearchResponse(String region, String answer) {
+        return region != null ? createRegionSearchResponse(region, answer) : createLocationSearchResponse(answer);
     }
 
     private String createRegionSearchResponse(String region, String openaiResponse) {
@@ -285,7 +383,7 @@ public class ChatUtil {
             """, openaiResponse);
     }
 
-    private String createErrorResponse() {
+    public String createErrorResponse() {
         return """
             <div class="message bot">
                 <div class="message-content" style="padding: 10px; border-radius: 8px; max-width: 80%; word-break: break-word;">
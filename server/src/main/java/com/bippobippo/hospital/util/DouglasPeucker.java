@@ -0,0 +1,178 @@
+package com.bippobippo.hospital.util;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * GeoJSON Polygon / MultiPolygon 의 Douglas-Peucker 단순화
+ *
+ * 좌표는 평면(경도=x, 위도=y)으로 보고 링마다 첫/끝 점을 고정한 채 허용 오차(도 단위)보다
+ * 가까운 점을 제거한다. 링이 4점 미만으로 줄어들면 그 링(바깥 링이면 조각 전체)을 버린다.
+ * 수십만 점짜리 링도 처리할 수 있도록 재귀 대신 명시적 스택을 쓴다.
+ */
+public final class DouglasPeucker {
+
+    private DouglasPeucker() {
+    }
+
+    /**
+     * 줌 레벨에서 화면 1픽셀에 해당하는 경도 폭 (256px 타일 기준)
+     */
+    public static double toleranceForZoom(int zoom) {
+        return 360.0 / (256.0 * Math.pow(2, zoom));
+    }
+
+    /**
+     * 단순화한 geometry (Polygon/MultiPolygon 외이거나 모든 조각이 사라지면 null)
+     */
+    @SuppressWarnings("unchecked")
+    public static Map<String, Object> simplify(Map<String, Object> geometry, double tolerance) {
+        if (geometry == null || geometry.get("coordinates") == null) {
+            return null;
+        }
+
+        Object type = geometry.get("type");
+        List<Object> coordinates;
+        if ("Polygon".equals(type)) {
+            List<Object> polygon = simplifyPolygon((List<List<List<Number>>>) geometry.get("coordinates"), tolerance);
+            if (polygon == null) {
+                return null;
+            }
+            coordinates = polygon;
+        } else if ("MultiPolygon".equals(type)) {
+            coordinates = new ArrayList<>();
+            for (List<List<List<Number>>> rings : (List<List<List<List<Number>>>>) geometry.get("coordinates")) {
+                List<Object> polygon = simplifyPolygon(rings, tolerance);
+                if (polygon != null) {
+                    coordinates.add(polygon);
+                }
+            }
+            if (coordinates.isEmpty()) {
+                return null;
+            }
+        } else {
+            return null;
+        }
+
+        Map<String, Object> simplified = new LinkedHashMap<>();
+        simplified.put("type", type);
+        simplified.put("coordinates", coordinates);
+        return simplified;
+    }
+
+    private static List<Object> simplifyPolygon(List<List<List<Number>>> rings, double tolerance) {
+        if (rings == null || rings.isEmpty()) {
+            return null;
+        }
+        List<Object> polygon = new ArrayList<>(rings.size());
+        for (int r = 0; r < rings.size(); r++) {
+            List<List<Double>> ring = simplifyRing(rings.get(r), tolerance);
+            if (ring == null) {
+                if (r == 0) {
+                    // 바깥 링이 사라지면 조각 전체 제외
+                    return null;
+                }
+                continue;
+            }
+            polygon.add(ring);
+        }
+        return polygon;
+    }
+
+    private static List<List<Double>> simplifyRing(List<List<Number>> ring, double tolerance) {
+        if (ring == null) {
+            return null;
+        }
+        int n = 0;
+        double[] x = new double[ring.size()];
+        double[] y = new double[ring.size()];
+        for (List<Number> coord : ring) {
+            if (coord != null && coord.size() >= 2) {
+                x[n] = coord.get(0).doubleValue();
+                y[n] = coord.get(1).doubleValue();
+                n++;
+            }
+        }
+        if (n < 4) {
+            return null;
+        }
+
+        boolean[] keep = new boolean[n];
+        keep[0] = true;
+        keep[n - 1] = true;
+        double sqTolerance = tolerance * tolerance;
+
+        // 닫힌 링은 첫 점과 끝 점이 같으므로 첫 점에서 가장 먼 점으로 먼저 나눈다
+        int split = farthestFrom(x, y, 0, n - 1);
+        keep[split] = true;
+
+        Deque<int[]> stack = new ArrayDeque<>();
+        stack.push(new int[]{0, split});
+        stack.push(new int[]{split, n - 1});
+        while (!stack.isEmpty()) {
+            int[] range = stack.pop();
+            int first = range[0];
+            int last = range[1];
+            double maxDistance = 0;
+            int index = -1;
+            for (int i = first + 1; i < last; i++) {
+                double distance = sqSegmentDistance(x[i], y[i], x[first], y[first], x[last], y[last]);
+                if (distance > maxDistance) {
+                    maxDistance = distance;
+                    index = i;
+                }
+            }
+            if (index >= 0 && maxDistance > sqTolerance) {
+                keep[index] = true;
+                stack.push(new int[]{first, index});
+                stack.push(new int[]{index, last});
+            }
+        }
+
+        List<List<Double>> simplified = new ArrayList<>();
+        for (int i = 0; i < n; i++) {
+            if (keep[i]) {
+                simplified.add(List.of(x[i], y[i]));
+            }
+        }
+        return simplified.size() >= 4 ? simplified : null;
+    }
+
+    private static int farthestFrom(double[] x, double[] y, int from, int to) {
+        int index = (from + to) / 2;
+        double maxDistance = -1;
+        for (int i = from + 1; i < to; i++) {
+            double dx = x[i] - x[from];
+            double dy = y[i] - y[from];
+            double distance = dx * dx + dy * dy;
+            if (distance > maxDistance) {
+                maxDistance = distance;
+                index = i;
+            }
+        }
+        return index;
+    }
+
+    // 점 (px, py) 와 선분 (ax, ay)-(bx, by) 사이 거리의 제곱
+    private static double sqSegmentDistance(double px, double py, double ax, double ay, double bx, double by) {
+        double dx = bx - ax;
+        double dy = by - ay;
+        if (dx != 0 || dy != 0) {
+            double t = ((px - ax) * dx + (py - ay) * dy) / (dx * dx + dy * dy);
+            if (t > 1) {
+                ax = bx;
+                ay = by;
+            } else if (t > 0) {
+                ax += dx * t;
+                ay += dy * t;
+            }
+        }
+        dx = px - ax;
+        dy = py - ay;
+        return dx * dx + dy * dy;
+    }
+}
@@ -0,0 +1,193 @@
+package com.bippobippo.hospital.util;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * GeoJSON Polygon / MultiPolygon 을 평면 좌표(경도=x, 위도=y)로 다루는 경량 도형
+ *
+ * 점 포함 여부는 모든 링에 대한 짝홀(even-odd) 교차 판정으로 처리하므로
+ * 구멍(hole)과 여러 조각으로 나뉜 행정구역을 함께 지원한다.
+ */
+public final class GeoPolygon {
+
+    private final double[][] ringXs;
+    private final double[][] ringYs;
+    private final boolean[] holes;
+
+    private final double minX;
+    private final double minY;
+    private final double maxX;
+    private final double maxY;
+
+    private GeoPolygon(List<double[]> xs, List<double[]> ys, List<Boolean> holeFlags) {
+        this.ringXs = xs.toArray(new double[0][]);
+        this.ringYs = ys.toArray(new double[0][]);
+        this.holes = new boolean[holeFlags.size()];
+        for (int i = 0; i < holes.length; i++) {
+            holes[i] = holeFlags.get(i);
+        }
+
+        double x0 = Double.POSITIVE_INFINITY, y0 = Double.POSITIVE_INFINITY;
+        double x1 = Double.NEGATIVE_INFINITY, y1 = Double.NEGATIVE_INFINITY;
+        for (int r = 0; r < ringXs.length; r++) {
+            for (int i = 0; i < ringXs[r].length; i++) {
+                x0 = Math.min(x0, ringXs[r][i]);
+                y0 = Math.min(y0, ringYs[r][i]);
+                x1 = Math.max(x1, ringXs[r][i]);
+                y1 = Math.max(y1, ringYs[r][i]);
+            }
+        }
+        this.minX = x0;
+        this.minY = y0;
+        this.maxX = x1;
+        this.maxY = y1;
+    }
+
+    /**
+     * GeoJSON geometry 맵으로부터 생성 (Polygon/MultiPolygon 외에는 null)
+     */
+    @SuppressWarnings("unchecked")
+    public static GeoPolygon fromGeoJson(Map<String, Object> geometry) {
+        if (geometry == null || geometry.get("coordinates") == null) {
+            return null;
+        }
+
+        List<double[]> xs = new ArrayList<>();
+        List<double[]> ys = new ArrayList<>();
+        List<Boolean> holeFlags = new ArrayList<>();
+
+        Object type = geometry.get("type");
+        if ("Polygon".equals(type)) {
+            addPolygon((List<List<List<Number>>>) geometry.get("coordinates"), xs, ys, holeFlags);
+        } else if ("MultiPolygon".equals(type)) {
+            for (List<List<List<Number>>> polygon : (List<List<List<List<Number>>>>) geometry.get("coordinates")) {
+                addPolygon(polygon, xs, ys, holeFlags);
+            }
+        } else {
+            return null;
+        }
+
+        return xs.isEmpty() ? null : new GeoPolygon(xs, ys, holeFlags);
+    }
+
+    private static void addPolygon(List<List<List<Number>>> rings, List<double[]> xs, List<double[]> ys, List<Boolean> holeFlags) {
+        if (rings == null) {
+            return;
+        }
+        for (int r = 0; r < rings.size(); r++) {
+            List<List<Number>> ring = rings.get(r);
+            if (ring == null || ring.size() < 3) {
+                continue;
+            }
+            double[] x = new double[ring.size()];
+            double[] y = new double[ring.size()];
+            int n = 0;
+            for (List<Number> coord : ring) {
+                if (coord != null && coord.size() >= 2) {
+                    x[n] = coord.get(0).doubleValue();
+                    y[n] = coord.get(1).doubleValue();
+                    n++;
+                }
+            }
+            if (n < 3) {
+                continue;
+            }
+            xs.add(n == x.length ? x : java.util.Arrays.copyOf(x, n));
+            ys.add(n == y.length ? y : java.util.Arrays.copyOf(y, n));
+            holeFlags.add(r > 0);
+        }
+    }
+
+    /**
+     * 점 포함 여부 (경도, 위도)
+     */
+    public boolean contains(double lng, double lat) {
+        if (lng < minX || lng > maxX || lat < minY || lat > maxY) {
+            return false;
+        }
+        boolean inside = false;
+        for (int r = 0; r < ringXs.length; r++) {
+            double[] x = ringXs[r];
+            double[] y = ringYs[r];
+            for (int i = 0, j = x.length - 1; i < x.length; j = i++) {
+                if ((y[i] > lat) != (y[j] > lat)
+                    && lng < (x[j] - x[i]) * (lat - y[i]) / (y[j] - y[i]) + x[i]) {
+                    inside = !inside;
+                }
+            }
+        }
+        return inside;
+    }
+
+    /**
+     * 면적 가중 중심점 {lng, lat} (바깥 링은 더하고 구멍은 뺀다)
+     */
+    public double[] centroid() {
+        double totalArea = 0;
+        double sumX = 0;
+        double sumY = 0;
+
+        for (int r = 0; r < ringXs.length; r++) {
+            double[] x = ringXs[r];
+            double[] y = ringYs[r];
+            double area = 0;
+            double cx = 0;
+            double cy = 0;
+            for (int i = 0, j = x.length - 1; i < x.length; j = i++) {
+                double cross = x[j] * y[i] - x[i] * y[j];
+                area += cross;
+                cx += (x[j] + x[i]) * cross;
+                cy += (y[j] + y[i]) * cross;
+            }
+            if (area == 0) {
+                continue;
+            }
+            // 링 방향과 무관하게 부호를 맞춘 뒤 구멍이면 음수로 반영
+            double sign = (area > 0 ? 1 : -1) * (holes[r] ? -1 : 1);
+            double absArea = Math.abs(area) / 2;
+            totalArea += sign * absArea;
+            sumX += sign * absArea * (cx / (3 * area));
+            sumY += sign * absArea * (cy / (3 * area));
+        }
+
+        if (totalArea <= 0) {
+            return new double[]{(minX + maxX) / 2, (minY + maxY) / 2};
+        }
+        return new double[]{sumX / totalArea, sumY / totalArea};
+    }
+
+    /**
+     * 평면 면적 (도 단위 제곱, 상대 비교용)
+     */
+    public double area() {
+        double total = 0;
+        for (int r = 0; r < ringXs.length; r++) {
+            double[] x = ringXs[r];
+            double[] y = ringYs[r];
+            double area = 0;
+            for (int i = 0, j = x.length - 1; i < x.length; j = i++) {
+                area += x[j] * y[i] - x[i] * y[j];
+            }
+            total += (holes[r] ? -1 : 1) * Math.abs(area) / 2;
+        }
+        return Math.max(0, total);
+    }
+
+    public double getMinX() {
+        return minX;
+    }
+
+    public double getMinY() {
+        return minY;
+    }
+
+    public double getMaxX() {
+        return maxX;
+    }
+
+    public double getMaxY() {
+        return maxY;
+    }
+}
@@ -0,0 +1,413 @@
+package com.bippobippo.hospital.util;
+
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.FloatBuffer;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+import java.util.PriorityQueue;
+import java.util.Random;
+import java.util.function.IntPredicate;
+
+/**
+ * 코사인 유사도 근사 최근접 이웃 검색용 HNSW(Hierarchical Navigable Small World) 그래프
+ *
+ * 벡터는 길이 1로 정규화된 float 배열(행 우선)을 FloatBuffer 로 받아 복사하지 않고 읽으므로
+ * 메모리 매핑한 파일을 그대로 쓸 수 있다. 그래프는 한 스레드에서 만든 뒤에는 변경하지 않으므로
+ * 생성 후에는 여러 스레드에서 동시에 검색해도 안전하다.
+ *
+ * 필터 검색은 그래프 탐색은 그대로 하되 조건을 만족하는 노드만 결과에 넣는다.
+ * 조건을 만족하는 노드가 아주 적으면 탐색이 길어지므로 호출 측에서 전수 비교(exact)로 돌리는 것이 낫다.
+ */
+public final class HnswIndex {
+
+    private static final int FILE_MAGIC = 0x484E5357; // "HNSW"
+
+    private final FloatBuffer vectors;
+    private final int size;
+    private final int dim;
+    private final int m;
+    private final int maxM0;
+    private final int[] levels;
+    // links[노드][레벨] = {이웃 수, 이웃1, 이웃2, ...}
+    private final int[][][] links;
+    private int entryPoint = -1;
+    private int maxLevel = -1;
+
+    private final ThreadLocal<Visited> visited;
+
+    private HnswIndex(FloatBuffer vectors, int size, int dim, int m) {
+        this.vectors = vectors;
+        this.size = size;
+        this.dim = dim;
+        this.m = m;
+        this.maxM0 = m * 2;
+        this.levels = new int[size];
+        this.links = new int[size][][];
+        this.visited = ThreadLocal.withInitial(() -> new Visited(size));
+    }
+
+    /**
+     * 그래프 생성
+     *
+     * @param m              노드당 이웃 수 (0 레벨은 2배)
+     * @param efConstruction 삽입 시 후보 목록 크기 (클수록 정확하지만 느림)
+     */
+    public static HnswIndex build(FloatBuffer vectors, int size, int dim, int m, int efConstruction, long seed) {
+        HnswIndex index = new HnswIndex(vectors, size, dim, m);
+        Random random = new Random(seed);
+        double levelMultiplier = 1.0 / Math.log(m);
+        float[] query = new float[dim];
+        for (int node = 0; node < size; node++) {
+            int level = (int) (-Math.log(1.0 - random.nextDouble()) * levelMultiplier);
+            index.insert(node, level, efConstruction, query);
+        }
+        return index;
+    }
+
+    /**
+     * write() 로 저장한 그래프 읽기 (벡터는 같은 순서여야 함)
+     */
+    public static HnswIndex read(FloatBuffer vectors, int size, int dim, DataInputStream in) throws IOException {
+        if (in.readInt() != FILE_MAGIC) {
+            throw new IOException("HNSW 그래프 파일 형식이 아닙니다.");
+        }
+        int storedSize = in.readInt();
+        int storedDim = in.readInt();
+        int m = in.readInt();
+        if (storedSize != size || storedDim != dim) {
+            throw new IOException("HNSW 그래프와 벡터 크기가 다릅니다: " + storedSize + "x" + storedDim + " / " + size + "x" + dim);
+        }
+        HnswIndex index = new HnswIndex(vectors, size, dim, m);
+        index.entryPoint = in.readInt();
+        index.maxLevel = in.readInt();
+        for (int node = 0; node < size; node++) {
+            int level = in.readInt();
+            index.levels[node] = level;
+            index.links[node] = new int[level + 1][];
+            for (int l = 0; l <= level; l++) {
+                int count = in.readInt();
+                int[] neighbors = new int[(l == 0 ? index.maxM0 : m) + 1];
+                neighbors[0] = count;
+                for (int i = 1; i <= count; i++) {
+                    neighbors[i] = in.readInt();
+                }
+                index.links[node][l] = neighbors;
+            }
+        }
+        return index;
+    }
+
+    public void write(DataOutputStream out) throws IOException {
+        out.writeInt(FILE_MAGIC);
+        out.writeInt(size);
+        out.writeInt(dim);
+        out.writeInt(m);
+        out.writeInt(entryPoint);
+        out.writeInt(maxLevel);
+        for (int node = 0; node < size; node++) {
+            out.writeInt(levels[node]);
+            for (int l = 0; l <= levels[node]; l++) {
+                int[] neighbors = links[node][l];
+                out.writeInt(neighbors[0]);
+                for (int i = 1; i <= neighbors[0]; i++) {
+                    out.writeInt(neighbors[i]);
+                }
+            }
+        }
+    }
+
+    public int size() {
+        return size;
+    }
+
+    public int dim() {
+        return dim;
+    }
+
+    /**
+     * 근사 검색 (유사도 높은 순)
+     *
+     * @param ef     탐색 후보 목록 크기 (k 이상, 클수록 재현율이 높고 느림)
+     * @param filter 결과에 포함할 노드 조건 (null 이면 전체)
+     */
+    public List<Result> search(float[] query, int k, int ef, IntPredicate filter) {
+        if (entryPoint < 0 || k <= 0) {
+            return new ArrayList<>();
+        }
+        int current = entryPoint;
+        for (int level = maxLevel; level > 0; level--) {
+            current = greedy(query, current, level);
+        }
+        PriorityQueue<Candidate> found = searchLayer(query, current, Math.max(ef, k), 0, filter);
+        return toResults(found, k);
+    }
+
+    /**
+     * 전수 비교 검색 (정확한 결과, 벤치마크 기준값 및 조건이 좁은 필터 검색용)
+     */
+    public List<Result> exact(float[] query, int k, IntPredicate filter) {
+        PriorityQueue<Candidate> top = new PriorityQueue<>(FARTHEST_FIRST);
+        for (int node = 0; node < size; node++) {
+            if (filter != null && !filter.test(node)) {
+                continue;
+            }
+            offer(top, new Candidate(node, distance(query, node)), k);
+        }
+        return toResults(top, k);
+    }
+
+    /**
+     * 주어진 후보 노드만 전수 비교
+     */
+    public List<Result> exact(float[] query, int k, int[] nodes, int count) {
+        PriorityQueue<Candidate> top = new PriorityQueue<>(FARTHEST_FIRST);
+        for (int i = 0; i < count; i++) {
+            offer(top, new Candidate(nodes[i], distance(query, nodes[i])), k);
+        }
+        return toResults(top, k);
+    }
+
+    private void insert(int node, int level, int efConstruction, float[] query) {
+        levels[node] = level;
+        links[node] = new int[level + 1][];
+        for (int l = 0; l <= level; l++) {
+            links[node][l] = new int[(l == 0 ? maxM0 : m) + 1];
+        }
+        if (entryPoint < 0) {
+            entryPoint = node;
+            maxLevel = level;
+            return;
+        }
+
+        vectors.get(node * dim, query, 0, dim);
+        int current = entryPoint;
+        for (int l = maxLevel; l > level; l--) {
+            current = greedy(query, current, l);
+        }
+        for (int l = Math.min(level, maxLevel); l >= 0; l--) {
+            PriorityQueue<Candidate> found = searchLayer(query, current, efConstruction, l, null);
+            List<Candidate> nearest = sortedNearestFirst(found);
+            current = nearest.get(0).node;
+
+            int capacity = l == 0 ? maxM0 : m;
+            List<Candidate> selected = selectNeighbors(nearest, m);
+            int[] own = links[node][l];
+            for (Candidate neighbor : selected) {
+                own[++own[0]] = neighbor.node;
+                connect(neighbor.node, node, l, capacity);
+            }
+        }
+        if (level > maxLevel) {
+            maxLevel = level;
+            entryPoint = node;
+        }
+    }
+
+    // 이웃 목록에 역방향 연결 추가, 넘치면 휴리스틱으로 다시 고름
+    private void connect(int from, int to, int level, int capacity) {
+        int[] neighbors = links[from][level];
+        if (neighbors[0] < capacity) {
+            neighbors[++neighbors[0]] = to;
+            return;
+        }
+        List<Candidate> candidates = new ArrayList<>(capacity + 1);
+        for (int i = 1; i <= neighbors[0]; i++) {
+            candidates.add(new Candidate(neighbors[i], distance(from, neighbors[i])));
+        }
+        candidates.add(new Candidate(to, distance(from, to)));
+        candidates.sort(NEAREST_FIRST);
+        List<Candidate> selected = selectNeighbors(candidates, capacity);
+        neighbors[0] = 0;
+        for (Candidate candidate : selected) {
+            neighbors[++neighbors[0]] = candidate.node;
+        }
+    }
+
+    // 이미 고른 이웃보다 기준점에 더 가까운 후보만 채택 (방향이 겹치는 이웃을 줄여 탐색 경로 다양화)
+    private List<Candidate> selectNeighbors(List<Candidate> nearestFirst, int limit) {
+        List<Candidate> selected = new ArrayList<>(limit);
+        for (Candidate candidate : nearestFirst) {
+            if (selected.size() >= limit) {
+                break;
+            }
+            boolean diverse = true;
+            for (Candidate chosen : selected) {
+                if (distance(candidate.node, chosen.node) < candidate.distance) {
+                    diverse = false;
+                    break;
+                }
+            }
+            if (diverse) {
+                selected.add(candidate);
+            }
+        }
+        return selected;
+    }
+
+    // 상위 레벨: 더 가까운 이웃이 없을 때까지 이동
+    private int greedy(float[] query, int start, int level) {
+        int current = start;
+        float currentDistance = distance(query, current);
+        boolean changed = true;
+        while (changed) {
+            changed = false;
+            int[] neighbors = links[current][level];
+            for (int i = 1; i <= neighbors[0]; i++) {
+                float d = distance(query, neighbors[i]);
+                if (d < currentDistance) {
+                    currentDistance = d;
+                    current = neighbors[i];
+                    changed = true;
+                }
+            }
+        }
+        return current;
+    }
+
+    // 결과는 가장 먼 노드가 먼저 나오는 힙
+    private PriorityQueue<Candidate> searchLayer(float[] query, int entry, int ef, int level, IntPredicate filter) {
+        Visited seen = visited.get();
+        seen.reset();
+        PriorityQueue<Candidate> candidates = new PriorityQueue<>(NEAREST_FIRST);
+        PriorityQueue<Candidate> found = new PriorityQueue<>(FARTHEST_FIRST);
+
+        Candidate start = new Candidate(entry, distance(query, entry));
+        seen.mark(entry);
+        candidates.add(start);
+        if (filter == null || filter.test(entry)) {
+            found.add(start);
+        }
+
+        while (!candidates.isEmpty()) {
+            Candidate closest = candidates.poll();
+            if (found.size() >= ef && closest.distance > found.peek().distance) {
+                break;
+            }
+            int[] neighbors = links[closest.node][level];
+            for (int i = 1; i <= neighbors[0]; i++) {
+                int neighbor = neighbors[i];
+                if (!seen.mark(neighbor)) {
+                    continue;
+                }
+                float d = distance(query, neighbor);
+                if (found.size() < ef || d < found.peek().distance) {
+                    Candidate candidate = new Candidate(neighbor, d);
+                    candidates.add(candidate);
+                    if (filter == null || filter.test(neighbor)) {
+                        offer(found, candidate, ef);
+                    }
+                }
+            }
+        }
+        return found;
+    }
+
+    private static void offer(PriorityQueue<Candidate> farthestFirst, Candidate candidate, int limit) {
+        if (farthestFirst.size() < limit) {
+            farthestFirst.add(candidate);
+        } else if (candidate.distance < farthestFirst.peek().distance) {
+            farthestFirst.poll();
+            farthestFirst.add(candidate);
+        }
+    }
+
+    private static List<Candidate> sortedNearestFirst(PriorityQueue<Candidate> farthestFirst) {
+        List<Candidate> sorted = new ArrayList<>(farthestFirst);
+        sorted.sort(NEAREST_FIRST);
+        return sorted;
+    }
+
+    private static List<Result> toResults(PriorityQueue<Candidate> farthestFirst, int k) {
+        List<Candidate> sorted = sortedNearestFirst(farthestFirst);
+        List<Result> results = new ArrayList<>(Math.min(k, sorted.size()));
+        for (int i = 0; i < sorted.size() && i < k; i++) {
+            results.add(new Result(sorted.get(i).node, 1f - sorted.get(i).distance));
+        }
+        return results;
+    }
+
+    // 정규화된 벡터이므로 코사인 거리 = 1 - 내적
+    private float distance(float[] query, int node) {
+        int base = node * dim;
+        float dot = 0;
+        for (int i = 0; i < dim; i++) {
+            dot += query[i] * vectors.get(base + i);
+        }
+        return 1f - dot;
+    }
+
+    private float distance(int a, int b) {
+        int baseA = a * dim;
+        int baseB = b * dim;
+        float dot = 0;
+        for (int i = 0; i < dim; i++) {
+            dot += vectors.get(baseA + i) * vectors.get(baseB + i);
+        }
+        return 1f - dot;
+    }
+
+    private static final Comparator<Candidate> NEAREST_FIRST = Comparator.comparingDouble(c -> c.distance);
+    private static final Comparator<Candidate> FARTHEST_FIRST = NEAREST_FIRST.reversed();
+
+    private static final class Candidate {
+        private final int node;
+        private final float distance;
+
+        private Candidate(int node, float distance) {
+            this.node = node;
+            this.distance = distance;
+        }
+    }
+
+    // 검색마다 배열을 새로 만들지 않도록 세대 번호로 방문 여부 표시
+    private static final class Visited {
+        private final int[] marks;
+        private int generation;
+
+        private Visited(int size) {
+            this.marks = new int[size];
+        }
+
+        private void reset() {
+            generation++;
+            if (generation == Integer.MAX_VALUE) {
+                Arrays.fill(marks, 0);
+                generation = 1;
+            }
+        }
+
+        // 처음 방문이면 true
+        private boolean mark(int node) {
+            if (marks[node] == generation) {
+                return false;
+            }
+            marks[node] = generation;
+            return true;
+        }
+    }
+
+    /**
+     * 검색 결과 (노드 번호 = 벡터 행 번호, 코사인 유사도)
+     */
+    public static final class Result {
+        private final int node;
+        private final float score;
+
+        public Result(int node, float score) {
+            this.node = node;
+            this.score = score;
+        }
+
+        public int getNode() {
+            return node;
+        }
+
+        public float getScore() {
+            return score;
+        }
+    }
+}
@@ -0,0 +1,157 @@
+package com.bippobippo.hospital.util;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Space-Saving 빈발 항목(heavy hitter) 요약
+ *
+ * 최대 capacity 개의 카운터만 유지하며, 새 항목이 들어왔는데 자리가 없으면 가장 작은 카운터를
+ * 물려받는다(물려받은 값은 error 로 기록). 실제 빈도가 전체 합 / capacity 보다 큰 항목은 반드시 남고,
+ * 추정 빈도는 실제보다 최대 error 만큼 크다. 최소 카운터는 인덱스 힙으로 찾아 갱신은 O(log capacity).
+ * 스레드 안전하지 않으므로 호출하는 쪽에서 동기화한다.
+ */
+public final class SpaceSaving {
+
+    private final int capacity;
+    private final Map<String, Counter> counters;
+    private final Counter[] heap;
+    private int size;
+
+    public SpaceSaving(int capacity) {
+        if (capacity <= 0) {
+            throw new IllegalArgumentException("capacity must be positive");
+        }
+        this.capacity = capacity;
+        this.counters = new HashMap<>(capacity * 2);
+        this.heap = new Counter[capacity];
+    }
+
+    public void offer(String key) {
+        offer(key, 1);
+    }
+
+    public void offer(String key, long weight) {
+        if (key == null || weight <= 0) {
+            return;
+        }
+        Counter counter = counters.get(key);
+        if (counter != null) {
+            counter.count += weight;
+            siftDown(counter.index);
+            return;
+        }
+        if (size < capacity) {
+            counter = new Counter(key, weight, 0);
+            counter.index = size;
+            heap[size++] = counter;
+            counters.put(key, counter);
+            siftUp(counter.index);
+            return;
+        }
+        // 가장 작은 카운터를 새 항목이 물려받음
+        Counter min = heap[0];
+        counters.remove(min.key);
+        counter = new Counter(key, min.count + weight, min.count);
+        counter.index = 0;
+        heap[0] = counter;
+        counters.put(key, counter);
+        siftDown(0);
+    }
+
+    /**
+     * 다른 요약의 카운터를 더함 (여러 구간/노드 합치기)
+     */
+    public void merge(SpaceSaving other) {
+        for (int i = 0; i < other.size; i++) {
+            offer(other.heap[i].key, other.heap[i].count);
+        }
+    }
+
+    /**
+     * 추정 빈도 내림차순 상위 n개
+     */
+    public List<Counter> top(int n) {
+        Counter[] sorted = Arrays.copyOf(heap, size);
+        Arrays.sort(sorted, Comparator.comparingLong((Counter c) -> c.count).reversed());
+        List<Counter> result = new ArrayList<>(Math.min(n, size));
+        for (int i = 0; i < sorted.length && i < n; i++) {
+            result.add(new Counter(sorted[i].key, sorted[i].count, sorted[i].error));
+        }
+        return result;
+    }
+
+    public int size() {
+        return size;
+    }
+
+    public boolean isEmpty() {
+        return size == 0;
+    }
+
+    private void siftUp(int index) {
+        Counter counter = heap[index];
+        while (index > 0) {
+            int parent = (index - 1) >>> 1;
+            if (heap[parent].count <= counter.count) {
+                break;
+            }
+            place(heap[parent], index);
+            index = parent;
+        }
+        place(counter, index);
+    }
+
+    private void siftDown(int index) {
+        Counter counter = heap[index];
+        int half = size >>> 1;
+        while (index < half) {
+            int child = 2 * index + 1;
+            int right = child + 1;
+            if (right < size && heap[right].count < heap[child].count) {
+                child = right;
+            }
+            if (counter.count <= heap[child].count) {
+                break;
+            }
+            place(heap[child], index);
+            index = child;
+        }
+        place(counter, index);
+    }
+
+    private void place(Counter counter, int index) {
+        heap[index] = counter;
+        counter.index = index;
+    }
+
+    public static final class Counter {
+        private final String key;
+        private long count;
+        private final long error;
+        private int index;
+
+        private Counter(String key, long count, long error) {
+            this.key = key;
+            this.count = count;
+            this.error = error;
+        }
+
+        public String getKey() {
+            return key;
+        }
+
+        public long getCount() {
+            return count;
+        }
+
+        // 추정 빈도의 최대 과대 추정치
+        public long getError() {
+            return error;
+        }
+    }
+}
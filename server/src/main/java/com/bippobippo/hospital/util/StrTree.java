@@ -0,0 +1,164 @@
+package com.bippobippo.hospital.util;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.function.Consumer;
+
+/**
+ * STR(Sort-Tile-Recursive) 방식으로 한 번에 적재하는 읽기 전용 R-tree
+ *
+ * 경도(x)/위도(y) 기준 사각형을 저장하며, 점은 최소/최대가 같은 사각형으로 넣는다.
+ * 생성 후에는 변경할 수 없으므로 여러 스레드에서 동시에 조회해도 안전하다.
+ */
+public final class StrTree<T> {
+
+    private static final int NODE_CAPACITY = 16;
+
+    private final Node root;
+    private final int size;
+
+    private StrTree(Node root, int size) {
+        this.root = root;
+        this.size = size;
+    }
+
+    /**
+     * 사각형 목록으로 트리 생성
+     */
+    public static <T> StrTree<T> build(List<Item<T>> items) {
+        if (items.isEmpty()) {
+            return new StrTree<>(null, 0);
+        }
+        List<Node> level = new ArrayList<>(items.size());
+        for (Item<T> item : items) {
+            level.add(new Node(item.minX, item.minY, item.maxX, item.maxY, item.value, null));
+        }
+        while (level.size() > 1) {
+            level = pack(level);
+        }
+        return new StrTree<>(level.get(0), items.size());
+    }
+
+    public static <T> Item<T> item(double minX, double minY, double maxX, double maxY, T value) {
+        return new Item<>(minX, minY, maxX, maxY, value);
+    }
+
+    public static <T> Item<T> point(double x, double y, T value) {
+        return new Item<>(x, y, x, y, value);
+    }
+
+    /**
+     * 검색 사각형과 겹치는 항목 조회
+     */
+    public List<T> query(double minX, double minY, double maxX, double maxY) {
+        List<T> results = new ArrayList<>();
+        query(minX, minY, maxX, maxY, results::add);
+        return results;
+    }
+
+    @SuppressWarnings("unchecked")
+    public void query(double minX, double minY, double maxX, double maxY, Consumer<T> visitor) {
+        if (root == null || !root.intersects(minX, minY, maxX, maxY)) {
+            return;
+        }
+        List<Node> stack = new ArrayList<>();
+        stack.add(root);
+        while (!stack.isEmpty()) {
+            Node node = stack.remove(stack.size() - 1);
+            if (node.children == null) {
+                visitor.accept((T) node.value);
+                continue;
+            }
+            for (Node child : node.children) {
+                if (child.intersects(minX, minY, maxX, maxY)) {
+                    stack.add(child);
+                }
+            }
+        }
+    }
+
+    public int size() {
+        return size;
+    }
+
+    private static List<Node> pack(List<Node> nodes) {
+        int parentCount = (nodes.size() + NODE_CAPACITY - 1) / NODE_CAPACITY;
+        int sliceCount = (int) Math.ceil(Math.sqrt(parentCount));
+        int sliceSize = sliceCount * NODE_CAPACITY;
+
+        List<Node> sorted = new ArrayList<>(nodes);
+        sorted.sort(Comparator.comparingDouble(Node::centerX));
+
+        List<Node> parents = new ArrayList<>(parentCount);
+        for (int sliceStart = 0; sliceStart < sorted.size(); sliceStart += sliceSize) {
+            List<Node> slice = new ArrayList<>(sorted.subList(sliceStart, Math.min(sliceStart + sliceSize, sorted.size())));
+            slice.sort(Comparator.comparingDouble(Node::centerY));
+            for (int i = 0; i < slice.size(); i += NODE_CAPACITY) {
+                parents.add(Node.parentOf(slice.subList(i, Math.min(i + NODE_CAPACITY, slice.size()))));
+            }
+        }
+        return parents;
+    }
+
+    /**
+     * 적재용 항목
+     */
+    public static final class Item<T> {
+        private final double minX;
+        private final double minY;
+        private final double maxX;
+        private final double maxY;
+        private final T value;
+
+        private Item(double minX, double minY, double maxX, double maxY, T value) {
+            this.minX = minX;
+            this.minY = minY;
+            this.maxX = maxX;
+            this.maxY = maxY;
+            this.value = value;
+        }
+    }
+
+    private static final class Node {
+        private final double minX;
+        private final double minY;
+        private final double maxX;
+        private final double maxY;
+        private final Object value;
+        private final Node[] children;
+
+        private Node(double minX, double minY, double maxX, double maxY, Object value, Node[] children) {
+            this.minX = minX;
+            this.minY = minY;
+            this.maxX = maxX;
+            this.maxY = maxY;
+            this.value = value;
+            this.children = children;
+        }
+
+        private static Node parentOf(List<Node> children) {
+            double minX = Double.POSITIVE_INFINITY, minY = Double.POSITIVE_INFINITY;
+            double maxX = Double.NEGATIVE_INFINITY, maxY = Double.NEGATIVE_INFINITY;
+            for (Node child : children) {
+                minX = Math.min(minX, child.minX);
+                minY = Math.min(minY, child.minY);
+                maxX = Math.max(maxX, child.maxX);
+                maxY = Math.max(maxY, child.maxY);
+            }
+            return new Node(minX, minY, maxX, maxY, null, children.toArray(new Node[0]));
+        }
+
+        private double centerX() {
+            return (minX + maxX) / 2;
+        }
+
+        private double centerY() {
+            return (minY + maxY) / 2;
+        }
+
+        private boolean intersects(double qMinX, double qMinY, double qMaxX, double qMaxY) {
+            return minX <= qMaxX && maxX >= qMinX && minY <= qMaxY && maxY >= qMinY;
+        }
+    }
+}
@@ -0,0 +1,192 @@
+package com.bippobippo.hospital.util;
+
+import java.time.DayOfWeek;
+import java.time.ZoneId;
+import java.time.ZonedDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * 주간 진료시간 비트맵 (7일 × 96개 15분 슬롯 = 672비트)
+ *
+ * 분 단위 좌표는 월요일 00:00 을 0 으로 하는 "주 기준 분(minute of week)" 을 사용한다.
+ * 슬롯은 해당 15분 구간 전체가 진료시간에 포함될 때만 열림으로 표시한다.
+ */
+public final class WeeklySchedule {
+
+    public static final ZoneId ZONE = ZoneId.of("Asia/Seoul");
+
+    public static final int SLOT_MINUTES = 15;
+    public static final int SLOTS_PER_DAY = 24 * 60 / SLOT_MINUTES;
+    public static final int SLOTS_PER_WEEK = SLOTS_PER_DAY * 7;
+    public static final int MINUTES_PER_DAY = 24 * 60;
+    public static final int MINUTES_PER_WEEK = MINUTES_PER_DAY * 7;
+
+    public static final WeeklySchedule EMPTY = new WeeklySchedule(new long[(SLOTS_PER_WEEK + 63) / 64]);
+
+    // hospitaltimes 필드 접두어 (월요일부터)
+    private static final String[] DAY_KEYS = {"Mon", "Tue", "Wed", "Thu", "Fri", "Sat", "Sun"};
+
+    private final long[] bits;
+
+    private WeeklySchedule(long[] bits) {
+        this.bits = bits;
+    }
+
+    /**
+     * [시작분, 종료분) 구간 목록으로부터 비트맵 생성
+     */
+    public static WeeklySchedule fromIntervals(List<int[]> intervals) {
+        if (intervals.isEmpty()) {
+            return EMPTY;
+        }
+        long[] bits = new long[(SLOTS_PER_WEEK + 63) / 64];
+        for (int[] interval : intervals) {
+            // 구간 안에 완전히 포함되는 슬롯만 표시
+            int firstSlot = (interval[0] + SLOT_MINUTES - 1) / SLOT_MINUTES;
+            int lastSlot = interval[1] / SLOT_MINUTES;
+            for (int slot = firstSlot; slot < lastSlot; slot++) {
+                int s = slot % SLOTS_PER_WEEK;
+                bits[s >>> 6] |= 1L << (s & 63);
+            }
+        }
+        return new WeeklySchedule(bits);
+    }
+
+    /**
+     * 요일별 진료 시작/종료 시간을 주 기준 분 구간으로 변환
+     *
+     * 종료시간이 시작시간보다 이르면 다음날 새벽까지 진료하는 것으로 보고,
+     * 일요일 심야 구간은 주 경계를 넘기지 않도록 두 구간으로 나눈다.
+     */
+    public static List<int[]> parseIntervals(Map<?, ?> times) {
+        List<int[]> intervals = new ArrayList<>();
+        if (times == null) {
+            return intervals;
+        }
+
+        for (int day = 0; day < DAY_KEYS.length; day++) {
+            int start = parseHhmm(times.get("trmt" + DAY_KEYS[day] + "Start"));
+            int end = parseHhmm(times.get("trmt" + DAY_KEYS[day] + "End"));
+            if (start < 0 || end < 0 || start == end) {
+                continue;
+            }
+            if (end < start) {
+                end += MINUTES_PER_DAY;
+            }
+
+            int from = day * MINUTES_PER_DAY + start;
+            int to = day * MINUTES_PER_DAY + end;
+            if (to > MINUTES_PER_WEEK) {
+                intervals.add(new int[]{from, MINUTES_PER_WEEK});
+                intervals.add(new int[]{0, to - MINUTES_PER_WEEK});
+            } else {
+                intervals.add(new int[]{from, to});
+            }
+        }
+        return intervals;
+    }
+
+    /**
+     * 구간을 15분 슬롯 경계 안쪽으로 맞춤
+     *
+     * 비트맵은 완전히 포함되는 슬롯만 열림으로 보므로, ES 에도 같은 기준의 구간을 색인해야
+     * 검색 필터와 openNow 표시가 어긋나지 않는다.
+     */
+    public static List<int[]> alignToSlots(List<int[]> intervals) {
+        List<int[]> aligned = new ArrayList<>(intervals.size());
+        for (int[] interval : intervals) {
+            int from = (interval[0] + SLOT_MINUTES - 1) / SLOT_MINUTES * SLOT_MINUTES;
+            int to = interval[1] / SLOT_MINUTES * SLOT_MINUTES;
+            if (from < to) {
+                aligned.add(new int[]{from, to});
+            }
+        }
+        return aligned;
+    }
+
+    /**
+     * Elasticsearch integer_range 필드용 구간 목록 ({gte, lt})
+     */
+    public static List<Map<String, Integer>> toRangeDocuments(List<int[]> intervals) {
+        List<Map<String, Integer>> ranges = new ArrayList<>(intervals.size());
+        for (int[] interval : intervals) {
+            Map<String, Integer> range = new HashMap<>();
+            range.put("gte", interval[0]);
+            range.put("lt", interval[1]);
+            ranges.add(range);
+        }
+        return ranges;
+    }
+
+    /**
+     * "0900", "900", 900, "09:00" 형태의 시간을 자정 기준 분으로 변환 (실패 시 -1)
+     */
+    static int parseHhmm(Object value) {
+        if (value == null) {
+            return -1;
+        }
+        String digits = value.toString().trim().replace(":", "");
+        if (digits.isEmpty()) {
+            return -1;
+        }
+        try {
+            int hhmm = (int) Double.parseDouble(digits);
+            int hour = hhmm / 100;
+            int minute = hhmm % 100;
+            if (hour < 0 || hour > 24 || minute < 0 || minute > 59 || (hour == 24 && minute > 0)) {
+                return -1;
+            }
+            return hour * 60 + minute;
+        } catch (NumberFormatException e) {
+            return -1;
+        }
+    }
+
+    /**
+     * 현재 시각의 주 기준 분
+     */
+    public static int currentMinuteOfWeek() {
+        return minuteOfWeek(ZonedDateTime.now(ZONE));
+    }
+
+    public static int minuteOfWeek(ZonedDateTime time) {
+        ZonedDateTime local = time.withZoneSameInstant(ZONE);
+        int day = local.getDayOfWeek().getValue() - DayOfWeek.MONDAY.getValue();
+        return day * MINUTES_PER_DAY + local.getHour() * 60 + local.getMinute();
+    }
+
+    /**
+     * 해당 시각에 진료 중인지 확인 (비트 테스트 1회)
+     */
+    public boolean isOpenAt(int minuteOfWeek) {
+        int slot = Math.floorMod(minuteOfWeek, MINUTES_PER_WEEK) / SLOT_MINUTES;
+        return (bits[slot >>> 6] & (1L << (slot & 63))) != 0;
+    }
+
+    /**
+     * 지금부터 N분 이내에 진료가 시작되거나 진행 중인지 확인
+     */
+    public boolean isOpenWithin(int minuteOfWeek, int minutes) {
+        int from = Math.floorMod(minuteOfWeek, MINUTES_PER_WEEK) / SLOT_MINUTES;
+        int slots = Math.min(SLOTS_PER_WEEK, Math.max(0, minutes) / SLOT_MINUTES + 1);
+        for (int i = 0; i < slots; i++) {
+            int slot = (from + i) % SLOTS_PER_WEEK;
+            if ((bits[slot >>> 6] & (1L << (slot & 63))) != 0) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    public boolean isEmpty() {
+        for (long word : bits) {
+            if (word != 0) {
+                return false;
+            }
+        }
+        return true;
+    }
+}
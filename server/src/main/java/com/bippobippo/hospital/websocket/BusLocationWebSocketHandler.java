@@ -9,6 +9,7 @@ import org.springframework.web.socket.WebSocketSession;
 import org.springframework.web.socket.handler.TextWebSocketHandler;
 
 import java.util.Map;
+import java.util.Set;
 import java.util.concurrent.ConcurrentHashMap;
 
 @Slf4j
@@ -16,6 +17,9 @@ import java.util.concurrent.ConcurrentHashMap;
 public class BusLocationWebSocketHandler extends TextWebSocketHandler {
     
     private final Map<String, WebSocketSession> sessions = new ConcurrentHashMap<>();
+    // 노선별 구독 세션 (routeId -> sessionId), 세션별 구독 노선 (sessionId -> routeId)
+    private final Map<String, Set<String>> routeSubscribers = new ConcurrentHashMap<>();
+    private final Map<String, Set<String>> sessionRoutes = new ConcurrentHashMap<>();
     private final ObjectMapper objectMapper = new ObjectMapper();
     
     @Override
@@ -32,6 +36,10 @@ public class BusLocationWebSocketHandler extends TextWebSocketHandler {
     public void afterConnectionClosed(WebSocketSession session, org.springframework.web.socket.CloseStatus status) throws Exception {
         String sessionId = session.getId();
         sessions.remove(sessionId);
+        Set<String> routes = sessionRoutes.remove(sessionId);
+        if (routes != null) {
+            routes.forEach(routeId -> unsubscribe(sessionId, routeId));
+        }
         log.info("WebSocket 연결 종료: {}", sessionId);
     }
     
@@ -40,13 +48,43 @@ public class BusLocationWebSocketHandler extends TextWebSocketHandler {
         String payload = message.getPayload();
         log.info("WebSocket 메시지 수신: {}", payload);
         
-        // 클라이언트로부터 특정 노선 구독 요청 처리
+        // 클라이언트로부터 특정 노선 구독 요청 처리 ({"type":"subscribe","routeId":"..."})
         if (payload.contains("subscribe")) {
-            // 구독 로직 처리
+            String type = null;
+            String routeId = null;
+            try {
+                Map<?, ?> request = objectMapper.readValue(payload, Map.class);
+                type = request.get("type") != null ? request.get("type").toString() : null;
+                routeId = request.get("routeId") != null ? request.get("routeId").toString() : null;
+            } catch (Exception e) {
+                log.debug("구독 메시지 파싱 실패: {}", e.getMessage());
+            }
+            
+            if (routeId != null && "unsubscribe".equals(type)) {
+                Set<String> routes = sessionRoutes.get(session.getId());
+                if (routes != null) {
+                    routes.remove(routeId);
+                }
+                unsubscribe(session.getId(), routeId);
+                session.sendMessage(new TextMessage("{\"type\":\"subscription\",\"message\":\"구독이 해제되었습니다.\"}"));
+                return;
+            }
+            
+            if (routeId != null) {
+                routeSubscribers.computeIfAbsent(routeId, k -> ConcurrentHashMap.newKeySet()).add(session.getId());
+                sessionRoutes.computeIfAbsent(session.getId(), k -> ConcurrentHashMap.newKeySet()).add(routeId);
+            }
             session.sendMessage(new TextMessage("{\"type\":\"subscription\",\"message\":\"구독이 설정되었습니다.\"}"));
         }
     }
     
+    private void unsubscribe(String sessionId, String routeId) {
+        routeSubscribers.computeIfPresent(routeId, (k, subscribers) -> {
+            subscribers.remove(sessionId);
+            return subscribers.isEmpty() ? null : subscribers;
+        });
+    }
+    
     // 실시간 버스 위치 데이터를 모든 연결된 클라이언트에게 브로드캐스트
     public void broadcastBusLocation(BusLocation location) {
         String message;
@@ -101,6 +139,12 @@ public class BusLocationWebSocketHandler extends TextWebSocketHandler {
         }
     }
     
+    // 노선 구독자 수 반환 (위치 조회 우선순위에 사용)
+    public int getSubscriberCount(String routeId) {
+        Set<String> subscribers = routeSubscribers.get(routeId);
+        return subscribers != null ? subscribers.size() : 0;
+    }
+    
     // 연결된 클라이언트 수 반환
     public int getConnectedClientCount() {
         return sessions.size();
@@ -0,0 +1,137 @@
+package com.bippobippo.hospital.controller.common;
+
+import com.bippobippo.hospital.service.common.ImageStorageService;
+import com.bippobippo.hospital.service.common.StoredImage;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.http.HttpHeaders;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+/**
+ * 업로드 이미지 응답의 ETag/304, 캐시 헤더, 변형이 없을 때 원본 대체 응답 확인
+ */
+class FileControllerTest {
+
+    private static final String HASH = "ab".repeat(32);
+    private static final String FILENAME = HASH + ".png";
+
+    @TempDir
+    Path dir;
+
+    private ImageStorageService imageStorageService;
+    private FileController fileController;
+    private Path original;
+
+    @BeforeEach
+    void setUp() throws IOException {
+        imageStorageService = mock(ImageStorageService.class);
+        fileController = new FileController(imageStorageService);
+        original = Files.write(dir.resolve(FILENAME), new byte[]{1, 2, 3, 4});
+    }
+
+    @Test
+    void servesOriginalWithEtagAndImmutableCache() throws IOException {
+        when(imageStorageService.resolveImage("boards", FILENAME, null))
+            .thenReturn(new StoredImage(original, null, "image/png", "\"" + HASH + "\"", 31536000, true));
+        MockHttpServletResponse response = new MockHttpServletResponse();
+
+        fileController.serveBoardImage(FILENAME, get("/uploads/boards/" + FILENAME), response);
+
+        assertEquals(200, response.getStatus());
+        assertEquals("\"" + HASH + "\"", response.getHeader(HttpHeaders.ETAG));
+        assertEquals("public, max-age=31536000, immutable", response.getHeader(HttpHeaders.CACHE_CONTROL));
+        assertEquals("image/png", response.getContentType());
+        assertArrayEquals(new byte[]{1, 2, 3, 4}, response.getContentAsByteArray());
+    }
+
+    @Test
+    void matchingIfNoneMatchReturnsNotModifiedWithoutBody() throws IOException {
+        when(imageStorageService.resolveImage("profile", FILENAME, null))
+            .thenReturn(new StoredImage(original, null, "image/png", "\"" + HASH + "\"", 31536000, true));
+        MockHttpServletRequest request = get("/uploads/profile/" + FILENAME);
+        request.addHeader(HttpHeaders.IF_NONE_MATCH, "\"" + HASH + "\"");
+        MockHttpServletResponse response = new MockHttpServletResponse();
+
+        fileController.serveProfileImage(FILENAME, request, response);
+
+        assertEquals(304, response.getStatus());
+        assertEquals("\"" + HASH + "\"", response.getHeader(HttpHeaders.ETAG));
+        assertEquals(0, response.getContentAsByteArray().length);
+    }
+
+    @Test
+    void staleIfNoneMatchServesVariant() throws IOException {
+        Path thumb = Files.write(dir.resolve(HASH + "_thumb.png"), new byte[]{9, 9});
+        when(imageStorageService.resolveImage("news", FILENAME, "thumb"))
+            .thenReturn(new StoredImage(thumb, null, "image/png", "\"" + HASH + "-thumb\"", 31536000, true));
+        MockHttpServletRequest request = get("/uploads/news/thumb/" + FILENAME);
+        request.addHeader(HttpHeaders.IF_NONE_MATCH, "\"" + HASH + "\"");
+        MockHttpServletResponse response = new MockHttpServletResponse();
+
+        fileController.serveImageVariant("news", "thumb", FILENAME, request, response);
+
+        assertEquals(200, response.getStatus());
+        assertEquals("\"" + HASH + "-thumb\"", response.getHeader(HttpHeaders.ETAG));
+        assertArrayEquals(new byte[]{9, 9}, response.getContentAsByteArray());
+    }
+
+    @Test
+    void pendingVariantFallsBackToOriginalWithShortCache() throws IOException {
+        // 변형이 아직 없으면 서비스가 원본을 짧은 캐시로 돌려줌
+        when(imageStorageService.resolveImage("boards", FILENAME, "medium"))
+            .thenReturn(new StoredImage(original, null, "image/png", "\"" + HASH + "\"", 60, false));
+        MockHttpServletResponse response = new MockHttpServletResponse();
+
+        fileController.serveImageVariant("boards", "medium", FILENAME, get("/uploads/boards/medium/" + FILENAME), response);
+
+        assertEquals(200, response.getStatus());
+        assertEquals("public, max-age=60", response.getHeader(HttpHeaders.CACHE_CONTROL));
+        assertArrayEquals(new byte[]{1, 2, 3, 4}, response.getContentAsByteArray());
+    }
+
+    @Test
+    void sendfileConnectorGetsFileAttributesInsteadOfBody() throws IOException {
+        when(imageStorageService.resolveImage("boards", FILENAME, null))
+            .thenReturn(new StoredImage(original, null, "image/png", "\"" + HASH + "\"", 31536000, true));
+        MockHttpServletRequest request = get("/uploads/boards/" + FILENAME);
+        request.setAttribute("org.apache.tomcat.sendfile.support", Boolean.TRUE);
+        MockHttpServletResponse response = new MockHttpServletResponse();
+
+        fileController.serveBoardImage(FILENAME, request, response);
+
+        assertEquals(original.toAbsolutePath().toString(), request.getAttribute("org.apache.tomcat.sendfile.filename"));
+        assertEquals(4L, request.getAttribute("org.apache.tomcat.sendfile.end"));
+        assertEquals(4, response.getContentLengthLong());
+        assertEquals(0, response.getContentAsByteArray().length);
+    }
+
+    @Test
+    void remoteImageRedirectsAndMissingImageIsNotFound() throws IOException {
+        when(imageStorageService.resolveImage("news", FILENAME, null))
+            .thenReturn(new StoredImage(null, "https://cdn.example.com/news/" + FILENAME, "image/png", "\"" + HASH + "\"", 31536000, true));
+        MockHttpServletResponse redirect = new MockHttpServletResponse();
+        fileController.serveNewsImage(FILENAME, get("/uploads/news/" + FILENAME), redirect);
+        assertEquals("https://cdn.example.com/news/" + FILENAME, redirect.getRedirectedUrl());
+        assertNull(redirect.getHeader(HttpHeaders.ETAG));
+
+        MockHttpServletResponse missing = new MockHttpServletResponse();
+        fileController.serveNewsImage("missing.png", get("/uploads/news/missing.png"), missing);
+        assertEquals(404, missing.getStatus());
+    }
+
+    private static MockHttpServletRequest get(String uri) {
+        return new MockHttpServletRequest("GET", uri);
+    }
+}
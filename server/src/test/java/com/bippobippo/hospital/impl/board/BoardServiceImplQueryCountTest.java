@@ -0,0 +1,154 @@
+package com.bippobippo.hospital.impl.board;
+
+import com.bippobippo.hospital.dto.response.board.BoardDetailResponse;
+import com.bippobippo.hospital.dto.response.board.BoardListResponse;
+import com.bippobippo.hospital.entity.board.Board;
+import com.bippobippo.hospital.entity.board.BoardCategory;
+import com.bippobippo.hospital.entity.board.BoardComment;
+import com.bippobippo.hospital.entity.board.BoardTag;
+import com.bippobippo.hospital.entity.user.User;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.context.annotation.Import;
+import org.springframework.data.domain.Page;
+import org.springframework.test.context.TestPropertySource;
+
+import javax.persistence.EntityManagerFactory;
+import java.util.HashSet;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * 게시글 목록/상세 조회의 쿼리 수가 게시글/댓글/태그 수와 무관하게 일정한지 확인 (N+1 회귀 방지)
+ */
+@DataJpaTest
+@Import({BoardServiceImpl.class, BoardViewCountBuffer.class})
+@TestPropertySource(properties = {
+    "spring.jpa.properties.hibernate.dialect=org.hibernate.dialect.H2Dialect",
+    "spring.jpa.properties.hibernate.generate_statistics=true",
+    "spring.jpa.show-sql=false"
+})
+class BoardServiceImplQueryCountTest {
+
+    @Autowired
+    private BoardServiceImpl boardService;
+
+    @Autowired
+    private TestEntityManager entityManager;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    private Statistics statistics;
+    private BoardCategory category;
+    private int sequence;
+
+    @BeforeEach
+    void setUp() {
+        statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.setStatisticsEnabled(true);
+
+        category = new BoardCategory();
+        category.setName("자유게시판");
+        category.setPath("free");
+        entityManager.persist(category);
+    }
+
+    @Test
+    void boardListQueryCountDoesNotGrowWithPageSize() {
+        createBoards(25);
+        long smallPage = countListQueries(5);
+        long fullPage = countListQueries(20);
+
+        assertEquals(smallPage, fullPage);
+        // 목록 + 전체 건수 + 태그 일괄 조회
+        assertTrue(fullPage <= 3, "목록 조회 쿼리 수: " + fullPage);
+    }
+
+    @Test
+    void boardListReturnsCommentCountAndTags() {
+        Board board = createBoards(1);
+        entityManager.flush();
+        entityManager.clear();
+
+        BoardListResponse response = boardService.getBoardList(1, 20, category.getId()).getContent().get(0);
+
+        assertEquals(board.getId(), response.getId());
+        assertEquals(3, response.getCommentCount());
+        assertEquals(2, response.getTags().size());
+    }
+
+    @Test
+    void boardDetailQueryCountDoesNotDependOnTags() {
+        Board board = createBoards(1);
+        entityManager.flush();
+        entityManager.clear();
+        statistics.clear();
+
+        BoardDetailResponse response = boardService.getBoardDetail(board.getId());
+
+        assertEquals(2, response.getTags().size());
+        // 게시글(연관 엔티티 포함) + 작성자 권한(EAGER)
+        assertTrue(statistics.getPrepareStatementCount() <= 2,
+            "상세 조회 쿼리 수: " + statistics.getPrepareStatementCount());
+    }
+
+    private long countListQueries(int limit) {
+        entityManager.flush();
+        entityManager.clear();
+        statistics.clear();
+
+        Page<BoardListResponse> page = boardService.getBoardList(1, limit, null);
+        page.getContent().forEach(response -> {
+            response.getTags().size();
+            response.getCommentCount();
+        });
+        return statistics.getPrepareStatementCount();
+    }
+
+    private Board createBoards(int count) {
+        Board last = null;
+        for (int i = 0; i < count; i++) {
+            int n = sequence++;
+            User user = User.builder()
+                .username("user" + n)
+                .nickname("nick" + n)
+                .build();
+            entityManager.persist(user);
+
+            BoardTag first = BoardTag.builder().name("tag-a" + n).slug("tag-a" + n).build();
+            BoardTag second = BoardTag.builder().name("tag-b" + n).slug("tag-b" + n).build();
+            entityManager.persist(first);
+            entityManager.persist(second);
+
+            Board board = Board.builder()
+                .title("title" + n)
+                .summary("summary" + n)
+                .category(category)
+                .user(user)
+                .tags(new HashSet<>())
+                .commentCount(3)
+                .build();
+            board.getTags().add(first);
+            board.getTags().add(second);
+            entityManager.persist(board);
+
+            for (int c = 0; c < 3; c++) {
+                entityManager.persist(BoardComment.builder()
+                    .board(board)
+                    .userId(user.getId())
+                    .comment("comment" + c)
+                    .status("published")
+                    .build());
+            }
+            last = board;
+        }
+        return last;
+    }
+}
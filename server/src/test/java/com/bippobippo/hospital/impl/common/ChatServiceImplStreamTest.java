@@ -0,0 +1,163 @@
+package com.bippobippo.hospital.impl.common;
+
+import com.bippobippo.hospital.dto.request.chat.ChatMessageRequest;
+import com.bippobippo.hospital.elasticsearch.service.SearchGateway;
+import com.bippobippo.hospital.util.ChatUtil;
+import com.theokanning.openai.completion.chat.ChatCompletionChoice;
+import com.theokanning.openai.completion.chat.ChatCompletionChunk;
+import com.theokanning.openai.completion.chat.ChatMessage;
+import com.theokanning.openai.completion.chat.ChatMessageRole;
+import com.theokanning.openai.service.OpenAiService;
+import io.reactivex.Flowable;
+import org.apache.lucene.search.TotalHits;
+import org.elasticsearch.action.search.SearchResponse;
+import org.elasticsearch.common.bytes.BytesArray;
+import org.elasticsearch.search.SearchHit;
+import org.elasticsearch.search.SearchHits;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+/**
+ * 채팅 스트리밍 응답의 이벤트 순서(hospitals → token → done)와 검색 캐시 재사용 확인
+ * (Elasticsearch 와 모델 엔드포인트는 스텁)
+ */
+class ChatServiceImplStreamTest {
+
+    private SearchGateway searchGateway;
+    private OpenAiService openAiService;
+    private ChatServiceImpl chatService;
+
+    @BeforeEach
+    void setUp() {
+        searchGateway = mock(SearchGateway.class);
+        openAiService = mock(OpenAiService.class);
+        HospitalVectorIndex hospitalVectorIndex = mock(HospitalVectorIndex.class);
+        when(hospitalVectorIndex.coversSearchIndex()).thenReturn(false);
+        when(searchGateway.searchAsync(any())).thenAnswer(invocation ->
+            CompletableFuture.completedFuture(searchResponse("서울내과의원", "서울 중구", "02-123-4567", "내과")));
+        when(openAiService.streamChatCompletion(any())).thenAnswer(invocation ->
+            Flowable.just(chunk("서울내과의원을 "), chunk("추천합니다.")));
+
+        ChatUtil chatUtil = new ChatUtil(searchGateway, openAiService);
+        ReflectionTestUtils.setField(chatUtil, "cacheTtlSeconds", 300L);
+        ReflectionTestUtils.setField(chatUtil, "cacheMaxSize", 100L);
+        ReflectionTestUtils.setField(chatUtil, "geoCellDegrees", 0.005);
+        chatUtil.init();
+        chatService = new ChatServiceImpl(chatUtil, hospitalVectorIndex);
+    }
+
+    @Test
+    void streamsHospitalsThenTokensThenDone() {
+        RecordingEmitter emitter = new RecordingEmitter();
+        chatService.streamMessage(request("서울 내과 알려줘"), emitter);
+
+        assertEquals(List.of("hospitals", "token", "token", "done"), emitter.names);
+        List<?> hospitals = (List<?>) emitter.data.get(0);
+        assertEquals("서울내과의원", ((Map<?, ?>) hospitals.get(0)).get("name"));
+        assertEquals("서울내과의원을 ", ((Map<?, ?>) emitter.data.get(1)).get("text"));
+        String html = (String) ((Map<?, ?>) emitter.data.get(3)).get("message");
+        assertTrue(html.contains("서울 지역 병원 검색 결과"));
+        assertTrue(html.contains("서울내과의원을 추천합니다."));
+        assertTrue(emitter.completed);
+    }
+
+    @Test
+    void reusesCachedSearchForSameRegion() {
+        chatService.streamMessage(request("서울 내과 알려줘"), new RecordingEmitter());
+        chatService.streamMessage(request("서울 소아과 병원"), new RecordingEmitter());
+
+        // 같은 지역은 검색 캐시에서, 모델은 요청마다 호출
+        verify(searchGateway, times(1)).searchAsync(any());
+        verify(openAiService, times(2)).streamChatCompletion(any());
+    }
+
+    @Test
+    void modelFailureEndsWithErrorEvent() {
+        when(openAiService.streamChatCompletion(any())).thenAnswer(invocation ->
+            Flowable.just(chunk("서울")).concatWith(Flowable.error(new IllegalStateException("stub failure"))));
+
+        RecordingEmitter emitter = new RecordingEmitter();
+        chatService.streamMessage(request("서울 내과 알려줘"), emitter);
+
+        assertEquals(List.of("hospitals", "token", "error"), emitter.names);
+        assertTrue(emitter.completed);
+    }
+
+    @Test
+    void generalMessageSkipsSearchAndModel() {
+        RecordingEmitter emitter = new RecordingEmitter();
+        chatService.streamMessage(request("안녕하세요"), emitter);
+
+        assertEquals(List.of("done"), emitter.names);
+        verify(searchGateway, never()).searchAsync(any());
+        verify(openAiService, never()).streamChatCompletion(any());
+    }
+
+    private static ChatMessageRequest request(String message) {
+        ChatMessageRequest request = new ChatMessageRequest();
+        request.setMessage(message);
+        return request;
+    }
+
+    private static ChatCompletionChunk chunk(String content) {
+        ChatCompletionChoice choice = new ChatCompletionChoice();
+        choice.setIndex(0);
+        choice.setMessage(new ChatMessage(ChatMessageRole.ASSISTANT.value(), content));
+        ChatCompletionChunk chunk = new ChatCompletionChunk();
+        chunk.setChoices(List.of(choice));
+        return chunk;
+    }
+
+    private static SearchResponse searchResponse(String name, String address, String phone, String major) {
+        SearchHit hit = new SearchHit(1, "h1", null, Map.of(), Map.of());
+        hit.sourceRef(new BytesArray(String.format(
+            "{\"yadmNm\":\"%s\",\"addr\":\"%s\",\"telno\":\"%s\",\"major\":\"%s\"}", name, address, phone, major)));
+        SearchHits hits = new SearchHits(new SearchHit[]{hit}, new TotalHits(1, TotalHits.Relation.EQUAL_TO), 1.0f);
+        SearchResponse response = mock(SearchResponse.class);
+        when(response.getHits()).thenReturn(hits);
+        return response;
+    }
+
+    /**
+     * 보낸 이벤트 이름과 데이터를 기록하는 SseEmitter
+     */
+    private static class RecordingEmitter extends SseEmitter {
+        private final List<String> names = new ArrayList<>();
+        private final List<Object> data = new ArrayList<>();
+        private boolean completed;
+
+        @Override
+        public void send(SseEventBuilder builder) {
+            for (DataWithMediaType item : builder.build()) {
+                Object value = item.getData();
+                if (value instanceof String && ((String) value).startsWith("event:")) {
+                    String text = (String) value;
+                    names.add(text.substring("event:".length(), text.indexOf('\n')));
+                } else if (!(value instanceof String)) {
+                    data.add(value);
+                }
+            }
+        }
+
+        @Override
+        public synchronized void complete() {
+            completed = true;
+        }
+    }
+}
@@ -0,0 +1,143 @@
+package com.bippobippo.hospital.impl.common;
+
+import com.bippobippo.hospital.service.common.StoredImage;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.mock.web.MockMultipartFile;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import javax.imageio.ImageIO;
+import java.awt.image.BufferedImage;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * 업로드 이미지의 썸네일/중간 크기 변형 조회와, 변형이 없을 때 원본으로 대신 응답하는지 확인
+ */
+class ImageStorageServiceImplTest {
+
+    @TempDir
+    Path uploadDir;
+
+    private ImageStorageServiceImpl imageStorageService;
+
+    @BeforeEach
+    void setUp() {
+        LocalImageBlobStore blobStore = new LocalImageBlobStore();
+        ReflectionTestUtils.setField(blobStore, "uploadPath", uploadDir.toString());
+        imageStorageService = new ImageStorageServiceImpl(blobStore);
+        ReflectionTestUtils.setField(imageStorageService, "uploadPath", uploadDir.toString());
+        ReflectionTestUtils.setField(imageStorageService, "maxImageBytes", 10485760L);
+        ReflectionTestUtils.setField(imageStorageService, "maxImagePixels", 40000000L);
+        ReflectionTestUtils.setField(imageStorageService, "variantThreads", 1);
+        ReflectionTestUtils.setField(imageStorageService, "variantQueueSize", 10);
+        imageStorageService.init();
+    }
+
+    @Test
+    void servesVariantsOnceGenerated() throws Exception {
+        String filename = imageStorageService.uploadBoardImage(png("wide.png", 1000, 500));
+        awaitVariants();
+
+        StoredImage thumb = imageStorageService.resolveImage("boards", filename, "thumb");
+        assertNotNull(thumb);
+        assertTrue(thumb.getEtag().endsWith("-thumb\""));
+        assertTrue(thumb.isImmutable());
+        assertEquals(200, ImageIO.read(thumb.getLocalPath().toFile()).getWidth());
+
+        StoredImage medium = imageStorageService.resolveImage("boards", filename, "medium");
+        assertEquals(800, ImageIO.read(medium.getLocalPath().toFile()).getWidth());
+    }
+
+    @Test
+    void missingVariantFallsBackToOriginalWithShortCache() throws Exception {
+        // 중간 크기보다 작은 원본은 medium 변형을 만들지 않음
+        String filename = imageStorageService.uploadNewsImage(png("small.png", 400, 300));
+        awaitVariants();
+        StoredImage original = imageStorageService.resolveImage("news", filename, null);
+
+        StoredImage medium = imageStorageService.resolveImage("news", filename, "medium");
+
+        assertEquals(original.getLocalPath(), medium.getLocalPath());
+        assertEquals(original.getEtag(), medium.getEtag());
+        assertEquals(60, medium.getMaxAgeSeconds());
+        assertFalse(medium.isImmutable());
+        assertTrue(original.isImmutable());
+    }
+
+    @Test
+    void saturatedPoolSkipsVariantsAndKeepsUpload() throws Exception {
+        ThreadPoolExecutor executor = (ThreadPoolExecutor) ReflectionTestUtils.getField(imageStorageService, "variantExecutor");
+        CountDownLatch release = new CountDownLatch(1);
+        for (int i = 0; i < 11; i++) {
+            executor.execute(() -> {
+                try {
+                    release.await();
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+            });
+        }
+
+        // 업로드 스레드에서 변형을 만들지 않고 원본만 저장
+        String filename = imageStorageService.uploadBoardImage(png("wide.png", 1000, 500));
+        release.countDown();
+        awaitQueueDrained(executor);
+
+        StoredImage thumb = imageStorageService.resolveImage("boards", filename, "thumb");
+        assertEquals(imageStorageService.resolveImage("boards", filename, null).getLocalPath(), thumb.getLocalPath());
+        assertEquals(60, thumb.getMaxAgeSeconds());
+
+        // 같은 내용을 다시 올리면 빠진 변형을 만든다
+        assertEquals(filename, imageStorageService.uploadBoardImage(png("again.png", 1000, 500)));
+        awaitVariants();
+
+        StoredImage rebuilt = imageStorageService.resolveImage("boards", filename, "thumb");
+        assertTrue(rebuilt.isImmutable());
+        assertEquals(200, ImageIO.read(rebuilt.getLocalPath().toFile()).getWidth());
+    }
+
+    @Test
+    void unknownFolderOrVariantIsNotFound() throws Exception {
+        String filename = imageStorageService.uploadProfileImage(png("face.png", 100, 100));
+
+        assertNull(imageStorageService.resolveImage("etc", filename, null));
+        assertNull(imageStorageService.resolveImage("profile", filename, "large"));
+        assertNull(imageStorageService.resolveImage("news", filename, null));
+    }
+
+    private static void awaitQueueDrained(ThreadPoolExecutor executor) throws InterruptedException {
+        long deadline = System.currentTimeMillis() + 10000;
+        while (executor.getCompletedTaskCount() < executor.getTaskCount() && System.currentTimeMillis() < deadline) {
+            Thread.sleep(10);
+        }
+        assertEquals(executor.getTaskCount(), executor.getCompletedTaskCount());
+    }
+
+    private void awaitVariants() throws InterruptedException {
+        imageStorageService.cleanup();
+        ThreadPoolExecutor executor = (ThreadPoolExecutor) ReflectionTestUtils.getField(imageStorageService, "variantExecutor");
+        assertTrue(executor.awaitTermination(10, TimeUnit.SECONDS));
+    }
+
+    private static MockMultipartFile png(String name, int width, int height) throws IOException {
+        BufferedImage image = new BufferedImage(width, height, BufferedImage.TYPE_INT_RGB);
+        for (int x = 0; x < width; x++) {
+            image.setRGB(x, x % height, 0xff3366);
+        }
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        ImageIO.write(image, "png", bytes);
+        return new MockMultipartFile("file", name, "image/png", bytes.toByteArray());
+    }
+}
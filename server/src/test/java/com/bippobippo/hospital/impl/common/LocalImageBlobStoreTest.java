@@ -0,0 +1,93 @@
+package com.bippobippo.hospital.impl.common;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * 로컬 이미지 저장소의 저장/덮어쓰기/삭제와 업로드 폴더 밖 경로 차단 확인
+ */
+class LocalImageBlobStoreTest {
+
+    private static final String KEY = "profile/ab/ab12.jpg";
+
+    @TempDir
+    Path uploadDir;
+
+    @TempDir
+    Path sourceDir;
+
+    private LocalImageBlobStore store;
+
+    @BeforeEach
+    void setUp() {
+        store = new LocalImageBlobStore();
+        ReflectionTestUtils.setField(store, "uploadPath", uploadDir.toString());
+    }
+
+    @Test
+    void putStoresFileUnderKeyWithoutLeftoverTempFiles() throws IOException {
+        assertFalse(store.exists(KEY));
+
+        store.put(KEY, source("first"), "image/jpeg");
+
+        assertTrue(store.exists(KEY));
+        Path stored = store.localPath(KEY).orElseThrow();
+        assertEquals(uploadDir.resolve(KEY).toAbsolutePath().normalize(), stored);
+        assertArrayEquals("first".getBytes(), Files.readAllBytes(stored));
+        assertEquals(List.of(stored), filesUnder(uploadDir));
+        assertNull(store.publicUrl(KEY));
+    }
+
+    @Test
+    void putOverwritesExistingFile() throws IOException {
+        store.put(KEY, source("first"), "image/jpeg");
+        store.put(KEY, source("second"), "image/jpeg");
+
+        assertArrayEquals("second".getBytes(), Files.readAllBytes(store.localPath(KEY).orElseThrow()));
+        assertEquals(1, filesUnder(uploadDir).size());
+    }
+
+    @Test
+    void deleteRemovesFileAndIgnoresMissingKey() throws IOException {
+        store.put(KEY, source("first"), "image/jpeg");
+
+        store.delete(KEY);
+        store.delete(KEY);
+
+        assertFalse(store.exists(KEY));
+    }
+
+    @Test
+    void rejectsKeysOutsideUploadFolder() {
+        assertThrows(IllegalArgumentException.class, () -> store.exists("../outside.jpg"));
+        assertThrows(IllegalArgumentException.class, () -> store.put("profile/../../outside.jpg", source("x"), "image/jpeg"));
+    }
+
+    private Path source(String content) throws IOException {
+        Path file = Files.createTempFile(sourceDir, "source-", ".jpg");
+        Files.writeString(file, content);
+        return file;
+    }
+
+    private static List<Path> filesUnder(Path dir) throws IOException {
+        try (Stream<Path> paths = Files.walk(dir)) {
+            return paths.filter(Files::isRegularFile).collect(Collectors.toList());
+        }
+    }
+}
@@ -0,0 +1,105 @@
+package com.bippobippo.hospital.service.bus;
+
+import com.bippobippo.hospital.util.WeeklySchedule;
+import org.junit.jupiter.api.Test;
+
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * 구간 소요 시간 모델이 시간대별 소요 시간을 학습해 정류장당 고정값 휴리스틱보다 정확한지 확인
+ */
+class SegmentTravelTimeTableTest {
+
+    private static final String ROUTE = "ROUTE-1";
+    private static final int STATIONS = 30;
+
+    // 출퇴근 시간대(평일 8시, 18시)에는 구간마다 느려지는 합성 노선
+    private static double trueMinutes(int seq, int slot) {
+        int minuteOfDay = (slot * WeeklySchedule.SLOT_MINUTES) % WeeklySchedule.MINUTES_PER_DAY;
+        int day = slot / WeeklySchedule.SLOTS_PER_DAY;
+        boolean rush = day < 5 && (Math.abs(minuteOfDay - 8 * 60) <= 60 || Math.abs(minuteOfDay - 18 * 60) <= 60);
+        return (1.0 + (seq % 4) * 0.5) * (rush ? 2.0 : 1.0);
+    }
+
+    @Test
+    void learnsTimeOfDayAndBeatsFlatBaseline() {
+        SegmentTravelTimeTable table = new SegmentTravelTimeTable();
+        Random random = new Random(42);
+
+        // 4주치 운행: 모든 슬롯 × 구간에 잡음 섞인 관측
+        for (int week = 0; week < 4; week++) {
+            for (int slot = 0; slot < WeeklySchedule.SLOTS_PER_WEEK; slot++) {
+                for (int seq = 1; seq < STATIONS; seq++) {
+                    double noisy = trueMinutes(seq, slot) * (1.0 + random.nextGaussian() * 0.1);
+                    table.observe(ROUTE, seq, seq + 1, slot, Math.max(0.1, noisy));
+                }
+            }
+        }
+
+        double flatMinutesPerStation = 2.0;
+        double modelError = 0;
+        double baselineError = 0;
+        int samples = 0;
+        for (int slot = 0; slot < WeeklySchedule.SLOTS_PER_WEEK; slot += 7) {
+            for (int from = 1; from + 5 < STATIONS; from += 3) {
+                double actual = 0;
+                double predicted = 0;
+                for (int seq = from; seq < from + 5; seq++) {
+                    actual += trueMinutes(seq, slot);
+                    predicted += table.lookup(ROUTE, seq, slot);
+                }
+                modelError += Math.abs(predicted - actual);
+                baselineError += Math.abs(5 * flatMinutesPerStation - actual);
+                samples++;
+            }
+        }
+
+        double modelMae = modelError / samples;
+        double baselineMae = baselineError / samples;
+        assertTrue(modelMae < 0.5, "모델 MAE " + modelMae);
+        assertTrue(modelMae < baselineMae / 4, "모델 MAE " + modelMae + " / 기준 MAE " + baselineMae);
+    }
+
+    @Test
+    void fallsBackToNeighborSlotsThenSegmentAverage() {
+        SegmentTravelTimeTable table = new SegmentTravelTimeTable();
+        int slot = 100;
+
+        // 표본 2개: 슬롯/인접 슬롯/전체 평균 모두 부족
+        table.observe(ROUTE, 1, 2, slot, 2.0);
+        table.observe(ROUTE, 1, 2, slot, 2.0);
+        assertTrue(Double.isNaN(table.lookup(ROUTE, 1, slot)));
+
+        // 인접 슬롯 표본으로 보충
+        table.observe(ROUTE, 1, 2, slot + 1, 5.0);
+        assertEquals(3.0, table.lookup(ROUTE, 1, slot), 1e-6);
+
+        // 관측이 먼 슬롯은 구간 전체 평균 사용
+        assertEquals(3.0, table.lookup(ROUTE, 1, slot + 300), 1e-6);
+
+        assertTrue(Double.isNaN(table.lookup("UNKNOWN", 1, slot)));
+        assertTrue(Double.isNaN(table.lookup(ROUTE, 2, slot)));
+    }
+
+    @Test
+    void splitsSkippedStationsAndRejectsOutliers() {
+        SegmentTravelTimeTable table = new SegmentTravelTimeTable();
+        int slot = 10;
+
+        // 1 → 4 를 6분에 이동: 구간당 2분씩 반영
+        for (int i = 0; i < 3; i++) {
+            table.observe(ROUTE, 1, 4, slot, 6.0);
+        }
+        assertEquals(2.0, table.lookup(ROUTE, 1, slot), 1e-6);
+        assertEquals(2.0, table.lookup(ROUTE, 3, slot), 1e-6);
+
+        // 차고지 대기 같은 이상치와 누락이 너무 큰 구간은 무시
+        table.observe(ROUTE, 1, 2, slot, SegmentTravelTimeTable.MAX_SEGMENT_MINUTES + 1);
+        table.observe(ROUTE, 1, 1 + SegmentTravelTimeTable.MAX_SEQ_GAP + 1, slot, 6.0);
+        assertEquals(2.0, table.lookup(ROUTE, 1, slot), 1e-6);
+        assertEquals(3, table.segmentCount());
+    }
+}
@@ -0,0 +1,124 @@
+package com.bippobippo.hospital.util;
+
+import com.bippobippo.hospital.elasticsearch.service.SearchGateway;
+import com.theokanning.openai.service.OpenAiService;
+import org.apache.lucene.search.TotalHits;
+import org.elasticsearch.action.search.SearchRequest;
+import org.elasticsearch.action.search.SearchResponse;
+import org.elasticsearch.common.bytes.BytesArray;
+import org.elasticsearch.search.DocValueFormat;
+import org.elasticsearch.search.SearchHit;
+import org.elasticsearch.search.SearchHits;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+/**
+ * 위치 기반 병원 검색이 격자 셀 캐시를 쓰더라도 요청 좌표 기준 반경/최근접 결과를 돌려주는지 확인
+ */
+class ChatUtilLocationSearchTest {
+
+    private static final double LAT = 37.5000;
+    private static final double LNG = 127.0000;
+
+    private SearchGateway searchGateway;
+    private ChatUtil chatUtil;
+
+    @BeforeEach
+    void setUp() {
+        searchGateway = mock(SearchGateway.class);
+        chatUtil = new ChatUtil(searchGateway, mock(OpenAiService.class));
+        ReflectionTestUtils.setField(chatUtil, "cacheTtlSeconds", 300L);
+        ReflectionTestUtils.setField(chatUtil, "cacheMaxSize", 100L);
+        ReflectionTestUtils.setField(chatUtil, "geoCellDegrees", 0.01);
+        ReflectionTestUtils.setField(chatUtil, "geoFetchSize", 10);
+        chatUtil.init();
+    }
+
+    @Test
+    void dropsHospitalsOutsideRadiusFromRequestPoint() {
+        // 셀 중심(37.50, 127.00)에서 가깝지만 요청 좌표에서는 1km 밖인 병원은 제외
+        double userLat = LAT + 0.004;
+        SearchResponse cell = response(
+            hospital("셀중심", LAT - 0.005, LNG),
+            hospital("가까움1", userLat + 0.001, LNG),
+            hospital("가까움2", userLat - 0.002, LNG));
+        when(searchGateway.searchAsync(any())).thenReturn(CompletableFuture.completedFuture(cell));
+
+        List<Map<String, Object>> result = chatUtil.findHospitalsByLocation("1킬로 병원", userLat, LNG).join();
+
+        assertEquals(List.of("가까움1", "가까움2"), names(result));
+        assertTrue(((Number) result.get(0).get("distance")).doubleValue() < 0.2);
+        verify(searchGateway, times(1)).searchAsync(any());
+    }
+
+    @Test
+    void returnsNearestFiveToRequestPointAndReusesCell() {
+        SearchResponse cell = response(
+            hospital("A", LAT + 0.003, LNG), hospital("B", LAT - 0.003, LNG),
+            hospital("C", LAT + 0.002, LNG), hospital("D", LAT - 0.002, LNG),
+            hospital("E", LAT + 0.001, LNG), hospital("F", LAT - 0.001, LNG));
+        when(searchGateway.searchAsync(any())).thenReturn(CompletableFuture.completedFuture(cell));
+
+        List<Map<String, Object>> north = chatUtil.findHospitalsByLocation("병원", LAT + 0.003, LNG).join();
+        List<Map<String, Object>> south = chatUtil.findHospitalsByLocation("병원", LAT - 0.003, LNG).join();
+
+        assertEquals(List.of("A", "C", "E", "F", "D"), names(north));
+        assertEquals(List.of("B", "D", "F", "E", "C"), names(south));
+        verify(searchGateway, times(1)).searchAsync(any());
+    }
+
+    @Test
+    void searchesFromRequestPointWhenCellCandidatesCannotGuaranteeNearest() {
+        // 후보를 다 채웠고 마지막 후보가 가까워서, 가져오지 못한 병원이 요청 좌표에 더 가까울 수 있음
+        SearchHit[] crowded = new SearchHit[10];
+        for (int i = 0; i < crowded.length; i++) {
+            crowded[i] = hospital("셀" + i, LAT - 0.0001 * i, LNG);
+        }
+        SearchResponse cell = response(crowded);
+        SearchResponse direct = response(hospital("직접", LAT + 0.004, LNG));
+        when(searchGateway.searchAsync(any()))
+            .thenReturn(CompletableFuture.completedFuture(cell))
+            .thenReturn(CompletableFuture.completedFuture(direct));
+
+        List<Map<String, Object>> result = chatUtil.findHospitalsByLocation("병원", LAT + 0.004, LNG).join();
+
+        assertEquals(List.of("직접"), names(result));
+        ArgumentCaptor<SearchRequest> requests = ArgumentCaptor.forClass(SearchRequest.class);
+        verify(searchGateway, times(2)).searchAsync(requests.capture());
+        assertTrue(requests.getAllValues().get(1).source().toString().contains("37.504"));
+    }
+
+    private SearchHit hospital(String name, double lat, double lng) {
+        SearchHit hit = new SearchHit(1, name, null, Map.of(), Map.of());
+        hit.sourceRef(new BytesArray(String.format(
+            "{\"yadmNm\":\"%s\",\"location\":{\"lat\":%s,\"lon\":%s}}", name, lat, lng)));
+        hit.sortValues(new Object[]{chatUtil.calculateDistance(LAT, LNG, lat, lng)}, new DocValueFormat[]{DocValueFormat.RAW});
+        return hit;
+    }
+
+    private static SearchResponse response(SearchHit... hits) {
+        SearchResponse response = mock(SearchResponse.class);
+        when(response.getHits()).thenReturn(
+            new SearchHits(hits, new TotalHits(hits.length, TotalHits.Relation.EQUAL_TO), 1.0f));
+        return response;
+    }
+
+    private static List<String> names(List<Map<String, Object>> hospitals) {
+        return hospitals.stream().map(h -> (String) h.get("name")).collect(Collectors.toList());
+    }
+}
@@ -0,0 +1,124 @@
+package com.bippobippo.hospital.util;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.FloatBuffer;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Random;
+import java.util.Set;
+import java.util.function.IntPredicate;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * 합성 벡터에서 HNSW 검색 결과가 전수 비교(exact)와 충분히 겹치는지 확인 (재현율 회귀 방지)
+ */
+class HnswIndexTest {
+
+    private static final int SIZE = 3000;
+    private static final int DIM = 32;
+    private static final int K = 10;
+    private static final int QUERIES = 100;
+
+    private FloatBuffer vectors;
+    private HnswIndex index;
+
+    @BeforeEach
+    void setUp() {
+        Random random = new Random(7);
+        float[] data = new float[SIZE * DIM];
+        for (int node = 0; node < SIZE; node++) {
+            normalizeInto(randomVector(random), data, node * DIM);
+        }
+        vectors = FloatBuffer.wrap(data);
+        index = HnswIndex.build(vectors, SIZE, DIM, 16, 100, 42L);
+    }
+
+    @Test
+    void recallAgainstExactSearch() {
+        double recall = averageRecall(64, null);
+        assertTrue(recall >= 0.95, "recall@" + K + " = " + recall);
+    }
+
+    @Test
+    void filteredSearchReturnsOnlyAllowedNodesWithHighRecall() {
+        IntPredicate even = node -> node % 2 == 0;
+        Random random = new Random(11);
+        for (int i = 0; i < 10; i++) {
+            for (HnswIndex.Result result : index.search(query(random), K, 128, even)) {
+                assertTrue(even.test(result.getNode()));
+            }
+        }
+        double recall = averageRecall(128, even);
+        assertTrue(recall >= 0.9, "filtered recall@" + K + " = " + recall);
+    }
+
+    @Test
+    void savedGraphGivesSameResults() throws IOException {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        try (DataOutputStream out = new DataOutputStream(bytes)) {
+            index.write(out);
+        }
+        HnswIndex restored;
+        try (DataInputStream in = new DataInputStream(new ByteArrayInputStream(bytes.toByteArray()))) {
+            restored = HnswIndex.read(vectors, SIZE, DIM, in);
+        }
+
+        Random random = new Random(13);
+        for (int i = 0; i < 10; i++) {
+            float[] query = query(random);
+            assertEquals(nodes(index.search(query, K, 64, null)), nodes(restored.search(query, K, 64, null)));
+        }
+    }
+
+    private double averageRecall(int ef, IntPredicate filter) {
+        Random random = new Random(3);
+        double sum = 0;
+        for (int i = 0; i < QUERIES; i++) {
+            float[] query = query(random);
+            Set<Integer> truth = new HashSet<>(nodes(index.exact(query, K, filter)));
+            long hits = index.search(query, K, ef, filter).stream()
+                .filter(result -> truth.contains(result.getNode()))
+                .count();
+            sum += (double) hits / truth.size();
+        }
+        return sum / QUERIES;
+    }
+
+    private static List<Integer> nodes(List<HnswIndex.Result> results) {
+        return results.stream().map(HnswIndex.Result::getNode).toList();
+    }
+
+    private static float[] query(Random random) {
+        float[] query = new float[DIM];
+        normalizeInto(randomVector(random), query, 0);
+        return query;
+    }
+
+    private static float[] randomVector(Random random) {
+        float[] vector = new float[DIM];
+        for (int i = 0; i < DIM; i++) {
+            vector[i] = (float) random.nextGaussian();
+        }
+        return vector;
+    }
+
+    private static void normalizeInto(float[] vector, float[] target, int offset) {
+        double norm = 0;
+        for (float value : vector) {
+            norm += value * value;
+        }
+        float scale = (float) (1.0 / Math.sqrt(norm));
+        for (int i = 0; i < vector.length; i++) {
+            target[offset + i] = vector[i] * scale;
+        }
+    }
+}